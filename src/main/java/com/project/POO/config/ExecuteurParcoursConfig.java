@@ -0,0 +1,28 @@
+package com.project.POO.config;
+
+import com.project.POO.repository.requete.ExecuteurParcours;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pool fork-join dédié aux parcours et traitements par lots, partagé par les repositories et les index
+ * - app.parcours.parallelisme : nombre de threads (0 : processeurs disponibles moins un)
+ * - app.parcours.max-paralleles : parcours parallèles simultanés (0 : moitié des processeurs)
+ * Le pool est arrêté à la fermeture du contexte.
+ */
+@Configuration
+@Slf4j
+public class ExecuteurParcoursConfig {
+
+    @Bean(destroyMethod = "fermer")
+    public ExecuteurParcours executeurParcours(@Value("${app.parcours.parallelisme:0}") int parallelisme,
+                                               @Value("${app.parcours.max-paralleles:0}") int maxParalleles) {
+        int processeurs = Runtime.getRuntime().availableProcessors();
+        int threads = parallelisme > 0 ? parallelisme : Math.max(1, processeurs - 1);
+        int paralleles = maxParalleles > 0 ? maxParalleles : Math.max(1, processeurs / 2);
+        log.info("Pool des parcours: {} threads, {} parcours parallèles au plus", threads, paralleles);
+        return new ExecuteurParcours(threads, paralleles);
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.POO.config;
+
+import com.project.POO.utils.IdGenerators;
+import com.project.POO.utils.UlidGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Sélection du générateur d'identifiants au démarrage
+ * - ulid (par défaut) : IDs courts, triés par date, sans verrou
+ * - uuid : ancien comportement basé sur UUID.randomUUID()
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    public IdGeneratorConfig(@Value("${app.id.generator:ulid}") String strategie) {
+        if ("uuid".equalsIgnoreCase(strategie)) {
+            IdGenerators.setGenerator(() -> UUID.randomUUID().toString());
+        } else {
+            IdGenerators.setGenerator(new UlidGenerator());
+        }
+        log.info("Générateur d'identifiants utilisé: {}", strategie);
+    }
+}
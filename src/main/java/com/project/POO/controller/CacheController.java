@@ -0,0 +1,32 @@
+package com.project.POO.controller;
+
+import com.project.POO.service.CacheRequetes;
+import com.project.POO.utils.CacheResultats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Métriques du cache des listes et recherches")
+public class CacheController {
+
+    private final CacheRequetes cacheRequetes;
+
+    @Operation(summary = "Statistiques du cache des requêtes",
+            description = "Taux de succès, évictions par nombre d'entrées et par poids, invalidations, "
+                    + "pour le cache des événements et celui des participants")
+    @ApiResponse(responseCode = "200", description = "Compteurs des caches")
+    @GetMapping("/statistiques")
+    public ResponseEntity<Map<String, CacheResultats.Statistiques>> statistiques() {
+        return ResponseEntity.ok(cacheRequetes.statistiques());
+    }
+}
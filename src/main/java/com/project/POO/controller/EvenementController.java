@@ -1,13 +1,24 @@
 package com.project.POO.controller;
 
+import com.project.POO.dto.AgregatDto;
+import com.project.POO.dto.DtoMapper;
 import com.project.POO.dto.EvenementDto;
+import com.project.POO.dto.PageDto;
+import com.project.POO.dto.RechercheFacettesDto;
+import com.project.POO.dto.SuggestionDto;
 import com.project.POO.exception.CapaciteMaxAtteinteException;
 import com.project.POO.exception.EvenementDejaExistantException;
 import com.project.POO.exception.EvenementNotFoundException;
+import com.project.POO.index.FiltreAnalyse;
 import com.project.POO.model.Concert;
 import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.FacetteIndex;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.RequeteEvenements;
+import com.project.POO.repository.requete.Resultat;
+import com.project.POO.service.CacheRequetes;
 import com.project.POO.service.EvenementService;
 import com.project.POO.service.ParticipantService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,13 +26,17 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,15 +47,14 @@ public class EvenementController {
 
     private final EvenementService evenementService;
     private final ParticipantService participantService;
+    private final CacheRequetes cacheRequetes;
 
     @Operation(summary = "Récupérer tous les événements", description = "Retourne la liste de tous les événements")
     @ApiResponse(responseCode = "200", description = "Liste des événements récupérée avec succès")
     @GetMapping
     public ResponseEntity<List<EvenementDto>> getAllEvenements() {
-        List<Evenement> evenements = evenementService.getAllEvenements();
-        List<EvenementDto> evenementDtos = evenements.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<EvenementDto> evenementDtos = cacheRequetes.tousLesEvenements(
+                () -> convertToDtos(evenementService.getAllEvenements()));
         return ResponseEntity.ok(evenementDtos);
     }
 
@@ -81,6 +95,7 @@ public class EvenementController {
 
     @Operation(summary = "Mettre à jour un événement", description = "Met à jour un événement existant")
     @ApiResponse(responseCode = "200", description = "Événement mis à jour avec succès")
+    @ApiResponse(responseCode = "400", description = "Durée invalide (positive, deux semaines au plus)")
     @ApiResponse(responseCode = "404", description = "Événement non trouvé")
     @PutMapping("/{id}")
     public ResponseEntity<EvenementDto> updateEvenement(
@@ -143,16 +158,43 @@ public class EvenementController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Ajouter un intervenant à une conférence",
+            description = "Ajoute un participant existant comme intervenant d'une conférence")
+    @ApiResponse(responseCode = "200", description = "Intervenant ajouté avec succès")
+    @ApiResponse(responseCode = "404", description = "Conférence ou participant non trouvé")
+    @ApiResponse(responseCode = "400", description = "L'événement n'est pas une conférence")
+    @PostMapping("/{evenementId}/intervenants/{participantId}")
+    public ResponseEntity<Void> ajouterIntervenant(
+            @Parameter(description = "ID de la conférence", required = true) @PathVariable String evenementId,
+            @Parameter(description = "ID du participant", required = true) @PathVariable String participantId)
+            throws EvenementNotFoundException {
+        Participant intervenant = participantService.getParticipantById(participantId);
+        evenementService.ajouterIntervenant(evenementId, intervenant);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Retirer un intervenant d'une conférence",
+            description = "Retire un intervenant d'une conférence")
+    @ApiResponse(responseCode = "200", description = "Intervenant retiré avec succès")
+    @ApiResponse(responseCode = "404", description = "Conférence non trouvée")
+    @ApiResponse(responseCode = "400", description = "L'événement n'est pas une conférence")
+    @DeleteMapping("/{evenementId}/intervenants/{participantId}")
+    public ResponseEntity<Void> retirerIntervenant(
+            @Parameter(description = "ID de la conférence", required = true) @PathVariable String evenementId,
+            @Parameter(description = "ID du participant", required = true) @PathVariable String participantId)
+            throws EvenementNotFoundException {
+        evenementService.supprimerIntervenant(evenementId, participantId);
+        return ResponseEntity.ok().build();
+    }
+
     @Operation(summary = "Rechercher des événements par lieu",
             description = "Retourne la liste des événements dont le lieu contient la valeur recherchée")
     @ApiResponse(responseCode = "200", description = "Liste des événements récupérée avec succès")
     @GetMapping("/recherche")
     public ResponseEntity<List<EvenementDto>> rechercherParLieu(
             @Parameter(description = "Lieu à rechercher") @RequestParam String lieu) {
-        List<Evenement> evenements = evenementService.rechercherParLieu(lieu);
-        List<EvenementDto> evenementDtos = evenements.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<EvenementDto> evenementDtos = cacheRequetes.evenementsParLieu(lieu,
+                () -> convertToDtos(evenementService.rechercherParLieu(lieu)));
         return ResponseEntity.ok(evenementDtos);
     }
 
@@ -161,7 +203,203 @@ public class EvenementController {
     @ApiResponse(responseCode = "200", description = "Liste des événements disponibles récupérée avec succès")
     @GetMapping("/disponibles")
     public ResponseEntity<List<EvenementDto>> evenementsDisponibles() {
-        List<Evenement> evenements = evenementService.evenementsDisponibles();
+        List<EvenementDto> evenementDtos = cacheRequetes.evenementsDisponibles(
+                () -> convertToDtos(evenementService.evenementsDisponibles()));
+        return ResponseEntity.ok(evenementDtos);
+    }
+
+    @Operation(summary = "Lister les événements populaires",
+            description = "Retourne les événements non annulés qui ont le plus d'inscrits")
+    @ApiResponse(responseCode = "200", description = "Événements, les plus inscrits en premier")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/populaires")
+    public ResponseEntity<List<EvenementDto>> evenementsPopulaires(
+            @Parameter(description = "Nombre maximal d'événements") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(convertToDtos(evenementService.evenementsPopulaires(limit)));
+    }
+
+    @Operation(summary = "Lister les événements presque complets",
+            description = "Retourne les événements non annulés qui ont encore des places, "
+                    + "du taux de remplissage le plus élevé au plus faible")
+    @ApiResponse(responseCode = "200", description = "Événements, les plus remplis en premier")
+    @ApiResponse(responseCode = "400", description = "Limite ou seuil invalide")
+    @GetMapping("/presque-complets")
+    public ResponseEntity<List<EvenementDto>> evenementsPresqueComplets(
+            @Parameter(description = "Taux de remplissage minimal, entre 0 et 1") @RequestParam(defaultValue = "0.8") double seuil,
+            @Parameter(description = "Nombre maximal d'événements") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(convertToDtos(evenementService.evenementsPresqueComplets(seuil, limit)));
+    }
+
+    @Operation(summary = "Lister les événements similaires",
+            description = "Retourne les événements auxquels se sont aussi inscrits les participants de cet événement")
+    @ApiResponse(responseCode = "200", description = "Événements, du plus grand nombre d'inscrits communs au plus petit")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @ApiResponse(responseCode = "404", description = "Événement non trouvé")
+    @GetMapping("/{id}/similaires")
+    public ResponseEntity<List<EvenementDto>> evenementsSimilaires(
+            @Parameter(description = "ID de l'événement", required = true) @PathVariable String id,
+            @Parameter(description = "Nombre maximal d'événements") @RequestParam(defaultValue = "5") int limit)
+            throws EvenementNotFoundException {
+        return ResponseEntity.ok(convertToDtos(evenementService.evenementsSimilaires(id, limit)));
+    }
+
+    @Operation(summary = "Filtrer les événements par facettes",
+            description = "Combine les critères (OU entre les valeurs d'un critère, ET entre les critères) "
+                    + "et retourne le nombre d'événements par valeur de facette parmi les résultats")
+    @ApiResponse(responseCode = "200", description = "Événements filtrés et comptes par facette")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/facettes")
+    public ResponseEntity<RechercheFacettesDto> filtrerParFacettes(
+            @Parameter(description = "Événements annulés (true) ou non (false)") @RequestParam(required = false) Boolean annule,
+            @Parameter(description = "Événements complets (true) ou avec des places (false)") @RequestParam(required = false) Boolean complet,
+            @Parameter(description = "Types acceptés : CONFERENCE, CONCERT") @RequestParam(required = false) List<String> type,
+            @Parameter(description = "Mois acceptés, au format 2025-06") @RequestParam(required = false) List<String> mois,
+            @Parameter(description = "Codes de lieux acceptés, par exemple palais-des-sports") @RequestParam(required = false) List<String> lieu,
+            @Parameter(description = "Nombre maximal d'événements retournés") @RequestParam(defaultValue = "50") int limit) {
+        Map<String, List<String>> criteres = new LinkedHashMap<>();
+        if (annule != null) {
+            criteres.put(FacetteIndex.ANNULE, List.of(annule.toString()));
+        }
+        if (complet != null) {
+            criteres.put(FacetteIndex.COMPLET, List.of(complet.toString()));
+        }
+        if (type != null) {
+            criteres.put(FacetteIndex.TYPE, type);
+        }
+        if (mois != null) {
+            criteres.put(FacetteIndex.MOIS, mois);
+        }
+        if (lieu != null) {
+            criteres.put(FacetteIndex.LIEU, lieu);
+        }
+
+        FacetteIndex.Resultat resultat = evenementService.filtrerParFacettes(criteres, limit);
+        RechercheFacettesDto dto = new RechercheFacettesDto();
+        dto.setTotal(resultat.getTotal());
+        dto.setFacettes(resultat.getFacettes());
+        dto.setEvenements(evenementService.getEvenementsParIds(resultat.getIds()).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        return ResponseEntity.ok(dto);
+    }
+
+    @Operation(summary = "Requête composable sur les événements",
+            description = "Critères combinables : plage de dates, lieu, nom, texte (nom ou lieu), facettes ; tri, limite et curseur. "
+                    + "Le planificateur choisit l'index le plus sélectif ; le plan suivi est joint à la réponse")
+    @ApiResponse(responseCode = "200", description = "Page de résultats, curseur de la page suivante et plan")
+    @ApiResponse(responseCode = "400", description = "Limite, curseur ou critère invalide")
+    @PostMapping("/requete")
+    public ResponseEntity<PageDto<EvenementDto>> executerRequete(@RequestBody RequeteEvenements requete) {
+        Resultat<Evenement> resultat = evenementService.executerRequete(requete);
+        PageDto<EvenementDto> page = new PageDto<>();
+        page.setElements(resultat.getElements().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        page.setCurseurSuivant(resultat.getCurseurSuivant());
+        page.setPlan(resultat.getPlan());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Expliquer une requête sur les événements",
+            description = "Retourne le chemin d'accès retenu et les estimations de chaque index, sans exécuter la requête")
+    @ApiResponse(responseCode = "200", description = "Plan d'exécution")
+    @ApiResponse(responseCode = "400", description = "Critère invalide")
+    @PostMapping("/requete/explain")
+    public ResponseEntity<Plan> expliquerRequete(@RequestBody RequeteEvenements requete) {
+        return ResponseEntity.ok(evenementService.expliquerRequete(requete));
+    }
+
+    @Operation(summary = "Recherche plein texte",
+            description = "Recherche dans le nom, le lieu, l'artiste, le genre musical et le thème ; "
+                    + "les résultats sont classés par pertinence (BM25)")
+    @ApiResponse(responseCode = "200", description = "Résultats de la recherche")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/search")
+    public ResponseEntity<List<EvenementDto>> rechercher(
+            @Parameter(description = "Mots recherchés, par exemple \"jazz Douala\"") @RequestParam String q,
+            @Parameter(description = "Nombre maximal de résultats") @RequestParam(defaultValue = "10") int limit) {
+        List<Evenement> evenements = evenementService.rechercher(q, limit);
+        List<EvenementDto> evenementDtos = evenements.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(evenementDtos);
+    }
+
+    @Operation(summary = "Autocomplétion des noms d'événements et des lieux",
+            description = "Propositions pour le début d'un mot saisi, classées par nombre d'inscriptions")
+    @ApiResponse(responseCode = "200", description = "Propositions, les plus populaires en premier")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/autocompletion")
+    public ResponseEntity<List<SuggestionDto>> autocompleter(
+            @Parameter(description = "Début du mot saisi") @RequestParam String q,
+            @Parameter(description = "Nombre maximal de propositions (10 au plus)") @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionDto> suggestions = evenementService.autocompleter(q, limit).stream()
+                .map(DtoMapper::toSuggestionDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Operation(summary = "Recherche approchée par nom",
+            description = "Retrouve les événements malgré des fautes de frappe, classés par distance d'édition")
+    @ApiResponse(responseCode = "200", description = "Événements les plus proches")
+    @ApiResponse(responseCode = "400", description = "Limite ou distance invalide")
+    @GetMapping("/recherche-approchee")
+    public ResponseEntity<List<EvenementDto>> rechercherApproche(
+            @Parameter(description = "Nom recherché, éventuellement mal orthographié") @RequestParam String q,
+            @Parameter(description = "Distance d'édition maximale par mot (3 au plus)") @RequestParam(defaultValue = "2") int distance,
+            @Parameter(description = "Nombre maximal de résultats") @RequestParam(defaultValue = "10") int limit) {
+        List<Evenement> evenements = evenementService.rechercherApproche(q, distance, limit);
+        List<EvenementDto> evenementDtos = evenements.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(evenementDtos);
+    }
+
+    @Operation(summary = "Agréger les événements par groupe",
+            description = "Compte les événements et somme une mesure (inscrits ou capacité) par lieu, mois, "
+                    + "genre musical, thème ou type, sur les événements qui satisfont les filtres")
+    @ApiResponse(responseCode = "200", description = "Un agrégat par valeur de la dimension")
+    @ApiResponse(responseCode = "400", description = "Dimension ou mesure inconnue")
+    @GetMapping("/analyse")
+    public ResponseEntity<List<AgregatDto>> analyser(
+            @Parameter(description = "Dimension : lieu, mois, genreMusical, theme ou type") @RequestParam String groupePar,
+            @Parameter(description = "Mesure : inscrits ou capacite") @RequestParam(defaultValue = "inscrits") String mesure,
+            @Parameter(description = "Type : CONFERENCE ou CONCERT") @RequestParam(required = false) String type,
+            @Parameter(description = "Événements annulés (true) ou non (false)") @RequestParam(required = false) Boolean annule,
+            @Parameter(description = "Début de la période")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période, exclue")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Lieu exact") @RequestParam(required = false) String lieu,
+            @Parameter(description = "Genre musical exact") @RequestParam(required = false) String genreMusical,
+            @Parameter(description = "Thème exact") @RequestParam(required = false) String theme) {
+        FiltreAnalyse filtre = new FiltreAnalyse()
+                .setType(type)
+                .setAnnule(annule)
+                .setDateMin(from)
+                .setDateMax(to)
+                .setLieu(lieu)
+                .setGenreMusical(genreMusical)
+                .setTheme(theme);
+        List<AgregatDto> agregats = evenementService.analyser(groupePar, mesure, filtre).stream()
+                .map(DtoMapper::toAgregatDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(agregats);
+    }
+
+    @Operation(summary = "Lister les événements à venir",
+            description = "Retourne les événements non annulés de la période, triés par date")
+    @ApiResponse(responseCode = "200", description = "Liste des événements à venir récupérée avec succès")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/a-venir")
+    public ResponseEntity<List<EvenementDto>> evenementsAVenir(
+            @Parameter(description = "Début de la période (maintenant par défaut)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin de la période, exclue")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Nombre maximal d'événements")
+            @RequestParam(defaultValue = "20") int limit) {
+        List<Evenement> evenements = evenementService.evenementsAVenir(from, to, limit);
         List<EvenementDto> evenementDtos = evenements.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -170,40 +408,13 @@ public class EvenementController {
 
     // Méthodes utilitaires pour la conversion entre entités et DTOs
     private EvenementDto convertToDto(Evenement evenement) {
-        if (evenement == null) {
-            return null;
-        }
-
-        EvenementDto dto = new EvenementDto();
-        dto.setId(evenement.getId());
-        dto.setNom(evenement.getNom());
-        dto.setDate(evenement.getDate());
-        dto.setLieu(evenement.getLieu());
-        dto.setCapaciteMax(evenement.getCapaciteMax());
-        dto.setAnnule(evenement.isAnnule());
-        dto.setNombreParticipants(evenement.getParticipants() != null ? evenement.getParticipants().size() : 0);
-
-        if (evenement instanceof Conference) {
-            Conference conference = (Conference) evenement;
-            dto.setType("CONFERENCE");
-            dto.setTheme(conference.getTheme());
-
-            // Gérer la liste des intervenants proprement
-            if (conference.getIntervenants() != null) {
-                dto.setIntervenants(conference.getIntervenants().stream()
-                        .map(intervenant -> intervenant.getId())
-                        .collect(Collectors.toList()));
-            } else {
-                dto.setIntervenants(new ArrayList<>());
-            }
-        } else if (evenement instanceof Concert) {
-            Concert concert = (Concert) evenement;
-            dto.setType("CONCERT");
-            dto.setArtiste(concert.getArtiste());
-            dto.setGenreMusical(concert.getGenreMusical());
-        }
+        return DtoMapper.toEvenementDto(evenement);
+    }
 
-        return dto;
+    private List<EvenementDto> convertToDtos(List<Evenement> evenements) {
+        return evenements.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
     }
 
     private Evenement convertToEntity(EvenementDto dto) {
@@ -227,6 +438,7 @@ public class EvenementController {
         evenement.setId(dto.getId());
         evenement.setNom(dto.getNom());
         evenement.setDate(dto.getDate());
+        evenement.setDureeMinutes(dto.getDureeMinutes());
         evenement.setLieu(dto.getLieu());
         evenement.setCapaciteMax(dto.getCapaciteMax());
         evenement.setAnnule(dto.isAnnule());
@@ -1,9 +1,24 @@
 package com.project.POO.controller;
 
+import com.project.POO.dto.ConflitHoraireDto;
+import com.project.POO.dto.DtoMapper;
+import com.project.POO.dto.EvenementDto;
+import com.project.POO.dto.OrganisateurStatsDto;
+import com.project.POO.dto.PageDto;
 import com.project.POO.dto.ParticipantDto;
+import com.project.POO.dto.PropositionFusionDto;
+import com.project.POO.dto.SuggestionDto;
+import com.project.POO.exception.EvenementNotFoundException;
 import com.project.POO.exception.ParticipantNotFoundException;
+import com.project.POO.index.StatistiquesOrganisateur;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
 import com.project.POO.model.Organisateur;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.RequeteParticipants;
+import com.project.POO.repository.requete.Resultat;
+import com.project.POO.service.CacheRequetes;
 import com.project.POO.service.ParticipantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +40,7 @@ import java.util.stream.Collectors;
 public class ParticipantController {
 
     private final ParticipantService participantService;
+    private final CacheRequetes cacheRequetes;
 
     @Operation(summary = "Récupérer tous les participants", description = "Retourne la liste de tous les participants")
     @ApiResponse(responseCode = "200", description = "Liste des participants récupérée avec succès")
@@ -70,6 +86,53 @@ public class ParticipantController {
         return ResponseEntity.status(HttpStatus.CREATED).body(convertToDto(createdOrganisateur));
     }
 
+    @Operation(summary = "Statistiques d'un organisateur",
+            description = "Retourne les agrégats précalculés d'un organisateur : événements, places, ventes, annulations, événements à venir")
+    @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès")
+    @ApiResponse(responseCode = "404", description = "Organisateur non trouvé")
+    @ApiResponse(responseCode = "400", description = "Le participant n'est pas un organisateur")
+    @GetMapping("/organisateurs/{id}/stats")
+    public ResponseEntity<OrganisateurStatsDto> getStatistiquesOrganisateur(
+            @Parameter(description = "ID de l'organisateur", required = true) @PathVariable String id)
+            throws ParticipantNotFoundException {
+        StatistiquesOrganisateur statistiques = participantService.getStatistiquesOrganisateur(id);
+        OrganisateurStatsDto dto = new OrganisateurStatsDto();
+        dto.setOrganisateurId(id);
+        dto.setNombreEvenements(statistiques.getNombreEvenements());
+        dto.setPlacesTotales(statistiques.getPlacesTotales());
+        dto.setPlacesVendues(statistiques.getPlacesVendues());
+        dto.setAnnulations(statistiques.getAnnulations());
+        dto.setEvenementsAVenir(statistiques.getAVenir());
+        return ResponseEntity.ok(dto);
+    }
+
+    @Operation(summary = "Rattacher un événement à un organisateur",
+            description = "Désigne l'organisateur d'un événement existant")
+    @ApiResponse(responseCode = "200", description = "Événement rattaché avec succès")
+    @ApiResponse(responseCode = "404", description = "Organisateur ou événement non trouvé")
+    @PostMapping("/organisateurs/{id}/evenements/{evenementId}")
+    public ResponseEntity<Void> organiserEvenement(
+            @Parameter(description = "ID de l'organisateur", required = true) @PathVariable String id,
+            @Parameter(description = "ID de l'événement", required = true) @PathVariable String evenementId)
+            throws ParticipantNotFoundException, EvenementNotFoundException {
+        participantService.organiserEvenement(id, evenementId);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Annuler un événement organisé",
+            description = "Annule un événement au nom de son organisateur et met à jour ses statistiques")
+    @ApiResponse(responseCode = "200", description = "Événement annulé avec succès")
+    @ApiResponse(responseCode = "404", description = "Organisateur ou événement non trouvé")
+    @ApiResponse(responseCode = "400", description = "L'événement n'est pas organisé par ce participant")
+    @PutMapping("/organisateurs/{id}/evenements/{evenementId}/annuler")
+    public ResponseEntity<Void> annulerEvenementOrganise(
+            @Parameter(description = "ID de l'organisateur", required = true) @PathVariable String id,
+            @Parameter(description = "ID de l'événement", required = true) @PathVariable String evenementId)
+            throws ParticipantNotFoundException, EvenementNotFoundException {
+        participantService.annulerEvenementOrganise(id, evenementId);
+        return ResponseEntity.ok().build();
+    }
+
     @Operation(summary = "Mettre à jour un participant", description = "Met à jour un participant existant")
     @ApiResponse(responseCode = "200", description = "Participant mis à jour avec succès")
     @ApiResponse(responseCode = "404", description = "Participant non trouvé")
@@ -95,19 +158,181 @@ public class ParticipantController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Supprimer plusieurs participants",
+            description = "Supprime les participants (purge RGPD) et les retire de tous leurs événements et conférences")
+    @ApiResponse(responseCode = "200", description = "Nombre de participants supprimés")
+    @PostMapping("/suppression-groupee")
+    public ResponseEntity<Integer> deleteParticipants(
+            @Parameter(description = "IDs des participants à supprimer", required = true)
+            @RequestBody List<String> ids) {
+        return ResponseEntity.ok(participantService.deleteParticipants(ids));
+    }
+
+    @Operation(summary = "Détecter les participants en double",
+            description = "Compare les participants par blocs (email canonique, partie locale de l'email, nom normalisé) "
+                    + "et retourne les groupes de doublons, avec le participant proposé pour être conservé")
+    @ApiResponse(responseCode = "200", description = "Propositions de fusion")
+    @GetMapping("/doublons")
+    public ResponseEntity<List<PropositionFusionDto>> detecterDoublons() {
+        List<PropositionFusionDto> propositions = participantService.detecterDoublons().stream()
+                .map(groupe -> new PropositionFusionDto(
+                        convertToDto(groupe.getParticipants().get(0)),
+                        groupe.getParticipants().subList(1, groupe.getParticipants().size()).stream()
+                                .map(this::convertToDto)
+                                .collect(Collectors.toList()),
+                        groupe.getRaisons()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(propositions);
+    }
+
+    @Operation(summary = "Fusionner des doublons dans un participant",
+            description = "Reporte les inscriptions et interventions des doublons sur le participant conservé, "
+                    + "puis supprime les doublons")
+    @ApiResponse(responseCode = "200", description = "Participant conservé après la fusion")
+    @ApiResponse(responseCode = "400", description = "Aucun doublon, ou doublon organisateur")
+    @ApiResponse(responseCode = "404", description = "Participant non trouvé")
+    @ApiResponse(responseCode = "409", description = "Conflit d'horaire sur une inscription reprise (politique refuser)")
+    @PostMapping("/{id}/fusion")
+    public ResponseEntity<ParticipantDto> fusionnerParticipants(
+            @Parameter(description = "ID du participant conservé", required = true) @PathVariable String id,
+            @Parameter(description = "IDs des doublons à fusionner", required = true)
+            @RequestBody List<String> doublonIds)
+            throws ParticipantNotFoundException {
+        return ResponseEntity.ok(convertToDto(participantService.fusionnerParticipants(id, doublonIds)));
+    }
+
     @Operation(summary = "Rechercher des participants par nom",
             description = "Retourne la liste des participants dont le nom contient la valeur recherchée")
     @ApiResponse(responseCode = "200", description = "Liste des participants récupérée avec succès")
     @GetMapping("/recherche")
     public ResponseEntity<List<ParticipantDto>> rechercherParNom(
             @Parameter(description = "Nom à rechercher") @RequestParam String nom) {
-        List<Participant> participants = participantService.rechercherParNom(nom);
+        List<ParticipantDto> participantDtos = cacheRequetes.participantsParNom(nom,
+                () -> participantService.rechercherParNom(nom).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
+        return ResponseEntity.ok(participantDtos);
+    }
+
+    @Operation(summary = "Autocomplétion des noms de participants",
+            description = "Propositions pour le début d'un mot saisi, classées par nombre d'inscriptions")
+    @ApiResponse(responseCode = "200", description = "Propositions, les plus populaires en premier")
+    @ApiResponse(responseCode = "400", description = "Limite invalide")
+    @GetMapping("/autocompletion")
+    public ResponseEntity<List<SuggestionDto>> autocompleter(
+            @Parameter(description = "Début du mot saisi") @RequestParam String q,
+            @Parameter(description = "Nombre maximal de propositions (10 au plus)") @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionDto> suggestions = participantService.autocompleter(q, limit).stream()
+                .map(DtoMapper::toSuggestionDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @Operation(summary = "Requête composable sur les participants",
+            description = "Critères combinables : email, nom, texte (nom ou email), organisateur ; tri, limite et curseur. "
+                    + "Le planificateur choisit l'index le plus sélectif ; le plan suivi est joint à la réponse")
+    @ApiResponse(responseCode = "200", description = "Page de résultats, curseur de la page suivante et plan")
+    @ApiResponse(responseCode = "400", description = "Limite, curseur ou critère invalide")
+    @PostMapping("/requete")
+    public ResponseEntity<PageDto<ParticipantDto>> executerRequete(@RequestBody RequeteParticipants requete) {
+        Resultat<Participant> resultat = participantService.executerRequete(requete);
+        PageDto<ParticipantDto> page = new PageDto<>();
+        page.setElements(resultat.getElements().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        page.setCurseurSuivant(resultat.getCurseurSuivant());
+        page.setPlan(resultat.getPlan());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Expliquer une requête sur les participants",
+            description = "Retourne le chemin d'accès retenu et les estimations de chaque index, sans exécuter la requête")
+    @ApiResponse(responseCode = "200", description = "Plan d'exécution")
+    @ApiResponse(responseCode = "400", description = "Critère invalide")
+    @PostMapping("/requete/explain")
+    public ResponseEntity<Plan> expliquerRequete(@RequestBody RequeteParticipants requete) {
+        return ResponseEntity.ok(participantService.expliquerRequete(requete));
+    }
+
+    @Operation(summary = "Recherche approchée de participants",
+            description = "Retrouve les participants par nom ou email malgré des fautes de frappe, classés par distance d'édition")
+    @ApiResponse(responseCode = "200", description = "Participants les plus proches")
+    @ApiResponse(responseCode = "400", description = "Limite ou distance invalide")
+    @GetMapping("/recherche-approchee")
+    public ResponseEntity<List<ParticipantDto>> rechercherApproche(
+            @Parameter(description = "Nom ou email recherché, éventuellement mal orthographié") @RequestParam String q,
+            @Parameter(description = "Distance d'édition maximale par mot (3 au plus)") @RequestParam(defaultValue = "2") int distance,
+            @Parameter(description = "Nombre maximal de résultats") @RequestParam(defaultValue = "10") int limit) {
+        List<Participant> participants = participantService.rechercherApproche(q, distance, limit);
         List<ParticipantDto> participantDtos = participants.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(participantDtos);
     }
 
+    @Operation(summary = "Lister les événements d'un participant",
+            description = "Retourne les événements auxquels le participant est inscrit")
+    @ApiResponse(responseCode = "200", description = "Liste des événements récupérée avec succès")
+    @ApiResponse(responseCode = "404", description = "Participant non trouvé")
+    @GetMapping("/{id}/evenements")
+    public ResponseEntity<List<EvenementDto>> getEvenementsInscrits(
+            @Parameter(description = "ID du participant", required = true) @PathVariable String id)
+            throws ParticipantNotFoundException {
+        List<Evenement> evenements = participantService.getEvenementsInscrits(id);
+        List<EvenementDto> evenementDtos = evenements.stream()
+                .map(DtoMapper::toEvenementDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(evenementDtos);
+    }
+
+    @Operation(summary = "Lister les conférences d'un intervenant",
+            description = "Retourne les conférences où le participant intervient, triées par date")
+    @ApiResponse(responseCode = "200", description = "Liste des conférences récupérée avec succès")
+    @ApiResponse(responseCode = "404", description = "Participant non trouvé")
+    @GetMapping("/{id}/conferences")
+    public ResponseEntity<List<EvenementDto>> getConferencesIntervenant(
+            @Parameter(description = "ID de l'intervenant", required = true) @PathVariable String id)
+            throws ParticipantNotFoundException {
+        List<Conference> conferences = participantService.getConferencesIntervenant(id);
+        List<EvenementDto> evenementDtos = conferences.stream()
+                .map(DtoMapper::toEvenementDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(evenementDtos);
+    }
+
+    @Operation(summary = "Détecter les doubles réservations d'un intervenant",
+            description = "Retourne les dates auxquelles l'intervenant participe à plusieurs conférences")
+    @ApiResponse(responseCode = "200", description = "Liste des conflits récupérée avec succès")
+    @ApiResponse(responseCode = "404", description = "Participant non trouvé")
+    @GetMapping("/{id}/conferences/conflits")
+    public ResponseEntity<List<ConflitHoraireDto>> getDoublesReservations(
+            @Parameter(description = "ID de l'intervenant", required = true) @PathVariable String id)
+            throws ParticipantNotFoundException {
+        List<ConflitHoraireDto> conflits = participantService.getDoublesReservations(id).entrySet().stream()
+                .map(entry -> new ConflitHoraireDto(entry.getKey(), entry.getValue().stream()
+                        .map(DtoMapper::toEvenementDto)
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(conflits);
+    }
+
+    @Operation(summary = "Détecter les conflits d'horaires d'un participant",
+            description = "Retourne les groupes d'événements auxquels le participant est inscrit et dont "
+                    + "les créneaux (date et durée) se chevauchent")
+    @ApiResponse(responseCode = "200", description = "Liste des conflits récupérée avec succès")
+    @ApiResponse(responseCode = "404", description = "Participant non trouvé")
+    @GetMapping("/{id}/conflits")
+    public ResponseEntity<List<ConflitHoraireDto>> getConflitsHoraires(
+            @Parameter(description = "ID du participant", required = true) @PathVariable String id)
+            throws ParticipantNotFoundException {
+        List<ConflitHoraireDto> conflits = participantService.getConflitsHoraires(id).stream()
+                .map(groupe -> new ConflitHoraireDto(groupe.get(0).getDate(), groupe.stream()
+                        .map(DtoMapper::toEvenementDto)
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(conflits);
+    }
+
     // Méthodes utilitaires pour la conversion entre entités et DTOs
     private ParticipantDto convertToDto(Participant participant) {
         ParticipantDto dto = new ParticipantDto();
@@ -115,20 +340,14 @@ public class ParticipantController {
         dto.setNom(participant.getNom());
         dto.setEmail(participant.getEmail());
 
-        // Ajouter les IDs des événements inscrits
-        List<String> evenementsIds = participant.getEvenementsInscrits().stream()
-                .map(e -> e.getId())
-                .collect(Collectors.toList());
-        dto.setEvenementsInscrits(evenementsIds);
+        // Ajouter les IDs des événements inscrits (index inverse, valable aussi après un redémarrage)
+        dto.setEvenementsInscrits(participantService.getEvenementsInscritsIds(participant.getId()));
 
         // Vérifier si c'est un organisateur et ajouter les événements organisés
         if (participant instanceof Organisateur) {
             dto.setOrganisateur(true);
-            Organisateur organisateur = (Organisateur) participant;
-            List<String> evenementsOrganisesIds = organisateur.getEvenementsOrganises().stream()
-                    .map(e -> e.getId())
-                    .collect(Collectors.toList());
-            dto.setEvenementsOrganises(evenementsOrganisesIds);
+            // Index des organisateurs : la liste de l'objet n'est pas persistée
+            dto.setEvenementsOrganises(participantService.getEvenementsOrganisesIds(participant.getId()));
         } else {
             dto.setOrganisateur(false);
         }
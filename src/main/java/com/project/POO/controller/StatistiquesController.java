@@ -0,0 +1,30 @@
+package com.project.POO.controller;
+
+import com.project.POO.dto.StatistiquesDto;
+import com.project.POO.service.StatistiquesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+@Tag(name = "Statistiques", description = "Statistiques du tableau de bord")
+public class StatistiquesController {
+
+    private final StatistiquesService statistiquesService;
+
+    @Operation(summary = "Statistiques générales",
+            description = "Nombre d'événements (disponibles, à venir, annulés), d'inscriptions, "
+                    + "de participants et d'organisateurs, sans parcourir les données")
+    @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès")
+    @GetMapping
+    public ResponseEntity<StatistiquesDto> getStatistiques() {
+        return ResponseEntity.ok(statistiquesService.getStatistiques());
+    }
+}
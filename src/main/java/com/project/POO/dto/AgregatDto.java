@@ -0,0 +1,13 @@
+package com.project.POO.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class AgregatDto {
+    private String groupe;
+    private long nombre;
+    private long somme;
+    private double moyenne;
+}
@@ -0,0 +1,80 @@
+package com.project.POO.dto;
+
+import com.project.POO.index.AnalytiqueIndex.Groupe;
+import com.project.POO.index.AutocompletionIndex.Suggestion;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Conversion des entités en DTOs, partagée par les contrôleurs
+ */
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    /**
+     * Convertit un événement en DTO
+     * @param evenement L'événement à convertir
+     * @return Le DTO, ou null si l'événement est null
+     */
+    public static EvenementDto toEvenementDto(Evenement evenement) {
+        if (evenement == null) {
+            return null;
+        }
+
+        EvenementDto dto = new EvenementDto();
+        dto.setId(evenement.getId());
+        dto.setNom(evenement.getNom());
+        dto.setDate(evenement.getDate());
+        dto.setDureeMinutes(evenement.getDureeMinutes());
+        dto.setLieu(evenement.getLieu());
+        dto.setCapaciteMax(evenement.getCapaciteMax());
+        dto.setAnnule(evenement.isAnnule());
+        dto.setNombreParticipants(evenement.getParticipants() != null ? evenement.getParticipants().size() : 0);
+
+        if (evenement instanceof Conference) {
+            Conference conference = (Conference) evenement;
+            dto.setType("CONFERENCE");
+            dto.setTheme(conference.getTheme());
+
+            // Gérer la liste des intervenants proprement
+            if (conference.getIntervenants() != null) {
+                dto.setIntervenants(conference.getIntervenants().stream()
+                        .map(intervenant -> intervenant.getId())
+                        .collect(Collectors.toList()));
+            } else {
+                dto.setIntervenants(new ArrayList<>());
+            }
+        } else if (evenement instanceof Concert) {
+            Concert concert = (Concert) evenement;
+            dto.setType("CONCERT");
+            dto.setArtiste(concert.getArtiste());
+            dto.setGenreMusical(concert.getGenreMusical());
+        }
+
+        return dto;
+    }
+
+    public static AgregatDto toAgregatDto(Groupe groupe) {
+        AgregatDto dto = new AgregatDto();
+        dto.setGroupe(groupe.getGroupe());
+        dto.setNombre(groupe.getNombre());
+        dto.setSomme(groupe.getSomme());
+        dto.setMoyenne(groupe.getMoyenne());
+        return dto;
+    }
+
+    public static SuggestionDto toSuggestionDto(Suggestion suggestion) {
+        SuggestionDto dto = new SuggestionDto();
+        dto.setType(suggestion.getType());
+        dto.setId(suggestion.getId());
+        dto.setLibelle(suggestion.getLibelle());
+        dto.setPoids(suggestion.getPoids());
+        return dto;
+    }
+}
@@ -1,6 +1,9 @@
 package com.project.POO.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.project.POO.model.Evenement;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -19,6 +22,10 @@ public class EvenementDto {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime date;
 
+    @Positive(message = "La durée doit être positive")
+    @Max(value = Evenement.DUREE_MAX_MINUTES, message = "La durée ne peut pas dépasser deux semaines")
+    private Integer dureeMinutes;
+
     private String lieu;
     private int capaciteMax;
     private boolean annule;
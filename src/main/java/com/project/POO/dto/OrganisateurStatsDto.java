@@ -0,0 +1,15 @@
+package com.project.POO.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class OrganisateurStatsDto {
+    private String organisateurId;
+    private int nombreEvenements;
+    private long placesTotales;
+    private long placesVendues;
+    private int annulations;
+    private int evenementsAVenir;
+}
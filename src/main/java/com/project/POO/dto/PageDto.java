@@ -0,0 +1,17 @@
+package com.project.POO.dto;
+
+import com.project.POO.repository.requete.Plan;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class PageDto<T> {
+    private List<T> elements = new ArrayList<>();
+    // Curseur de la page suivante, null sur la dernière page
+    private String curseurSuivant;
+    private Plan plan;
+}
@@ -0,0 +1,21 @@
+package com.project.POO.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropositionFusionDto {
+
+    // Participant proposé pour être conservé
+    private ParticipantDto conserve;
+
+    private List<ParticipantDto> doublons = new ArrayList<>();
+
+    private List<String> raisons = new ArrayList<>();
+}
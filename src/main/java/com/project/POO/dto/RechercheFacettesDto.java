@@ -0,0 +1,18 @@
+package com.project.POO.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class RechercheFacettesDto {
+    private int total;
+    private List<EvenementDto> evenements = new ArrayList<>();
+    // Facette -> valeur -> nombre d'événements parmi les résultats
+    private Map<String, Map<String, Integer>> facettes = new LinkedHashMap<>();
+}
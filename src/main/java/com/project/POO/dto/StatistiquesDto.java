@@ -0,0 +1,16 @@
+package com.project.POO.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class StatistiquesDto {
+    private int totalEvenements;
+    private int evenementsDisponibles;
+    private int evenementsAVenir;
+    private int evenementsAnnules;
+    private long totalInscriptions;
+    private long totalParticipants;
+    private long totalOrganisateurs;
+}
@@ -0,0 +1,13 @@
+package com.project.POO.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SuggestionDto {
+    private String type;
+    private String id;
+    private String libelle;
+    private long poids;
+}
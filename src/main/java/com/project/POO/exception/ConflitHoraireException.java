@@ -0,0 +1,8 @@
+package com.project.POO.exception;
+
+public class ConflitHoraireException extends RuntimeException {
+
+    public ConflitHoraireException(String message) {
+        super(message);
+    }
+}
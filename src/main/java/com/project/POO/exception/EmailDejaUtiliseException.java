@@ -0,0 +1,8 @@
+package com.project.POO.exception;
+
+public class EmailDejaUtiliseException extends RuntimeException {
+
+    public EmailDejaUtiliseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,368 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.utils.Dictionnaires;
+import com.project.POO.utils.SymbolTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Projection en colonnes des événements, pour les agrégations (inscriptions par lieu, par mois...)
+ * - une ligne par événement, des tableaux primitifs par colonne : date, mois, capacité, inscrits,
+ *   type, annulation, et les codes des dictionnaires partagés pour le lieu, le genre et le thème
+ * - une agrégation construit d'abord un masque de lignes par des boucles simples sur les colonnes
+ *   filtrées, puis cumule nombre et somme par code de groupe dans des tableaux indexés par ce code
+ *
+ * La projection est tenue à jour par les notifications du repository : une inscription ne réécrit
+ * que la colonne des inscrits. Les lignes libérées par une suppression sont réutilisées.
+ */
+@Component
+@Slf4j
+public class AnalytiqueIndex implements EvenementListener {
+
+    public static final String LIEU = "lieu";
+    public static final String MOIS = "mois";
+    public static final String GENRE_MUSICAL = "genreMusical";
+    public static final String THEME = "theme";
+    public static final String TYPE = "type";
+
+    public static final String INSCRITS = "inscrits";
+    public static final String CAPACITE = "capacite";
+
+    private static final List<String> DIMENSIONS = List.of(LIEU, MOIS, GENRE_MUSICAL, THEME, TYPE);
+    private static final List<String> MESURES = List.of(INSCRITS, CAPACITE);
+    private static final List<String> TYPES = List.of("CONFERENCE", "CONCERT");
+    private static final int AUCUN = -1;
+    private static final long SANS_DATE = Long.MIN_VALUE;
+
+    private final Map<String, Integer> lignes = new HashMap<>();
+    private final Deque<Integer> lignesLibres = new ArrayDeque<>();
+    private int nombreLignes;
+    private boolean[] presents = new boolean[64];
+    private long[] dates = new long[64];
+    private int[] mois = new int[64];
+    private int[] capacites = new int[64];
+    private int[] inscrits = new int[64];
+    private int[] types = new int[64];
+    private boolean[] annules = new boolean[64];
+    private int[] lieux = new int[64];
+    private int[] genres = new int[64];
+    private int[] themes = new int[64];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AnalytiqueIndex() {
+    }
+
+    @Autowired
+    public AnalytiqueIndex(JsonEvenementRepository evenementRepository) {
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenements) {
+        lock.writeLock().lock();
+        try {
+            lignes.clear();
+            lignesLibres.clear();
+            Arrays.fill(presents, false);
+            nombreLignes = 0;
+            evenements.forEach(this::ecrire);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Projection analytique chargée: {} événements", lignes.size());
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        lock.writeLock().lock();
+        try {
+            ecrire(evenement);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        lock.writeLock().lock();
+        try {
+            Integer ligne = lignes.remove(evenement.getId());
+            if (ligne != null) {
+                presents[ligne] = false;
+                lignesLibres.push(ligne);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInscription(Evenement evenement, Participant participant) {
+        actualiserInscrits(evenement);
+    }
+
+    @Override
+    public void onDesinscription(Evenement evenement, Participant participant) {
+        actualiserInscrits(evenement);
+    }
+
+    /**
+     * Agrège une mesure par groupe sur les événements qui satisfont le filtre
+     * Les événements sans valeur pour la dimension (par exemple le thème d'un concert) sont ignorés.
+     * @param groupePar Dimension de regroupement : lieu, mois, genreMusical, theme ou type
+     * @param mesure Colonne sommée : inscrits ou capacite
+     * @param filtre Critères des événements retenus
+     * @return Un groupe par valeur de la dimension, dans l'ordre des valeurs
+     * @throws IllegalArgumentException si la dimension ou la mesure est inconnue
+     */
+    public List<Groupe> agreger(String groupePar, String mesure, FiltreAnalyse filtre) {
+        if (!DIMENSIONS.contains(groupePar)) {
+            throw new IllegalArgumentException("Dimension inconnue: " + groupePar + " (attendu: " + DIMENSIONS + ")");
+        }
+        if (!MESURES.contains(mesure)) {
+            throw new IllegalArgumentException("Mesure inconnue: " + mesure + " (attendu: " + MESURES + ")");
+        }
+        lock.readLock().lock();
+        try {
+            int n = nombreLignes;
+            boolean[] masque = masque(filtre, n);
+            int[] codes = colonneGroupe(groupePar);
+            int[] valeurs = INSCRITS.equals(mesure) ? inscrits : capacites;
+
+            // Les mois sont décalés sur le plus petit mois retenu pour indexer les cumuls
+            int decalage = 0;
+            int taille = 0;
+            if (MOIS.equals(groupePar)) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = 0; i < n; i++) {
+                    if (masque[i] && codes[i] != AUCUN) {
+                        min = Math.min(min, codes[i]);
+                        max = Math.max(max, codes[i]);
+                    }
+                }
+                decalage = min == Integer.MAX_VALUE ? 0 : min;
+                taille = min == Integer.MAX_VALUE ? 0 : max - min + 1;
+            } else {
+                for (int i = 0; i < n; i++) {
+                    taille = Math.max(taille, codes[i] + 1);
+                }
+            }
+
+            long[] nombres = new long[taille];
+            long[] sommes = new long[taille];
+            for (int i = 0; i < n; i++) {
+                if (masque[i] && codes[i] != AUCUN) {
+                    int g = codes[i] - decalage;
+                    nombres[g]++;
+                    sommes[g] += valeurs[i];
+                }
+            }
+
+            List<Groupe> groupes = new ArrayList<>();
+            for (int g = 0; g < taille; g++) {
+                if (nombres[g] > 0) {
+                    groupes.add(new Groupe(libelle(groupePar, g + decalage), nombres[g], sommes[g]));
+                }
+            }
+            groupes.sort(Comparator.comparing(Groupe::getGroupe));
+            return groupes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return lignes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Une boucle par critère renseigné, sur une seule colonne à la fois
+    private boolean[] masque(FiltreAnalyse filtre, int n) {
+        boolean[] masque = Arrays.copyOf(presents, n);
+        if (filtre == null) {
+            return masque;
+        }
+        if (filtre.getAnnule() != null) {
+            boolean annule = filtre.getAnnule();
+            for (int i = 0; i < n; i++) {
+                masque[i] &= annules[i] == annule;
+            }
+        }
+        if (filtre.getType() != null) {
+            int type = TYPES.indexOf(filtre.getType().trim().toUpperCase());
+            for (int i = 0; i < n; i++) {
+                masque[i] &= types[i] == type;
+            }
+        }
+        if (filtre.getDateMin() != null) {
+            long min = epoch(filtre.getDateMin());
+            for (int i = 0; i < n; i++) {
+                masque[i] &= dates[i] != SANS_DATE & dates[i] >= min;
+            }
+        }
+        if (filtre.getDateMax() != null) {
+            long max = epoch(filtre.getDateMax());
+            for (int i = 0; i < n; i++) {
+                masque[i] &= dates[i] != SANS_DATE & dates[i] < max;
+            }
+        }
+        filtrerCodes(masque, n, lieux, Dictionnaires.LIEUX, filtre.getLieu());
+        filtrerCodes(masque, n, genres, Dictionnaires.GENRES_MUSICAUX, filtre.getGenreMusical());
+        filtrerCodes(masque, n, themes, Dictionnaires.THEMES, filtre.getTheme());
+        return masque;
+    }
+
+    // Le prédicat n'est évalué qu'une fois par valeur du dictionnaire, puis comparé par code
+    private static void filtrerCodes(boolean[] masque, int n, int[] colonne, SymbolTable dictionnaire, String valeur) {
+        if (valeur == null) {
+            return;
+        }
+        String recherche = valeur.trim();
+        BitSet acceptes = dictionnaire.matchingCodes(symbole -> symbole != null && symbole.trim().equalsIgnoreCase(recherche));
+        for (int i = 0; i < n; i++) {
+            masque[i] &= colonne[i] != AUCUN && acceptes.get(colonne[i]);
+        }
+    }
+
+    private int[] colonneGroupe(String groupePar) {
+        switch (groupePar) {
+            case LIEU:
+                return lieux;
+            case MOIS:
+                return mois;
+            case GENRE_MUSICAL:
+                return genres;
+            case THEME:
+                return themes;
+            default:
+                return types;
+        }
+    }
+
+    private static String libelle(String groupePar, int code) {
+        switch (groupePar) {
+            case LIEU:
+                return Dictionnaires.LIEUX.symbol(code);
+            case MOIS:
+                return YearMonth.of(code / 12, code % 12 + 1).toString();
+            case GENRE_MUSICAL:
+                return Dictionnaires.GENRES_MUSICAUX.symbol(code);
+            case THEME:
+                return Dictionnaires.THEMES.symbol(code);
+            default:
+                return TYPES.get(code);
+        }
+    }
+
+    private void actualiserInscrits(Evenement evenement) {
+        lock.writeLock().lock();
+        try {
+            Integer ligne = lignes.get(evenement.getId());
+            if (ligne != null) {
+                inscrits[ligne] = evenement.getParticipants() == null ? 0 : evenement.getParticipants().size();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ecrire(Evenement evenement) {
+        Integer ligne = lignes.get(evenement.getId());
+        if (ligne == null) {
+            ligne = lignesLibres.isEmpty() ? nombreLignes++ : lignesLibres.pop();
+            agrandir(nombreLignes);
+            lignes.put(evenement.getId(), ligne);
+        }
+        LocalDateTime date = evenement.getDate();
+        presents[ligne] = true;
+        dates[ligne] = date == null ? SANS_DATE : epoch(date);
+        mois[ligne] = date == null ? AUCUN : date.getYear() * 12 + date.getMonthValue() - 1;
+        capacites[ligne] = evenement.getCapaciteMax();
+        inscrits[ligne] = evenement.getParticipants() == null ? 0 : evenement.getParticipants().size();
+        types[ligne] = evenement instanceof Conference ? 0 : evenement instanceof Concert ? 1 : AUCUN;
+        annules[ligne] = evenement.isAnnule();
+        lieux[ligne] = evenement.getLieuCode();
+        genres[ligne] = evenement instanceof Concert ? ((Concert) evenement).getGenreMusicalCode() : AUCUN;
+        themes[ligne] = evenement instanceof Conference ? ((Conference) evenement).getThemeCode() : AUCUN;
+    }
+
+    private void agrandir(int taille) {
+        if (taille <= presents.length) {
+            return;
+        }
+        int capacite = Math.max(taille, presents.length * 2);
+        presents = Arrays.copyOf(presents, capacite);
+        dates = Arrays.copyOf(dates, capacite);
+        mois = Arrays.copyOf(mois, capacite);
+        capacites = Arrays.copyOf(capacites, capacite);
+        inscrits = Arrays.copyOf(inscrits, capacite);
+        types = Arrays.copyOf(types, capacite);
+        annules = Arrays.copyOf(annules, capacite);
+        lieux = Arrays.copyOf(lieux, capacite);
+        genres = Arrays.copyOf(genres, capacite);
+        themes = Arrays.copyOf(themes, capacite);
+    }
+
+    private static long epoch(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Résultat d'une agrégation pour une valeur de la dimension
+     */
+    public static final class Groupe {
+        private final String groupe;
+        private final long nombre;
+        private final long somme;
+
+        private Groupe(String groupe, long nombre, long somme) {
+            this.groupe = groupe;
+            this.nombre = nombre;
+            this.somme = somme;
+        }
+
+        public String getGroupe() {
+            return groupe;
+        }
+
+        public long getNombre() {
+            return nombre;
+        }
+
+        public long getSomme() {
+            return somme;
+        }
+
+        public double getMoyenne() {
+            return nombre == 0 ? 0 : (double) somme / nombre;
+        }
+    }
+}
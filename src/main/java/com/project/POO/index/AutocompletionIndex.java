@@ -0,0 +1,233 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.repository.JsonParticipantRepository;
+import com.project.POO.utils.TrieCompletion;
+import com.project.POO.utils.TrieCompletion.Completion;
+import com.project.POO.utils.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index d'autocomplétion des noms d'événements, des lieux et des noms de participants
+ * Les propositions sont classées par popularité :
+ * - un événement par son nombre d'inscrits (les événements annulés ne sont pas proposés)
+ * - un lieu par le total des inscrits de ses événements
+ * - un participant par son nombre d'inscriptions
+ *
+ * Les événements sont suivis par les notifications du repository ; les participants sont
+ * chargés au démarrage puis signalés par le service à chaque création, modification ou suppression.
+ */
+@Component
+@Slf4j
+public class AutocompletionIndex implements EvenementListener {
+
+    private final TrieCompletion<String> evenements = new TrieCompletion<>();
+    private final TrieCompletion<String> lieux = new TrieCompletion<>();
+    private final TrieCompletion<String> participants = new TrieCompletion<>();
+
+    // Ce que chaque événement apporte déjà à l'index : permet d'appliquer la différence
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Map<String, Lieu> lieuxParCle = new HashMap<>();
+    private final Map<String, Integer> inscriptionsParParticipant = new HashMap<>();
+
+    public AutocompletionIndex() {
+    }
+
+    @Autowired
+    public AutocompletionIndex(JsonEvenementRepository evenementRepository, JsonParticipantRepository participantRepository) {
+        participantRepository.findAll().forEach(this::indexerParticipant);
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public synchronized void onChargement(Collection<Evenement> evenementsCharges) {
+        evenements.clear();
+        lieux.clear();
+        contributions.clear();
+        lieuxParCle.clear();
+        inscriptionsParParticipant.keySet().forEach(id -> participants.ajusterPoids(id, 0));
+        inscriptionsParParticipant.clear();
+        for (Evenement evenement : evenementsCharges) {
+            actualiser(evenement);
+            for (Participant participant : evenement.getParticipants()) {
+                ajusterInscriptions(participant.getId(), 1);
+            }
+        }
+        log.info("Index d'autocomplétion chargé: {} événements, {} lieux, {} participants",
+                evenements.size(), lieux.size(), participants.size());
+    }
+
+    @Override
+    public synchronized void onEnregistrement(Evenement evenement) {
+        actualiser(evenement);
+    }
+
+    @Override
+    public synchronized void onSuppression(Evenement evenement) {
+        retirerContribution(evenement.getId());
+        evenements.retirer(evenement.getId());
+        for (Participant participant : evenement.getParticipants()) {
+            ajusterInscriptions(participant.getId(), -1);
+        }
+    }
+
+    @Override
+    public synchronized void onInscription(Evenement evenement, Participant participant) {
+        ajusterInscriptions(participant.getId(), 1);
+        actualiser(evenement);
+    }
+
+    @Override
+    public synchronized void onDesinscription(Evenement evenement, Participant participant) {
+        ajusterInscriptions(participant.getId(), -1);
+        actualiser(evenement);
+    }
+
+    /**
+     * Indexe un participant créé ou modifié
+     */
+    public synchronized void indexerParticipant(Participant participant) {
+        participants.indexer(participant.getId(), participant.getNom(),
+                inscriptionsParParticipant.getOrDefault(participant.getId(), 0));
+    }
+
+    public synchronized void retirerParticipants(Collection<String> participantIds) {
+        participantIds.forEach(participants::retirer);
+    }
+
+    /**
+     * Propositions d'événements et de lieux pour un préfixe, les plus populaires en premier
+     * @param prefixe Le début d'un mot du nom ou du lieu
+     * @param limite Le nombre maximal de propositions
+     * @return Les propositions ; la clé d'un lieu est son libellé
+     */
+    public List<Suggestion> completerEvenements(String prefixe, int limite) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        evenements.completer(prefixe, limite).forEach(c -> suggestions.add(new Suggestion(Suggestion.EVENEMENT, c)));
+        lieux.completer(prefixe, limite).forEach(c -> suggestions.add(new Suggestion(Suggestion.LIEU, c)));
+        suggestions.sort(Comparator.comparingLong(Suggestion::getPoids).reversed());
+        return suggestions.size() > limite ? new ArrayList<>(suggestions.subList(0, limite)) : suggestions;
+    }
+
+    /**
+     * Propositions de participants pour un préfixe, les plus inscrits en premier
+     */
+    public List<Suggestion> completerParticipants(String prefixe, int limite) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        participants.completer(prefixe, limite).forEach(c -> suggestions.add(new Suggestion(Suggestion.PARTICIPANT, c)));
+        return suggestions;
+    }
+
+    private void actualiser(Evenement evenement) {
+        retirerContribution(evenement.getId());
+        if (evenement.isAnnule() || evenement.getNom() == null) {
+            evenements.retirer(evenement.getId());
+            return;
+        }
+        int inscrits = evenement.getParticipants().size();
+        evenements.indexer(evenement.getId(), evenement.getNom(), inscrits);
+        String cleLieu = TrigramIndex.normaliser(evenement.getLieu());
+        if (cleLieu == null || cleLieu.isBlank()) {
+            return;
+        }
+        contributions.put(evenement.getId(), new Contribution(cleLieu, inscrits));
+        Lieu lieu = lieuxParCle.computeIfAbsent(cleLieu, c -> new Lieu(evenement.getLieu()));
+        lieu.evenements++;
+        lieu.inscrits += inscrits;
+        lieux.indexer(lieu.libelle, lieu.libelle, lieu.inscrits);
+    }
+
+    private void retirerContribution(String evenementId) {
+        Contribution ancienne = contributions.remove(evenementId);
+        if (ancienne == null) {
+            return;
+        }
+        Lieu lieu = lieuxParCle.get(ancienne.cleLieu);
+        lieu.evenements--;
+        lieu.inscrits -= ancienne.inscrits;
+        if (lieu.evenements == 0) {
+            lieuxParCle.remove(ancienne.cleLieu);
+            lieux.retirer(lieu.libelle);
+        } else {
+            lieux.ajusterPoids(lieu.libelle, lieu.inscrits);
+        }
+    }
+
+    private void ajusterInscriptions(String participantId, int delta) {
+        Integer total = inscriptionsParParticipant.merge(participantId, delta, Integer::sum);
+        if (total <= 0) {
+            inscriptionsParParticipant.remove(participantId);
+            total = 0;
+        }
+        participants.ajusterPoids(participantId, total);
+    }
+
+    private static final class Contribution {
+        private final String cleLieu;
+        private final int inscrits;
+
+        private Contribution(String cleLieu, int inscrits) {
+            this.cleLieu = cleLieu;
+            this.inscrits = inscrits;
+        }
+    }
+
+    private static final class Lieu {
+        private final String libelle;
+        private int evenements;
+        private long inscrits;
+
+        private Lieu(String libelle) {
+            this.libelle = libelle;
+        }
+    }
+
+    /**
+     * Proposition d'autocomplétion
+     */
+    public static final class Suggestion {
+        public static final String EVENEMENT = "EVENEMENT";
+        public static final String LIEU = "LIEU";
+        public static final String PARTICIPANT = "PARTICIPANT";
+
+        private final String type;
+        private final String id;
+        private final String libelle;
+        private final long poids;
+
+        private Suggestion(String type, Completion<String> completion) {
+            this.type = type;
+            this.id = completion.getCle();
+            this.libelle = completion.getLibelle();
+            this.poids = completion.getPoids();
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLibelle() {
+            return libelle;
+        }
+
+        public long getPoids() {
+            return poids;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Classements des événements non annulés, tenus à jour à chaque inscription
+ * - par nombre d'inscrits décroissant (événements populaires)
+ * - par taux de remplissage décroissant, pour les événements qui ont encore des places (presque complets)
+ *
+ * Chaque classement est une skip list triée : une inscription ou une désinscription déplace
+ * l'événement en O(log n), et les K premiers se lisent sans trier tous les événements.
+ */
+@Component
+@Slf4j
+public class ClassementIndex implements EvenementListener {
+
+    private final ConcurrentSkipListMap<Cle, Evenement> parInscrits = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Cle, Evenement> parRemplissage = new ConcurrentSkipListMap<>();
+    // Position actuelle de chaque événement : l'instance est modifiée avant la notification
+    private final Map<String, Position> positions = new HashMap<>();
+
+    public ClassementIndex() {
+    }
+
+    @Autowired
+    public ClassementIndex(JsonEvenementRepository evenementRepository) {
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public synchronized void onChargement(Collection<Evenement> evenements) {
+        parInscrits.clear();
+        parRemplissage.clear();
+        positions.clear();
+        evenements.forEach(this::classer);
+        log.info("Classements reconstruits: {} événements", positions.size());
+    }
+
+    @Override
+    public synchronized void onEnregistrement(Evenement evenement) {
+        classer(evenement);
+    }
+
+    @Override
+    public synchronized void onSuppression(Evenement evenement) {
+        retirer(evenement.getId());
+    }
+
+    @Override
+    public synchronized void onInscription(Evenement evenement, Participant participant) {
+        classer(evenement);
+    }
+
+    @Override
+    public synchronized void onDesinscription(Evenement evenement, Participant participant) {
+        classer(evenement);
+    }
+
+    /**
+     * Événements les plus inscrits
+     * @param limite Nombre maximal d'événements
+     */
+    public List<Evenement> populaires(int limite) {
+        return premiers(parInscrits, 0, limite);
+    }
+
+    /**
+     * Événements qui ont encore des places, du plus rempli au moins rempli
+     * @param seuil Taux de remplissage minimal, entre 0 et 1
+     * @param limite Nombre maximal d'événements
+     */
+    public List<Evenement> presqueComplets(double seuil, int limite) {
+        return premiers(parRemplissage, seuil, limite);
+    }
+
+    public synchronized int size() {
+        return positions.size();
+    }
+
+    private void classer(Evenement evenement) {
+        retirer(evenement.getId());
+        if (evenement.isAnnule()) {
+            return;
+        }
+        int inscrits = evenement.getParticipants() == null ? 0 : evenement.getParticipants().size();
+        Cle cleInscrits = new Cle(inscrits, inscrits, evenement.getId());
+        parInscrits.put(cleInscrits, evenement);
+        Cle cleRemplissage = null;
+        if (evenement.getCapaciteMax() > 0 && inscrits < evenement.getCapaciteMax()) {
+            cleRemplissage = new Cle((double) inscrits / evenement.getCapaciteMax(), inscrits, evenement.getId());
+            parRemplissage.put(cleRemplissage, evenement);
+        }
+        positions.put(evenement.getId(), new Position(cleInscrits, cleRemplissage));
+    }
+
+    private void retirer(String id) {
+        Position ancienne = positions.remove(id);
+        if (ancienne == null) {
+            return;
+        }
+        parInscrits.remove(ancienne.inscrits);
+        if (ancienne.remplissage != null) {
+            parRemplissage.remove(ancienne.remplissage);
+        }
+    }
+
+    private static List<Evenement> premiers(ConcurrentSkipListMap<Cle, Evenement> classement, double seuil, int limite) {
+        List<Evenement> premiers = new ArrayList<>(Math.min(limite, 64));
+        for (Map.Entry<Cle, Evenement> entree : classement.entrySet()) {
+            if (premiers.size() >= limite || entree.getKey().score < seuil) {
+                break;
+            }
+            premiers.add(entree.getValue());
+        }
+        return premiers;
+    }
+
+    private static final class Position {
+        private final Cle inscrits;
+        private final Cle remplissage;
+
+        private Position(Cle inscrits, Cle remplissage) {
+            this.inscrits = inscrits;
+            this.remplissage = remplissage;
+        }
+    }
+
+    // Score décroissant, puis nombre d'inscrits décroissant, puis ID
+    private static final class Cle implements Comparable<Cle> {
+        private final double score;
+        private final int inscrits;
+        private final String id;
+
+        private Cle(double score, int inscrits, String id) {
+            this.score = score;
+            this.inscrits = inscrits;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Cle autre) {
+            int parScore = Double.compare(autre.score, score);
+            if (parScore != 0) {
+                return parScore;
+            }
+            int parInscrits = Integer.compare(autre.inscrits, inscrits);
+            return parInscrits != 0 ? parInscrits : id.compareTo(autre.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Cle && compareTo((Cle) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(score) + id.hashCode();
+        }
+    }
+}
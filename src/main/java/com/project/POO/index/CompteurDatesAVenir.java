@@ -0,0 +1,57 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+
+/**
+ * Nombre d'événements à venir, tenu à jour par différence
+ * Les dates passées sont purgées à la lecture : chaque date ne l'est qu'une fois, le coût est amorti O(1).
+ * Non synchronisé : l'index propriétaire appelle le compteur sous son propre verrou.
+ */
+final class CompteurDatesAVenir {
+
+    private final TreeMap<LocalDateTime, Integer> dates = new TreeMap<>();
+    private int aVenir;
+
+    /**
+     * Date à compter pour un événement : null s'il est annulé ou non daté
+     */
+    static LocalDateTime dateAVenir(Evenement evenement) {
+        return evenement.isAnnule() ? null : evenement.getDate();
+    }
+
+    void ajouter(LocalDateTime date) {
+        if (date != null) {
+            dates.merge(date, 1, Integer::sum);
+            aVenir++;
+        }
+    }
+
+    // Une date déjà purgée n'est plus comptée
+    void retirer(LocalDateTime date) {
+        Integer nombre = date == null ? null : dates.get(date);
+        if (nombre == null) {
+            return;
+        }
+        if (nombre == 1) {
+            dates.remove(date);
+        } else {
+            dates.put(date, nombre - 1);
+        }
+        aVenir--;
+    }
+
+    int compter(LocalDateTime maintenant) {
+        while (!dates.isEmpty() && !dates.firstKey().isAfter(maintenant)) {
+            aVenir -= dates.pollFirstEntry().getValue();
+        }
+        return aVenir;
+    }
+
+    void vider() {
+        dates.clear();
+        aVenir = 0;
+    }
+}
@@ -0,0 +1,303 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index des créneaux occupés par chaque participant, pour détecter les chevauchements d'horaires
+ * - un créneau va de la date de l'événement à sa fin (date + durée ; sans durée, il se réduit à
+ *   son début) ; deux créneaux sont en conflit s'ils se chevauchent ou commencent au même instant
+ * - l'agenda d'un participant range ses créneaux par case de temps (CASE_MINUTES) : un créneau est
+ *   inscrit dans chaque case qu'il couvre, si bien qu'une vérification ne lit que les cases du
+ *   créneau candidat, en O(log n) dans l'agenda
+ * - un créneau qui couvre plus de CASES_MAX cases n'est pas recopié dans chacune : il est gardé dans
+ *   la liste des créneaux longs de l'agenda, parcourue à chaque vérification
+ *
+ * Les événements annulés ou sans date n'occupent aucun créneau. L'index est reconstruit au
+ * chargement à partir des listes de participants, puis tenu à jour à chaque notification.
+ */
+@Component
+@Slf4j
+public class ConflitIndex implements EvenementListener {
+
+    static final long CASE_MINUTES = 24 * 60;
+    static final int CASES_MAX = 4;
+
+    private final boolean conflitsRefuses;
+    // Créneau actuel de chaque événement, et participants pour lesquels il est inscrit
+    private final Map<String, Creneau> creneaux = new HashMap<>();
+    private final Map<String, Set<String>> participantsParEvenement = new HashMap<>();
+    private final Map<String, Agenda> agendas = new HashMap<>();
+
+    public ConflitIndex() {
+        this(false);
+    }
+
+    /**
+     * @param conflitsRefuses true pour refuser une inscription en conflit, false pour seulement la signaler
+     */
+    public ConflitIndex(boolean conflitsRefuses) {
+        this.conflitsRefuses = conflitsRefuses;
+    }
+
+    @Autowired
+    public ConflitIndex(JsonEvenementRepository evenementRepository,
+                        @Value("${app.inscriptions.conflits:avertir}") String politique) {
+        this("refuser".equalsIgnoreCase(politique));
+        evenementRepository.abonner(this);
+    }
+
+    public boolean isConflitsRefuses() {
+        return conflitsRefuses;
+    }
+
+    @Override
+    public synchronized void onChargement(Collection<Evenement> evenements) {
+        creneaux.clear();
+        participantsParEvenement.clear();
+        agendas.clear();
+        for (Evenement evenement : evenements) {
+            actualiser(evenement);
+            for (Participant participant : evenement.getParticipants()) {
+                ajouter(participant.getId(), evenement.getId());
+            }
+        }
+        log.info("Index des créneaux reconstruit: {} participants", agendas.size());
+    }
+
+    @Override
+    public synchronized void onEnregistrement(Evenement evenement) {
+        actualiser(evenement);
+        for (Participant participant : evenement.getParticipants()) {
+            ajouter(participant.getId(), evenement.getId());
+        }
+    }
+
+    @Override
+    public synchronized void onSuppression(Evenement evenement) {
+        Set<String> participants = participantsParEvenement.remove(evenement.getId());
+        Creneau creneau = creneaux.remove(evenement.getId());
+        if (participants != null && creneau != null) {
+            participants.forEach(id -> retirerDeLAgenda(id, creneau));
+        }
+    }
+
+    @Override
+    public synchronized void onInscription(Evenement evenement, Participant participant) {
+        if (!creneaux.containsKey(evenement.getId())) {
+            actualiser(evenement);
+        }
+        ajouter(participant.getId(), evenement.getId());
+    }
+
+    @Override
+    public synchronized void onDesinscription(Evenement evenement, Participant participant) {
+        Set<String> participants = participantsParEvenement.get(evenement.getId());
+        if (participants == null || !participants.remove(participant.getId())) {
+            return;
+        }
+        Creneau creneau = creneaux.get(evenement.getId());
+        if (creneau != null) {
+            retirerDeLAgenda(participant.getId(), creneau);
+        }
+    }
+
+    /**
+     * Événements du participant dont le créneau chevauche celui d'un événement candidat
+     * @param participantId L'ID du participant
+     * @param evenement L'événement auquel le participant veut s'inscrire
+     * @return Les événements en conflit (vide si l'événement est annulé ou sans date)
+     */
+    public synchronized List<Evenement> chevauchements(String participantId, Evenement evenement) {
+        Creneau candidat = Creneau.de(evenement);
+        Agenda agenda = agendas.get(participantId);
+        if (candidat == null || agenda == null) {
+            return new ArrayList<>();
+        }
+        Set<Creneau> trouves = new LinkedHashSet<>();
+        for (Set<Creneau> parCase : agenda.cases.subMap(candidat.premiereCase(), true, candidat.derniereCase(), true).values()) {
+            for (Creneau creneau : parCase) {
+                if (!creneau.evenement.getId().equals(evenement.getId()) && creneau.chevauche(candidat)) {
+                    trouves.add(creneau);
+                }
+            }
+        }
+        for (Creneau creneau : agenda.longs) {
+            if (!creneau.evenement.getId().equals(evenement.getId()) && creneau.chevauche(candidat)) {
+                trouves.add(creneau);
+            }
+        }
+        List<Evenement> conflits = new ArrayList<>();
+        trouves.stream().sorted(Comparator.comparingLong(c -> c.debut)).forEach(c -> conflits.add(c.evenement));
+        return conflits;
+    }
+
+    /**
+     * Conflits existants d'un participant : groupes d'événements dont les créneaux se chevauchent
+     * @param participantId L'ID du participant
+     * @return Les groupes d'au moins deux événements, dans l'ordre chronologique
+     */
+    public synchronized List<List<Evenement>> conflits(String participantId) {
+        Agenda agenda = agendas.get(participantId);
+        List<List<Evenement>> groupes = new ArrayList<>();
+        if (agenda == null) {
+            return groupes;
+        }
+        List<Creneau> tries = new ArrayList<>(agenda.creneaux);
+        tries.sort(Comparator.<Creneau>comparingLong(c -> c.debut).thenComparingLong(c -> c.fin));
+        List<Evenement> groupe = new ArrayList<>();
+        long finGroupe = Long.MIN_VALUE;
+        long debutPrecedent = Long.MIN_VALUE;
+        for (Creneau creneau : tries) {
+            boolean chevauche = !groupe.isEmpty() && (creneau.debut < finGroupe || creneau.debut == debutPrecedent);
+            if (!chevauche) {
+                if (groupe.size() > 1) {
+                    groupes.add(groupe);
+                }
+                groupe = new ArrayList<>();
+                finGroupe = Long.MIN_VALUE;
+            }
+            groupe.add(creneau.evenement);
+            finGroupe = Math.max(finGroupe, creneau.fin);
+            debutPrecedent = creneau.debut;
+        }
+        if (groupe.size() > 1) {
+            groupes.add(groupe);
+        }
+        return groupes;
+    }
+
+    // Recalcule le créneau d'un événement et déplace ses participants si la date ou la durée a changé
+    private void actualiser(Evenement evenement) {
+        Creneau nouveau = Creneau.de(evenement);
+        Creneau ancien = nouveau == null ? creneaux.remove(evenement.getId()) : creneaux.put(evenement.getId(), nouveau);
+        if (ancien != null && ancien.memesBornes(nouveau)) {
+            // Même créneau : l'instance d'événement est conservée telle quelle
+            creneaux.put(evenement.getId(), ancien);
+            return;
+        }
+        Set<String> participants = participantsParEvenement.getOrDefault(evenement.getId(), Set.of());
+        for (String participantId : participants) {
+            if (ancien != null) {
+                retirerDeLAgenda(participantId, ancien);
+            }
+            if (nouveau != null) {
+                agendas.computeIfAbsent(participantId, id -> new Agenda()).ajouter(nouveau);
+            }
+        }
+    }
+
+    private void ajouter(String participantId, String evenementId) {
+        if (!participantsParEvenement.computeIfAbsent(evenementId, id -> new HashSet<>()).add(participantId)) {
+            return;
+        }
+        Creneau creneau = creneaux.get(evenementId);
+        if (creneau != null) {
+            agendas.computeIfAbsent(participantId, id -> new Agenda()).ajouter(creneau);
+        }
+    }
+
+    private void retirerDeLAgenda(String participantId, Creneau creneau) {
+        Agenda agenda = agendas.get(participantId);
+        if (agenda != null && agenda.retirer(creneau)) {
+            agendas.remove(participantId);
+        }
+    }
+
+    private static final class Agenda {
+        private final TreeMap<Long, Set<Creneau>> cases = new TreeMap<>();
+        // Créneaux de plus de CASES_MAX cases, hors des cases
+        private final Set<Creneau> longs = new HashSet<>();
+        private final Set<Creneau> creneaux = new HashSet<>();
+
+        void ajouter(Creneau creneau) {
+            if (!creneaux.add(creneau)) {
+                return;
+            }
+            if (creneau.estLong()) {
+                longs.add(creneau);
+                return;
+            }
+            for (long c = creneau.premiereCase(); c <= creneau.derniereCase(); c++) {
+                cases.computeIfAbsent(c, k -> new HashSet<>()).add(creneau);
+            }
+        }
+
+        // Retourne true si l'agenda est désormais vide
+        boolean retirer(Creneau creneau) {
+            if (creneaux.remove(creneau) && !longs.remove(creneau)) {
+                for (long c = creneau.premiereCase(); c <= creneau.derniereCase(); c++) {
+                    Set<Creneau> parCase = cases.get(c);
+                    parCase.remove(creneau);
+                    if (parCase.isEmpty()) {
+                        cases.remove(c);
+                    }
+                }
+            }
+            return creneaux.isEmpty();
+        }
+    }
+
+    // Bornes en minutes depuis l'époque ; égalité par identité (un créneau par événement à la fois)
+    private static final class Creneau {
+        private final Evenement evenement;
+        private final long debut;
+        private final long fin;
+
+        private Creneau(Evenement evenement, long debut, long fin) {
+            this.evenement = evenement;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        static Creneau de(Evenement evenement) {
+            LocalDateTime date = evenement.getDate();
+            if (evenement.isAnnule() || date == null) {
+                return null;
+            }
+            long debut = date.toEpochSecond(ZoneOffset.UTC) / 60;
+            int duree = evenement.getDureeMinutes() == null ? 0 : Math.max(0, evenement.getDureeMinutes());
+            return new Creneau(evenement, debut, debut + duree);
+        }
+
+        boolean chevauche(Creneau autre) {
+            return debut == autre.debut || (debut < autre.fin && autre.debut < fin);
+        }
+
+        boolean memesBornes(Creneau autre) {
+            return autre != null && debut == autre.debut && fin == autre.fin;
+        }
+
+        long premiereCase() {
+            return Math.floorDiv(debut, CASE_MINUTES);
+        }
+
+        boolean estLong() {
+            return derniereCase() - premiereCase() >= CASES_MAX;
+        }
+
+        // Une fin exclue qui tombe pile sur une limite de case n'occupe pas la case suivante
+        long derniereCase() {
+            return Math.floorDiv(Math.max(debut, fin - 1), CASE_MINUTES);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.POO.index;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtre d'une agrégation de AnalytiqueIndex : tous les critères renseignés doivent être satisfaits
+ * Les valeurs texte sont comparées sans tenir compte de la casse ni des espaces autour.
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class FiltreAnalyse {
+
+    // CONFERENCE ou CONCERT
+    private String type;
+    private Boolean annule;
+    // Date dans [dateMin, dateMax[
+    private LocalDateTime dateMin;
+    private LocalDateTime dateMax;
+    private String lieu;
+    private String genreMusical;
+    private String theme;
+}
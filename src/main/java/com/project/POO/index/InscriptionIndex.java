@@ -0,0 +1,114 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index inverse participant -> événements auxquels il est inscrit
+ * Participant.evenementsInscrits n'est pas persisté : cet index est reconstruit au chargement
+ * à partir des listes de participants des événements, puis tenu à jour à chaque inscription.
+ */
+@Component
+@Slf4j
+public class InscriptionIndex implements EvenementListener {
+
+    private final Map<String, Set<String>> evenementsParParticipant = new ConcurrentHashMap<>();
+    private final Set<String> evenementsIndexes = ConcurrentHashMap.newKeySet();
+
+    public InscriptionIndex() {
+    }
+
+    @Autowired
+    public InscriptionIndex(JsonEvenementRepository evenementRepository) {
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenements) {
+        evenementsParParticipant.clear();
+        evenementsIndexes.clear();
+        // Les ensembles sont concurrents : la reconstruction peut se faire en parallèle
+        evenements.parallelStream().forEach(this::indexer);
+        log.info("Index des inscriptions reconstruit: {} participants inscrits", evenementsParParticipant.size());
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        // Un événement créé avec des participants déjà présents est indexé une seule fois
+        if (!evenementsIndexes.contains(evenement.getId())) {
+            indexer(evenement);
+        }
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        evenementsIndexes.remove(evenement.getId());
+        for (Participant participant : evenement.getParticipants()) {
+            retirer(participant.getId(), evenement.getId());
+        }
+    }
+
+    @Override
+    public void onInscription(Evenement evenement, Participant participant) {
+        ajouter(participant.getId(), evenement.getId());
+    }
+
+    @Override
+    public void onDesinscription(Evenement evenement, Participant participant) {
+        retirer(participant.getId(), evenement.getId());
+    }
+
+    /**
+     * Retourne les IDs des événements auxquels un participant est inscrit
+     * @param participantId L'ID du participant
+     * @return Une copie de la liste des IDs d'événements
+     */
+    public List<String> getEvenementsIds(String participantId) {
+        Set<String> ids = evenementsParParticipant.get(participantId);
+        return ids == null ? new ArrayList<>() : new ArrayList<>(ids);
+    }
+
+    public boolean estInscrit(String participantId, String evenementId) {
+        Set<String> ids = evenementsParParticipant.get(participantId);
+        return ids != null && ids.contains(evenementId);
+    }
+
+    public int nombreInscriptions(String participantId) {
+        Set<String> ids = evenementsParParticipant.get(participantId);
+        return ids == null ? 0 : ids.size();
+    }
+
+    private void indexer(Evenement evenement) {
+        evenementsIndexes.add(evenement.getId());
+        for (Participant participant : evenement.getParticipants()) {
+            ajouter(participant.getId(), evenement.getId());
+        }
+    }
+
+    private void ajouter(String participantId, String evenementId) {
+        evenementsParParticipant.compute(participantId, (id, ids) -> {
+            Set<String> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(evenementId);
+            return result;
+        });
+    }
+
+    private void retirer(String participantId, String evenementId) {
+        evenementsParParticipant.computeIfPresent(participantId, (id, ids) -> {
+            ids.remove(evenementId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
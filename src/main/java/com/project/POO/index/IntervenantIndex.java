@@ -0,0 +1,149 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Index intervenant -> conférences où il intervient
+ * Reconstruit au chargement à partir de Conference.intervenants, puis tenu à jour
+ * par les ajouts et retraits d'intervenants signalés par le repository.
+ */
+@Component
+@Slf4j
+public class IntervenantIndex implements EvenementListener {
+
+    private final Map<String, Set<String>> conferencesParIntervenant = new ConcurrentHashMap<>();
+    private final Map<String, Conference> conferences = new ConcurrentHashMap<>();
+
+    public IntervenantIndex() {
+    }
+
+    @Autowired
+    public IntervenantIndex(JsonEvenementRepository evenementRepository) {
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenements) {
+        conferencesParIntervenant.clear();
+        conferences.clear();
+        evenements.parallelStream()
+                .filter(e -> e instanceof Conference)
+                .forEach(e -> indexer((Conference) e));
+        log.info("Index des intervenants reconstruit: {} intervenants", conferencesParIntervenant.size());
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        // Une conférence créée avec des intervenants déjà présents est indexée une seule fois
+        if (evenement instanceof Conference && !conferences.containsKey(evenement.getId())) {
+            indexer((Conference) evenement);
+        }
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        if (conferences.remove(evenement.getId()) != null) {
+            for (Participant intervenant : ((Conference) evenement).getIntervenants()) {
+                retirer(intervenant.getId(), evenement.getId());
+            }
+        }
+    }
+
+    @Override
+    public void onAjoutIntervenant(Conference conference, Participant intervenant) {
+        conferences.put(conference.getId(), conference);
+        ajouter(intervenant.getId(), conference.getId());
+    }
+
+    @Override
+    public void onRetraitIntervenant(Conference conference, Participant intervenant) {
+        retirer(intervenant.getId(), conference.getId());
+    }
+
+    /**
+     * Retourne les IDs des conférences d'un intervenant
+     * @param intervenantId L'ID de l'intervenant
+     * @return Une copie de la liste des IDs de conférences
+     */
+    public List<String> getConferencesIds(String intervenantId) {
+        Set<String> ids = conferencesParIntervenant.get(intervenantId);
+        return ids == null ? new ArrayList<>() : new ArrayList<>(ids);
+    }
+
+    /**
+     * Retourne les conférences d'un intervenant, triées par date
+     * @param intervenantId L'ID de l'intervenant
+     * @return Les conférences de l'intervenant
+     */
+    public List<Conference> getConferences(String intervenantId) {
+        return getConferencesIds(intervenantId).stream()
+                .map(conferences::get)
+                .filter(c -> c != null)
+                .sorted(Comparator.comparing(Conference::getDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Détecte les doubles réservations d'un intervenant : plusieurs conférences à la même date
+     * @param intervenantId L'ID de l'intervenant
+     * @return Les conférences regroupées par date, pour les seules dates en conflit
+     */
+    public Map<LocalDateTime, List<Conference>> getDoublesReservations(String intervenantId) {
+        Map<LocalDateTime, List<Conference>> parDate = new TreeMap<>();
+        for (Conference conference : getConferences(intervenantId)) {
+            if (conference.getDate() != null && !conference.isAnnule()) {
+                parDate.computeIfAbsent(conference.getDate(), d -> new ArrayList<>()).add(conference);
+            }
+        }
+        parDate.values().removeIf(groupe -> groupe.size() < 2);
+        return parDate;
+    }
+
+    /**
+     * Indique si un intervenant a déjà une conférence à cette date
+     */
+    public boolean estOccupe(String intervenantId, LocalDateTime date, String conferenceIgnoree) {
+        return getConferences(intervenantId).stream()
+                .anyMatch(c -> !c.getId().equals(conferenceIgnoree) && !c.isAnnule() && date != null && date.equals(c.getDate()));
+    }
+
+    private void indexer(Conference conference) {
+        conferences.put(conference.getId(), conference);
+        for (Participant intervenant : conference.getIntervenants()) {
+            ajouter(intervenant.getId(), conference.getId());
+        }
+    }
+
+    private void ajouter(String intervenantId, String conferenceId) {
+        conferencesParIntervenant.compute(intervenantId, (id, ids) -> {
+            Set<String> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(conferenceId);
+            return result;
+        });
+    }
+
+    private void retirer(String intervenantId, String conferenceId) {
+        conferencesParIntervenant.computeIfPresent(intervenantId, (id, ids) -> {
+            ids.remove(conferenceId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index organisateur -> événements organisés, avec agrégats tenus à jour
+ * Chaque événement garde sa dernière contribution (places, ventes, annulation, date) :
+ * à chaque enregistrement, seule la différence est appliquée aux compteurs de l'organisateur,
+ * sous le verrou de ses compteurs, si bien qu'une lecture ne voit jamais un état intermédiaire.
+ */
+@Component
+@Slf4j
+public class OrganisateurIndex implements EvenementListener {
+
+    private final Map<String, Contribution> contributions = new ConcurrentHashMap<>();
+    private final Map<String, Compteurs> compteursParOrganisateur = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public OrganisateurIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public OrganisateurIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Autowired
+    public OrganisateurIndex(JsonEvenementRepository evenementRepository) {
+        this(Clock.systemDefaultZone());
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenements) {
+        contributions.clear();
+        compteursParOrganisateur.clear();
+        evenements.forEach(this::appliquer);
+        log.info("Index des organisateurs reconstruit: {} organisateurs", compteursParOrganisateur.size());
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        appliquer(evenement);
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        contributions.computeIfPresent(evenement.getId(), (id, ancienne) -> {
+            compteurs(ancienne.organisateurId).remplacer(ancienne, null);
+            return null;
+        });
+    }
+
+    /**
+     * Retourne les IDs des événements d'un organisateur
+     * @param organisateurId L'ID de l'organisateur
+     * @return Une copie de la liste des IDs d'événements
+     */
+    public List<String> getEvenementsIds(String organisateurId) {
+        Compteurs compteurs = compteursParOrganisateur.get(organisateurId);
+        return compteurs == null ? new ArrayList<>() : compteurs.evenementsIds();
+    }
+
+    /**
+     * Retourne les agrégats d'un organisateur sans parcourir ses événements
+     * @param organisateurId L'ID de l'organisateur
+     * @return Un instantané cohérent des agrégats
+     */
+    public StatistiquesOrganisateur getStatistiques(String organisateurId) {
+        Compteurs compteurs = compteursParOrganisateur.get(organisateurId);
+        return compteurs == null ? StatistiquesOrganisateur.VIDE : compteurs.instantane(LocalDateTime.now(clock));
+    }
+
+    // Le calcul par événement est sérialisé par compute(), l'application aux compteurs par leur verrou
+    private void appliquer(Evenement evenement) {
+        Contribution nouvelle = Contribution.de(evenement);
+        contributions.compute(evenement.getId(), (id, ancienne) -> {
+            if (ancienne != null && nouvelle != null && ancienne.organisateurId.equals(nouvelle.organisateurId)) {
+                compteurs(nouvelle.organisateurId).remplacer(ancienne, nouvelle);
+            } else {
+                if (ancienne != null) {
+                    compteurs(ancienne.organisateurId).remplacer(ancienne, null);
+                }
+                if (nouvelle != null) {
+                    compteurs(nouvelle.organisateurId).remplacer(null, nouvelle);
+                }
+            }
+            return nouvelle;
+        });
+    }
+
+    private Compteurs compteurs(String organisateurId) {
+        return compteursParOrganisateur.computeIfAbsent(organisateurId, id -> new Compteurs());
+    }
+
+    private static final class Contribution {
+        private final String evenementId;
+        private final String organisateurId;
+        private final int places;
+        private final int vendues;
+        private final boolean annule;
+        private final LocalDateTime dateAVenir;
+
+        private Contribution(Evenement evenement) {
+            this.evenementId = evenement.getId();
+            this.organisateurId = evenement.getOrganisateur().getId();
+            this.places = evenement.getCapaciteMax();
+            this.vendues = evenement.getParticipants() != null ? evenement.getParticipants().size() : 0;
+            this.annule = evenement.isAnnule();
+            this.dateAVenir = CompteurDatesAVenir.dateAVenir(evenement);
+        }
+
+        static Contribution de(Evenement evenement) {
+            return evenement.getOrganisateur() == null || evenement.getOrganisateur().getId() == null
+                    ? null : new Contribution(evenement);
+        }
+    }
+
+    private static final class Compteurs {
+        private final Set<String> evenementsIds = ConcurrentHashMap.newKeySet();
+        private int nombreEvenements;
+        private long placesTotales;
+        private long placesVendues;
+        private int annulations;
+        private final CompteurDatesAVenir aVenir = new CompteurDatesAVenir();
+
+        synchronized void remplacer(Contribution ancienne, Contribution nouvelle) {
+            if (ancienne != null) {
+                evenementsIds.remove(ancienne.evenementId);
+                nombreEvenements--;
+                placesTotales -= ancienne.places;
+                placesVendues -= ancienne.vendues;
+                annulations -= ancienne.annule ? 1 : 0;
+                aVenir.retirer(ancienne.dateAVenir);
+            }
+            if (nouvelle != null) {
+                evenementsIds.add(nouvelle.evenementId);
+                nombreEvenements++;
+                placesTotales += nouvelle.places;
+                placesVendues += nouvelle.vendues;
+                annulations += nouvelle.annule ? 1 : 0;
+                aVenir.ajouter(nouvelle.dateAVenir);
+            }
+        }
+
+        synchronized StatistiquesOrganisateur instantane(LocalDateTime maintenant) {
+            return new StatistiquesOrganisateur(nombreEvenements, placesTotales, placesVendues, annulations,
+                    aVenir.compter(maintenant));
+        }
+
+        List<String> evenementsIds() {
+            return new ArrayList<>(evenementsIds);
+        }
+    }
+}
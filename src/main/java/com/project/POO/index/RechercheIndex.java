@@ -0,0 +1,352 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.utils.JsonUtils;
+import com.project.POO.utils.TrigramIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé plein texte des événements, classé par BM25
+ * Champs indexés : nom et artiste (poids 2), lieu, genre musical et thème (poids 1).
+ * Les termes sont normalisés (minuscules, sans accents) et les mots vides français ignorés.
+ *
+ * L'index est tenu à jour à chaque enregistrement ou suppression d'événement, et sauvegardé
+ * dans un instantané binaire à l'arrêt : au démarrage, seuls les événements dont le texte
+ * a changé depuis l'instantané sont de nouveau analysés.
+ */
+@Component
+@Slf4j
+public class RechercheIndex implements EvenementListener {
+
+    private static final String SNAPSHOT_FILE = "data/index-recherche.bin";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> MOTS_VIDES = Set.of(
+            "a", "au", "aux", "avec", "ce", "ces", "d", "dans", "de", "des", "du", "en", "et", "l", "la",
+            "le", "les", "leur", "ou", "par", "pour", "sur", "un", "une");
+
+    // Terme -> (ID d'événement -> fréquence pondérée)
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path snapshot;
+    private long longueurTotale;
+    // Documents découpés en termes lors du dernier chargement (les autres viennent de l'instantané)
+    private volatile int documentsAnalyses;
+
+    public RechercheIndex() {
+        this((Path) null);
+    }
+
+    /**
+     * @param snapshot Fichier de l'instantané, relu au chargement et écrit à l'arrêt (null : aucun)
+     */
+    public RechercheIndex(Path snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Autowired
+    public RechercheIndex(JsonEvenementRepository evenementRepository) {
+        this(Paths.get(JsonUtils.resolvePath(SNAPSHOT_FILE)));
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenements) {
+        Map<String, Document> instantane = lireSnapshot();
+        int analyses = 0;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            longueurTotale = 0;
+            for (Evenement evenement : evenements) {
+                String texte = texte(evenement);
+                Document document = instantane.get(evenement.getId());
+                if (document == null || document.signature != signature(texte)) {
+                    document = analyser(texte);
+                    analyses++;
+                }
+                ajouter(evenement.getId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        documentsAnalyses = analyses;
+        log.info("Index de recherche chargé: {} événements, {} termes ({} analysés)",
+                documents.size(), postings.size(), analyses);
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        String texte = texte(evenement);
+        long signature = signature(texte);
+        lock.writeLock().lock();
+        try {
+            Document ancien = documents.get(evenement.getId());
+            if (ancien != null && ancien.signature == signature) {
+                return;
+            }
+            if (ancien != null) {
+                retirer(evenement.getId(), ancien);
+            }
+            ajouter(evenement.getId(), analyser(texte));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        lock.writeLock().lock();
+        try {
+            Document ancien = documents.get(evenement.getId());
+            if (ancien != null) {
+                retirer(evenement.getId(), ancien);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche plein texte classée par BM25
+     * @param requete Les mots recherchés (un événement qui en contient plusieurs est mieux classé)
+     * @param limite Le nombre maximal de résultats
+     * @return Les IDs des meilleurs événements, du plus pertinent au moins pertinent
+     */
+    public List<String> rechercher(String requete, int limite) {
+        List<String> termes = tokeniser(requete);
+        if (termes.isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        Map<String, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            double longueurMoyenne = n == 0 ? 0 : (double) longueurTotale / n;
+            for (String terme : Set.copyOf(termes)) {
+                Map<String, Integer> liste = postings.get(terme);
+                if (liste == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - liste.size() + 0.5) / (liste.size() + 0.5));
+                for (Map.Entry<String, Integer> entree : liste.entrySet()) {
+                    double tf = entree.getValue();
+                    double norme = K1 * (1 - B + B * documents.get(entree.getKey()).longueur / longueurMoyenne);
+                    scores.merge(entree.getKey(), idf * tf * (K1 + 1) / (tf + norme), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return meilleurs(scores, limite);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Découpe un texte en termes normalisés, sans les mots vides
+     */
+    public static List<String> tokeniser(String texte) {
+        List<String> termes = new ArrayList<>();
+        if (texte == null) {
+            return termes;
+        }
+        for (String terme : SEPARATEURS.split(TrigramIndex.normaliser(texte))) {
+            if (!terme.isEmpty() && !MOTS_VIDES.contains(terme)) {
+                termes.add(terme);
+            }
+        }
+        return termes;
+    }
+
+    /**
+     * Nombre de documents réanalysés au dernier chargement, faute d'entrée à jour dans l'instantané
+     */
+    public int getDocumentsAnalyses() {
+        return documentsAnalyses;
+    }
+
+    @PreDestroy
+    public void sauvegarderSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Path temporaire = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaire)))) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(documents.size());
+                for (Map.Entry<String, Document> entree : documents.entrySet()) {
+                    Document document = entree.getValue();
+                    out.writeUTF(entree.getKey());
+                    out.writeLong(document.signature);
+                    out.writeInt(document.frequences.size());
+                    for (Map.Entry<String, Integer> frequence : document.frequences.entrySet()) {
+                        out.writeUTF(frequence.getKey());
+                        out.writeInt(frequence.getValue());
+                    }
+                }
+            }
+            Files.move(temporaire, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Instantané de l'index de recherche sauvegardé: {} événements", documents.size());
+        } catch (IOException e) {
+            log.error("Erreur lors de la sauvegarde de l'index de recherche: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Document> lireSnapshot() {
+        if (snapshot == null || !Files.exists(snapshot)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Document> instantane = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                return Collections.emptyMap();
+            }
+            int nombre = in.readInt();
+            for (int i = 0; i < nombre; i++) {
+                String id = in.readUTF();
+                long signature = in.readLong();
+                int termes = in.readInt();
+                Map<String, Integer> frequences = new HashMap<>(termes * 2);
+                for (int j = 0; j < termes; j++) {
+                    frequences.put(in.readUTF(), in.readInt());
+                }
+                instantane.put(id, new Document(signature, frequences));
+            }
+        } catch (IOException e) {
+            // Instantané illisible : les événements seront simplement analysés de nouveau
+            log.warn("Instantané de l'index de recherche ignoré: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+        return instantane;
+    }
+
+    private void ajouter(String id, Document document) {
+        documents.put(id, document);
+        longueurTotale += document.longueur;
+        document.frequences.forEach((terme, tf) -> postings.computeIfAbsent(terme, t -> new HashMap<>()).put(id, tf));
+    }
+
+    private void retirer(String id, Document document) {
+        documents.remove(id);
+        longueurTotale -= document.longueur;
+        document.frequences.keySet().forEach(terme -> postings.computeIfPresent(terme, (t, liste) -> {
+            liste.remove(id);
+            return liste.isEmpty() ? null : liste;
+        }));
+    }
+
+    private static List<String> meilleurs(Map<String, Double> scores, int limite) {
+        // Tas borné : O(n log k) au lieu d'un tri complet des correspondances
+        PriorityQueue<Map.Entry<String, Double>> tas = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entree : scores.entrySet()) {
+            tas.offer(entree);
+            if (tas.size() > limite) {
+                tas.poll();
+            }
+        }
+        List<String> resultat = new ArrayList<>(tas.size());
+        while (!tas.isEmpty()) {
+            resultat.add(tas.poll().getKey());
+        }
+        Collections.reverse(resultat);
+        return resultat;
+    }
+
+    // Texte indexé avec ses poids : les champs de poids 2 sont répétés
+    private static String texte(Evenement evenement) {
+        StringBuilder texte = new StringBuilder();
+        ajouterChamp(texte, evenement.getNom(), 2);
+        ajouterChamp(texte, evenement.getLieu(), 1);
+        if (evenement instanceof Concert) {
+            ajouterChamp(texte, ((Concert) evenement).getArtiste(), 2);
+            ajouterChamp(texte, ((Concert) evenement).getGenreMusical(), 1);
+        } else if (evenement instanceof Conference) {
+            ajouterChamp(texte, ((Conference) evenement).getTheme(), 1);
+        }
+        return texte.toString();
+    }
+
+    private static void ajouterChamp(StringBuilder texte, String valeur, int poids) {
+        if (valeur != null) {
+            for (int i = 0; i < poids; i++) {
+                texte.append(valeur).append('\n');
+            }
+        }
+    }
+
+    private static Document analyser(String texte) {
+        Map<String, Integer> frequences = new LinkedHashMap<>();
+        for (String terme : tokeniser(texte)) {
+            frequences.merge(terme, 1, Integer::sum);
+        }
+        return new Document(signature(texte), frequences);
+    }
+
+    // Empreinte FNV-1a 64 bits du texte indexé
+    private static long signature(String texte) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < texte.length(); i++) {
+            hash ^= texte.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Document {
+        private final long signature;
+        private final Map<String, Integer> frequences;
+        private final int longueur;
+
+        private Document(long signature, Map<String, Integer> frequences) {
+            this.signature = signature;
+            this.frequences = frequences;
+            this.longueur = frequences.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+}
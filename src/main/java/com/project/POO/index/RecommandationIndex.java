@@ -0,0 +1,314 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Recommandations « les inscrits à cet événement se sont aussi inscrits à… »
+ * - matrice creuse des co-inscriptions : pour chaque paire d'événements, le nombre de participants
+ *   inscrits aux deux ; seules les paires non nulles sont stockées
+ * - table précalculée des TOP_N événements les plus proches de chaque événement : une lecture est
+ *   une recherche dans une table de hachage, sans verrou
+ *
+ * Une inscription ou une désinscription ne met à jour que les paires du participant et les lignes
+ * concernées de la table. Les événements annulés sont écartés des lignes à leur construction :
+ * une annulation reclasse les lignes de ses voisins, qui gardent ainsi TOP_N candidats valides. La reconstruction complète (au chargement, ou via reconstruire()) compte
+ * les paires en fork-join sur le pool dédié d'ExecuteurParcours.
+ */
+@Component
+@Slf4j
+public class RecommandationIndex implements EvenementListener {
+
+    // En dessous, un lot de participants est compté sans être redécoupé
+    private static final int TAILLE_LOT = 256;
+
+    private final int topN;
+    private final ExecuteurParcours executeur;
+    private final Map<String, Evenement> evenements = new ConcurrentHashMap<>();
+    // Inscriptions, dans les deux sens
+    private final Map<String, Set<String>> evenementsParParticipant = new HashMap<>();
+    private final Map<String, Set<String>> participantsParEvenement = new HashMap<>();
+    private final Set<String> annules = new HashSet<>();
+    private Map<String, Map<String, Integer>> coInscriptions = new HashMap<>();
+    // Listes immuables, remplacées à chaque changement de ligne
+    private volatile Map<String, List<String>> similaires = new ConcurrentHashMap<>();
+
+    /**
+     * @param topN Nombre d'événements similaires précalculés par événement
+     * @param executeur Le pool des traitements par lots, pour la reconstruction
+     */
+    public RecommandationIndex(int topN, ExecuteurParcours executeur) {
+        this.topN = topN;
+        this.executeur = executeur;
+    }
+
+    @Autowired
+    public RecommandationIndex(JsonEvenementRepository evenementRepository,
+                               @Value("${app.recommandations.top-n:10}") int topN,
+                               ExecuteurParcours executeur) {
+        this(topN, executeur);
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public synchronized void onChargement(Collection<Evenement> chargement) {
+        evenements.clear();
+        evenementsParParticipant.clear();
+        participantsParEvenement.clear();
+        annules.clear();
+        for (Evenement evenement : chargement) {
+            evenements.put(evenement.getId(), evenement);
+            if (evenement.isAnnule()) {
+                annules.add(evenement.getId());
+            }
+            for (Participant participant : evenement.getParticipants()) {
+                participantsParEvenement.computeIfAbsent(evenement.getId(), id -> new HashSet<>()).add(participant.getId());
+                evenementsParParticipant.computeIfAbsent(participant.getId(), id -> new HashSet<>()).add(evenement.getId());
+            }
+        }
+        reconstruire();
+    }
+
+    @Override
+    public synchronized void onEnregistrement(Evenement evenement) {
+        evenements.put(evenement.getId(), evenement);
+        // La mise à jour peut remplacer la liste des participants : on applique la différence
+        Set<String> actuels = evenement.getParticipants().stream()
+                .map(Participant::getId)
+                .collect(Collectors.toSet());
+        Set<String> connus = new HashSet<>(participantsParEvenement.getOrDefault(evenement.getId(), Set.of()));
+        connus.stream().filter(id -> !actuels.contains(id)).forEach(id -> retirer(id, evenement.getId()));
+        actuels.stream().filter(id -> !connus.contains(id)).forEach(id -> ajouter(id, evenement.getId()));
+        if (evenement.isAnnule() && annules.add(evenement.getId())) {
+            // Les voisins de l'événement sont exactement les lignes où il peut figurer
+            coInscriptions.getOrDefault(evenement.getId(), Map.of()).keySet().forEach(this::classer);
+        }
+    }
+
+    @Override
+    public synchronized void onSuppression(Evenement evenement) {
+        new ArrayList<>(participantsParEvenement.getOrDefault(evenement.getId(), Set.of()))
+                .forEach(id -> retirer(id, evenement.getId()));
+        participantsParEvenement.remove(evenement.getId());
+        annules.remove(evenement.getId());
+        evenements.remove(evenement.getId());
+        similaires.remove(evenement.getId());
+    }
+
+    @Override
+    public synchronized void onInscription(Evenement evenement, Participant participant) {
+        evenements.put(evenement.getId(), evenement);
+        ajouter(participant.getId(), evenement.getId());
+    }
+
+    @Override
+    public synchronized void onDesinscription(Evenement evenement, Participant participant) {
+        retirer(participant.getId(), evenement.getId());
+    }
+
+    /**
+     * Événements non annulés auxquels se sont le plus inscrits les participants d'un événement
+     * @param evenementId L'ID de l'événement de référence
+     * @param limite Nombre maximal d'événements (au plus TOP_N)
+     * @return Les événements, du plus grand nombre d'inscrits communs au plus petit
+     */
+    public List<Evenement> similaires(String evenementId, int limite) {
+        List<String> ids = similaires.getOrDefault(evenementId, List.of());
+        List<Evenement> resultat = new ArrayList<>(Math.min(limite, ids.size()));
+        for (String id : ids) {
+            if (resultat.size() >= limite) {
+                break;
+            }
+            Evenement evenement = evenements.get(id);
+            // Filet de sécurité : l'annulation n'est reclassée qu'à l'enregistrement
+            if (evenement != null && !evenement.isAnnule()) {
+                resultat.add(evenement);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Nombre de participants inscrits aux deux événements
+     */
+    public synchronized int coInscrits(String evenementId, String autreId) {
+        return coInscriptions.getOrDefault(evenementId, Map.of()).getOrDefault(autreId, 0);
+    }
+
+    /**
+     * Recompte toutes les paires et recalcule la table des similaires, en fork-join
+     * Corrige toute dérive des mises à jour incrémentales ; les lectures continuent sur l'ancienne
+     * table jusqu'au remplacement.
+     */
+    public synchronized void reconstruire() {
+        long debut = System.nanoTime();
+        List<Set<String>> inscriptions = new ArrayList<>(evenementsParParticipant.values());
+        coInscriptions = executeur.executer(new Comptage(inscriptions, 0, inscriptions.size()));
+        List<String> ids = new ArrayList<>(coInscriptions.keySet());
+        Map<String, List<String>> table = executeur.executer(new Classement(coInscriptions, annules, ids, 0, ids.size(), topN));
+        similaires = new ConcurrentHashMap<>(table);
+        log.info("Recommandations reconstruites: {} événements liés en {} ms",
+                table.size(), (System.nanoTime() - debut) / 1_000_000);
+    }
+
+    private void ajouter(String participantId, String evenementId) {
+        if (!participantsParEvenement.computeIfAbsent(evenementId, id -> new HashSet<>()).add(participantId)) {
+            return;
+        }
+        Set<String> autres = evenementsParParticipant.computeIfAbsent(participantId, id -> new HashSet<>());
+        for (String autre : autres) {
+            incrementer(evenementId, autre, 1);
+            incrementer(autre, evenementId, 1);
+            classer(autre);
+        }
+        autres.add(evenementId);
+        classer(evenementId);
+    }
+
+    private void retirer(String participantId, String evenementId) {
+        Set<String> participants = participantsParEvenement.get(evenementId);
+        if (participants == null || !participants.remove(participantId)) {
+            return;
+        }
+        Set<String> autres = evenementsParParticipant.get(participantId);
+        autres.remove(evenementId);
+        for (String autre : autres) {
+            incrementer(evenementId, autre, -1);
+            incrementer(autre, evenementId, -1);
+            classer(autre);
+        }
+        if (autres.isEmpty()) {
+            evenementsParParticipant.remove(participantId);
+        }
+        classer(evenementId);
+    }
+
+    private void incrementer(String evenementId, String autreId, int delta) {
+        Map<String, Integer> ligne = coInscriptions.computeIfAbsent(evenementId, id -> new HashMap<>());
+        if (ligne.merge(autreId, delta, Integer::sum) <= 0) {
+            ligne.remove(autreId);
+        }
+        if (ligne.isEmpty()) {
+            coInscriptions.remove(evenementId);
+        }
+    }
+
+    private void classer(String evenementId) {
+        Map<String, Integer> ligne = coInscriptions.get(evenementId);
+        if (ligne == null) {
+            similaires.remove(evenementId);
+        } else {
+            similaires.put(evenementId, premiers(ligne, annules, topN));
+        }
+    }
+
+    // Plus grand nombre d'inscrits communs d'abord, puis ID pour un ordre stable ; les annulés sont écartés
+    private static List<String> premiers(Map<String, Integer> ligne, Set<String> annules, int topN) {
+        return ligne.entrySet().stream()
+                .filter(entree -> !annules.contains(entree.getKey()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(topN)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    // Compte les paires d'un intervalle de participants ; les moitiés sont fusionnées au join
+    private static final class Comptage extends RecursiveTask<Map<String, Map<String, Integer>>> {
+        private final List<Set<String>> inscriptions;
+        private final int debut;
+        private final int fin;
+
+        private Comptage(List<Set<String>> inscriptions, int debut, int fin) {
+            this.inscriptions = inscriptions;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected Map<String, Map<String, Integer>> compute() {
+            if (fin - debut <= TAILLE_LOT) {
+                Map<String, Map<String, Integer>> comptes = new HashMap<>();
+                for (int i = debut; i < fin; i++) {
+                    Set<String> evenements = inscriptions.get(i);
+                    for (String evenement : evenements) {
+                        for (String autre : evenements) {
+                            if (!evenement.equals(autre)) {
+                                comptes.computeIfAbsent(evenement, id -> new HashMap<>()).merge(autre, 1, Integer::sum);
+                            }
+                        }
+                    }
+                }
+                return comptes;
+            }
+            int milieu = (debut + fin) >>> 1;
+            Comptage gauche = new Comptage(inscriptions, debut, milieu);
+            gauche.fork();
+            Map<String, Map<String, Integer>> droite = new Comptage(inscriptions, milieu, fin).compute();
+            Map<String, Map<String, Integer>> resultat = gauche.join();
+            droite.forEach((evenement, ligne) -> resultat.merge(evenement, ligne, (a, b) -> {
+                b.forEach((autre, n) -> a.merge(autre, n, Integer::sum));
+                return a;
+            }));
+            return resultat;
+        }
+    }
+
+    // Calcule les TOP_N d'un intervalle de lignes de la matrice, en lecture seule
+    private static final class Classement extends RecursiveTask<Map<String, List<String>>> {
+        private final Map<String, Map<String, Integer>> coInscriptions;
+        private final Set<String> annules;
+        private final List<String> ids;
+        private final int debut;
+        private final int fin;
+        private final int topN;
+
+        private Classement(Map<String, Map<String, Integer>> coInscriptions, Set<String> annules, List<String> ids,
+                           int debut, int fin, int topN) {
+            this.coInscriptions = coInscriptions;
+            this.annules = annules;
+            this.ids = ids;
+            this.debut = debut;
+            this.fin = fin;
+            this.topN = topN;
+        }
+
+        @Override
+        protected Map<String, List<String>> compute() {
+            if (fin - debut <= TAILLE_LOT) {
+                Map<String, List<String>> table = new HashMap<>();
+                for (int i = debut; i < fin; i++) {
+                    String id = ids.get(i);
+                    table.put(id, premiers(coInscriptions.get(id), annules, topN));
+                }
+                return table;
+            }
+            int milieu = (debut + fin) >>> 1;
+            Classement gauche = new Classement(coInscriptions, annules, ids, debut, milieu, topN);
+            gauche.fork();
+            Map<String, List<String>> droite = new Classement(coInscriptions, annules, ids, milieu, fin, topN).compute();
+            Map<String, List<String>> resultat = gauche.join();
+            resultat.putAll(droite);
+            return resultat;
+        }
+    }
+}
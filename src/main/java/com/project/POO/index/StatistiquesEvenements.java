@@ -0,0 +1,18 @@
+package com.project.POO.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Instantané cohérent des compteurs globaux des événements, lu en O(1) dans StatistiquesIndex
+ */
+@Getter
+@AllArgsConstructor
+public class StatistiquesEvenements {
+
+    private final int evenements;
+    private final int annules;
+    private final int disponibles;
+    private final int aVenir;
+    private final long inscriptions;
+}
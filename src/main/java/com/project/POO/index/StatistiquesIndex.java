@@ -0,0 +1,134 @@
+package com.project.POO.index;
+
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compteurs globaux des événements (tableau de bord), tenus à jour à chaque notification du repository
+ * Chaque événement garde sa dernière contribution : un enregistrement, une inscription ou une
+ * suppression n'applique que la différence, et une lecture rend un instantané cohérent en O(1).
+ */
+@Component
+@Slf4j
+public class StatistiquesIndex implements EvenementListener {
+
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Clock clock;
+    private int evenements;
+    private int annules;
+    private int disponibles;
+    private long inscriptions;
+    private final CompteurDatesAVenir aVenir = new CompteurDatesAVenir();
+
+    public StatistiquesIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public StatistiquesIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Autowired
+    public StatistiquesIndex(JsonEvenementRepository evenementRepository) {
+        this(Clock.systemDefaultZone());
+        evenementRepository.abonner(this);
+    }
+
+    @Override
+    public synchronized void onChargement(Collection<Evenement> evenementsCharges) {
+        contributions.clear();
+        evenements = 0;
+        annules = 0;
+        disponibles = 0;
+        inscriptions = 0;
+        aVenir.vider();
+        evenementsCharges.forEach(this::appliquer);
+        log.info("Statistiques globales reconstruites: {} événements", evenements);
+    }
+
+    @Override
+    public synchronized void onEnregistrement(Evenement evenement) {
+        appliquer(evenement);
+    }
+
+    @Override
+    public synchronized void onSuppression(Evenement evenement) {
+        remplacer(contributions.remove(evenement.getId()), null);
+    }
+
+    @Override
+    public synchronized void onInscription(Evenement evenement, Participant participant) {
+        appliquerSiEnregistre(evenement);
+    }
+
+    @Override
+    public synchronized void onDesinscription(Evenement evenement, Participant participant) {
+        appliquerSiEnregistre(evenement);
+    }
+
+    /**
+     * Instantané cohérent des compteurs
+     */
+    public synchronized StatistiquesEvenements instantane() {
+        int nombreAVenir = aVenir.compter(LocalDateTime.now(clock));
+        return new StatistiquesEvenements(evenements, annules, disponibles, nombreAVenir, inscriptions);
+    }
+
+    // Une inscription peut être signalée avant le premier enregistrement de l'événement
+    private void appliquerSiEnregistre(Evenement evenement) {
+        if (contributions.containsKey(evenement.getId())) {
+            appliquer(evenement);
+        }
+    }
+
+    private void appliquer(Evenement evenement) {
+        Contribution nouvelle = new Contribution(evenement);
+        remplacer(contributions.put(evenement.getId(), nouvelle), nouvelle);
+    }
+
+    private void remplacer(Contribution ancienne, Contribution nouvelle) {
+        if (ancienne != null) {
+            evenements--;
+            annules -= ancienne.annule ? 1 : 0;
+            disponibles -= ancienne.estDisponible() ? 1 : 0;
+            inscriptions -= ancienne.inscrits;
+            aVenir.retirer(ancienne.dateAVenir);
+        }
+        if (nouvelle != null) {
+            evenements++;
+            annules += nouvelle.annule ? 1 : 0;
+            disponibles += nouvelle.estDisponible() ? 1 : 0;
+            inscriptions += nouvelle.inscrits;
+            aVenir.ajouter(nouvelle.dateAVenir);
+        }
+    }
+
+    private static final class Contribution {
+        private final boolean annule;
+        private final int inscrits;
+        private final int capacite;
+        private final LocalDateTime dateAVenir;
+
+        private Contribution(Evenement evenement) {
+            this.annule = evenement.isAnnule();
+            this.inscrits = evenement.getParticipants() != null ? evenement.getParticipants().size() : 0;
+            this.capacite = evenement.getCapaciteMax();
+            this.dateAVenir = CompteurDatesAVenir.dateAVenir(evenement);
+        }
+
+        boolean estDisponible() {
+            return !annule && inscrits < capacite;
+        }
+    }
+}
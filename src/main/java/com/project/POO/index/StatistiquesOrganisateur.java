@@ -0,0 +1,20 @@
+package com.project.POO.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Instantané cohérent des agrégats d'un organisateur, lu en O(1) dans OrganisateurIndex
+ */
+@Getter
+@AllArgsConstructor
+public class StatistiquesOrganisateur {
+
+    private final int nombreEvenements;
+    private final long placesTotales;
+    private final long placesVendues;
+    private final int annulations;
+    private final int aVenir;
+
+    public static final StatistiquesOrganisateur VIDE = new StatistiquesOrganisateur(0, 0, 0, 0, 0);
+}
@@ -1,6 +1,9 @@
 package com.project.POO.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.POO.utils.Dictionnaires;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,10 +19,37 @@ public class Concert extends Evenement {
     private String artiste;
     private String genreMusical;
 
+    // Codes dans les dictionnaires partagés, attribués par encoderDictionnaires (-1 avant)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private int artisteCode = -1;
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private int genreMusicalCode = -1;
+
     public Concert(String nom, LocalDateTime date, String lieu, int capaciteMax, String artiste, String genreMusical) {
         super(nom, date, lieu, capaciteMax);
-        this.artiste = artiste;
-        this.genreMusical = genreMusical;
+        setArtiste(artiste);
+        setGenreMusical(genreMusical);
+    }
+
+    public void setArtiste(String artiste) {
+        this.artisteCode = Dictionnaires.ARTISTES.find(artiste);
+        this.artiste = Dictionnaires.ARTISTES.canonique(artiste);
+    }
+
+    public void setGenreMusical(String genreMusical) {
+        this.genreMusicalCode = Dictionnaires.GENRES_MUSICAUX.find(genreMusical);
+        this.genreMusical = Dictionnaires.GENRES_MUSICAUX.canonique(genreMusical);
+    }
+
+    @Override
+    public void encoderDictionnaires() {
+        super.encoderDictionnaires();
+        this.artisteCode = Dictionnaires.ARTISTES.code(artiste);
+        this.artiste = Dictionnaires.ARTISTES.symbol(artisteCode);
+        this.genreMusicalCode = Dictionnaires.GENRES_MUSICAUX.code(genreMusical);
+        this.genreMusical = Dictionnaires.GENRES_MUSICAUX.symbol(genreMusicalCode);
     }
 
 
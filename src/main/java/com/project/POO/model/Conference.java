@@ -1,5 +1,8 @@
 package com.project.POO.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.POO.utils.Dictionnaires;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -7,6 +10,7 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -14,11 +18,29 @@ import java.util.List;
 public class Conference extends Evenement {
 
     private String theme;
+
+    // Code du thème dans le dictionnaire partagé, attribué par encoderDictionnaires (-1 avant)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private int themeCode = -1;
+
     private List<Participant> intervenants = new ArrayList<>();
 
     public Conference(String nom, LocalDateTime date, String lieu, int capaciteMax, String theme) {
         super(nom, date, lieu, capaciteMax);
-        this.theme = theme;
+        setTheme(theme);
+    }
+
+    public void setTheme(String theme) {
+        this.themeCode = Dictionnaires.THEMES.find(theme);
+        this.theme = Dictionnaires.THEMES.canonique(theme);
+    }
+
+    @Override
+    public void encoderDictionnaires() {
+        super.encoderDictionnaires();
+        this.themeCode = Dictionnaires.THEMES.code(theme);
+        this.theme = Dictionnaires.THEMES.symbol(themeCode);
     }
 
 
@@ -35,6 +57,24 @@ public class Conference extends Evenement {
         }
     }
 
+    /**
+     * Retire tous les intervenants dont l'ID figure dans l'ensemble
+     * @param intervenantIds Les IDs des intervenants à retirer
+     * @return Les intervenants effectivement retirés
+     */
+    public List<Participant> retirerIntervenants(Set<String> intervenantIds) {
+        List<Participant> retires = new ArrayList<>();
+        intervenants.removeIf(i -> {
+            if (intervenantIds.contains(i.getId())) {
+                retires.add(i);
+                return true;
+            }
+            return false;
+        });
+        retires.forEach(i -> notifyObservers("L'intervenant " + i.getNom() + " a été retiré de la conférence."));
+        return retires;
+    }
+
     @Override
     public String afficherDetails() {
         StringBuilder details = new StringBuilder();
@@ -1,10 +1,16 @@
 package com.project.POO.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.project.POO.observer.ParticipantObserver;
 import com.project.POO.observer.EvenementObservable;
+import com.project.POO.utils.Dictionnaires;
+import com.project.POO.utils.IdGenerators;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,7 +18,7 @@ import java.beans.Transient;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -23,41 +29,68 @@ import java.util.UUID;
 })
 public abstract class Evenement implements EvenementObservable {
 
+    // Deux semaines : au-delà, la durée est une erreur de saisie
+    public static final int DUREE_MAX_MINUTES = 14 * 24 * 60;
+
     private String id;
     private String nom;
     private LocalDateTime date;
+    // Durée facultative : sans durée, l'événement n'occupe que l'instant de son début
+    @Positive(message = "La durée doit être positive")
+    @Max(value = DUREE_MAX_MINUTES, message = "La durée ne peut pas dépasser deux semaines")
+    private Integer dureeMinutes;
     private String lieu;
     private int capaciteMax;
     private boolean annule;
 
+    // Code du lieu dans le dictionnaire partagé, attribué par encoderDictionnaires (-1 avant)
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private int lieuCode = -1;
+
     private Organisateur organisateur;
     private List<Participant> participants = new ArrayList<>();
 
 
     private List<ParticipantObserver> observers = new ArrayList<>();
 
+    // Utilisé par Jackson : l'ID est lu depuis le JSON, inutile d'en générer un
     protected Evenement() {
-        this.id = UUID.randomUUID().toString();
     }
 
 
 
     public Evenement(String nom, LocalDateTime date, String lieu, int capaciteMax) {
-        this();
+        this.id = IdGenerators.nextId();
         this.nom = nom;
         this.date = date;
-        this.lieu = lieu;
+        setLieu(lieu);
         this.capaciteMax = capaciteMax;
         this.annule = false;
     }
 
+    public void setLieu(String lieu) {
+        this.lieuCode = Dictionnaires.LIEUX.find(lieu);
+        this.lieu = Dictionnaires.LIEUX.canonique(lieu);
+    }
+
+    /**
+     * Ajoute les champs texte aux dictionnaires partagés et reprend leurs instances canoniques
+     * Appelée par le repository quand il charge ou enregistre l'événement.
+     */
+    public void encoderDictionnaires() {
+        this.lieuCode = Dictionnaires.LIEUX.code(lieu);
+        this.lieu = Dictionnaires.LIEUX.symbol(lieuCode);
+    }
+
     public boolean ajouterParticipant(Participant participant) throws Exception {
-        if (participants.size() >= capaciteMax) {
-            throw new Exception("Capacité maximale atteinte pour cet événement.");
+        // Par ID : un même participant peut être représenté par plusieurs instances (rechargement, stockage hors tas)
+        if (participants.stream().anyMatch(p -> p == participant || (p.getId() != null && p.getId().equals(participant.getId())))) {
+            return false;
         }
 
-        if (participants.contains(participant)) {
-            return false;
+        if (participants.size() >= capaciteMax) {
+            throw new Exception("Capacité maximale atteinte pour cet événement.");
         }
 
         participants.add(participant);
@@ -76,6 +109,25 @@ public abstract class Evenement implements EvenementObservable {
         return removed;
     }
 
+    /**
+     * Retire en une seule passe tous les participants dont l'ID figure dans l'ensemble
+     * La comparaison se fait par ID : après un rechargement, les instances diffèrent de celles du repository
+     * @param participantIds Les IDs des participants à retirer
+     * @return Les participants effectivement retirés
+     */
+    public List<Participant> retirerParticipants(Set<String> participantIds) {
+        List<Participant> retires = new ArrayList<>();
+        participants.removeIf(p -> {
+            if (participantIds.contains(p.getId())) {
+                retires.add(p);
+                return true;
+            }
+            return false;
+        });
+        observers.removeIf(o -> o instanceof Participant && participantIds.contains(((Participant) o).getId()));
+        return retires;
+    }
+
     public void annuler() {
         this.annule = true;
         notifyObservers("L'événement " + nom + " a été annulé.");
@@ -1,5 +1,6 @@
 package com.project.POO.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,6 +13,8 @@ import java.util.List;
 @NoArgsConstructor
 public class Organisateur extends Participant {
 
+    // Non persisté : reconstruit après rechargement par OrganisateurIndex
+    @JsonIgnore
     private List<Evenement> evenementsOrganises = new ArrayList<>();
 
     public Organisateur(String nom, String email) {
@@ -19,15 +22,28 @@ public class Organisateur extends Participant {
     }
 
     public void organiserEvenement(Evenement evenement) {
-        if (!evenementsOrganises.contains(evenement)) {
+        if (!organise(evenement)) {
             evenementsOrganises.add(evenement);
             evenement.setOrganisateur(this);
         }
     }
 
-    public void annulerEvenement(Evenement evenement) {
-        if (evenementsOrganises.contains(evenement)) {
+    /**
+     * Annule un événement organisé ; l'événement doit ensuite être enregistré
+     * pour que les agrégats de l'organisateur soient mis à jour
+     * @param evenement L'événement à annuler
+     * @return true si l'événement appartient à l'organisateur et vient d'être annulé
+     */
+    public boolean annulerEvenement(Evenement evenement) {
+        if (organise(evenement) && !evenement.isAnnule()) {
             evenement.annuler();
+            return true;
         }
+        return false;
+    }
+
+    // Comparaison par ID : après un rechargement, les instances diffèrent de celles du repository
+    private boolean organise(Evenement evenement) {
+        return evenementsOrganises.stream().anyMatch(e -> e.getId().equals(evenement.getId()));
     }
 }
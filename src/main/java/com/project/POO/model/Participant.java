@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.project.POO.observer.ParticipantObserver;
+import com.project.POO.utils.IdGenerators;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,7 +12,6 @@ import lombok.Setter;
 import java.beans.Transient;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Getter
 @Setter
@@ -32,7 +32,7 @@ public class Participant implements ParticipantObserver {
     private List<String> notifications = new ArrayList<>();
 
     public Participant(String nom, String email) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerators.nextId();
         this.nom = nom;
         this.email = email;
     }
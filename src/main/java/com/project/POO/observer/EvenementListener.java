@@ -0,0 +1,68 @@
+package com.project.POO.observer;
+
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+
+import java.util.Collection;
+
+
+/**
+ * Interface définissant un abonné aux modifications du repository des événements
+ * Les index secondaires implémentent cette interface pour rester synchronisés avec le cache
+ */
+public interface EvenementListener {
+
+    /**
+     * Appelée à l'abonnement avec tous les événements déjà chargés
+     * @param evenements Les événements présents dans le cache
+     */
+    default void onChargement(Collection<Evenement> evenements) {
+    }
+
+    /**
+     * Appelée après la création ou la mise à jour d'un événement
+     * @param evenement L'événement enregistré
+     */
+    default void onEnregistrement(Evenement evenement) {
+    }
+
+    /**
+     * Appelée après la suppression d'un événement
+     * @param evenement L'événement supprimé
+     */
+    default void onSuppression(Evenement evenement) {
+    }
+
+    /**
+     * Appelée après l'inscription d'un participant à un événement
+     * @param evenement L'événement concerné
+     * @param participant Le participant inscrit
+     */
+    default void onInscription(Evenement evenement, Participant participant) {
+    }
+
+    /**
+     * Appelée après la désinscription d'un participant d'un événement
+     * @param evenement L'événement concerné
+     * @param participant Le participant désinscrit
+     */
+    default void onDesinscription(Evenement evenement, Participant participant) {
+    }
+
+    /**
+     * Appelée après l'ajout d'un intervenant à une conférence
+     * @param conference La conférence concernée
+     * @param intervenant L'intervenant ajouté
+     */
+    default void onAjoutIntervenant(Conference conference, Participant intervenant) {
+    }
+
+    /**
+     * Appelée après le retrait d'un intervenant d'une conférence
+     * @param conference La conférence concernée
+     * @param intervenant L'intervenant retiré
+     */
+    default void onRetraitIntervenant(Conference conference, Participant intervenant) {
+    }
+}
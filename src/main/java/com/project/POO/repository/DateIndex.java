@@ -0,0 +1,120 @@
+package com.project.POO.repository;
+
+import com.project.POO.model.Evenement;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index des événements trié par (date, id), tenu par JsonEvenementRepository
+ * Les requêtes par plage de dates coûtent O(log n + k) et rendent des résultats déjà triés.
+ * Les événements sans date ne sont pas indexés.
+ */
+public class DateIndex {
+
+    private static final String ID_MIN = "";
+    private static final String ID_MAX = "\uffff";
+
+    private final ConcurrentSkipListMap<Cle, Evenement> parDate = new ConcurrentSkipListMap<>();
+    // Date indexée pour chaque événement : l'instance est modifiée avant d'être enregistrée
+    private final Map<String, LocalDateTime> datesParId = new ConcurrentHashMap<>();
+
+    public void indexer(Evenement evenement) {
+        String id = evenement.getId();
+        LocalDateTime date = evenement.getDate();
+        datesParId.compute(id, (cleId, ancienne) -> {
+            if (ancienne != null && !ancienne.equals(date)) {
+                parDate.remove(new Cle(ancienne, id));
+            }
+            if (date == null) {
+                return null;
+            }
+            parDate.put(new Cle(date, id), evenement);
+            return date;
+        });
+    }
+
+    public void retirer(String id) {
+        datesParId.computeIfPresent(id, (cleId, ancienne) -> {
+            parDate.remove(new Cle(ancienne, id));
+            return null;
+        });
+    }
+
+    /**
+     * Événements dont la date est dans [from, to[ (bornes facultatives), triés par date
+     * @param from Borne inférieure incluse, ou null
+     * @param to Borne supérieure exclue, ou null
+     * @return Une vue triée, reflétant les mises à jour de l'index
+     */
+    public Collection<Evenement> entre(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Cle, Evenement> vue = parDate;
+        if (from != null) {
+            vue = vue.tailMap(new Cle(from, ID_MIN), true);
+        }
+        if (to != null) {
+            vue = vue.headMap(new Cle(to, ID_MIN), false);
+        }
+        return vue.values();
+    }
+
+    /**
+     * Événements strictement postérieurs à une date, triés par date
+     */
+    public Collection<Evenement> apres(LocalDateTime date) {
+        return parDate.tailMap(new Cle(date, ID_MAX), false).values();
+    }
+
+    /**
+     * Nombre d'événements dans [from, to[, compté jusqu'à une borne
+     * @param borne Le comptage s'arrête dès qu'elle est atteinte
+     */
+    public long compter(LocalDateTime from, LocalDateTime to, long borne) {
+        long total = 0;
+        for (Evenement ignore : entre(from, to)) {
+            if (++total >= borne) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public int size() {
+        return parDate.size();
+    }
+
+    public void clear() {
+        parDate.clear();
+        datesParId.clear();
+    }
+
+    private static final class Cle implements Comparable<Cle> {
+        private final LocalDateTime date;
+        private final String id;
+
+        private Cle(LocalDateTime date, String id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Cle autre) {
+            int parDate = date.compareTo(autre.date);
+            return parDate != 0 ? parDate : id.compareTo(autre.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Cle && compareTo((Cle) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * date.hashCode() + id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.POO.repository;
+
+import java.util.Locale;
+
+/**
+ * Index email normalisé -> ID de participant, tenu par JsonParticipantRepository
+ */
+public class EmailIndex extends IndexUnique {
+
+    /**
+     * Normalise un email pour la comparaison : espaces retirés, minuscules
+     * @param email L'email saisi
+     * @return La clé normalisée, ou null si l'email est null ou vide
+     */
+    public static String normaliser(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Réserve l'email d'un participant, et libère celui qu'il utilisait auparavant
+     * @param id L'ID du participant
+     * @param email Le nouvel email
+     * @return false si l'email appartient déjà à un autre participant (rien n'est modifié)
+     */
+    public boolean reserver(String id, String email) {
+        return reserverCle(id, normaliser(email));
+    }
+
+    /**
+     * @param email L'email recherché (normalisé avant la recherche)
+     * @return L'ID du participant qui utilise cet email, ou null
+     */
+    public String get(String email) {
+        return getParCle(normaliser(email));
+    }
+
+    public boolean contient(String email) {
+        return get(email) != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.POO.repository;
+
+import com.project.POO.model.Evenement;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache mémoire unique des événements
+ * JsonEvenementRepository en est le propriétaire (chargement au démarrage, écritures),
+ * GestionEvenements le lit directement à travers des vues non modifiables, sans copie.
+ */
+public class EvenementCache {
+
+    private final Map<String, Evenement> evenements = new ConcurrentHashMap<>();
+    private final Map<String, Evenement> vue = Collections.unmodifiableMap(evenements);
+
+    public Evenement get(String id) {
+        return evenements.get(id);
+    }
+
+    // Écritures réservées à JsonEvenementRepository, qui tient ses index à jour en même temps
+    void put(Evenement evenement) {
+        evenements.put(evenement.getId(), evenement);
+    }
+
+    Evenement remove(String id) {
+        return evenements.remove(id);
+    }
+
+    public boolean containsKey(String id) {
+        return evenements.containsKey(id);
+    }
+
+    /**
+     * Vue non modifiable des événements, reflétant les mises à jour du cache
+     */
+    public Collection<Evenement> values() {
+        return vue.values();
+    }
+
+    /**
+     * Vue non modifiable de la map ID -> événement, reflétant les mises à jour du cache
+     */
+    public Map<String, Evenement> asMap() {
+        return vue;
+    }
+
+    public int size() {
+        return evenements.size();
+    }
+
+    void clear() {
+        evenements.clear();
+    }
+}
@@ -0,0 +1,316 @@
+package com.project.POO.repository;
+
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.utils.BitmapCompressee;
+import com.project.POO.utils.TrigramIndex;
+
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index bitmap des facettes d'événements, tenu par JsonEvenementRepository
+ * Chaque événement reçoit un numéro dense ; chaque valeur de facette (annulé, complet, type,
+ * mois, code du lieu) pointe vers le bitmap compressé des numéros qui la portent.
+ *
+ * Un filtre combine les valeurs d'une même facette par OU et les facettes entre elles par ET,
+ * sans évaluer de prédicat événement par événement. Les numéros libérés par une suppression
+ * sont réutilisés pour garder les bitmaps denses.
+ */
+public class FacetteIndex {
+
+    public static final String ANNULE = "annule";
+    public static final String COMPLET = "complet";
+    public static final String TYPE = "type";
+    public static final String MOIS = "mois";
+    public static final String LIEU = "lieu";
+
+    private static final List<String> FACETTES = List.of(ANNULE, COMPLET, TYPE, MOIS, LIEU);
+    private static final Pattern NON_ALPHANUMERIQUE = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<String, Integer> numeros = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final Deque<Integer> numerosLibres = new ArrayDeque<>();
+    private BitmapCompressee tous = new BitmapCompressee();
+    // Facette -> valeur -> numéros des événements
+    private final Map<String, Map<String, BitmapCompressee>> bitmaps = new LinkedHashMap<>();
+    // Valeurs indexées pour chaque numéro : une réindexation ne touche que les facettes modifiées
+    private final Map<Integer, String[]> valeursParNumero = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FacetteIndex() {
+        FACETTES.forEach(facette -> bitmaps.put(facette, new TreeMap<>()));
+    }
+
+    /**
+     * Code d'un lieu utilisable dans un filtre : "Palais des Sports" -> "palais-des-sports"
+     */
+    public static String codeLieu(String lieu) {
+        String normalise = TrigramIndex.normaliser(lieu);
+        if (normalise == null) {
+            return null;
+        }
+        String code = NON_ALPHANUMERIQUE.matcher(normalise).replaceAll("-").replaceAll("^-|-$", "");
+        return code.isEmpty() ? null : code;
+    }
+
+    public void indexer(Evenement evenement) {
+        String[] valeurs = valeurs(evenement);
+        lock.writeLock().lock();
+        try {
+            Integer numero = numeros.get(evenement.getId());
+            if (numero == null) {
+                numero = numerosLibres.isEmpty() ? ids.size() : numerosLibres.pop();
+                if (numero == ids.size()) {
+                    ids.add(evenement.getId());
+                } else {
+                    ids.set(numero, evenement.getId());
+                }
+                numeros.put(evenement.getId(), numero);
+                tous.ajouter(numero);
+            }
+            String[] anciennes = valeursParNumero.put(numero, valeurs);
+            for (int f = 0; f < FACETTES.size(); f++) {
+                String ancienne = anciennes == null ? null : anciennes[f];
+                if (ancienne != null && ancienne.equals(valeurs[f])) {
+                    continue;
+                }
+                retirerValeur(FACETTES.get(f), ancienne, numero);
+                if (valeurs[f] != null) {
+                    bitmaps.get(FACETTES.get(f)).computeIfAbsent(valeurs[f], v -> new BitmapCompressee()).ajouter(numero);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void retirer(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer numero = numeros.remove(id);
+            if (numero == null) {
+                return;
+            }
+            String[] anciennes = valeursParNumero.remove(numero);
+            for (int f = 0; f < FACETTES.size(); f++) {
+                retirerValeur(FACETTES.get(f), anciennes[f], numero);
+            }
+            tous.retirer(numero);
+            ids.set(numero, null);
+            numerosLibres.push(numero);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            numeros.clear();
+            ids.clear();
+            numerosLibres.clear();
+            valeursParNumero.clear();
+            bitmaps.values().forEach(Map::clear);
+            tous = new BitmapCompressee();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vérifie les critères de facettes sur un seul événement, sans passer par les bitmaps
+     * @throws IllegalArgumentException si une facette est inconnue
+     */
+    public static boolean correspond(Evenement evenement, Map<String, ? extends Collection<String>> criteres) {
+        String[] valeurs = valeurs(evenement);
+        for (Map.Entry<String, ? extends Collection<String>> critere : criteres.entrySet()) {
+            int f = FACETTES.indexOf(critere.getKey());
+            if (f < 0) {
+                throw new IllegalArgumentException("Facette inconnue: " + critere.getKey() + " (attendu: " + FACETTES + ")");
+            }
+            if (critere.getValue() == null || critere.getValue().isEmpty()) {
+                continue;
+            }
+            boolean trouve = critere.getValue().stream()
+                    .anyMatch(valeur -> valeurs[f] != null && valeurs[f].equals(normaliserValeur(critere.getKey(), valeur)));
+            if (!trouve) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nombre exact d'événements qui satisfont les critères (estimation du planificateur)
+     */
+    public int compter(Map<String, ? extends Collection<String>> criteres) {
+        lock.readLock().lock();
+        try {
+            return evaluer(criteres).cardinalite();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs des événements qui satisfont les critères, sans compter les facettes
+     * @param criteres Facette -> valeurs acceptées (OU entre les valeurs, ET entre les facettes)
+     */
+    public List<String> ids(Map<String, ? extends Collection<String>> criteres) {
+        lock.readLock().lock();
+        try {
+            return ids(evaluer(criteres), Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtre les événements par facettes et compte les valeurs de chaque facette parmi les résultats
+     * @param criteres Facette -> valeurs acceptées (OU entre les valeurs, ET entre les facettes)
+     * @param limite Nombre maximal d'IDs rendus ; le total et les comptes portent sur tous les résultats
+     * @return Les IDs correspondants, leur nombre total et les comptes par facette
+     * @throws IllegalArgumentException si une facette est inconnue
+     */
+    public Resultat filtrer(Map<String, ? extends Collection<String>> criteres, int limite) {
+        lock.readLock().lock();
+        try {
+            BitmapCompressee resultat = evaluer(criteres);
+            Map<String, Map<String, Integer>> comptes = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, BitmapCompressee>> facette : bitmaps.entrySet()) {
+                Map<String, Integer> parValeur = new LinkedHashMap<>();
+                for (Map.Entry<String, BitmapCompressee> valeur : facette.getValue().entrySet()) {
+                    int compte = resultat.cardinaliteEt(valeur.getValue());
+                    if (compte > 0) {
+                        parValeur.put(valeur.getKey(), compte);
+                    }
+                }
+                comptes.put(facette.getKey(), parValeur);
+            }
+            return new Resultat(ids(resultat, limite), resultat.cardinalite(), comptes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numeros.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitmapCompressee evaluer(Map<String, ? extends Collection<String>> criteres) {
+        BitmapCompressee resultat = tous;
+        for (Map.Entry<String, ? extends Collection<String>> critere : criteres.entrySet()) {
+            Map<String, BitmapCompressee> parValeur = bitmaps.get(critere.getKey());
+            if (parValeur == null) {
+                throw new IllegalArgumentException("Facette inconnue: " + critere.getKey() + " (attendu: " + FACETTES + ")");
+            }
+            if (critere.getValue() == null || critere.getValue().isEmpty()) {
+                continue;
+            }
+            BitmapCompressee union = new BitmapCompressee();
+            for (String valeur : critere.getValue()) {
+                BitmapCompressee bitmap = parValeur.get(normaliserValeur(critere.getKey(), valeur));
+                if (bitmap != null) {
+                    union = union.ou(bitmap);
+                }
+            }
+            resultat = resultat.et(union);
+        }
+        return resultat;
+    }
+
+    private List<String> ids(BitmapCompressee resultat, int limite) {
+        List<String> trouves = new ArrayList<>(Math.min(limite, resultat.cardinalite()));
+        resultat.pourChaque(numero -> {
+            if (trouves.size() < limite) {
+                trouves.add(ids.get(numero));
+            }
+        });
+        return trouves;
+    }
+
+    private void retirerValeur(String facette, String valeur, int numero) {
+        if (valeur == null) {
+            return;
+        }
+        Map<String, BitmapCompressee> parValeur = bitmaps.get(facette);
+        BitmapCompressee bitmap = parValeur.get(valeur);
+        bitmap.retirer(numero);
+        if (bitmap.estVide()) {
+            parValeur.remove(valeur);
+        }
+    }
+
+    private static String normaliserValeur(String facette, String valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        switch (facette) {
+            case TYPE:
+                return valeur.trim().toUpperCase();
+            case LIEU:
+                return codeLieu(valeur);
+            default:
+                return valeur.trim().toLowerCase();
+        }
+    }
+
+    // Valeurs des facettes, dans l'ordre de FACETTES
+    private static String[] valeurs(Evenement evenement) {
+        String type = evenement instanceof Conference ? "CONFERENCE" : evenement instanceof Concert ? "CONCERT" : null;
+        int inscrits = evenement.getParticipants() == null ? 0 : evenement.getParticipants().size();
+        boolean complet = inscrits >= evenement.getCapaciteMax();
+        return new String[] {
+                String.valueOf(evenement.isAnnule()),
+                String.valueOf(complet),
+                type,
+                evenement.getDate() == null ? null : YearMonth.from(evenement.getDate()).toString(),
+                codeLieu(evenement.getLieu())
+        };
+    }
+
+    /**
+     * Résultat d'un filtrage par facettes
+     */
+    public static final class Resultat {
+        private final List<String> ids;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facettes;
+
+        private Resultat(List<String> ids, int total, Map<String, Map<String, Integer>> facettes) {
+            this.ids = ids;
+            this.total = total;
+            this.facettes = facettes;
+        }
+
+        public List<String> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Map<String, Map<String, Integer>> getFacettes() {
+            return facettes;
+        }
+    }
+}
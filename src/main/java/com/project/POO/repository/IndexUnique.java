@@ -0,0 +1,89 @@
+package com.project.POO.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index unique clé normalisée -> ID, partagé par les index d'unicité des repositories
+ * L'unicité est garantie par putIfAbsent : deux enregistrements simultanés avec la même clé
+ * ne peuvent pas la réserver tous les deux.
+ */
+public class IndexUnique {
+
+    private final Map<String, String> idsParCle = new ConcurrentHashMap<>();
+    // Clé réservée par chaque ID, pour libérer l'ancienne lors d'un changement
+    private final Map<String, String> clesParId = new ConcurrentHashMap<>();
+
+    /**
+     * Réserve une clé pour un ID, et libère celle qu'il utilisait auparavant
+     * @param id L'ID propriétaire
+     * @param cle La clé déjà normalisée (null : l'ID ne réserve plus rien)
+     * @return false si la clé appartient déjà à un autre ID (rien n'est modifié)
+     */
+    protected boolean reserverCle(String id, String cle) {
+        boolean[] reserve = {true};
+        // compute() sérialise les changements d'un même ID
+        clesParId.compute(id, (cleId, ancienne) -> {
+            if (cle == null) {
+                if (ancienne != null) {
+                    idsParCle.remove(ancienne, id);
+                }
+                return null;
+            }
+            String proprietaire = idsParCle.putIfAbsent(cle, id);
+            if (proprietaire != null && !proprietaire.equals(id)) {
+                reserve[0] = false;
+                return ancienne;
+            }
+            if (ancienne != null && !ancienne.equals(cle)) {
+                idsParCle.remove(ancienne, id);
+            }
+            return cle;
+        });
+        return reserve[0];
+    }
+
+    /**
+     * Remet un ID sur une clé qu'il détenait auparavant, pour annuler une réservation
+     * @param id L'ID propriétaire
+     * @param cle La clé précédente, ou null si l'ID n'en détenait aucune
+     */
+    public void restaurer(String id, String cle) {
+        if (cle == null) {
+            liberer(id);
+        } else {
+            reserverCle(id, cle);
+        }
+    }
+
+    /**
+     * @return La clé actuellement réservée par un ID, ou null
+     */
+    public String cleDe(String id) {
+        return clesParId.get(id);
+    }
+
+    protected String getParCle(String cle) {
+        return cle == null ? null : idsParCle.get(cle);
+    }
+
+    /**
+     * Libère la clé d'un ID supprimé
+     * @param id L'ID supprimé
+     */
+    public void liberer(String id) {
+        String cle = clesParId.remove(id);
+        if (cle != null) {
+            idsParCle.remove(cle, id);
+        }
+    }
+
+    public int size() {
+        return idsParCle.size();
+    }
+
+    public void clear() {
+        idsParCle.clear();
+        clesParId.clear();
+    }
+}
@@ -1,8 +1,21 @@
 package com.project.POO.repository;
 
+import com.project.POO.exception.EvenementDejaExistantException;
+import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.Planificateur;
+import com.project.POO.repository.requete.RequeteEvenements;
+import com.project.POO.repository.requete.Resultat;
+import com.project.POO.utils.DictionnaireApproche;
+import com.project.POO.utils.IdGenerators;
 import com.project.POO.utils.JsonUtils;
+import com.project.POO.utils.TrigramIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
@@ -10,6 +23,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Repository
@@ -17,16 +31,33 @@ import java.util.stream.Collectors;
 public class JsonEvenementRepository {
 
     private static final String EVENTS_FILE = "data/evenements.json";
-    private final Map<String, Evenement> evenements = new HashMap<>();
+    private final EvenementCache evenements = new EvenementCache();
+    private final NomDateIndex nomsEtDates = new NomDateIndex();
+    private final DateIndex dates = new DateIndex();
+    private final FacetteIndex facettes = new FacetteIndex();
+    private final TrigramIndex<String> lieux = new TrigramIndex<>();
+    private final DictionnaireApproche<String> noms = new DictionnaireApproche<>();
+    private final List<EvenementListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecuteurParcours executeur;
 
     public JsonEvenementRepository() {
+        // Hors de Spring : petit pool propre à l'instance
+        this(new ExecuteurParcours(1, 1));
+    }
+
+    /**
+     * @param executeur Le pool partagé des parcours, utilisé par les requêtes composables
+     */
+    @Autowired
+    public JsonEvenementRepository(ExecuteurParcours executeur) {
+        this.executeur = executeur;
         createDataDirectoryIfNotExists();
         loadFromFile();
     }
 
     private void createDataDirectoryIfNotExists() {
         try {
-            Files.createDirectories(Paths.get("data"));
+            Files.createDirectories(Paths.get(JsonUtils.resolvePath("data")));
         } catch (IOException e) {
             log.error("Erreur lors de la création du répertoire data: {}", e.getMessage());
         }
@@ -34,11 +65,25 @@ public class JsonEvenementRepository {
 
     private void loadFromFile() {
         try {
-            if (Files.exists(Paths.get(EVENTS_FILE))) {
-                List<Evenement> loadedEvents = JsonUtils.loadListFromFile(EVENTS_FILE, Evenement.class);
+            if (Files.exists(Paths.get(JsonUtils.resolvePath(EVENTS_FILE)))) {
+                List<Evenement> loadedEvents = JsonUtils.loadListFromFile(JsonUtils.resolvePath(EVENTS_FILE), Evenement.class);
                 evenements.clear();
+                nomsEtDates.clear();
+                dates.clear();
+                facettes.clear();
+                lieux.clear();
+                noms.clear();
                 for (Evenement event : loadedEvents) {
-                    evenements.put(event.getId(), event);
+                    event.encoderDictionnaires();
+                    evenements.put(event);
+                    dates.indexer(event);
+                    facettes.indexer(event);
+                    lieux.indexer(event.getId(), event.getLieu());
+                    noms.indexer(event.getId(), event.getNom());
+                    // Les doublons antérieurs à l'index sont conservés, seul le premier est indexé
+                    if (!nomsEtDates.reserver(event.getId(), event.getNom(), event.getDate())) {
+                        log.warn("Événement en double (nom, date) ignoré par l'index: {}", event.getId());
+                    }
                 }
                 log.info("Chargement de {} événements depuis le fichier JSON", evenements.size());
             }
@@ -50,7 +95,7 @@ public class JsonEvenementRepository {
     private void saveToFile() {
         try {
             List<Evenement> eventsList = new ArrayList<>(evenements.values());
-            JsonUtils.saveToFile(eventsList, EVENTS_FILE);
+            JsonUtils.saveToFile(eventsList, JsonUtils.resolvePath(EVENTS_FILE));
             log.debug("Sauvegarde de {} événements dans le fichier JSON", eventsList.size());
         } catch (IOException e) {
             log.error("Erreur lors de la sauvegarde des événements: {}", e.getMessage());
@@ -61,26 +106,148 @@ public class JsonEvenementRepository {
         return new ArrayList<>(evenements.values());
     }
 
+    /**
+     * Cache mémoire partagé, déjà chargé depuis le fichier JSON
+     * @return Le cache de référence des événements
+     */
+    public EvenementCache getCache() {
+        return evenements;
+    }
+
+    /**
+     * Abonne un index aux modifications du repository
+     * L'abonné reçoit immédiatement les événements déjà chargés pour se construire
+     * @param listener L'abonné à ajouter
+     */
+    public void abonner(EvenementListener listener) {
+        listeners.add(listener);
+        listener.onChargement(evenements.values());
+    }
+
+    /**
+     * Signale aux index l'inscription d'un participant (l'événement doit ensuite être sauvegardé)
+     */
+    public void signalerInscription(Evenement evenement, Participant participant) {
+        // Le remplissage a changé : la facette "complet" est mise à jour sans attendre l'enregistrement
+        if (evenements.containsKey(evenement.getId())) {
+            facettes.indexer(evenement);
+        }
+        listeners.forEach(listener -> listener.onInscription(evenement, participant));
+    }
+
+    /**
+     * Signale aux index la désinscription d'un participant (l'événement doit ensuite être sauvegardé)
+     */
+    public void signalerDesinscription(Evenement evenement, Participant participant) {
+        if (evenements.containsKey(evenement.getId())) {
+            facettes.indexer(evenement);
+        }
+        listeners.forEach(listener -> listener.onDesinscription(evenement, participant));
+    }
+
+    /**
+     * Signale aux index l'ajout d'un intervenant (la conférence doit ensuite être sauvegardée)
+     */
+    public void signalerAjoutIntervenant(Conference conference, Participant intervenant) {
+        listeners.forEach(listener -> listener.onAjoutIntervenant(conference, intervenant));
+    }
+
+    /**
+     * Signale aux index le retrait d'un intervenant (la conférence doit ensuite être sauvegardée)
+     */
+    public void signalerRetraitIntervenant(Conference conference, Participant intervenant) {
+        listeners.forEach(listener -> listener.onRetraitIntervenant(conference, intervenant));
+    }
+
     public Optional<Evenement> findById(String id) {
         return Optional.ofNullable(evenements.get(id));
     }
 
-    public Evenement save(Evenement evenement) {
+    /**
+     * Réserve atomiquement (nom, date) pour un événement, avant sa création
+     * Un enregistrement ultérieur du même événement reprend la réservation sans conflit.
+     * @param evenement L'événement (un ID lui est attribué s'il n'en a pas)
+     * @return false si un autre événement porte déjà ce nom à cette date
+     */
+    public boolean reserverNomEtDate(Evenement evenement) {
         if (evenement.getId() == null) {
-            evenement.setId(UUID.randomUUID().toString());
+            evenement.setId(IdGenerators.nextId());
+        }
+        return nomsEtDates.reserver(evenement.getId(), evenement.getNom(), evenement.getDate());
+    }
+
+    /**
+     * Enregistre un événement et tient à jour l'index (nom, date)
+     * @throws EvenementDejaExistantException si un autre événement porte déjà ce nom à cette date
+     */
+    public Evenement save(Evenement evenement) {
+        if (!reserverNomEtDate(evenement)) {
+            throw new EvenementDejaExistantException("Un événement avec le même nom et date existe déjà");
         }
-        evenements.put(evenement.getId(), evenement);
+        evenement.encoderDictionnaires();
+        evenements.put(evenement);
+        dates.indexer(evenement);
+        facettes.indexer(evenement);
+        lieux.indexer(evenement.getId(), evenement.getLieu());
+        noms.indexer(evenement.getId(), evenement.getNom());
+        listeners.forEach(listener -> listener.onEnregistrement(evenement));
         saveToFile();
         return evenement;
     }
 
-    public void delete(Evenement evenement) {
-        evenements.remove(evenement.getId());
+    /**
+     * Enregistre plusieurs événements avec une seule écriture du fichier JSON
+     * Tout ou rien : toutes les clés (nom, date) sont réservées avant le premier enregistrement.
+     * @param lot Les événements à enregistrer
+     * @throws EvenementDejaExistantException si un événement du lot est en conflit ; les réservations
+     *         déjà prises sont alors annulées et les événements déjà enregistrés retrouvent leur clé
+     */
+    public void saveAll(Collection<Evenement> lot) {
+        if (lot.isEmpty()) {
+            return;
+        }
+        // Clé détenue par chaque ID avant le lot (null : aucune), pour pouvoir revenir en arrière
+        Map<String, String> precedentes = new LinkedHashMap<>();
+        for (Evenement evenement : lot) {
+            if (evenement.getId() == null) {
+                evenement.setId(IdGenerators.nextId());
+            }
+            String precedente = nomsEtDates.cleDe(evenement.getId());
+            if (!nomsEtDates.reserver(evenement.getId(), evenement.getNom(), evenement.getDate())) {
+                precedentes.forEach(nomsEtDates::restaurer);
+                throw new EvenementDejaExistantException("Un événement avec le même nom et date existe déjà: " + evenement.getNom());
+            }
+            if (!precedentes.containsKey(evenement.getId())) {
+                precedentes.put(evenement.getId(), precedente);
+            }
+        }
+        for (Evenement evenement : lot) {
+            evenement.encoderDictionnaires();
+            evenements.put(evenement);
+            dates.indexer(evenement);
+            facettes.indexer(evenement);
+            lieux.indexer(evenement.getId(), evenement.getLieu());
+            noms.indexer(evenement.getId(), evenement.getNom());
+            listeners.forEach(listener -> listener.onEnregistrement(evenement));
+        }
         saveToFile();
+        log.debug("Enregistrement groupé de {} événements", lot.size());
+    }
+
+    public void delete(Evenement evenement) {
+        deleteById(evenement.getId());
     }
 
     public void deleteById(String id) {
-        evenements.remove(id);
+        Evenement removed = evenements.remove(id);
+        nomsEtDates.liberer(id);
+        dates.retirer(id);
+        facettes.retirer(id);
+        lieux.retirer(id);
+        noms.retirer(id);
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onSuppression(removed));
+        }
         saveToFile();
     }
 
@@ -88,26 +255,131 @@ public class JsonEvenementRepository {
         return evenements.containsKey(id);
     }
 
+    /**
+     * Vérifie l'existence d'un événement par (nom normalisé, date), via l'index
+     */
     public boolean existsByNomAndDate(String nom, LocalDateTime date) {
-        return evenements.values().stream()
-                .anyMatch(e -> e.getNom().equals(nom) && e.getDate().equals(date));
+        return nomsEtDates.contient(nom, date);
     }
 
+    /**
+     * Recherche par sous-chaîne du lieu (casse et accents ignorés), via l'index de trigrammes
+     */
     public List<Evenement> findByLieuContainingIgnoreCase(String lieu) {
-        return evenements.values().stream()
-                .filter(e -> e.getLieu().toLowerCase().contains(lieu.toLowerCase()))
+        return lieux.rechercher(lieu).stream()
+                .map(evenements::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recherche approchée sur le nom, tolérante aux fautes de frappe
+     * @param requete Les mots recherchés
+     * @param distanceMax La distance d'édition maximale par mot
+     * @param limite Le nombre maximal de résultats
+     * @return Les événements, du plus proche au plus lointain
+     */
+    public List<Evenement> findByNomApproche(String requete, int distanceMax, int limite) {
+        DictionnaireApproche.Resultats<String> resultats = noms.rechercher(requete, distanceMax, limite);
+        if (resultats.isTronquee()) {
+            log.debug("Recherche approchée tronquée par le budget de temps: {}", requete);
+        }
+        return resultats.getCorrespondances().stream()
+                .map(c -> evenements.get(c.getCle()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     public List<Evenement> findByAnnuleFalseAndCapaciteMaxGreaterThan(int nombreParticipants) {
-        return evenements.values().stream()
-                .filter(e -> !e.isAnnule() && e.getCapaciteMax() > nombreParticipants)
+        // La capacité n'est pas une facette : seuls les événements non annulés sont vérifiés
+        return parIds(facettes.ids(Map.of(FacetteIndex.ANNULE, List.of("false")))).stream()
+                .filter(e -> e.getCapaciteMax() > nombreParticipants)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Événements ni annulés ni complets, par intersection des bitmaps de facettes
+     */
+    public List<Evenement> findDisponibles() {
+        return parIds(facettes.ids(Map.of(
+                FacetteIndex.ANNULE, List.of("false"),
+                FacetteIndex.COMPLET, List.of("false"))));
+    }
+
+    /**
+     * Filtrage multi-critères par facettes (annule, complet, type, mois, lieu)
+     * @param criteres Facette -> valeurs acceptées (OU entre les valeurs, ET entre les facettes)
+     * @param limite Nombre maximal d'IDs rendus
+     * @return Les IDs, le total et les comptes par valeur de facette parmi les résultats
+     * @throws IllegalArgumentException si une facette est inconnue
+     */
+    public FacetteIndex.Resultat findByFacettes(Map<String, ? extends Collection<String>> criteres, int limite) {
+        return facettes.filtrer(criteres, limite);
+    }
+
+    /**
+     * Exécute une requête composable par le chemin d'accès le moins coûteux
+     * @return La page de résultats, le curseur de la page suivante et le plan suivi
+     * @throws IllegalArgumentException si la limite, le curseur ou une facette est invalide
+     */
+    public Resultat<Evenement> executer(RequeteEvenements requete) {
+        return planificateur(requete).executer(requete::accepte, requete.comparateur(), requete.criteres(),
+                requete.getDescriptionTri(), requete.getLimite(), requete.getCurseur());
+    }
+
+    /**
+     * Plan qui serait suivi pour une requête, sans l'exécuter
+     */
+    public Plan expliquer(RequeteEvenements requete) {
+        return planificateur(requete).planifier(requete.criteres(), requete.getDescriptionTri());
+    }
+
+    // Chemins d'accès possibles pour la requête, avec leur nombre estimé de candidats
+    private Planificateur<Evenement> planificateur(RequeteEvenements requete) {
+        Planificateur<Evenement> planificateur = new Planificateur<>(executeur);
+        Map<String, List<String>> criteresFacettes = requete.getFacettes() == null ? Map.of() : requete.getFacettes();
+        if (!criteresFacettes.isEmpty()) {
+            planificateur.proposer("FACETTES_BITMAP", facettes.compter(criteresFacettes),
+                    () -> parIds(facettes.ids(criteresFacettes)));
+        }
+        if (requete.getLieu() != null && !requete.getLieu().isEmpty()) {
+            planificateur.proposer("TRIGRAMMES_LIEU", lieux.estimer(requete.getLieu()),
+                    () -> findByLieuContainingIgnoreCase(requete.getLieu()));
+        }
+        if (requete.getDateMin() != null || requete.getDateMax() != null) {
+            // Le comptage s'arrête dès qu'il dépasse le meilleur chemin déjà trouvé
+            long borne = Math.min(planificateur.meilleureEstimation(), evenements.size());
+            planificateur.proposer("INDEX_DATE", dates.compter(requete.getDateMin(), requete.getDateMax(), borne),
+                    () -> new ArrayList<>(dates.entre(requete.getDateMin(), requete.getDateMax())));
+        }
+        planificateur.proposer(Planificateur.PARCOURS_COMPLET, evenements.size(), evenements::values);
+        return planificateur;
+    }
+
+    private List<Evenement> parIds(List<String> ids) {
+        return ids.stream()
+                .map(evenements::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Événements strictement postérieurs à une date, triés par date (index trié : O(log n + k))
+     */
     public List<Evenement> findByDateAfter(LocalDateTime date) {
-        return evenements.values().stream()
-                .filter(e -> e.getDate().isAfter(date))
+        return new ArrayList<>(dates.apres(date));
+    }
+
+    /**
+     * Événements non annulés dont la date est dans [from, to[, triés par date
+     * @param from Borne inférieure incluse, ou null
+     * @param to Borne supérieure exclue, ou null
+     * @param limit Nombre maximal de résultats
+     */
+    public List<Evenement> findByDateBetweenAndAnnuleFalse(LocalDateTime from, LocalDateTime to, int limit) {
+        return dates.entre(from, to).stream()
+                .filter(e -> !e.isAnnule())
+                .limit(limit)
                 .collect(Collectors.toList());
     }
 
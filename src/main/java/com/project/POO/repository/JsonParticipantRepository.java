@@ -1,14 +1,30 @@
 package com.project.POO.repository;
 
+import com.project.POO.exception.EmailDejaUtiliseException;
+import com.project.POO.model.Organisateur;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.Planificateur;
+import com.project.POO.repository.requete.RequeteParticipants;
+import com.project.POO.repository.requete.Resultat;
+import com.project.POO.repository.store.HeapParticipantStore;
+import com.project.POO.repository.store.OffHeapParticipantStore;
+import com.project.POO.repository.store.ParticipantStore;
+import com.project.POO.utils.DictionnaireApproche;
+import com.project.POO.utils.IdGenerators;
 import com.project.POO.utils.JsonUtils;
+import com.project.POO.utils.TrigramIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Repository
@@ -16,16 +32,43 @@ import java.util.stream.Collectors;
 public class JsonParticipantRepository {
 
     private static final String PARTICIPANTS_FILE = "data/participants.json";
-    private final Map<String, Participant> participants = new HashMap<>();
+    private final ParticipantStore participants;
+    private final EmailIndex emails = new EmailIndex();
+    private final TrigramIndex<String> noms = new TrigramIndex<>();
+    private final DictionnaireApproche<String> termes = new DictionnaireApproche<>();
+    // IDs des organisateurs : leur nombre est lu sans parcourir le stockage
+    private final Set<String> organisateurs = ConcurrentHashMap.newKeySet();
+    private final ExecuteurParcours executeur;
 
     public JsonParticipantRepository() {
+        this(new HeapParticipantStore());
+    }
+
+    /**
+     * @param stockage "heap" (HashMap d'objets) ou "offheap" (slabs hors tas et index primitif)
+     * @param executeur Le pool partagé des parcours, utilisé par les requêtes composables
+     */
+    @Autowired
+    public JsonParticipantRepository(@Value("${app.participants.storage:heap}") String stockage,
+                                     ExecuteurParcours executeur) {
+        this("offheap".equalsIgnoreCase(stockage) ? new OffHeapParticipantStore() : new HeapParticipantStore(), executeur);
+    }
+
+    public JsonParticipantRepository(ParticipantStore store) {
+        // Hors de Spring : petit pool propre à l'instance
+        this(store, new ExecuteurParcours(1, 1));
+    }
+
+    public JsonParticipantRepository(ParticipantStore store, ExecuteurParcours executeur) {
+        this.participants = store;
+        this.executeur = executeur;
         createDataDirectoryIfNotExists();
         loadFromFile();
     }
 
     private void createDataDirectoryIfNotExists() {
         try {
-            Files.createDirectories(Paths.get("data"));
+            Files.createDirectories(Paths.get(JsonUtils.resolvePath("data")));
         } catch (IOException e) {
             log.error("Erreur lors de la création du répertoire data: {}", e.getMessage());
         }
@@ -33,11 +76,22 @@ public class JsonParticipantRepository {
 
     private void loadFromFile() {
         try {
-            if (Files.exists(Paths.get(PARTICIPANTS_FILE))) {
-                List<Participant> loadedParticipants = JsonUtils.loadListFromFile(PARTICIPANTS_FILE, Participant.class);
+            if (Files.exists(Paths.get(JsonUtils.resolvePath(PARTICIPANTS_FILE)))) {
+                List<Participant> loadedParticipants = JsonUtils.loadListFromFile(JsonUtils.resolvePath(PARTICIPANTS_FILE), Participant.class);
                 participants.clear();
+                emails.clear();
+                noms.clear();
+                termes.clear();
+                organisateurs.clear();
                 for (Participant participant : loadedParticipants) {
-                    participants.put(participant.getId(), participant);
+                    participants.put(participant);
+                    suivreOrganisateur(participant);
+                    noms.indexer(participant.getId(), participant.getNom());
+                    termes.indexer(participant.getId(), participant.getNom(), participant.getEmail());
+                    // Les doublons antérieurs à l'index sont conservés, seul le premier est indexé
+                    if (!emails.reserver(participant.getId(), participant.getEmail())) {
+                        log.warn("Email en double ignoré par l'index: participant {}", participant.getId());
+                    }
                 }
                 log.info("Chargement de {} participants depuis le fichier JSON", participants.size());
             }
@@ -49,7 +103,7 @@ public class JsonParticipantRepository {
     private void saveToFile() {
         try {
             List<Participant> participantsList = new ArrayList<>(participants.values());
-            JsonUtils.saveToFile(participantsList, PARTICIPANTS_FILE);
+            JsonUtils.saveToFile(participantsList, JsonUtils.resolvePath(PARTICIPANTS_FILE));
             log.debug("Sauvegarde de {} participants dans le fichier JSON", participantsList.size());
         } catch (IOException e) {
             log.error("Erreur lors de la sauvegarde des participants: {}", e.getMessage());
@@ -64,47 +118,172 @@ public class JsonParticipantRepository {
         return Optional.ofNullable(participants.get(id));
     }
 
+    /**
+     * Enregistre un participant en réservant atomiquement son email
+     * @throws EmailDejaUtiliseException si l'email appartient déjà à un autre participant
+     */
     public Participant save(Participant participant) {
-        if (participant.getId() == null) {
-            participant.setId(UUID.randomUUID().toString());
-        }
-        participants.put(participant.getId(), participant);
+        indexer(participant);
         saveToFile();
         return participant;
     }
 
     public void delete(Participant participant) {
-        participants.remove(participant.getId());
-        saveToFile();
+        deleteById(participant.getId());
     }
 
     public void deleteById(String id) {
-        participants.remove(id);
+        retirer(id);
         saveToFile();
     }
 
+    /**
+     * Supprime plusieurs participants avec une seule écriture du fichier JSON
+     * @param ids Les IDs des participants à supprimer
+     * @return Le nombre de participants effectivement supprimés
+     */
+    public int deleteAllById(Collection<String> ids) {
+        int supprimes = 0;
+        for (String id : ids) {
+            if (retirer(id)) {
+                supprimes++;
+            }
+        }
+        if (supprimes > 0) {
+            saveToFile();
+        }
+        return supprimes;
+    }
+
+    /**
+     * Supprime des doublons et enregistre le participant qui les remplace, avec une seule écriture
+     * du fichier JSON ; les emails des doublons sont libérés avant la réservation de celui du conservé
+     * @param conserve Le participant conservé
+     * @param doublonIds Les IDs des participants supprimés
+     * @throws EmailDejaUtiliseException si l'email du conservé appartient à un autre participant
+     */
+    public Participant fusionner(Participant conserve, Collection<String> doublonIds) {
+        doublonIds.forEach(this::retirer);
+        indexer(conserve);
+        saveToFile();
+        return conserve;
+    }
+
+    // Réserve l'email puis range et indexe le participant, sans écrire le fichier
+    private void indexer(Participant participant) {
+        if (participant.getId() == null) {
+            participant.setId(IdGenerators.nextId());
+        }
+        if (!emails.reserver(participant.getId(), participant.getEmail())) {
+            throw new EmailDejaUtiliseException("Un participant utilise déjà l'email: " + participant.getEmail());
+        }
+        participants.put(participant);
+        suivreOrganisateur(participant);
+        noms.indexer(participant.getId(), participant.getNom());
+        termes.indexer(participant.getId(), participant.getNom(), participant.getEmail());
+    }
+
+    // Retire le participant du stockage et des index, sans écrire le fichier
+    private boolean retirer(String id) {
+        if (!participants.remove(id)) {
+            return false;
+        }
+        organisateurs.remove(id);
+        emails.liberer(id);
+        noms.retirer(id);
+        termes.retirer(id);
+        return true;
+    }
+
     public boolean existsById(String id) {
         return participants.containsKey(id);
     }
 
+    /**
+     * Recherche par email normalisé (casse et espaces ignorés), via l'index
+     */
     public Optional<Participant> findByEmail(String email) {
-        return participants.values().stream()
-                .filter(p -> p.getEmail().equals(email))
-                .findFirst();
+        String id = emails.get(email);
+        return id == null ? Optional.empty() : Optional.ofNullable(participants.get(id));
     }
 
+    /**
+     * Recherche par sous-chaîne du nom (casse et accents ignorés), via l'index de trigrammes
+     */
     public List<Participant> findByNomContainingIgnoreCase(String nom) {
-        return participants.values().stream()
-                .filter(p -> p.getNom().toLowerCase().contains(nom.toLowerCase()))
+        return noms.rechercher(nom).stream()
+                .map(participants::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Recherche approchée sur le nom et l'email, tolérante aux fautes de frappe
+     * @param requete Les mots recherchés
+     * @param distanceMax La distance d'édition maximale par mot
+     * @param limite Le nombre maximal de résultats
+     * @return Les participants, du plus proche au plus lointain
+     */
+    public List<Participant> findByNomOuEmailApproche(String requete, int distanceMax, int limite) {
+        DictionnaireApproche.Resultats<String> resultats = termes.rechercher(requete, distanceMax, limite);
+        if (resultats.isTronquee()) {
+            log.debug("Recherche approchée tronquée par le budget de temps: {}", requete);
+        }
+        return resultats.getCorrespondances().stream()
+                .map(c -> participants.get(c.getCle()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Exécute une requête composable par le chemin d'accès le moins coûteux
+     * @return La page de résultats, le curseur de la page suivante et le plan suivi
+     * @throws IllegalArgumentException si la limite ou le curseur est invalide
+     */
+    public Resultat<Participant> executer(RequeteParticipants requete) {
+        return planificateur(requete).executer(requete::accepte, requete.comparateur(), requete.criteres(),
+                requete.getDescriptionTri(), requete.getLimite(), requete.getCurseur());
+    }
+
+    /**
+     * Plan qui serait suivi pour une requête, sans l'exécuter
+     */
+    public Plan expliquer(RequeteParticipants requete) {
+        return planificateur(requete).planifier(requete.criteres(), requete.getDescriptionTri());
+    }
+
+    private Planificateur<Participant> planificateur(RequeteParticipants requete) {
+        Planificateur<Participant> planificateur = new Planificateur<>(executeur);
+        if (requete.getEmail() != null) {
+            Optional<Participant> parEmail = findByEmail(requete.getEmail());
+            planificateur.proposer("INDEX_EMAIL", parEmail.isPresent() ? 1 : 0,
+                    () -> parEmail.map(List::of).orElseGet(List::of));
+        }
+        if (requete.getNom() != null && !requete.getNom().isEmpty()) {
+            planificateur.proposer("TRIGRAMMES_NOM", noms.estimer(requete.getNom()),
+                    () -> findByNomContainingIgnoreCase(requete.getNom()));
+        }
+        planificateur.proposer(Planificateur.PARCOURS_COMPLET, participants.size(), participants::values);
+        return planificateur;
+    }
+
     public boolean existsByEmail(String email) {
-        return participants.values().stream()
-                .anyMatch(p -> p.getEmail().equals(email));
+        return emails.contient(email);
     }
 
     public long count() {
         return participants.size();
     }
+
+    public long countOrganisateurs() {
+        return organisateurs.size();
+    }
+
+    private void suivreOrganisateur(Participant participant) {
+        if (participant instanceof Organisateur) {
+            organisateurs.add(participant.getId());
+        } else {
+            organisateurs.remove(participant.getId());
+        }
+    }
 }
\ No newline at end of file
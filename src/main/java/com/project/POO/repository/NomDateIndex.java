@@ -0,0 +1,41 @@
+package com.project.POO.repository;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Index unique (nom normalisé, date) -> ID d'événement, tenu par JsonEvenementRepository
+ * Remplace le parcours de tous les événements avant chaque création.
+ */
+public class NomDateIndex extends IndexUnique {
+
+    /**
+     * Clé composite : nom sans espaces superflus ni casse, puis date ISO
+     * @return La clé, ou null si le nom ou la date manque
+     */
+    public static String cle(String nom, LocalDateTime date) {
+        if (nom == null || nom.isBlank() || date == null) {
+            return null;
+        }
+        String nomNormalise = Normalizer.normalize(nom.trim().replaceAll("\\s+", " "), Normalizer.Form.NFC)
+                .toLowerCase(Locale.ROOT);
+        return nomNormalise + '\u0000' + date;
+    }
+
+    /**
+     * Réserve (nom, date) pour un événement, et libère la clé qu'il utilisait auparavant
+     * @return false si un autre événement porte déjà ce nom à cette date (rien n'est modifié)
+     */
+    public boolean reserver(String id, String nom, LocalDateTime date) {
+        return reserverCle(id, cle(nom, date));
+    }
+
+    public String get(String nom, LocalDateTime date) {
+        return getParCle(cle(nom, date));
+    }
+
+    public boolean contient(String nom, LocalDateTime date) {
+        return get(nom, date) != null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.POO.repository.requete;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Exécute les filtres par parcours sur un instantané des candidats, en parallèle quand cela paie
+ * - le coût moyen d'évaluation d'un élément est mesuré sur les parcours séquentiels ; un parcours
+ *   passe en fork-join quand son coût estimé dépasse SEUIL_NANOS (et jamais sous TAILLE_MIN éléments)
+ * - le pool fork-join est dédié : il ne partage rien avec le pool commun utilisé par
+ *   CompletableFuture.runAsync pour les notifications
+ * - le nombre de parcours parallèles simultanés est plafonné ; au-delà, le parcours se fait
+ *   séquentiellement sur le thread appelant plutôt que d'attendre
+ *
+ * L'application en déclare une seule instance (ExecuteurParcoursConfig), arrêtée avec le contexte.
+ */
+public final class ExecuteurParcours {
+
+    // Coût estimé au-delà duquel le découpage en tâches est rentable
+    static final long SEUIL_NANOS = 500_000;
+    static final int TAILLE_MIN = 4_096;
+    private static final int TAILLE_TRONCON = 2_048;
+    // Estimation de départ, prudente, avant la première mesure
+    private static final long COUT_INITIAL_NANOS = 100;
+
+    private final ForkJoinPool pool;
+    private final Semaphore parcoursParalleles;
+    // Coût moyen par élément en nanosecondes, moyenne mobile exponentielle (x16 pour garder la précision)
+    private final AtomicLong coutParElementX16 = new AtomicLong(COUT_INITIAL_NANOS * 16);
+    private final AtomicLong parallelesExecutes = new AtomicLong();
+
+    /**
+     * @param parallelisme Nombre de threads du pool dédié
+     * @param maxParcoursParalleles Nombre maximal de parcours parallèles simultanés
+     */
+    public ExecuteurParcours(int parallelisme, int maxParcoursParalleles) {
+        AtomicInteger numero = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelisme, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("parcours-" + numero.incrementAndGet());
+            return thread;
+        }, null, false);
+        this.parcoursParalleles = new Semaphore(maxParcoursParalleles);
+    }
+
+    /**
+     * Filtre un instantané des éléments, en conservant leur ordre
+     * @param elements Les éléments à parcourir (copiés avant le parcours)
+     * @param filtre Le prédicat à évaluer sur chaque élément
+     * @return Les éléments retenus
+     */
+    public <T> List<T> filtrer(Collection<T> elements, Predicate<? super T> filtre) {
+        List<T> instantane = new ArrayList<>(elements);
+        if (!doitParalleliser(instantane.size()) || !parcoursParalleles.tryAcquire()) {
+            return filtrerSequentiellement(instantane, filtre);
+        }
+        try {
+            parallelesExecutes.incrementAndGet();
+            return pool.invoke(new Troncon<>(instantane, 0, instantane.size(), filtre));
+        } finally {
+            parcoursParalleles.release();
+        }
+    }
+
+    /**
+     * Exécute un traitement par lots sur le pool dédié ; le thread appelant attend le résultat
+     * Ces traitements ne sont pas plafonnés : ils sont rares et ne doivent pas retomber en séquentiel.
+     * @param tache La tâche fork-join racine
+     * @return Le résultat de la tâche
+     */
+    public <T> T executer(ForkJoinTask<T> tache) {
+        return pool.invoke(tache);
+    }
+
+    /**
+     * Nombre d'éléments à partir duquel un parcours est parallélisé, d'après le coût mesuré
+     */
+    public int seuil() {
+        long coutParElement = Math.max(1, coutParElementX16.get() / 16);
+        return (int) Math.max(TAILLE_MIN, Math.min(Integer.MAX_VALUE, SEUIL_NANOS / coutParElement));
+    }
+
+    /**
+     * Arrête le pool : les tâches en cours se terminent, les suivantes sont refusées
+     */
+    public void fermer() {
+        pool.shutdown();
+    }
+
+    public long getParallelesExecutes() {
+        return parallelesExecutes.get();
+    }
+
+    boolean doitParalleliser(int taille) {
+        return taille >= seuil();
+    }
+
+    private <T> List<T> filtrerSequentiellement(List<T> elements, Predicate<? super T> filtre) {
+        long debut = System.nanoTime();
+        List<T> retenus = filtrerTranche(elements, 0, elements.size(), filtre);
+        // Les petits parcours sont dominés par leur coût fixe : ils ne servent pas de mesure
+        if (elements.size() >= 256) {
+            mesurer((System.nanoTime() - debut) / elements.size());
+        }
+        return retenus;
+    }
+
+    // Moyenne mobile : chaque mesure compte pour 1/8
+    private void mesurer(long nanosParElement) {
+        coutParElementX16.updateAndGet(ancien -> ancien + ((nanosParElement * 16) - ancien) / 8);
+    }
+
+    private static <T> List<T> filtrerTranche(List<T> elements, int debut, int fin, Predicate<? super T> filtre) {
+        List<T> retenus = new ArrayList<>();
+        for (int i = debut; i < fin; i++) {
+            T element = elements.get(i);
+            if (filtre.test(element)) {
+                retenus.add(element);
+            }
+        }
+        return retenus;
+    }
+
+    private static final class Troncon<T> extends RecursiveTask<List<T>> {
+        private final List<T> elements;
+        private final int debut;
+        private final int fin;
+        private final Predicate<? super T> filtre;
+
+        private Troncon(List<T> elements, int debut, int fin, Predicate<? super T> filtre) {
+            this.elements = elements;
+            this.debut = debut;
+            this.fin = fin;
+            this.filtre = filtre;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (fin - debut <= TAILLE_TRONCON) {
+                return filtrerTranche(elements, debut, fin, filtre);
+            }
+            int milieu = (debut + fin) >>> 1;
+            Troncon<T> gauche = new Troncon<>(elements, debut, milieu, filtre);
+            gauche.fork();
+            List<T> droite = new Troncon<>(elements, milieu, fin, filtre).compute();
+            List<T> resultat = gauche.join();
+            resultat.addAll(droite);
+            return resultat;
+        }
+    }
+}
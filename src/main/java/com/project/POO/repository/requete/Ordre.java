@@ -0,0 +1,82 @@
+package com.project.POO.repository.requete;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Ordre des résultats d'une requête : une clé de tri textuelle, puis l'ID
+ * - les clés sont comparées dans l'ordre naturel des chaînes, une clé absente en dernier
+ *   (en premier si l'ordre est décroissant)
+ * - l'ID, toujours croissant, départage les égalités : l'ordre est total
+ *
+ * Le curseur d'une page est la clé et l'ID de son dernier élément : la page suivante reprend
+ * strictement après lui, même si des éléments ont été ajoutés ou supprimés entre-temps.
+ *
+ * @param <T> Le type des éléments ordonnés
+ */
+public final class Ordre<T> implements Comparator<T> {
+
+    private static final Comparator<String> CLES = Comparator.nullsLast(Comparator.naturalOrder());
+    private static final char SEPARATEUR = '\u0000';
+
+    private final Function<T, String> cle;
+    private final Function<T, String> id;
+    private final boolean decroissant;
+
+    /**
+     * @param cle La clé de tri d'un élément, ou null si la valeur triée est absente
+     * @param id L'ID d'un élément
+     * @param decroissant true pour inverser l'ordre des clés
+     */
+    public Ordre(Function<T, String> cle, Function<T, String> id, boolean decroissant) {
+        this.cle = cle;
+        this.id = id;
+        this.decroissant = decroissant;
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        return comparer(cle.apply(a), id.apply(a), cle.apply(b), id.apply(b));
+    }
+
+    /**
+     * Curseur désignant la position juste après un élément, encodé de façon opaque
+     */
+    String curseur(T dernier) {
+        String valeur = cle.apply(dernier);
+        String position = (valeur == null ? "n" : "v" + valeur) + SEPARATEUR + id.apply(dernier);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Éléments situés strictement après la position d'un curseur
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    Predicate<T> apres(String curseur) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + curseur);
+        }
+        int separateur = position.lastIndexOf(SEPARATEUR);
+        boolean absente = position.startsWith("n") && separateur == 1;
+        if (separateur < 1 || !(absente || position.startsWith("v"))) {
+            throw new IllegalArgumentException("Curseur invalide: " + curseur);
+        }
+        String cleCurseur = absente ? null : position.substring(1, separateur);
+        String idCurseur = position.substring(separateur + 1);
+        return element -> comparer(cle.apply(element), id.apply(element), cleCurseur, idCurseur) > 0;
+    }
+
+    private int comparer(String cleA, String idA, String cleB, String idB) {
+        int resultat = CLES.compare(cleA, cleB);
+        if (decroissant) {
+            resultat = -resultat;
+        }
+        return resultat != 0 ? resultat : CLES.compare(idA, idB);
+    }
+}
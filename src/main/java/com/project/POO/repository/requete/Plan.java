@@ -0,0 +1,71 @@
+package com.project.POO.repository.requete;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan d'exécution d'une requête, tel que rendu par l'endpoint explain
+ * - acces : le chemin d'accès retenu (index ou parcours complet) et son estimation de candidats
+ * - alternatives : tous les chemins envisagés avec leur estimation
+ * - filtres : les critères vérifiés sur chaque candidat
+ * Après exécution, examines et rendus donnent le nombre réel de candidats et de résultats.
+ */
+public class Plan {
+
+    private final String acces;
+    private final long estimation;
+    private final Map<String, Long> alternatives;
+    private final List<String> filtres;
+    private final String tri;
+    private long examines = -1;
+    private int rendus = -1;
+
+    Plan(String acces, long estimation, Map<String, Long> alternatives, List<String> filtres, String tri) {
+        this.acces = acces;
+        this.estimation = estimation;
+        this.alternatives = new LinkedHashMap<>(alternatives);
+        this.filtres = new ArrayList<>(filtres);
+        this.tri = tri;
+    }
+
+    void executionTerminee(long examines, int rendus) {
+        this.examines = examines;
+        this.rendus = rendus;
+    }
+
+    public String getAcces() {
+        return acces;
+    }
+
+    public long getEstimation() {
+        return estimation;
+    }
+
+    public Map<String, Long> getAlternatives() {
+        return alternatives;
+    }
+
+    public List<String> getFiltres() {
+        return filtres;
+    }
+
+    public String getTri() {
+        return tri;
+    }
+
+    /**
+     * Nombre de candidats réellement examinés, ou -1 si la requête n'a pas été exécutée
+     */
+    public long getExamines() {
+        return examines;
+    }
+
+    /**
+     * Nombre de résultats rendus, ou -1 si la requête n'a pas été exécutée
+     */
+    public int getRendus() {
+        return rendus;
+    }
+}
@@ -0,0 +1,120 @@
+package com.project.POO.repository.requete;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Planificateur par coût : chaque repository propose les chemins d'accès que ses index permettent
+ * pour une requête, avec une estimation du nombre de candidats ; le moins coûteux est retenu.
+ * Le parcours complet est toujours proposé et sert de dernier recours.
+ *
+ * Les candidats du chemin retenu sont ensuite vérifiés avec tous les critères de la requête :
+ * un index ne sert qu'à réduire le nombre de candidats, jamais à décider seul du résultat.
+ *
+ * @param <T> Le type des éléments interrogés
+ */
+public final class Planificateur<T> {
+
+    public static final String PARCOURS_COMPLET = "PARCOURS_COMPLET";
+    public static final int LIMITE_MAX = 1000;
+
+    private final List<Acces<T>> acces = new ArrayList<>();
+    private final ExecuteurParcours executeur;
+
+    /**
+     * @param executeur Évalue les filtres sur les candidats, en parallèle sur les gros volumes
+     */
+    public Planificateur(ExecuteurParcours executeur) {
+        this.executeur = executeur;
+    }
+
+    /**
+     * Propose un chemin d'accès
+     * @param nom Le nom du chemin, affiché dans le plan
+     * @param estimation Le nombre estimé de candidats qu'il produit
+     * @param source Fournit les candidats, appelée seulement si le chemin est retenu
+     */
+    public Planificateur<T> proposer(String nom, long estimation, Supplier<? extends Collection<T>> source) {
+        acces.add(new Acces<>(nom, estimation, source));
+        return this;
+    }
+
+    /**
+     * La plus petite estimation déjà proposée : sert de borne aux estimations qui coûtent un parcours
+     */
+    public long meilleureEstimation() {
+        return acces.stream().mapToLong(a -> a.estimation).min().orElse(Long.MAX_VALUE);
+    }
+
+    public Plan planifier(List<String> filtres, String tri) {
+        return planifier(choisir(), filtres, tri);
+    }
+
+    /**
+     * Exécute la requête par le chemin d'accès le moins coûteux
+     * Les candidats situés avant le curseur sont écartés par le filtre, avant le tri et la limite.
+     * @param filtre Tous les critères de la requête
+     * @param ordre L'ordre des résultats
+     * @param filtres La description des critères, pour le plan
+     * @param tri La description de l'ordre, pour le plan
+     * @param limite Le nombre maximal de résultats de la page
+     * @param curseur Le curseur rendu par la page précédente, ou null
+     */
+    public Resultat<T> executer(Predicate<T> filtre, Ordre<T> ordre, List<String> filtres, String tri,
+                                int limite, String curseur) {
+        verifierLimite(limite);
+        Predicate<T> restants = (curseur == null || curseur.isBlank()) ? filtre : filtre.and(ordre.apres(curseur));
+        Acces<T> choisi = choisir();
+        Plan plan = planifier(choisi, filtres, tri);
+
+        Collection<T> candidats = choisi.source.get();
+        List<T> tries = executeur.filtrer(candidats, restants);
+        tries.sort(ordre);
+        List<T> page = new ArrayList<>(tries.subList(0, Math.min(tries.size(), limite)));
+        plan.executionTerminee(candidats.size(), page.size());
+        return new Resultat<>(page, tries.size() > limite ? ordre.curseur(page.get(page.size() - 1)) : null, plan);
+    }
+
+    public static void verifierLimite(int limite) {
+        if (limite <= 0 || limite > LIMITE_MAX) {
+            throw new IllegalArgumentException("La limite doit être comprise entre 1 et " + LIMITE_MAX);
+        }
+    }
+
+    private Acces<T> choisir() {
+        // À estimation égale, le premier proposé l'emporte : les index sont proposés avant le parcours
+        Acces<T> meilleur = null;
+        for (Acces<T> candidat : acces) {
+            if (meilleur == null || candidat.estimation < meilleur.estimation) {
+                meilleur = candidat;
+            }
+        }
+        if (meilleur == null) {
+            throw new IllegalStateException("Aucun chemin d'accès proposé");
+        }
+        return meilleur;
+    }
+
+    private Plan planifier(Acces<T> choisi, List<String> filtres, String tri) {
+        Map<String, Long> alternatives = new LinkedHashMap<>();
+        acces.forEach(a -> alternatives.put(a.nom, a.estimation));
+        return new Plan(choisi.nom, choisi.estimation, alternatives, filtres, tri);
+    }
+
+    private static final class Acces<T> {
+        private final String nom;
+        private final long estimation;
+        private final Supplier<? extends Collection<T>> source;
+
+        private Acces(String nom, long estimation, Supplier<? extends Collection<T>> source) {
+            this.nom = nom;
+            this.estimation = estimation;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.POO.repository.requete;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.POO.model.Evenement;
+import com.project.POO.repository.FacetteIndex;
+import com.project.POO.utils.TrigramIndex;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Requête composable sur les événements : tous les critères renseignés doivent être satisfaits
+ * Exemple : new RequeteEvenements().setLieu("palais").facette(FacetteIndex.TYPE, "CONCERT").setLimite(10)
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class RequeteEvenements {
+
+    public enum Tri { DATE, NOM, INSCRITS }
+
+    // Largeur fixe : l'ordre des chaînes est celui des dates
+    private static final DateTimeFormatter CLE_DATE = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS");
+
+    // Date dans [dateMin, dateMax[
+    private LocalDateTime dateMin;
+    private LocalDateTime dateMax;
+    // Sous-chaînes du lieu et du nom, casse et accents ignorés
+    private String lieu;
+    private String nom;
+    // Sous-chaîne du nom ou du lieu : la recherche libre de l'interface
+    private String texte;
+    // Facette (annule, complet, type, mois, lieu) -> valeurs acceptées
+    private Map<String, List<String>> facettes = new LinkedHashMap<>();
+    private Tri tri = Tri.DATE;
+    private boolean decroissant;
+    private int limite = 20;
+    private String curseur;
+
+    public RequeteEvenements facette(String facette, String... valeurs) {
+        facettes.computeIfAbsent(facette, f -> new ArrayList<>()).addAll(Arrays.asList(valeurs));
+        return this;
+    }
+
+    /**
+     * Vérifie tous les critères sur un événement
+     */
+    public boolean accepte(Evenement evenement) {
+        if ((dateMin != null || dateMax != null) && evenement.getDate() == null) {
+            return false;
+        }
+        if (dateMin != null && evenement.getDate().isBefore(dateMin)) {
+            return false;
+        }
+        if (dateMax != null && !evenement.getDate().isBefore(dateMax)) {
+            return false;
+        }
+        return contient(evenement.getLieu(), lieu)
+                && contient(evenement.getNom(), nom)
+                && (contient(evenement.getNom(), texte) || contient(evenement.getLieu(), texte))
+                && (facettes == null || FacetteIndex.correspond(evenement, facettes));
+    }
+
+    /**
+     * Description des critères renseignés, pour le plan d'exécution
+     */
+    public List<String> criteres() {
+        List<String> criteres = new ArrayList<>();
+        if (dateMin != null || dateMax != null) {
+            criteres.add("date dans [" + (dateMin != null ? dateMin : "-∞") + ", " + (dateMax != null ? dateMax : "+∞") + "[");
+        }
+        if (lieu != null) {
+            criteres.add("lieu contient \"" + lieu + "\"");
+        }
+        if (nom != null) {
+            criteres.add("nom contient \"" + nom + "\"");
+        }
+        if (texte != null) {
+            criteres.add("nom ou lieu contient \"" + texte + "\"");
+        }
+        if (facettes != null) {
+            facettes.forEach((facette, valeurs) -> criteres.add(facette + " dans " + valeurs));
+        }
+        return criteres;
+    }
+
+    public Ordre<Evenement> comparateur() {
+        Function<Evenement, String> cle;
+        switch (tri == null ? Tri.DATE : tri) {
+            case NOM:
+                cle = e -> TrigramIndex.normaliser(e.getNom());
+                break;
+            case INSCRITS:
+                cle = e -> String.format("%010d", e.getParticipants().size());
+                break;
+            default:
+                cle = e -> e.getDate() == null ? null : e.getDate().format(CLE_DATE);
+        }
+        // L'ID départage les égalités : l'ordre est stable d'une page à l'autre
+        return new Ordre<>(cle, Evenement::getId, decroissant);
+    }
+
+    @JsonIgnore
+    public String getDescriptionTri() {
+        return (tri == null ? Tri.DATE : tri) + (decroissant ? " décroissant" : " croissant");
+    }
+
+    static boolean contient(String valeur, String motif) {
+        if (motif == null || motif.isEmpty()) {
+            return true;
+        }
+        return valeur != null && TrigramIndex.normaliser(valeur).contains(TrigramIndex.normaliser(motif));
+    }
+}
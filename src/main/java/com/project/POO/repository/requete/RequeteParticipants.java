@@ -0,0 +1,81 @@
+package com.project.POO.repository.requete;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.POO.model.Organisateur;
+import com.project.POO.model.Participant;
+import com.project.POO.repository.EmailIndex;
+import com.project.POO.utils.TrigramIndex;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Requête composable sur les participants : tous les critères renseignés doivent être satisfaits
+ * Exemple : new RequeteParticipants().setNom("djiel").setOrganisateur(true)
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public class RequeteParticipants {
+
+    public enum Tri { NOM, EMAIL }
+
+    // Email exact, casse et espaces ignorés
+    private String email;
+    // Sous-chaîne du nom, casse et accents ignorés
+    private String nom;
+    // Sous-chaîne du nom ou de l'email : la recherche libre de l'interface
+    private String texte;
+    // true : organisateurs seulement, false : participants simples seulement
+    private Boolean organisateur;
+    private Tri tri = Tri.NOM;
+    private boolean decroissant;
+    private int limite = 20;
+    private String curseur;
+
+    public boolean accepte(Participant participant) {
+        if (email != null && !Objects.equals(EmailIndex.normaliser(participant.getEmail()), EmailIndex.normaliser(email))) {
+            return false;
+        }
+        if (organisateur != null && (participant instanceof Organisateur) != organisateur) {
+            return false;
+        }
+        return RequeteEvenements.contient(participant.getNom(), nom)
+                && (RequeteEvenements.contient(participant.getNom(), texte)
+                        || RequeteEvenements.contient(participant.getEmail(), texte));
+    }
+
+    public List<String> criteres() {
+        List<String> criteres = new ArrayList<>();
+        if (email != null) {
+            criteres.add("email = \"" + email + "\"");
+        }
+        if (nom != null) {
+            criteres.add("nom contient \"" + nom + "\"");
+        }
+        if (texte != null) {
+            criteres.add("nom ou email contient \"" + texte + "\"");
+        }
+        if (organisateur != null) {
+            criteres.add("organisateur = " + organisateur);
+        }
+        return criteres;
+    }
+
+    public Ordre<Participant> comparateur() {
+        Function<Participant, String> cle = (tri == Tri.EMAIL)
+                ? p -> EmailIndex.normaliser(p.getEmail())
+                : p -> TrigramIndex.normaliser(p.getNom());
+        return new Ordre<>(cle, Participant::getId, decroissant);
+    }
+
+    @JsonIgnore
+    public String getDescriptionTri() {
+        return (tri == null ? Tri.NOM : tri) + (decroissant ? " décroissant" : " croissant");
+    }
+}
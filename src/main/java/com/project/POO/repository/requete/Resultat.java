@@ -0,0 +1,35 @@
+package com.project.POO.repository.requete;
+
+import java.util.List;
+
+/**
+ * Page de résultats d'une requête
+ * @param <T> Le type des éléments (événements ou participants)
+ */
+public class Resultat<T> {
+
+    private final List<T> elements;
+    private final String curseurSuivant;
+    private final Plan plan;
+
+    Resultat(List<T> elements, String curseurSuivant, Plan plan) {
+        this.elements = elements;
+        this.curseurSuivant = curseurSuivant;
+        this.plan = plan;
+    }
+
+    public List<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * Curseur à passer à la requête suivante, ou null s'il n'y a plus de résultats
+     */
+    public String getCurseurSuivant() {
+        return curseurSuivant;
+    }
+
+    public Plan getPlan() {
+        return plan;
+    }
+}
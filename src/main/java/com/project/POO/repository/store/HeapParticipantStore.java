@@ -0,0 +1,51 @@
+package com.project.POO.repository.store;
+
+import com.project.POO.model.Participant;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stockage par défaut : une HashMap d'objets Participant sur le tas
+ */
+public class HeapParticipantStore implements ParticipantStore {
+
+    private final Map<String, Participant> participants = new HashMap<>();
+
+    @Override
+    public Participant get(String id) {
+        return participants.get(id);
+    }
+
+    @Override
+    public void put(Participant participant) {
+        participants.put(participant.getId(), participant);
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return participants.remove(id) != null;
+    }
+
+    @Override
+    public boolean containsKey(String id) {
+        return participants.containsKey(id);
+    }
+
+    @Override
+    public Collection<Participant> values() {
+        return new ArrayList<>(participants.values());
+    }
+
+    @Override
+    public int size() {
+        return participants.size();
+    }
+
+    @Override
+    public void clear() {
+        participants.clear();
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.POO.repository.store;
+
+import com.project.POO.utils.UlidGenerator;
+
+import java.util.UUID;
+
+/**
+ * Conversion d'un identifiant texte en clé de 128 bits (deux long)
+ * - ULID et UUID sont décodés sans perte
+ * - les anciens identifiants libres ("org-001", ...) sont hachés sur 128 bits,
+ *   le stockage vérifie donc toujours l'ID texte conservé dans l'enregistrement
+ */
+final class IdKeys {
+
+    private IdKeys() {
+    }
+
+    static long high(String id) {
+        if (UlidGenerator.isUlid(id)) {
+            return UlidGenerator.mostSignificantBits(id);
+        }
+        if (isUuid(id)) {
+            return UUID.fromString(id).getMostSignificantBits();
+        }
+        return hash(id, 0x9E3779B97F4A7C15L);
+    }
+
+    static long low(String id) {
+        if (UlidGenerator.isUlid(id)) {
+            return UlidGenerator.leastSignificantBits(id);
+        }
+        if (isUuid(id)) {
+            return UUID.fromString(id).getLeastSignificantBits();
+        }
+        return hash(id, 0xC2B2AE3D27D4EB4FL);
+    }
+
+    private static boolean isUuid(String id) {
+        return id.length() == 36
+                && id.charAt(8) == '-' && id.charAt(13) == '-'
+                && id.charAt(18) == '-' && id.charAt(23) == '-';
+    }
+
+    private static long hash(String id, long seed) {
+        long h = seed ^ id.length();
+        for (int i = 0; i < id.length(); i++) {
+            h = (h ^ id.charAt(i)) * 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        return mix(h);
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
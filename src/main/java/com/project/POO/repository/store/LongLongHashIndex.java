@@ -0,0 +1,140 @@
+package com.project.POO.repository.store;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert (sondage linéaire) dont la clé est une paire de long
+ * et la valeur un int positif. Aucun objet n'est alloué par entrée : clés et valeurs
+ * vivent dans des tableaux primitifs, la suppression se fait par décalage arrière.
+ */
+final class LongLongHashIndex {
+
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;   // paires (high, low) aux positions 2*i et 2*i+1
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    LongLongHashIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int get(long high, long low) {
+        int slot = slot(high, low);
+        while (values[slot] != EMPTY) {
+            if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Associe une valeur à la clé
+     * @return L'ancienne valeur, ou -1 si la clé était absente
+     */
+    int put(long high, long low, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("La valeur doit être positive");
+        }
+        int slot = slot(high, low);
+        while (values[slot] != EMPTY) {
+            if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[2 * slot] = high;
+        keys[2 * slot + 1] = low;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Supprime la clé
+     * @return L'ancienne valeur, ou -1 si la clé était absente
+     */
+    int remove(long high, long low) {
+        int slot = slot(high, low);
+        while (values[slot] != EMPTY) {
+            if (keys[2 * slot] == high && keys[2 * slot + 1] == low) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(values, EMPTY);
+        size = 0;
+    }
+
+    // Recolle les entrées suivantes du même groupe pour ne pas laisser de trou dans la séquence de sondage
+    private void shiftBack(int gap) {
+        int current = gap;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == EMPTY) {
+                break;
+            }
+            int ideal = slot(keys[2 * current], keys[2 * current + 1]);
+            boolean movable = gap <= current
+                    ? ideal <= gap || ideal > current
+                    : ideal <= gap && ideal > current;
+            if (movable) {
+                keys[2 * gap] = keys[2 * current];
+                keys[2 * gap + 1] = keys[2 * current + 1];
+                values[gap] = values[current];
+                gap = current;
+            }
+        }
+        values[gap] = EMPTY;
+    }
+
+    private int slot(long high, long low) {
+        return (int) IdKeys.mix(high * 31 + low) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity * 2];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                int slot = slot(oldKeys[2 * i], oldKeys[2 * i + 1]);
+                while (values[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[2 * slot] = oldKeys[2 * i];
+                keys[2 * slot + 1] = oldKeys[2 * i + 1];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
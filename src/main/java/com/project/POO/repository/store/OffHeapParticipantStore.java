@@ -0,0 +1,318 @@
+package com.project.POO.repository.store;
+
+import com.project.POO.model.Organisateur;
+import com.project.POO.model.Participant;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stockage des participants hors du tas Java, pour les volumes de plusieurs millions
+ * - index primitif : ID 128 bits (deux long) -> numéro d'enregistrement
+ * - enregistrements sérialisés dans des slabs de ByteBuffer directs
+ * - une lecture rend l'instance canonique du participant tant qu'elle est référencée ailleurs
+ *   (références faibles par ID) ; sinon elle est décodée à nouveau. Deux lectures successives
+ *   rendent donc la même instance, comme avec le stockage sur le tas ; les modifications
+ *   doivent toujours être enregistrées avec put() pour être conservées dans les slabs
+ *
+ * Le GC ne voit que quelques tableaux primitifs et les slabs, quel que soit le nombre de participants.
+ * Les listes transitoires (evenementsInscrits, evenementsOrganises) ne sont pas stockées.
+ */
+public class OffHeapParticipantStore implements ParticipantStore {
+
+    private static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+    private static final byte TYPE_PARTICIPANT = 0;
+    private static final byte TYPE_ORGANISATEUR = 1;
+
+    private final int slabSize;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final LongLongHashIndex index = new LongLongHashIndex(1024);
+
+    // Colonnes par numéro d'enregistrement : emplacement (slab << 32 | offset) et longueur
+    private long[] locations = new long[1024];
+    private int[] lengths = new int[1024];
+    private int[] freeRecords = new int[64];
+    private int freeCount;
+    private int recordCount;
+
+    private int writeOffset;
+    private long liveBytes;
+    private long garbageBytes;
+
+    // Instances déjà rendues, retirées de la table quand le GC les a libérées
+    private final Map<String, Vue> vues = new HashMap<>();
+    private final ReferenceQueue<Participant> vuesLiberees = new ReferenceQueue<>();
+
+    public OffHeapParticipantStore() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapParticipantStore(int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    @Override
+    public synchronized Participant get(String id) {
+        int record = index.get(IdKeys.high(id), IdKeys.low(id));
+        if (record < 0) {
+            return null;
+        }
+        Participant participant = vue(record);
+        // Garde-fou pour les anciens IDs hachés : l'ID texte fait foi
+        return id.equals(participant.getId()) ? participant : null;
+    }
+
+    @Override
+    public synchronized void put(Participant participant) {
+        String id = participant.getId();
+        byte[] bytes = encode(participant);
+        long high = IdKeys.high(id);
+        long low = IdKeys.low(id);
+
+        int record = index.get(high, low);
+        if (record >= 0) {
+            if (!id.equals(decodeId(record))) {
+                throw new IllegalStateException("Collision de clé 128 bits pour l'ID " + id);
+            }
+            garbageBytes += lengths[record];
+            liveBytes -= lengths[record];
+        } else {
+            record = allocateRecord();
+            index.put(high, low, record);
+        }
+
+        locations[record] = append(bytes);
+        lengths[record] = bytes.length;
+        liveBytes += bytes.length;
+        purgerVues();
+        vues.put(id, new Vue(participant, vuesLiberees));
+
+        if (garbageBytes > slabSize && garbageBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized boolean remove(String id) {
+        long high = IdKeys.high(id);
+        long low = IdKeys.low(id);
+        int record = index.get(high, low);
+        if (record < 0 || !id.equals(decodeId(record))) {
+            return false;
+        }
+        index.remove(high, low);
+        vues.remove(id);
+        garbageBytes += lengths[record];
+        liveBytes -= lengths[record];
+        lengths[record] = -1;
+        if (freeCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeCount * 2);
+        }
+        freeRecords[freeCount++] = record;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean containsKey(String id) {
+        int record = index.get(IdKeys.high(id), IdKeys.low(id));
+        return record >= 0 && id.equals(decodeId(record));
+    }
+
+    @Override
+    public synchronized Collection<Participant> values() {
+        List<Participant> result = new ArrayList<>(index.size());
+        for (int record = 0; record < recordCount; record++) {
+            if (lengths[record] >= 0) {
+                result.add(vue(record));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        vues.clear();
+        slabs.clear();
+        recordCount = 0;
+        freeCount = 0;
+        writeOffset = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+    }
+
+    /**
+     * Nombre d'octets hors tas réellement occupés par des enregistrements vivants
+     */
+    public synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Nombre d'octets réservés hors tas (slabs alloués)
+     */
+    public synchronized long getReservedBytes() {
+        return slabs.stream().mapToLong(ByteBuffer::capacity).sum();
+    }
+
+    private int allocateRecord() {
+        if (freeCount > 0) {
+            return freeRecords[--freeCount];
+        }
+        if (recordCount == locations.length) {
+            locations = Arrays.copyOf(locations, recordCount * 2);
+            lengths = Arrays.copyOf(lengths, recordCount * 2);
+        }
+        return recordCount++;
+    }
+
+    private long append(byte[] bytes) {
+        if (slabs.isEmpty() || writeOffset + bytes.length > slabs.get(slabs.size() - 1).capacity()) {
+            slabs.add(ByteBuffer.allocateDirect(Math.max(slabSize, bytes.length)));
+            writeOffset = 0;
+        }
+        int slabIndex = slabs.size() - 1;
+        slabs.get(slabIndex).put(writeOffset, bytes);
+        long location = ((long) slabIndex << 32) | writeOffset;
+        writeOffset += bytes.length;
+        return location;
+    }
+
+    // Recopie les enregistrements vivants dans de nouveaux slabs et libère les anciens
+    private void compact() {
+        List<ByteBuffer> oldSlabs = new ArrayList<>(slabs);
+        slabs.clear();
+        writeOffset = 0;
+        for (int record = 0; record < recordCount; record++) {
+            if (lengths[record] >= 0) {
+                byte[] bytes = read(oldSlabs, locations[record], lengths[record]);
+                locations[record] = append(bytes);
+            }
+        }
+        garbageBytes = 0;
+    }
+
+    private byte[] read(List<ByteBuffer> source, long location, int length) {
+        byte[] bytes = new byte[length];
+        source.get((int) (location >>> 32)).get((int) location, bytes);
+        return bytes;
+    }
+
+    // Instance canonique d'un enregistrement : celle déjà rendue si elle est encore vivante
+    private Participant vue(int record) {
+        purgerVues();
+        String id = decodeId(record);
+        Vue vue = vues.get(id);
+        Participant participant = vue == null ? null : vue.get();
+        if (participant == null) {
+            participant = decode(record);
+            vues.put(id, new Vue(participant, vuesLiberees));
+        }
+        return participant;
+    }
+
+    private void purgerVues() {
+        Reference<? extends Participant> liberee;
+        while ((liberee = vuesLiberees.poll()) != null) {
+            Vue vue = (Vue) liberee;
+            vues.remove(vue.id, vue);
+        }
+    }
+
+    private Participant decode(int record) {
+        ByteBuffer buffer = ByteBuffer.wrap(read(slabs, locations[record], lengths[record]));
+        Participant participant = buffer.get() == TYPE_ORGANISATEUR ? new Organisateur() : new Participant();
+        participant.setId(readString(buffer));
+        participant.setNom(readString(buffer));
+        participant.setEmail(readString(buffer));
+        int notificationCount = buffer.getInt();
+        List<String> notifications = new ArrayList<>(notificationCount);
+        for (int i = 0; i < notificationCount; i++) {
+            notifications.add(readString(buffer));
+        }
+        participant.setNotifications(notifications);
+        return participant;
+    }
+
+    private String decodeId(int record) {
+        ByteBuffer slab = slabs.get((int) (locations[record] >>> 32));
+        int offset = (int) locations[record] + 1;
+        int length = slab.getInt(offset);
+        byte[] bytes = new byte[length];
+        slab.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] encode(Participant participant) {
+        byte[] id = utf8(participant.getId());
+        byte[] nom = utf8(participant.getNom());
+        byte[] email = utf8(participant.getEmail());
+        List<String> notifications = participant.getNotifications() != null ? participant.getNotifications() : List.of();
+        List<byte[]> encodedNotifications = new ArrayList<>(notifications.size());
+        int size = 1 + sizeOf(id) + sizeOf(nom) + sizeOf(email) + 4;
+        for (String notification : notifications) {
+            byte[] bytes = utf8(notification);
+            encodedNotifications.add(bytes);
+            size += sizeOf(bytes);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(participant instanceof Organisateur ? TYPE_ORGANISATEUR : TYPE_PARTICIPANT);
+        writeBytes(buffer, id);
+        writeBytes(buffer, nom);
+        writeBytes(buffer, email);
+        buffer.putInt(encodedNotifications.size());
+        encodedNotifications.forEach(bytes -> writeBytes(buffer, bytes));
+        return buffer.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Vue extends WeakReference<Participant> {
+        private final String id;
+
+        private Vue(Participant participant, ReferenceQueue<Participant> file) {
+            super(participant, file);
+            this.id = participant.getId();
+        }
+    }
+}
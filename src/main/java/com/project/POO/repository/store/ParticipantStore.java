@@ -0,0 +1,44 @@
+package com.project.POO.repository.store;
+
+import com.project.POO.model.Participant;
+
+import java.util.Collection;
+
+/**
+ * Interface définissant la représentation mémoire des participants
+ * utilisée par JsonParticipantRepository (tas Java ou hors tas)
+ */
+public interface ParticipantStore {
+
+    /**
+     * Récupère un participant par son ID
+     * @param id L'identifiant du participant
+     * @return Le participant, ou null s'il n'existe pas
+     */
+    Participant get(String id);
+
+    /**
+     * Ajoute ou remplace un participant
+     * @param participant Le participant à stocker (son ID doit être renseigné)
+     */
+    void put(Participant participant);
+
+    /**
+     * Supprime un participant
+     * @param id L'identifiant du participant
+     * @return true si le participant existait
+     */
+    boolean remove(String id);
+
+    boolean containsKey(String id);
+
+    /**
+     * Retourne tous les participants stockés
+     * @return Une collection indépendante du stockage
+     */
+    Collection<Participant> values();
+
+    int size();
+
+    void clear();
+}
@@ -0,0 +1,188 @@
+package com.project.POO.service;
+
+import com.project.POO.dto.EvenementDto;
+import com.project.POO.dto.ParticipantDto;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.observer.EvenementListener;
+import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.utils.CacheResultats;
+import com.project.POO.utils.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Cache des listes et recherches déjà converties en DTO
+ * (GET /api/evenements, /recherche, /disponibles et /api/participants/recherche)
+ *
+ * Les événements sont suivis par les notifications du repository ; les participants sont
+ * signalés par le service à chaque création, modification ou suppression. Une modification
+ * ne retire que les entrées qui contenaient l'entité ou dont elle satisfait désormais la requête.
+ */
+@Component
+public class CacheRequetes implements EvenementListener {
+
+    static final int MAX_ENTREES = 256;
+    static final long POIDS_MAX = 100_000;
+
+    private final CacheResultats<Evenement, List<EvenementDto>> evenements;
+    private final CacheResultats<Participant, List<ParticipantDto>> participants;
+    // Organisateur connu de chaque événement : un changement d'organisateur touche l'ancien et le nouveau
+    private final Map<String, String> organisateurs = new ConcurrentHashMap<>();
+
+    public CacheRequetes() {
+        this(MAX_ENTREES, POIDS_MAX);
+    }
+
+    /**
+     * @param maxEntrees Nombre maximal d'entrées de chaque cache
+     * @param poidsMax Nombre total maximal d'éléments conservés par chaque cache
+     */
+    public CacheRequetes(int maxEntrees, long poidsMax) {
+        this.evenements = new CacheResultats<>(maxEntrees, poidsMax, List::size);
+        this.participants = new CacheResultats<>(maxEntrees, poidsMax, List::size);
+    }
+
+    @Autowired
+    public CacheRequetes(JsonEvenementRepository evenementRepository,
+                         @Value("${app.cache.requetes.max-entrees:256}") int maxEntrees,
+                         @Value("${app.cache.requetes.poids-max:100000}") long poidsMax) {
+        this(maxEntrees, poidsMax);
+        evenementRepository.abonner(this);
+    }
+
+    public List<EvenementDto> tousLesEvenements(Supplier<List<EvenementDto>> calcul) {
+        return evenements.obtenir("tous", evenement -> true, copie(calcul), CacheRequetes::idsEvenements);
+    }
+
+    public List<EvenementDto> evenementsParLieu(String lieu, Supplier<List<EvenementDto>> calcul) {
+        String motif = TrigramIndex.normaliser(lieu);
+        return evenements.obtenir("lieu:" + motif, evenement -> contient(evenement.getLieu(), motif),
+                copie(calcul), CacheRequetes::idsEvenements);
+    }
+
+    public List<EvenementDto> evenementsDisponibles(Supplier<List<EvenementDto>> calcul) {
+        return evenements.obtenir("disponibles",
+                evenement -> !evenement.isAnnule() && evenement.getParticipants().size() < evenement.getCapaciteMax(),
+                copie(calcul), CacheRequetes::idsEvenements);
+    }
+
+    public List<ParticipantDto> participantsParNom(String nom, Supplier<List<ParticipantDto>> calcul) {
+        String motif = TrigramIndex.normaliser(nom);
+        return participants.obtenir("nom:" + motif, participant -> contient(participant.getNom(), motif),
+                copie(calcul), CacheRequetes::idsParticipants);
+    }
+
+    /**
+     * Signale un participant créé ou modifié
+     */
+    public void participantEnregistre(Participant participant) {
+        participants.invalider(participant.getId(), participant);
+    }
+
+    public void participantsSupprimes(Collection<String> participantIds) {
+        participantIds.forEach(id -> participants.invalider(id, null));
+    }
+
+    /**
+     * Compteurs des deux caches : succès, échecs, évictions par nombre et par poids, invalidations
+     */
+    public Map<String, CacheResultats.Statistiques> statistiques() {
+        Map<String, CacheResultats.Statistiques> statistiques = new LinkedHashMap<>();
+        statistiques.put("evenements", evenements.statistiques());
+        statistiques.put("participants", participants.statistiques());
+        return statistiques;
+    }
+
+    @Override
+    public void onChargement(Collection<Evenement> evenementsCharges) {
+        evenements.vider();
+        participants.vider();
+        organisateurs.clear();
+        evenementsCharges.forEach(this::suivreOrganisateur);
+    }
+
+    @Override
+    public void onEnregistrement(Evenement evenement) {
+        evenements.invalider(evenement.getId(), evenement);
+        String ancien = suivreOrganisateur(evenement);
+        if (ancien != null) {
+            participants.invaliderContenant(ancien);
+        }
+        invaliderOrganisateur(evenement);
+    }
+
+    @Override
+    public void onSuppression(Evenement evenement) {
+        evenements.invalider(evenement.getId(), null);
+        organisateurs.remove(evenement.getId());
+        invaliderOrganisateur(evenement);
+        // Les inscriptions des participants de l'événement changent de représentation
+        evenement.getParticipants().forEach(p -> participants.invaliderContenant(p.getId()));
+    }
+
+    @Override
+    public void onInscription(Evenement evenement, Participant participant) {
+        evenements.invalider(evenement.getId(), evenement);
+        participants.invaliderContenant(participant.getId());
+    }
+
+    @Override
+    public void onDesinscription(Evenement evenement, Participant participant) {
+        evenements.invalider(evenement.getId(), evenement);
+        participants.invaliderContenant(participant.getId());
+    }
+
+    @Override
+    public void onAjoutIntervenant(Conference conference, Participant intervenant) {
+        evenements.invalider(conference.getId(), conference);
+    }
+
+    @Override
+    public void onRetraitIntervenant(Conference conference, Participant intervenant) {
+        evenements.invalider(conference.getId(), conference);
+    }
+
+    // Les événements organisés font partie de la représentation de l'organisateur
+    private void invaliderOrganisateur(Evenement evenement) {
+        if (evenement.getOrganisateur() != null) {
+            participants.invaliderContenant(evenement.getOrganisateur().getId());
+        }
+    }
+
+    // Retient l'organisateur de l'événement et rend le précédent s'il a changé
+    private String suivreOrganisateur(Evenement evenement) {
+        String organisateurId = evenement.getOrganisateur() == null ? null : evenement.getOrganisateur().getId();
+        String ancien = organisateurId == null
+                ? organisateurs.remove(evenement.getId())
+                : organisateurs.put(evenement.getId(), organisateurId);
+        return ancien == null || ancien.equals(organisateurId) ? null : ancien;
+    }
+
+    private static boolean contient(String valeur, String motif) {
+        return motif != null && valeur != null && TrigramIndex.normaliser(valeur).contains(motif);
+    }
+
+    // Les listes conservées sont partagées entre les lectures : elles ne doivent plus changer
+    private static <T> Supplier<List<T>> copie(Supplier<List<T>> calcul) {
+        return () -> List.copyOf(calcul.get());
+    }
+
+    private static List<String> idsEvenements(List<EvenementDto> dtos) {
+        return dtos.stream().map(EvenementDto::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> idsParticipants(List<ParticipantDto> dtos) {
+        return dtos.stream().map(ParticipantDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,312 @@
+package com.project.POO.service;
+
+import com.project.POO.model.Participant;
+import com.project.POO.repository.EmailIndex;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import com.project.POO.utils.Levenshtein;
+import com.project.POO.utils.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Détection des participants en double, par blocs de candidats
+ * - chaque participant reçoit des clés de bloc : email canonique, partie locale de l'email, nom
+ *   normalisé (sans accents, mots triés) ; seuls les participants d'un même bloc sont comparés
+ * - deux participants sont des doublons si leurs emails canoniques sont égaux, ou si leurs noms et
+ *   les parties locales de leurs emails sont tous deux à une distance d'édition d'au plus DISTANCE_MAX
+ * - les doublons sont regroupés par transitivité (union-find)
+ *
+ * L'email canonique ignore la casse, un suffixe "+étiquette" et les points de la partie locale.
+ * Le calcul des clés et les comparaisons se font en fork-join sur le pool dédié ; les blocs de plus
+ * de TAILLE_BLOC_MAX participants (emails ou noms trop courants) ne sont pas comparés.
+ */
+@Component
+@Slf4j
+public final class DetecteurDoublons {
+
+    static final int DISTANCE_MAX = 2;
+    static final int TAILLE_BLOC_MAX = 500;
+    private static final int TAILLE_LOT = 4_096;
+    private static final int BLOCS_PAR_LOT = 256;
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ExecuteurParcours executeur;
+
+    public DetecteurDoublons(ExecuteurParcours executeur) {
+        this.executeur = executeur;
+    }
+
+    /**
+     * Détecte les groupes de doublons parmi un instantané des participants
+     * @param participants Les participants à examiner
+     * @param preference Ordre des membres d'un groupe : le premier est celui à conserver
+     * @return Les groupes d'au moins deux participants
+     */
+    public List<Groupe> detecter(List<Participant> participants, Comparator<Participant> preference) {
+        long debut = System.nanoTime();
+        Participant[] tableau = participants.toArray(new Participant[0]);
+        Signature[] signatures = new Signature[tableau.length];
+        executeur.executer(new CalculSignatures(tableau, signatures, 0, tableau.length));
+
+        Map<String, List<Integer>> blocs = new HashMap<>();
+        for (int i = 0; i < signatures.length; i++) {
+            for (String cle : signatures[i].cles()) {
+                blocs.computeIfAbsent(cle, c -> new ArrayList<>(2)).add(i);
+            }
+        }
+        List<List<Integer>> aComparer = new ArrayList<>();
+        int ignores = 0;
+        for (List<Integer> bloc : blocs.values()) {
+            if (bloc.size() > TAILLE_BLOC_MAX) {
+                ignores++;
+            } else if (bloc.size() > 1) {
+                aComparer.add(bloc);
+            }
+        }
+
+        AtomicLong comparaisons = new AtomicLong();
+        List<Paire> paires = executeur.executer(new Comparaison(signatures, aComparer, 0, aComparer.size(), comparaisons));
+        List<Groupe> groupes = regrouper(tableau, paires, preference);
+        log.info("Détection des doublons: {} participants, {} blocs comparés ({} ignorés), {} comparaisons, "
+                        + "{} groupes en {} ms", tableau.length, aComparer.size(), ignores, comparaisons.get(),
+                groupes.size(), (System.nanoTime() - debut) / 1_000_000);
+        return groupes;
+    }
+
+    /**
+     * Email canonique : minuscules, sans suffixe "+étiquette" ni points dans la partie locale
+     * @return L'email canonique, ou null si l'email est absent ou sans "@"
+     */
+    static String emailCanonique(String email) {
+        String normalise = EmailIndex.normaliser(email);
+        int arobase = normalise == null ? -1 : normalise.lastIndexOf('@');
+        if (arobase <= 0) {
+            return null;
+        }
+        String local = normalise.substring(0, arobase);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        return local.replace(".", "") + normalise.substring(arobase);
+    }
+
+    /**
+     * Nom normalisé : minuscules, sans accents ni ponctuation, mots triés ("Dupont, Jean" = "jean dupont")
+     */
+    static String nomNormalise(String nom) {
+        String normalise = TrigramIndex.normaliser(nom);
+        if (normalise == null) {
+            return null;
+        }
+        String[] mots = Arrays.stream(SEPARATEURS.split(normalise)).filter(m -> !m.isEmpty()).sorted().toArray(String[]::new);
+        return mots.length == 0 ? null : String.join(" ", mots);
+    }
+
+    private static List<Groupe> regrouper(Participant[] participants, List<Paire> paires, Comparator<Participant> preference) {
+        int[] parents = new int[participants.length];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for (Paire paire : paires) {
+            int a = racine(parents, paire.a);
+            int b = racine(parents, paire.b);
+            if (a != b) {
+                parents[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        Map<Integer, List<Participant>> membres = new HashMap<>();
+        Map<Integer, Set<String>> raisons = new HashMap<>();
+        for (Paire paire : paires) {
+            raisons.computeIfAbsent(racine(parents, paire.a), r -> new TreeSet<>()).add(paire.raison);
+        }
+        for (int racine : raisons.keySet()) {
+            membres.put(racine, new ArrayList<>());
+        }
+        for (int i = 0; i < participants.length; i++) {
+            List<Participant> groupe = membres.get(racine(parents, i));
+            if (groupe != null) {
+                groupe.add(participants[i]);
+            }
+        }
+        List<Groupe> groupes = new ArrayList<>();
+        membres.forEach((racine, groupe) -> {
+            groupe.sort(preference);
+            groupes.add(new Groupe(groupe, new ArrayList<>(raisons.get(racine))));
+        });
+        groupes.sort(Comparator.comparing(g -> g.getParticipants().get(0).getId(), Comparator.nullsLast(Comparator.naturalOrder())));
+        return groupes;
+    }
+
+    // Avec compression de chemin
+    private static int racine(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Groupe de doublons : le premier participant est celui proposé pour être conservé
+     */
+    public static final class Groupe {
+        private final List<Participant> participants;
+        private final List<String> raisons;
+
+        private Groupe(List<Participant> participants, List<String> raisons) {
+            this.participants = Collections.unmodifiableList(participants);
+            this.raisons = Collections.unmodifiableList(raisons);
+        }
+
+        public List<Participant> getParticipants() {
+            return participants;
+        }
+
+        public List<String> getRaisons() {
+            return raisons;
+        }
+    }
+
+    // Valeurs normalisées une seule fois par participant
+    private static final class Signature {
+        private final String email;
+        private final String local;
+        private final String nom;
+
+        private Signature(Participant participant) {
+            this.email = emailCanonique(participant.getEmail());
+            this.local = email == null ? null : email.substring(0, email.lastIndexOf('@'));
+            this.nom = nomNormalise(participant.getNom());
+        }
+
+        List<String> cles() {
+            List<String> cles = new ArrayList<>(3);
+            if (email != null) {
+                cles.add("e:" + email);
+                cles.add("l:" + local);
+            }
+            if (nom != null) {
+                cles.add("n:" + nom);
+            }
+            return cles;
+        }
+
+        // Raison du rapprochement, ou null si les participants sont distincts
+        String comparer(Signature autre) {
+            if (email != null && email.equals(autre.email)) {
+                return "email identique";
+            }
+            if (nom == null || autre.nom == null || local == null || autre.local == null) {
+                return null;
+            }
+            if (Levenshtein.distance(nom, autre.nom, DISTANCE_MAX) <= DISTANCE_MAX
+                    && Levenshtein.distance(local, autre.local, DISTANCE_MAX) <= DISTANCE_MAX) {
+                return "nom et email proches";
+            }
+            return null;
+        }
+    }
+
+    private static final class Paire {
+        private final int a;
+        private final int b;
+        private final String raison;
+
+        private Paire(int a, int b, String raison) {
+            this.a = a;
+            this.b = b;
+            this.raison = raison;
+        }
+    }
+
+    private static final class CalculSignatures extends RecursiveAction {
+        private final Participant[] participants;
+        private final Signature[] signatures;
+        private final int debut;
+        private final int fin;
+
+        private CalculSignatures(Participant[] participants, Signature[] signatures, int debut, int fin) {
+            this.participants = participants;
+            this.signatures = signatures;
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= TAILLE_LOT) {
+                for (int i = debut; i < fin; i++) {
+                    signatures[i] = new Signature(participants[i]);
+                }
+                return;
+            }
+            int milieu = (debut + fin) >>> 1;
+            invokeAll(new CalculSignatures(participants, signatures, debut, milieu),
+                    new CalculSignatures(participants, signatures, milieu, fin));
+        }
+    }
+
+    // Compare toutes les paires d'un intervalle de blocs ; une paire présente dans plusieurs blocs
+    // peut être rendue plusieurs fois, le regroupement l'absorbe
+    private static final class Comparaison extends RecursiveTask<List<Paire>> {
+        private final Signature[] signatures;
+        private final List<List<Integer>> blocs;
+        private final int debut;
+        private final int fin;
+        private final AtomicLong comparaisons;
+
+        private Comparaison(Signature[] signatures, List<List<Integer>> blocs, int debut, int fin, AtomicLong comparaisons) {
+            this.signatures = signatures;
+            this.blocs = blocs;
+            this.debut = debut;
+            this.fin = fin;
+            this.comparaisons = comparaisons;
+        }
+
+        @Override
+        protected List<Paire> compute() {
+            if (fin - debut <= BLOCS_PAR_LOT) {
+                List<Paire> paires = new ArrayList<>();
+                long comptees = 0;
+                for (int k = debut; k < fin; k++) {
+                    List<Integer> bloc = blocs.get(k);
+                    for (int i = 0; i < bloc.size(); i++) {
+                        for (int j = i + 1; j < bloc.size(); j++) {
+                            int a = bloc.get(i);
+                            int b = bloc.get(j);
+                            String raison = signatures[a].comparer(signatures[b]);
+                            if (raison != null) {
+                                paires.add(new Paire(a, b, raison));
+                            }
+                            comptees++;
+                        }
+                    }
+                }
+                comparaisons.addAndGet(comptees);
+                return paires;
+            }
+            int milieu = (debut + fin) >>> 1;
+            Comparaison gauche = new Comparaison(signatures, blocs, debut, milieu, comparaisons);
+            gauche.fork();
+            List<Paire> droite = new Comparaison(signatures, blocs, milieu, fin, comparaisons).compute();
+            List<Paire> resultat = gauche.join();
+            resultat.addAll(droite);
+            return resultat;
+        }
+    }
+}
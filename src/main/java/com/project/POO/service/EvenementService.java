@@ -1,35 +1,62 @@
 package com.project.POO.service;
 
 import com.project.POO.exception.CapaciteMaxAtteinteException;
+import com.project.POO.exception.ConflitHoraireException;
 import com.project.POO.exception.EvenementDejaExistantException;
 import com.project.POO.exception.EvenementNotFoundException;
+import com.project.POO.index.AnalytiqueIndex;
+import com.project.POO.index.AnalytiqueIndex.Groupe;
+import com.project.POO.index.AutocompletionIndex;
+import com.project.POO.index.AutocompletionIndex.Suggestion;
+import com.project.POO.index.ClassementIndex;
+import com.project.POO.index.ConflitIndex;
+import com.project.POO.index.FiltreAnalyse;
+import com.project.POO.index.IntervenantIndex;
+import com.project.POO.index.RechercheIndex;
+import com.project.POO.index.RecommandationIndex;
+import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.FacetteIndex;
 import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.RequeteEvenements;
+import com.project.POO.repository.requete.Resultat;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class EvenementService {
 
     private final JsonEvenementRepository evenementRepository;
     private final NotificationService notificationService;
-    private final GestionEvenements gestionEvenements;
+    private final IntervenantIndex intervenantIndex;
+    private final RechercheIndex rechercheIndex;
+    private final AutocompletionIndex autocompletionIndex;
+    private final ClassementIndex classementIndex;
+    private final AnalytiqueIndex analytiqueIndex;
+    private final ConflitIndex conflitIndex;
+    private final RecommandationIndex recommandationIndex;
 
     public Evenement creerEvenement(Evenement evenement) throws EvenementDejaExistantException {
-        if (evenementRepository.existsByNomAndDate(evenement.getNom(), evenement.getDate())) {
+        // Réservation atomique de (nom, date) : deux créations simultanées ne peuvent pas passer toutes les deux
+        if (!evenementRepository.reserverNomEtDate(evenement)) {
             throw new EvenementDejaExistantException("Un événement avec le même nom et date existe déjà");
         }
 
-        Evenement savedEvenement = evenementRepository.save(evenement);
-        gestionEvenements.ajouterEvenement(savedEvenement);
-
-        return savedEvenement;
+        // Le repository alimente directement le cache lu par GestionEvenements
+        return evenementRepository.save(evenement);
     }
 
     public List<Evenement> getAllEvenements() {
@@ -44,17 +71,37 @@ public class EvenementService {
     public Evenement updateEvenement(String id, Evenement evenementDetails) throws EvenementNotFoundException {
         Evenement evenement = getEvenementById(id);
 
+        String ancienNom = evenement.getNom();
+        LocalDateTime ancienneDate = evenement.getDate();
+        Integer ancienneDuree = evenement.getDureeMinutes();
+        String ancienLieu = evenement.getLieu();
+        int ancienneCapacite = evenement.getCapaciteMax();
+
         evenement.setNom(evenementDetails.getNom());
         evenement.setDate(evenementDetails.getDate());
+        evenement.setDureeMinutes(evenementDetails.getDureeMinutes());
         evenement.setLieu(evenementDetails.getLieu());
         evenement.setCapaciteMax(evenementDetails.getCapaciteMax());
 
+        Evenement enregistre;
+        try {
+            enregistre = evenementRepository.save(evenement);
+        } catch (EvenementDejaExistantException e) {
+            // L'instance est celle du cache : on la remet dans son état enregistré
+            evenement.setNom(ancienNom);
+            evenement.setDate(ancienneDate);
+            evenement.setDureeMinutes(ancienneDuree);
+            evenement.setLieu(ancienLieu);
+            evenement.setCapaciteMax(ancienneCapacite);
+            throw e;
+        }
+
         String message = "L'événement " + evenement.getNom() + " a été mis à jour.";
         evenement.notifyObservers(message);
 
         envoyerNotificationsAsync(evenement.getParticipants(), message);
 
-        return evenementRepository.save(evenement);
+        return enregistre;
     }
 
     public void deleteEvenement(String id) throws EvenementNotFoundException {
@@ -63,7 +110,6 @@ public class EvenementService {
         String message = "L'événement " + evenement.getNom() + " a été supprimé.";
         evenement.notifyObservers(message);
 
-        gestionEvenements.supprimerEvenement(id);
         evenementRepository.delete(evenement);
 
         envoyerNotificationsAsync(evenement.getParticipants(), message);
@@ -79,12 +125,29 @@ public class EvenementService {
         evenementRepository.save(evenement);
     }
 
+    /**
+     * Inscrit un participant ; un chevauchement avec une autre de ses inscriptions est refusé ou
+     * seulement signalé selon app.inscriptions.conflits
+     * @throws ConflitHoraireException si le créneau chevauche une inscription et que les conflits sont refusés
+     */
     public void ajouterParticipant(String evenementId, Participant participant)
             throws EvenementNotFoundException, CapaciteMaxAtteinteException {
         Evenement evenement = getEvenementById(evenementId);
 
+        List<Evenement> conflits = conflitIndex.chevauchements(participant.getId(), evenement);
+        if (!conflits.isEmpty()) {
+            String ids = conflits.stream().map(Evenement::getId).collect(Collectors.joining(", "));
+            if (conflitIndex.isConflitsRefuses()) {
+                throw new ConflitHoraireException("Le participant " + participant.getId()
+                        + " est déjà inscrit à un événement sur ce créneau: " + ids);
+            }
+            log.warn("Le participant {} est déjà inscrit à un événement sur le créneau de {}: {}",
+                    participant.getId(), evenementId, ids);
+        }
+
         try {
             if (evenement.ajouterParticipant(participant)) {
+                evenementRepository.signalerInscription(evenement, participant);
                 evenementRepository.save(evenement);
 
                 String message = "Vous êtes inscrit à l'événement: " + evenement.getNom();
@@ -107,6 +170,7 @@ public class EvenementService {
                 .findFirst()
                 .ifPresent(participant -> {
                     evenement.supprimerParticipant(participant);
+                    evenementRepository.signalerDesinscription(evenement, participant);
                     evenementRepository.save(evenement);
 
                     // Notification asynchrone
@@ -116,6 +180,41 @@ public class EvenementService {
                 });
     }
 
+    public void ajouterIntervenant(String conferenceId, Participant intervenant) throws EvenementNotFoundException {
+        Conference conference = getConferenceById(conferenceId);
+
+        if (conference.getIntervenants().stream().noneMatch(i -> i.getId().equals(intervenant.getId()))) {
+            // Une double réservation est signalée mais n'empêche pas l'ajout
+            if (intervenantIndex.estOccupe(intervenant.getId(), conference.getDate(), conference.getId())) {
+                log.warn("L'intervenant {} a déjà une conférence le {}", intervenant.getId(), conference.getDate());
+            }
+            conference.ajouterIntervenant(intervenant);
+            evenementRepository.signalerAjoutIntervenant(conference, intervenant);
+            evenementRepository.save(conference);
+        }
+    }
+
+    public void supprimerIntervenant(String conferenceId, String intervenantId) throws EvenementNotFoundException {
+        Conference conference = getConferenceById(conferenceId);
+
+        conference.getIntervenants().stream()
+                .filter(i -> i.getId().equals(intervenantId))
+                .findFirst()
+                .ifPresent(intervenant -> {
+                    conference.supprimerIntervenant(intervenant);
+                    evenementRepository.signalerRetraitIntervenant(conference, intervenant);
+                    evenementRepository.save(conference);
+                });
+    }
+
+    private Conference getConferenceById(String id) throws EvenementNotFoundException {
+        Evenement evenement = getEvenementById(id);
+        if (!(evenement instanceof Conference)) {
+            throw new IllegalArgumentException("L'événement " + id + " n'est pas une conférence");
+        }
+        return (Conference) evenement;
+    }
+
     private void envoyerNotificationsAsync(List<Participant> participants, String message) {
         CompletableFuture.runAsync(() -> {
             participants.forEach(participant ->
@@ -125,14 +224,151 @@ public class EvenementService {
 
     // Méthodes utilisant les Streams et lambdas (Java 8+)
     public List<Evenement> rechercherParLieu(String lieu) {
-        return evenementRepository.findAll().stream()
-                .filter(e -> e.getLieu().toLowerCase().contains(lieu.toLowerCase()))
+        // Index de trigrammes du repository : plus de parcours de tous les événements
+        return evenementRepository.findByLieuContainingIgnoreCase(lieu);
+    }
+
+    /**
+     * Événements à venir non annulés, triés par date
+     * @param from Début de la période (maintenant si null)
+     * @param to Fin de la période exclue, ou null
+     * @param limit Nombre maximal d'événements
+     */
+    public List<Evenement> evenementsAVenir(LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return evenementRepository.findByDateBetweenAndAnnuleFalse(from != null ? from : LocalDateTime.now(), to, limit);
+    }
+
+    /**
+     * Recherche plein texte sur le nom, le lieu, l'artiste, le genre musical et le thème
+     * @param requete Les mots recherchés, accents et casse ignorés
+     * @param limit Nombre maximal de résultats
+     * @return Les événements classés du plus pertinent au moins pertinent
+     */
+    public List<Evenement> rechercher(String requete, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return rechercheIndex.rechercher(requete, limit).stream()
+                .map(evenementRepository::findById)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Autocomplétion des noms d'événements et des lieux, les plus populaires en premier
+     * @param prefixe Le début d'un mot saisi
+     * @param limit Nombre maximal de propositions
+     */
+    public List<Suggestion> autocompleter(String prefixe, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return autocompletionIndex.completerEvenements(prefixe, limit);
+    }
+
+    /**
+     * Recherche tolérante aux fautes de frappe sur le nom des événements
+     * @param requete Les mots recherchés
+     * @param distance La distance d'édition maximale par mot
+     * @param limit Nombre maximal de résultats
+     * @return Les événements, du plus proche au plus lointain
+     */
+    public List<Evenement> rechercherApproche(String requete, int distance, int limit) {
+        if (limit <= 0 || distance < 0) {
+            throw new IllegalArgumentException("La limite doit être positive et la distance non négative");
+        }
+        return evenementRepository.findByNomApproche(requete, distance, limit);
+    }
+
+    /**
+     * Événements non annulés les plus inscrits, lus dans le classement tenu à jour
+     * @param limit Nombre maximal d'événements
+     */
+    public List<Evenement> evenementsPopulaires(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return classementIndex.populaires(limit);
+    }
+
+    /**
+     * Événements non annulés qui ont encore des places, du plus rempli au moins rempli
+     * @param seuil Taux de remplissage minimal, entre 0 et 1
+     * @param limit Nombre maximal d'événements
+     */
+    public List<Evenement> evenementsPresqueComplets(double seuil, int limit) {
+        if (limit <= 0 || seuil < 0 || seuil > 1) {
+            throw new IllegalArgumentException("La limite doit être positive et le seuil compris entre 0 et 1");
+        }
+        return classementIndex.presqueComplets(seuil, limit);
+    }
+
+    /**
+     * Événements auxquels se sont aussi inscrits les participants d'un événement
+     * @param id L'ID de l'événement de référence
+     * @param limit Nombre maximal d'événements
+     * @throws EvenementNotFoundException si l'événement n'existe pas
+     */
+    public List<Evenement> evenementsSimilaires(String id, int limit) throws EvenementNotFoundException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        getEvenementById(id);
+        return recommandationIndex.similaires(id, limit);
+    }
+
+    /**
+     * Agrège une mesure des événements par groupe, sur la projection en colonnes
+     * @param groupePar Dimension : lieu, mois, genreMusical, theme ou type
+     * @param mesure Colonne sommée : inscrits ou capacite
+     * @param filtre Critères des événements retenus
+     * @throws IllegalArgumentException si la dimension ou la mesure est inconnue
+     */
+    public List<Groupe> analyser(String groupePar, String mesure, FiltreAnalyse filtre) {
+        return analytiqueIndex.agreger(groupePar, mesure, filtre);
+    }
+
     public List<Evenement> evenementsDisponibles() {
-        return evenementRepository.findAll().stream()
-                .filter(e -> !e.isAnnule() && e.getParticipants().size() < e.getCapaciteMax())
+        return evenementRepository.findDisponibles();
+    }
+
+    /**
+     * Filtrage combiné par facettes, avec les comptes par valeur parmi les résultats
+     * @param criteres Facette (annule, complet, type, mois, lieu) -> valeurs acceptées
+     * @param limit Nombre maximal d'événements rendus
+     */
+    public FacetteIndex.Resultat filtrerParFacettes(Map<String, ? extends Collection<String>> criteres, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return evenementRepository.findByFacettes(criteres, limit);
+    }
+
+    /**
+     * Exécute une requête composable sur les événements, par l'index le plus sélectif disponible
+     * @throws IllegalArgumentException si la limite, le curseur ou un critère est invalide
+     */
+    public Resultat<Evenement> executerRequete(RequeteEvenements requete) {
+        return evenementRepository.executer(requete);
+    }
+
+    /**
+     * Plan d'exécution d'une requête, sans l'exécuter
+     */
+    public Plan expliquerRequete(RequeteEvenements requete) {
+        return evenementRepository.expliquer(requete);
+    }
+
+    /**
+     * Événements correspondant à une liste d'IDs, dans le même ordre (les IDs inconnus sont ignorés)
+     */
+    public List<Evenement> getEvenementsParIds(List<String> ids) {
+        return ids.stream()
+                .map(evenementRepository::findById)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
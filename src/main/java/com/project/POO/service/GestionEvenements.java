@@ -1,43 +1,43 @@
 package com.project.POO.service;
 
 import com.project.POO.model.Evenement;
+import com.project.POO.repository.EvenementCache;
+import com.project.POO.repository.JsonEvenementRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 
+/**
+ * Accès en lecture aux événements en mémoire
+ * Dans l'application, le cache est celui de JsonEvenementRepository : il est chargé dès le démarrage
+ * et mis à jour par le repository, sans seconde map à synchroniser. Les écritures passent par
+ * le repository (save, deleteById), qui tient aussi à jour ses index et le fichier JSON.
+ */
 @Service
 public class GestionEvenements {
 
-    private final Map<String, Evenement> evenements;
+    private final EvenementCache evenements;
 
-
-    public GestionEvenements() {
-        this.evenements = new HashMap<>();
-    }
-
-    public void ajouterEvenement(Evenement evenement) {
-        evenements.put(evenement.getId(), evenement);
+    @Autowired
+    public GestionEvenements(JsonEvenementRepository evenementRepository) {
+        this(evenementRepository.getCache());
     }
 
-
-    public boolean supprimerEvenement(String id) {
-        return evenements.remove(id) != null;
+    public GestionEvenements(EvenementCache evenements) {
+        this.evenements = evenements;
     }
 
-
-
     public Optional<Evenement> rechercherEvenement(String id) {
         return Optional.ofNullable(evenements.get(id));
     }
 
 
     public Map<String, Evenement> getEvenements() {
-        return Collections.unmodifiableMap(evenements);
+        return evenements.asMap();
     }
 
 
-}
\ No newline at end of file
+}
@@ -1,23 +1,68 @@
 package com.project.POO.service;
 
+import com.project.POO.exception.ConflitHoraireException;
+import com.project.POO.exception.EmailDejaUtiliseException;
+import com.project.POO.exception.EvenementNotFoundException;
 import com.project.POO.exception.ParticipantNotFoundException;
+import com.project.POO.index.AutocompletionIndex;
+import com.project.POO.index.AutocompletionIndex.Suggestion;
+import com.project.POO.index.ConflitIndex;
+import com.project.POO.index.InscriptionIndex;
+import com.project.POO.index.IntervenantIndex;
+import com.project.POO.index.OrganisateurIndex;
+import com.project.POO.index.StatistiquesOrganisateur;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Organisateur;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.JsonEvenementRepository;
 import com.project.POO.repository.JsonParticipantRepository;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.RequeteParticipants;
+import com.project.POO.repository.requete.Resultat;
+import com.project.POO.service.DetecteurDoublons.Groupe;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class ParticipantService {
 
     private final JsonParticipantRepository participantRepository;
     private final NotificationService notificationService;
+    private final JsonEvenementRepository evenementRepository;
+    private final InscriptionIndex inscriptionIndex;
+    private final IntervenantIndex intervenantIndex;
+    private final OrganisateurIndex organisateurIndex;
+    private final AutocompletionIndex autocompletionIndex;
+    private final CacheRequetes cacheRequetes;
+    private final ConflitIndex conflitIndex;
+    private final DetecteurDoublons detecteurDoublons;
 
+    /**
+     * Crée un participant ; le repository rejette atomiquement un email déjà utilisé
+     * @throws EmailDejaUtiliseException si l'email appartient déjà à un autre participant
+     */
     public Participant creerParticipant(Participant participant) {
-        return participantRepository.save(participant);
+        Participant cree = participantRepository.save(participant);
+        autocompletionIndex.indexerParticipant(cree);
+        cacheRequetes.participantEnregistre(cree);
+        return cree;
     }
 
     public List<Participant> getAllParticipants() {
@@ -36,18 +81,334 @@ public class ParticipantService {
     public Participant updateParticipant(String id, Participant participantDetails) throws ParticipantNotFoundException {
         Participant participant = getParticipantById(id);
 
+        String ancienNom = participant.getNom();
+        String ancienEmail = participant.getEmail();
         participant.setNom(participantDetails.getNom());
         participant.setEmail(participantDetails.getEmail());
 
-        return participantRepository.save(participant);
+        try {
+            Participant enregistre = participantRepository.save(participant);
+            autocompletionIndex.indexerParticipant(enregistre);
+            cacheRequetes.participantEnregistre(enregistre);
+            return enregistre;
+        } catch (EmailDejaUtiliseException e) {
+            // Le stockage en tas partage l'instance : on la remet dans son état enregistré
+            participant.setNom(ancienNom);
+            participant.setEmail(ancienEmail);
+            throw e;
+        }
     }
 
     public void deleteParticipant(String id) throws ParticipantNotFoundException {
         Participant participant = getParticipantById(id);
+        detacherDesEvenements(Set.of(participant.getId()));
         participantRepository.delete(participant);
+        autocompletionIndex.retirerParticipants(Set.of(participant.getId()));
+        cacheRequetes.participantsSupprimes(Set.of(participant.getId()));
+    }
+
+    /**
+     * Suppression groupée (purge RGPD) : détache tous les participants de leurs événements,
+     * puis enregistre événements et participants avec une seule écriture chacun
+     * @param ids Les IDs des participants à supprimer
+     * @return Le nombre de participants supprimés
+     */
+    public int deleteParticipants(Collection<String> ids) {
+        Set<String> participantIds = new HashSet<>(ids);
+        detacherDesEvenements(participantIds);
+        int supprimes = participantRepository.deleteAllById(participantIds);
+        autocompletionIndex.retirerParticipants(participantIds);
+        cacheRequetes.participantsSupprimes(participantIds);
+        log.info("Suppression groupée de {} participants", supprimes);
+        return supprimes;
+    }
+
+    /**
+     * Détecte les participants en double (emails ou noms quasi identiques), sur un instantané
+     * Dans chaque groupe, le participant proposé pour être conservé vient en premier : un organisateur,
+     * sinon celui qui a le plus d'inscriptions.
+     * @return Les propositions de fusion
+     */
+    public List<Groupe> detecterDoublons() {
+        Comparator<Participant> preference = Comparator
+                .comparing((Participant p) -> !(p instanceof Organisateur))
+                .thenComparing(p -> -inscriptionIndex.getEvenementsIds(p.getId()).size())
+                .thenComparing(Participant::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+        return detecteurDoublons.detecter(participantRepository.findAll(), preference);
+    }
+
+    /**
+     * Fusionne des doublons dans le participant conservé, puis supprime les doublons
+     * Inscriptions et interventions des doublons sont reportées sur le participant conservé ;
+     * les événements modifiés sont enregistrés avec une seule écriture, puis les participants avec
+     * une seule écriture. Toutes les vérifications précèdent la première modification, et les index
+     * ne sont notifiés qu'une fois les événements enregistrés.
+     * @param conserveId L'ID du participant conservé
+     * @param doublonIds Les IDs des participants fusionnés (un organisateur ne peut pas l'être)
+     * @return Le participant conservé
+     * @throws ConflitHoraireException si les conflits sont refusés et qu'un événement repris chevauche
+     *         un créneau du participant conservé
+     */
+    public Participant fusionnerParticipants(String conserveId, Collection<String> doublonIds)
+            throws ParticipantNotFoundException {
+        Participant conserve = getParticipantById(conserveId);
+        Set<String> ids = new HashSet<>(doublonIds);
+        ids.remove(conserveId);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Aucun doublon à fusionner");
+        }
+        List<Participant> doublons = new ArrayList<>();
+        for (String id : ids) {
+            Participant doublon = getParticipantById(id);
+            if (doublon instanceof Organisateur) {
+                throw new IllegalArgumentException("L'organisateur " + id + " ne peut pas être fusionné dans un autre participant");
+            }
+            doublons.add(doublon);
+        }
+        Map<String, Evenement> evenementsModifies = evenementsConcernes(ids);
+        verifierCreneaux(conserveId, ids, evenementsModifies.values());
+
+        List<Runnable> signaux = new ArrayList<>();
+        for (Evenement evenement : evenementsModifies.values()) {
+            List<Participant> retires = evenement.retirerParticipants(ids);
+            retires.forEach(retire -> signaux.add(() -> evenementRepository.signalerDesinscription(evenement, retire)));
+            // La place d'un doublon vient d'être libérée : la capacité ne peut pas être dépassée
+            if (!retires.isEmpty() && !contientId(evenement.getParticipants(), conserveId)) {
+                evenement.getParticipants().add(conserve);
+                evenement.subscribe(conserve);
+                signaux.add(() -> evenementRepository.signalerInscription(evenement, conserve));
+            }
+            if (evenement instanceof Conference) {
+                Conference conference = (Conference) evenement;
+                List<Participant> intervenantsRetires = conference.retirerIntervenants(ids);
+                intervenantsRetires.forEach(retire -> signaux.add(() -> evenementRepository.signalerRetraitIntervenant(conference, retire)));
+                if (!intervenantsRetires.isEmpty() && !contientId(conference.getIntervenants(), conserveId)) {
+                    conference.getIntervenants().add(conserve);
+                    signaux.add(() -> evenementRepository.signalerAjoutIntervenant(conference, conserve));
+                }
+            }
+        }
+        evenementRepository.saveAll(evenementsModifies.values());
+        signaux.forEach(Runnable::run);
+
+        doublons.forEach(doublon -> conserve.getNotifications().addAll(doublon.getNotifications()));
+        Participant enregistre = participantRepository.fusionner(conserve, ids);
+        autocompletionIndex.retirerParticipants(ids);
+        autocompletionIndex.indexerParticipant(enregistre);
+        cacheRequetes.participantsSupprimes(ids);
+        cacheRequetes.participantEnregistre(enregistre);
+        log.info("Fusion de {} doublons dans {} ({} événements modifiés)", ids.size(), conserveId, evenementsModifies.size());
+        return enregistre;
+    }
+
+    // Applique aux inscriptions reprises la politique de conflits de l'inscription directe : chaque
+    // événement repris est comparé à l'agenda du conservé et aux autres événements repris
+    private void verifierCreneaux(String conserveId, Set<String> doublonIds, Collection<Evenement> evenements) {
+        Set<String> repris = evenements.stream()
+                .filter(e -> !contientId(e.getParticipants(), conserveId))
+                .filter(e -> e.getParticipants().stream().anyMatch(p -> doublonIds.contains(p.getId())))
+                .map(Evenement::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (Evenement evenement : evenements) {
+            if (!repris.contains(evenement.getId())) {
+                continue;
+            }
+            Set<String> conflits = new LinkedHashSet<>();
+            conflitIndex.chevauchements(conserveId, evenement).forEach(e -> conflits.add(e.getId()));
+            for (String doublonId : doublonIds) {
+                conflitIndex.chevauchements(doublonId, evenement).stream()
+                        .map(Evenement::getId)
+                        .filter(repris::contains)
+                        .forEach(conflits::add);
+            }
+            if (conflits.isEmpty()) {
+                continue;
+            }
+            if (conflitIndex.isConflitsRefuses()) {
+                throw new ConflitHoraireException("Le participant " + conserveId
+                        + " est déjà inscrit à un événement sur le créneau de " + evenement.getId() + ": " + String.join(", ", conflits));
+            }
+            log.warn("Le participant {} est déjà inscrit à un événement sur le créneau de {}: {}",
+                    conserveId, evenement.getId(), String.join(", ", conflits));
+        }
+    }
+
+    private static boolean contientId(List<Participant> participants, String id) {
+        return participants.stream().anyMatch(p -> id.equals(p.getId()));
+    }
+
+    private void detacherDesEvenements(Set<String> participantIds) {
+        Map<String, Evenement> evenementsModifies = evenementsConcernes(participantIds);
+
+        for (Evenement evenement : evenementsModifies.values()) {
+            for (Participant retire : evenement.retirerParticipants(participantIds)) {
+                evenementRepository.signalerDesinscription(evenement, retire);
+            }
+            if (evenement instanceof Conference) {
+                Conference conference = (Conference) evenement;
+                for (Participant retire : conference.retirerIntervenants(participantIds)) {
+                    evenementRepository.signalerRetraitIntervenant(conference, retire);
+                }
+            }
+        }
+
+        evenementRepository.saveAll(evenementsModifies.values());
+    }
+
+    // Retrouve les événements concernés par les index (sans parcourir tous les événements)
+    private Map<String, Evenement> evenementsConcernes(Set<String> participantIds) {
+        Map<String, Evenement> evenements = new LinkedHashMap<>();
+        for (String participantId : participantIds) {
+            for (String evenementId : inscriptionIndex.getEvenementsIds(participantId)) {
+                evenementRepository.findById(evenementId).ifPresent(e -> evenements.put(e.getId(), e));
+            }
+            for (String conferenceId : intervenantIndex.getConferencesIds(participantId)) {
+                evenementRepository.findById(conferenceId).ifPresent(e -> evenements.put(e.getId(), e));
+            }
+        }
+        return evenements;
     }
 
     public List<Participant> rechercherParNom(String nom) {
         return participantRepository.findByNomContainingIgnoreCase(nom);
     }
-}
\ No newline at end of file
+
+    /**
+     * Exécute une requête composable sur les participants, par l'index le plus sélectif disponible
+     * @throws IllegalArgumentException si la limite, le curseur ou un critère est invalide
+     */
+    public Resultat<Participant> executerRequete(RequeteParticipants requete) {
+        return participantRepository.executer(requete);
+    }
+
+    /**
+     * Plan d'exécution d'une requête, sans l'exécuter
+     */
+    public Plan expliquerRequete(RequeteParticipants requete) {
+        return participantRepository.expliquer(requete);
+    }
+
+    /**
+     * Autocomplétion des noms de participants, les plus inscrits en premier
+     * @param prefixe Le début d'un mot du nom
+     * @param limit Nombre maximal de propositions
+     */
+    public List<Suggestion> autocompleter(String prefixe, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La limite doit être positive");
+        }
+        return autocompletionIndex.completerParticipants(prefixe, limit);
+    }
+
+    /**
+     * Recherche tolérante aux fautes de frappe sur le nom et l'email
+     * @param requete Les mots recherchés
+     * @param distance La distance d'édition maximale par mot
+     * @param limit Nombre maximal de résultats
+     * @return Les participants, du plus proche au plus lointain
+     */
+    public List<Participant> rechercherApproche(String requete, int distance, int limit) {
+        if (limit <= 0 || distance < 0) {
+            throw new IllegalArgumentException("La limite doit être positive et la distance non négative");
+        }
+        return participantRepository.findByNomOuEmailApproche(requete, distance, limit);
+    }
+
+    public List<String> getEvenementsInscritsIds(String participantId) {
+        return inscriptionIndex.getEvenementsIds(participantId);
+    }
+
+    public List<Evenement> getEvenementsInscrits(String participantId) throws ParticipantNotFoundException {
+        getParticipantById(participantId);
+        return inscriptionIndex.getEvenementsIds(participantId).stream()
+                .map(evenementRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    public List<Conference> getConferencesIntervenant(String intervenantId) throws ParticipantNotFoundException {
+        getParticipantById(intervenantId);
+        return intervenantIndex.getConferences(intervenantId);
+    }
+
+    /**
+     * Détecte les doubles réservations d'un intervenant (plusieurs conférences à la même date)
+     * @param intervenantId L'ID de l'intervenant
+     * @return Les conférences en conflit, regroupées par date
+     */
+    public Map<LocalDateTime, List<Conference>> getDoublesReservations(String intervenantId) throws ParticipantNotFoundException {
+        getParticipantById(intervenantId);
+        return intervenantIndex.getDoublesReservations(intervenantId);
+    }
+
+    /**
+     * Conflits d'horaires entre les inscriptions d'un participant
+     * @param participantId L'ID du participant
+     * @return Les groupes d'événements dont les créneaux se chevauchent, dans l'ordre chronologique
+     */
+    public List<List<Evenement>> getConflitsHoraires(String participantId) throws ParticipantNotFoundException {
+        getParticipantById(participantId);
+        return conflitIndex.conflits(participantId);
+    }
+
+    public List<String> getEvenementsOrganisesIds(String organisateurId) {
+        return organisateurIndex.getEvenementsIds(organisateurId);
+    }
+
+    public StatistiquesOrganisateur getStatistiquesOrganisateur(String organisateurId) throws ParticipantNotFoundException {
+        verifierOrganisateur(organisateurId);
+        return organisateurIndex.getStatistiques(organisateurId);
+    }
+
+    public void organiserEvenement(String organisateurId, String evenementId)
+            throws ParticipantNotFoundException, EvenementNotFoundException {
+        Organisateur organisateur = getOrganisateurById(organisateurId);
+        Evenement evenement = getEvenement(evenementId);
+
+        organisateur.organiserEvenement(evenement);
+        evenementRepository.save(evenement);
+    }
+
+    /**
+     * Annule un événement au nom de son organisateur
+     * L'enregistrement applique en une fois l'annulation aux agrégats de l'organisateur
+     * @param organisateurId L'ID de l'organisateur
+     * @param evenementId L'ID de l'événement
+     */
+    public void annulerEvenementOrganise(String organisateurId, String evenementId)
+            throws ParticipantNotFoundException, EvenementNotFoundException {
+        Organisateur organisateur = getOrganisateurById(organisateurId);
+        Evenement evenement = getEvenement(evenementId);
+        if (!organisateurIndex.getEvenementsIds(organisateurId).contains(evenementId)) {
+            throw new IllegalArgumentException("L'événement " + evenementId + " n'est pas organisé par " + organisateurId);
+        }
+
+        if (organisateur.annulerEvenement(evenement)) {
+            evenementRepository.save(evenement);
+        }
+    }
+
+    // Rattache les événements organisés, qui ne sont pas persistés avec l'organisateur
+    private Organisateur getOrganisateurById(String id) throws ParticipantNotFoundException {
+        Organisateur organisateur = verifierOrganisateur(id);
+        organisateur.setEvenementsOrganises(organisateurIndex.getEvenementsIds(id).stream()
+                .map(evenementRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList()));
+        return organisateur;
+    }
+
+    // Vérifie seulement l'existence et le type, sans recharger les événements organisés
+    private Organisateur verifierOrganisateur(String id) throws ParticipantNotFoundException {
+        Participant participant = getParticipantById(id);
+        if (!(participant instanceof Organisateur)) {
+            throw new IllegalArgumentException("Le participant " + id + " n'est pas un organisateur");
+        }
+        return (Organisateur) participant;
+    }
+
+    private Evenement getEvenement(String evenementId) throws EvenementNotFoundException {
+        return evenementRepository.findById(evenementId)
+                .orElseThrow(() -> new EvenementNotFoundException("Événement non trouvé avec l'id: " + evenementId));
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.POO.service;
+
+import com.project.POO.dto.StatistiquesDto;
+import com.project.POO.index.StatistiquesEvenements;
+import com.project.POO.index.StatistiquesIndex;
+import com.project.POO.repository.JsonParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class StatistiquesService {
+
+    private final StatistiquesIndex statistiquesIndex;
+    private final JsonParticipantRepository participantRepository;
+
+    /**
+     * Statistiques du tableau de bord, lues dans des compteurs tenus à jour (temps constant)
+     */
+    public StatistiquesDto getStatistiques() {
+        StatistiquesEvenements evenements = statistiquesIndex.instantane();
+        StatistiquesDto dto = new StatistiquesDto();
+        dto.setTotalEvenements(evenements.getEvenements());
+        dto.setEvenementsDisponibles(evenements.getDisponibles());
+        dto.setEvenementsAVenir(evenements.getAVenir());
+        dto.setEvenementsAnnules(evenements.getAnnules());
+        dto.setTotalInscriptions(evenements.getInscriptions());
+        dto.setTotalParticipants(participantRepository.count());
+        dto.setTotalOrganisateurs(participantRepository.countOrganisateurs());
+        return dto;
+    }
+}
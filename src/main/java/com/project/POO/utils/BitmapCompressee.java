@@ -0,0 +1,474 @@
+package com.project.POO.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Ensemble d'entiers positifs compressé, sur le modèle des bitmaps Roaring
+ * Les entiers sont regroupés par blocs de 65 536 (16 bits de poids fort) ; chaque bloc est stocké :
+ * - en tableau trié de valeurs tant qu'il en contient au plus 4 096 (2 octets par valeur)
+ * - en bitmap de 8 Ko au-delà (1 bit par valeur possible)
+ *
+ * Les opérations ensemblistes (et, ou, sauf) travaillent bloc par bloc avec l'algorithme adapté
+ * aux deux représentations : fusion de tableaux triés, test de bits ou opérations sur des mots de 64 bits.
+ * Un bitmap n'est pas synchronisé : c'est l'index qui l'utilise qui protège ses accès.
+ */
+public final class BitmapCompressee {
+
+    private static final int SEUIL_TABLEAU = 4096;
+
+    private char[] cles = new char[2];
+    private Conteneur[] conteneurs = new Conteneur[2];
+    private int taille;
+
+    public void ajouter(int valeur) {
+        char haut = (char) (valeur >>> 16);
+        int position = chercher(haut);
+        if (position >= 0) {
+            conteneurs[position] = conteneurs[position].ajouter((char) valeur);
+        } else {
+            inserer(-position - 1, haut, new ConteneurTableau().ajouter((char) valeur));
+        }
+    }
+
+    public void retirer(int valeur) {
+        int position = chercher((char) (valeur >>> 16));
+        if (position < 0) {
+            return;
+        }
+        Conteneur conteneur = conteneurs[position].retirer((char) valeur);
+        if (conteneur.cardinalite() == 0) {
+            System.arraycopy(cles, position + 1, cles, position, taille - position - 1);
+            System.arraycopy(conteneurs, position + 1, conteneurs, position, taille - position - 1);
+            conteneurs[--taille] = null;
+        } else {
+            conteneurs[position] = conteneur;
+        }
+    }
+
+    public boolean contient(int valeur) {
+        int position = chercher((char) (valeur >>> 16));
+        return position >= 0 && conteneurs[position].contient((char) valeur);
+    }
+
+    public int cardinalite() {
+        int total = 0;
+        for (int i = 0; i < taille; i++) {
+            total += conteneurs[i].cardinalite();
+        }
+        return total;
+    }
+
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    /**
+     * Intersection, dans un nouveau bitmap
+     */
+    public BitmapCompressee et(BitmapCompressee autre) {
+        BitmapCompressee resultat = new BitmapCompressee();
+        int i = 0;
+        int j = 0;
+        while (i < taille && j < autre.taille) {
+            if (cles[i] < autre.cles[j]) {
+                i++;
+            } else if (cles[i] > autre.cles[j]) {
+                j++;
+            } else {
+                resultat.ajouterConteneur(cles[i], et(conteneurs[i], autre.conteneurs[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Union, dans un nouveau bitmap
+     */
+    public BitmapCompressee ou(BitmapCompressee autre) {
+        BitmapCompressee resultat = new BitmapCompressee();
+        int i = 0;
+        int j = 0;
+        while (i < taille || j < autre.taille) {
+            if (j == autre.taille || (i < taille && cles[i] < autre.cles[j])) {
+                resultat.ajouterConteneur(cles[i], conteneurs[i].copie());
+                i++;
+            } else if (i == taille || cles[i] > autre.cles[j]) {
+                resultat.ajouterConteneur(autre.cles[j], autre.conteneurs[j].copie());
+                j++;
+            } else {
+                resultat.ajouterConteneur(cles[i], ou(conteneurs[i], autre.conteneurs[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Différence (valeurs de ce bitmap absentes de l'autre), dans un nouveau bitmap
+     */
+    public BitmapCompressee sauf(BitmapCompressee autre) {
+        BitmapCompressee resultat = new BitmapCompressee();
+        int j = 0;
+        for (int i = 0; i < taille; i++) {
+            while (j < autre.taille && autre.cles[j] < cles[i]) {
+                j++;
+            }
+            if (j < autre.taille && autre.cles[j] == cles[i]) {
+                resultat.ajouterConteneur(cles[i], sauf(conteneurs[i], autre.conteneurs[j]));
+            } else {
+                resultat.ajouterConteneur(cles[i], conteneurs[i].copie());
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Taille de l'intersection, sans la construire (comptage des facettes)
+     */
+    public int cardinaliteEt(BitmapCompressee autre) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < taille && j < autre.taille) {
+            if (cles[i] < autre.cles[j]) {
+                i++;
+            } else if (cles[i] > autre.cles[j]) {
+                j++;
+            } else {
+                total += cardinaliteEt(conteneurs[i], autre.conteneurs[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Parcourt les valeurs dans l'ordre croissant
+     */
+    public void pourChaque(IntConsumer action) {
+        for (int i = 0; i < taille; i++) {
+            conteneurs[i].pourChaque(cles[i] << 16, action);
+        }
+    }
+
+    public BitmapCompressee copie() {
+        BitmapCompressee copie = new BitmapCompressee();
+        for (int i = 0; i < taille; i++) {
+            copie.ajouterConteneur(cles[i], conteneurs[i].copie());
+        }
+        return copie;
+    }
+
+    private int chercher(char haut) {
+        return Arrays.binarySearch(cles, 0, taille, haut);
+    }
+
+    private void inserer(int position, char haut, Conteneur conteneur) {
+        if (taille == cles.length) {
+            cles = Arrays.copyOf(cles, taille * 2);
+            conteneurs = Arrays.copyOf(conteneurs, taille * 2);
+        }
+        System.arraycopy(cles, position, cles, position + 1, taille - position);
+        System.arraycopy(conteneurs, position, conteneurs, position + 1, taille - position);
+        cles[position] = haut;
+        conteneurs[position] = conteneur;
+        taille++;
+    }
+
+    // Ajout en fin, les clés arrivant dans l'ordre croissant ; les blocs vides sont ignorés
+    private void ajouterConteneur(char haut, Conteneur conteneur) {
+        if (conteneur.cardinalite() > 0) {
+            inserer(taille, haut, conteneur);
+        }
+    }
+
+    private static Conteneur et(Conteneur a, Conteneur b) {
+        if (a instanceof ConteneurTableau && b instanceof ConteneurTableau) {
+            return ((ConteneurTableau) a).intersection((ConteneurTableau) b);
+        }
+        if (a instanceof ConteneurTableau || b instanceof ConteneurTableau) {
+            ConteneurTableau tableau = (ConteneurTableau) (a instanceof ConteneurTableau ? a : b);
+            return tableau.filtrer(a instanceof ConteneurTableau ? b : a, true);
+        }
+        long[] mots = ((ConteneurBits) a).mots.clone();
+        long[] autres = ((ConteneurBits) b).mots;
+        for (int k = 0; k < mots.length; k++) {
+            mots[k] &= autres[k];
+        }
+        return new ConteneurBits(mots).normaliser();
+    }
+
+    private static Conteneur ou(Conteneur a, Conteneur b) {
+        if (a instanceof ConteneurTableau && b instanceof ConteneurTableau
+                && a.cardinalite() + b.cardinalite() <= SEUIL_TABLEAU) {
+            return ((ConteneurTableau) a).union((ConteneurTableau) b);
+        }
+        ConteneurBits bits = a.enBits();
+        if (b instanceof ConteneurBits) {
+            long[] autres = ((ConteneurBits) b).mots;
+            for (int k = 0; k < bits.mots.length; k++) {
+                bits.mots[k] |= autres[k];
+            }
+            bits.recompter();
+        } else {
+            b.pourChaque(0, v -> bits.ajouter((char) v));
+        }
+        return bits.normaliser();
+    }
+
+    private static Conteneur sauf(Conteneur a, Conteneur b) {
+        if (a instanceof ConteneurTableau) {
+            return ((ConteneurTableau) a).filtrer(b, false);
+        }
+        ConteneurBits bits = a.enBits();
+        if (b instanceof ConteneurBits) {
+            long[] autres = ((ConteneurBits) b).mots;
+            for (int k = 0; k < bits.mots.length; k++) {
+                bits.mots[k] &= ~autres[k];
+            }
+            bits.recompter();
+        } else {
+            b.pourChaque(0, v -> bits.retirer((char) v));
+        }
+        return bits.normaliser();
+    }
+
+    private static int cardinaliteEt(Conteneur a, Conteneur b) {
+        if (a instanceof ConteneurBits && b instanceof ConteneurBits) {
+            long[] mots = ((ConteneurBits) a).mots;
+            long[] autres = ((ConteneurBits) b).mots;
+            int total = 0;
+            for (int k = 0; k < mots.length; k++) {
+                total += Long.bitCount(mots[k] & autres[k]);
+            }
+            return total;
+        }
+        return et(a, b).cardinalite();
+    }
+
+    private abstract static class Conteneur {
+        abstract Conteneur ajouter(char valeur);
+
+        abstract Conteneur retirer(char valeur);
+
+        abstract boolean contient(char valeur);
+
+        abstract int cardinalite();
+
+        abstract void pourChaque(int haut, IntConsumer action);
+
+        // Copie modifiable sous forme de bitmap
+        abstract ConteneurBits enBits();
+
+        abstract Conteneur copie();
+    }
+
+    private static final class ConteneurTableau extends Conteneur {
+        private char[] valeurs;
+        private int taille;
+
+        private ConteneurTableau() {
+            this(new char[4], 0);
+        }
+
+        private ConteneurTableau(char[] valeurs, int taille) {
+            this.valeurs = valeurs;
+            this.taille = taille;
+        }
+
+        @Override
+        Conteneur ajouter(char valeur) {
+            int position = Arrays.binarySearch(valeurs, 0, taille, valeur);
+            if (position >= 0) {
+                return this;
+            }
+            if (taille == SEUIL_TABLEAU) {
+                return enBits().ajouter(valeur);
+            }
+            position = -position - 1;
+            if (taille == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, Math.min(SEUIL_TABLEAU, taille * 2));
+            }
+            System.arraycopy(valeurs, position, valeurs, position + 1, taille - position);
+            valeurs[position] = valeur;
+            taille++;
+            return this;
+        }
+
+        @Override
+        Conteneur retirer(char valeur) {
+            int position = Arrays.binarySearch(valeurs, 0, taille, valeur);
+            if (position >= 0) {
+                System.arraycopy(valeurs, position + 1, valeurs, position, taille - position - 1);
+                taille--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contient(char valeur) {
+            return Arrays.binarySearch(valeurs, 0, taille, valeur) >= 0;
+        }
+
+        @Override
+        int cardinalite() {
+            return taille;
+        }
+
+        @Override
+        void pourChaque(int haut, IntConsumer action) {
+            for (int i = 0; i < taille; i++) {
+                action.accept(haut | valeurs[i]);
+            }
+        }
+
+        @Override
+        ConteneurBits enBits() {
+            ConteneurBits bits = new ConteneurBits(new long[1024]);
+            for (int i = 0; i < taille; i++) {
+                bits.ajouter(valeurs[i]);
+            }
+            return bits;
+        }
+
+        @Override
+        Conteneur copie() {
+            return new ConteneurTableau(Arrays.copyOf(valeurs, Math.max(4, taille)), taille);
+        }
+
+        private ConteneurTableau intersection(ConteneurTableau autre) {
+            char[] resultat = new char[Math.max(1, Math.min(taille, autre.taille))];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < taille && j < autre.taille) {
+                if (valeurs[i] < autre.valeurs[j]) {
+                    i++;
+                } else if (valeurs[i] > autre.valeurs[j]) {
+                    j++;
+                } else {
+                    resultat[n++] = valeurs[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ConteneurTableau(resultat, n);
+        }
+
+        private ConteneurTableau union(ConteneurTableau autre) {
+            char[] resultat = new char[Math.max(1, taille + autre.taille)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < taille || j < autre.taille) {
+                if (j == autre.taille || (i < taille && valeurs[i] < autre.valeurs[j])) {
+                    resultat[n++] = valeurs[i++];
+                } else if (i == taille || valeurs[i] > autre.valeurs[j]) {
+                    resultat[n++] = autre.valeurs[j++];
+                } else {
+                    resultat[n++] = valeurs[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ConteneurTableau(resultat, n);
+        }
+
+        // Garde les valeurs présentes (ou absentes) dans l'autre conteneur
+        private ConteneurTableau filtrer(Conteneur autre, boolean presentes) {
+            char[] resultat = new char[Math.max(1, taille)];
+            int n = 0;
+            for (int i = 0; i < taille; i++) {
+                if (autre.contient(valeurs[i]) == presentes) {
+                    resultat[n++] = valeurs[i];
+                }
+            }
+            return new ConteneurTableau(resultat, n);
+        }
+    }
+
+    private static final class ConteneurBits extends Conteneur {
+        private final long[] mots;
+        private int cardinalite;
+
+        private ConteneurBits(long[] mots) {
+            this.mots = mots;
+            recompter();
+        }
+
+        @Override
+        Conteneur ajouter(char valeur) {
+            long masque = 1L << valeur;
+            if ((mots[valeur >>> 6] & masque) == 0) {
+                mots[valeur >>> 6] |= masque;
+                cardinalite++;
+            }
+            return this;
+        }
+
+        @Override
+        Conteneur retirer(char valeur) {
+            long masque = 1L << valeur;
+            if ((mots[valeur >>> 6] & masque) != 0) {
+                mots[valeur >>> 6] &= ~masque;
+                cardinalite--;
+            }
+            return normaliser();
+        }
+
+        @Override
+        boolean contient(char valeur) {
+            return (mots[valeur >>> 6] & (1L << valeur)) != 0;
+        }
+
+        @Override
+        int cardinalite() {
+            return cardinalite;
+        }
+
+        @Override
+        void pourChaque(int haut, IntConsumer action) {
+            for (int k = 0; k < mots.length; k++) {
+                long mot = mots[k];
+                while (mot != 0) {
+                    action.accept(haut | (k << 6) | Long.numberOfTrailingZeros(mot));
+                    mot &= mot - 1;
+                }
+            }
+        }
+
+        @Override
+        ConteneurBits enBits() {
+            return new ConteneurBits(mots.clone());
+        }
+
+        @Override
+        Conteneur copie() {
+            return enBits();
+        }
+
+        private void recompter() {
+            int total = 0;
+            for (long mot : mots) {
+                total += Long.bitCount(mot);
+            }
+            cardinalite = total;
+        }
+
+        // Repasse en tableau trié quand le bloc redevient creux
+        private Conteneur normaliser() {
+            if (cardinalite > SEUIL_TABLEAU) {
+                return this;
+            }
+            char[] valeurs = new char[Math.max(4, cardinalite)];
+            int[] n = {0};
+            pourChaque(0, v -> valeurs[n[0]++] = (char) v);
+            return new ConteneurTableau(valeurs, n[0]);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.project.POO.utils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache borné de résultats de requêtes, invalidé entité par entité
+ * - chaque entrée garde les IDs des entités qu'elle contient et la portée de sa requête :
+ *   une modification n'invalide que les entrées qui contenaient l'entité ou qu'elle rejoint
+ * - chaque modification signalée incrémente la version des données ; un résultat calculé pendant
+ *   qu'une modification était signalée n'est pas conservé
+ * - l'éviction retire les entrées les moins récemment lues dès que le nombre d'entrées ou le
+ *   poids total (par exemple le nombre d'éléments des listes) dépasse sa borne
+ *
+ * @param <E> Le type des entités dont les modifications invalident les entrées
+ * @param <V> Le type des résultats mis en cache
+ */
+public final class CacheResultats<E, V> {
+
+    private final int maxEntrees;
+    private final long poidsMax;
+    private final ToIntFunction<V> pesee;
+    // Ordre d'accès : la première entrée est la moins récemment lue
+    private final LinkedHashMap<String, Entree<E, V>> entrees = new LinkedHashMap<>(16, 0.75f, true);
+    private long poidsTotal;
+    private long version;
+
+    private long succes;
+    private long echecs;
+    private long evictionsTaille;
+    private long evictionsPoids;
+    private long invalidations;
+    private long calculsPerimes;
+
+    /**
+     * @param maxEntrees Nombre maximal d'entrées
+     * @param poidsMax Poids total maximal des entrées
+     * @param pesee Le poids d'un résultat (au moins 1)
+     */
+    public CacheResultats(int maxEntrees, long poidsMax, ToIntFunction<V> pesee) {
+        if (maxEntrees <= 0 || poidsMax <= 0) {
+            throw new IllegalArgumentException("Les bornes du cache doivent être positives");
+        }
+        this.maxEntrees = maxEntrees;
+        this.poidsMax = poidsMax;
+        this.pesee = pesee;
+    }
+
+    /**
+     * Résultat d'une requête, lu dans le cache ou calculé puis conservé
+     * @param cle La clé normalisée de la requête
+     * @param portee Vrai pour une entité qui fait (ou ferait) partie du résultat
+     * @param calcul Le calcul du résultat en cas d'absence
+     * @param ids Les IDs des entités contenues dans un résultat
+     * @return Le résultat
+     */
+    public V obtenir(String cle, Predicate<? super E> portee, Supplier<V> calcul, Function<V, Collection<String>> ids) {
+        long versionCalcul;
+        synchronized (this) {
+            Entree<E, V> entree = entrees.get(cle);
+            if (entree != null) {
+                succes++;
+                return entree.valeur;
+            }
+            echecs++;
+            versionCalcul = version;
+        }
+        V valeur = calcul.get();
+        synchronized (this) {
+            if (version != versionCalcul) {
+                // Une modification a été signalée pendant le calcul : le résultat peut déjà être périmé
+                calculsPerimes++;
+                return valeur;
+            }
+            int poids = Math.max(1, pesee.applyAsInt(valeur));
+            if (poids > poidsMax) {
+                evictionsPoids++;
+                return valeur;
+            }
+            Entree<E, V> remplacee = entrees.put(cle, new Entree<>(valeur, poids, portee, new HashSet<>(ids.apply(valeur))));
+            if (remplacee != null) {
+                poidsTotal -= remplacee.poids;
+            }
+            poidsTotal += poids;
+            evincer();
+        }
+        return valeur;
+    }
+
+    /**
+     * Signale la modification d'une entité : les entrées qui la contenaient ou qu'elle rejoint sont retirées
+     * @param id L'ID de l'entité
+     * @param entite Son nouvel état, ou null si elle a été supprimée
+     */
+    public synchronized void invalider(String id, E entite) {
+        version++;
+        retirerSi(entree -> entree.ids.contains(id) || (entite != null && entree.portee.test(entite)));
+    }
+
+    /**
+     * Signale une modification qui ne change que la représentation d'une entité déjà présente
+     * (par exemple ses inscriptions) : seules les entrées qui la contiennent sont retirées
+     */
+    public synchronized void invaliderContenant(String id) {
+        version++;
+        retirerSi(entree -> entree.ids.contains(id));
+    }
+
+    public synchronized void vider() {
+        version++;
+        invalidations += entrees.size();
+        entrees.clear();
+        poidsTotal = 0;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int size() {
+        return entrees.size();
+    }
+
+    public synchronized Statistiques statistiques() {
+        return new Statistiques(this);
+    }
+
+    private void retirerSi(Predicate<Entree<E, V>> condition) {
+        Iterator<Entree<E, V>> iterateur = entrees.values().iterator();
+        while (iterateur.hasNext()) {
+            Entree<E, V> entree = iterateur.next();
+            if (condition.test(entree)) {
+                iterateur.remove();
+                poidsTotal -= entree.poids;
+                invalidations++;
+            }
+        }
+    }
+
+    private void evincer() {
+        Iterator<Map.Entry<String, Entree<E, V>>> iterateur = entrees.entrySet().iterator();
+        while (iterateur.hasNext() && (entrees.size() > maxEntrees || poidsTotal > poidsMax)) {
+            Entree<E, V> entree = iterateur.next().getValue();
+            if (entrees.size() > maxEntrees) {
+                evictionsTaille++;
+            } else {
+                evictionsPoids++;
+            }
+            iterateur.remove();
+            poidsTotal -= entree.poids;
+        }
+    }
+
+    private static final class Entree<E, V> {
+        private final V valeur;
+        private final int poids;
+        private final Predicate<? super E> portee;
+        private final Set<String> ids;
+
+        private Entree(V valeur, int poids, Predicate<? super E> portee, Set<String> ids) {
+            this.valeur = valeur;
+            this.poids = poids;
+            this.portee = portee;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * Instantané des compteurs du cache
+     */
+    public static final class Statistiques {
+        private final long succes;
+        private final long echecs;
+        private final long evictionsTaille;
+        private final long evictionsPoids;
+        private final long invalidations;
+        private final long calculsPerimes;
+        private final int entrees;
+        private final int maxEntrees;
+        private final long poids;
+        private final long poidsMax;
+        private final long version;
+
+        private Statistiques(CacheResultats<?, ?> cache) {
+            this.succes = cache.succes;
+            this.echecs = cache.echecs;
+            this.evictionsTaille = cache.evictionsTaille;
+            this.evictionsPoids = cache.evictionsPoids;
+            this.invalidations = cache.invalidations;
+            this.calculsPerimes = cache.calculsPerimes;
+            this.entrees = cache.entrees.size();
+            this.maxEntrees = cache.maxEntrees;
+            this.poids = cache.poidsTotal;
+            this.poidsMax = cache.poidsMax;
+            this.version = cache.version;
+        }
+
+        public long getSucces() {
+            return succes;
+        }
+
+        public long getEchecs() {
+            return echecs;
+        }
+
+        /**
+         * Part des lectures servies par le cache, entre 0 et 1
+         */
+        public double getTauxSucces() {
+            long lectures = succes + echecs;
+            return lectures == 0 ? 0 : (double) succes / lectures;
+        }
+
+        public long getEvictionsTaille() {
+            return evictionsTaille;
+        }
+
+        public long getEvictionsPoids() {
+            return evictionsPoids;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public long getCalculsPerimes() {
+            return calculsPerimes;
+        }
+
+        public int getEntrees() {
+            return entrees;
+        }
+
+        public int getMaxEntrees() {
+            return maxEntrees;
+        }
+
+        public long getPoids() {
+            return poids;
+        }
+
+        public long getPoidsMax() {
+            return poidsMax;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.project.POO.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Dictionnaire de termes pour la recherche approchée (tolérante aux fautes de frappe)
+ * - les valeurs sont découpées en termes normalisés (minuscules, sans accents)
+ * - les termes distincts sont rangés dans un BK-tree selon la distance de Levenshtein :
+ *   une recherche à distance d ne visite que les sous-arbres compatibles avec l'inégalité triangulaire
+ * - chaque terme pointe vers les clés (IDs) qui le contiennent
+ *
+ * Le BK-tree ne fait que grandir : un terme qui n'est plus utilisé reste dans l'arbre sans clé
+ * et n'est jamais rendu ; l'arbre est reconstruit quand ces termes morts deviennent majoritaires.
+ * Chaque recherche a un budget de temps, partagé entre les mots de la requête : chaque mot dispose de
+ * sa part, plus le temps laissé par les mots précédents. Le parcours n'est pas du meilleur d'abord :
+ * un mot interrompu ne garde que les termes déjà visités, pas forcément les plus proches, et le
+ * résultat est alors marqué tronqué.
+ *
+ * @param <K> Le type de la clé des documents
+ */
+public final class DictionnaireApproche<K> {
+
+    public static final int DISTANCE_MAX = 3;
+
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}@._-]+");
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final long budgetNanos;
+
+    private final Map<String, Set<K>> clesParTerme = new HashMap<>();
+    private final Map<K, List<String>> termesParCle = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Noeud racine;
+    private int termesDansArbre;
+
+    public DictionnaireApproche() {
+        this(BUDGET_NANOS);
+    }
+
+    /**
+     * @param budgetNanos Le budget de temps d'une recherche, en nanosecondes
+     */
+    public DictionnaireApproche(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Découpe des valeurs en termes normalisés ; un email reste un seul terme
+     */
+    public static List<String> termes(String... valeurs) {
+        Set<String> termes = new LinkedHashSet<>();
+        for (String valeur : valeurs) {
+            if (valeur == null) {
+                continue;
+            }
+            for (String terme : SEPARATEURS.split(TrigramIndex.normaliser(valeur))) {
+                if (!terme.isEmpty()) {
+                    termes.add(terme);
+                }
+            }
+        }
+        return new ArrayList<>(termes);
+    }
+
+    /**
+     * Indexe (ou réindexe) les valeurs d'une clé
+     * @param cle La clé du document
+     * @param valeurs Les valeurs texte du document (nom, email...)
+     */
+    public void indexer(K cle, String... valeurs) {
+        List<String> termes = termes(valeurs);
+        lock.writeLock().lock();
+        try {
+            retirerSansVerrou(cle);
+            if (termes.isEmpty()) {
+                return;
+            }
+            termesParCle.put(cle, termes);
+            for (String terme : termes) {
+                clesParTerme.computeIfAbsent(terme, t -> {
+                    insererDansArbre(t);
+                    return new LinkedHashSet<>();
+                }).add(cle);
+            }
+            reconstruireSiNecessaire();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void retirer(K cle) {
+        lock.writeLock().lock();
+        try {
+            retirerSansVerrou(cle);
+            reconstruireSiNecessaire();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clesParTerme.clear();
+            termesParCle.clear();
+            racine = null;
+            termesDansArbre = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les clés dont un terme est proche de chaque mot de la requête
+     * Classement : nombre de mots de la requête retrouvés, puis somme des distances
+     * @param requete Les mots recherchés
+     * @param distanceMax La distance de Levenshtein maximale par mot (bornée à DISTANCE_MAX)
+     * @param limite Le nombre maximal de résultats
+     * @return Les correspondances, de la plus proche à la plus lointaine, et si le budget a interrompu la recherche
+     */
+    public Resultats<K> rechercher(String requete, int distanceMax, int limite) {
+        int distance = Math.max(0, Math.min(distanceMax, DISTANCE_MAX));
+        long fin = System.nanoTime() + budgetNanos;
+        boolean tronquee = false;
+        Map<K, Correspondance<K>> parCle = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<String> mots = termes(requete);
+            for (int i = 0; i < mots.size(); i++) {
+                String mot = mots.get(i);
+                // Part du temps restant : un mot rapide laisse son reliquat aux suivants
+                long maintenant = System.nanoTime();
+                long echeance = maintenant + Math.max(0, fin - maintenant) / (mots.size() - i);
+                // Meilleure distance de ce mot pour chaque clé
+                Map<K, Integer> meilleures = new HashMap<>();
+                List<Noeud> aVisiter = new ArrayList<>();
+                if (racine != null) {
+                    aVisiter.add(racine);
+                }
+                while (!aVisiter.isEmpty()) {
+                    if (System.nanoTime() >= echeance) {
+                        tronquee = true;
+                        break;
+                    }
+                    Noeud noeud = aVisiter.remove(aVisiter.size() - 1);
+                    // Distance exacte : elle sert aussi à choisir les sous-arbres à visiter
+                    int d = Levenshtein.distance(mot, noeud.terme, Integer.MAX_VALUE);
+                    if (d <= distance) {
+                        for (K cle : clesParTerme.getOrDefault(noeud.terme, Set.of())) {
+                            meilleures.merge(cle, d, Math::min);
+                        }
+                    }
+                    for (Map.Entry<Integer, Noeud> enfant : noeud.enfants.entrySet()) {
+                        if (Math.abs(enfant.getKey() - d) <= distance) {
+                            aVisiter.add(enfant.getValue());
+                        }
+                    }
+                }
+                meilleures.forEach((cle, d) -> parCle
+                        .computeIfAbsent(cle, Correspondance::new)
+                        .ajouter(d));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Correspondance<K>> resultat = new ArrayList<>(parCle.values());
+        resultat.sort(Comparator.<Correspondance<K>>comparingInt(c -> -c.motsTrouves)
+                .thenComparingInt(c -> c.distance));
+        return new Resultats<>(resultat.size() > limite ? new ArrayList<>(resultat.subList(0, limite)) : resultat, tronquee);
+    }
+
+    public int nombreTermes() {
+        lock.readLock().lock();
+        try {
+            return clesParTerme.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void retirerSansVerrou(K cle) {
+        List<String> anciens = termesParCle.remove(cle);
+        if (anciens == null) {
+            return;
+        }
+        for (String terme : anciens) {
+            Set<K> cles = clesParTerme.get(terme);
+            cles.remove(cle);
+            if (cles.isEmpty()) {
+                clesParTerme.remove(terme);
+            }
+        }
+    }
+
+    private void insererDansArbre(String terme) {
+        if (racine == null) {
+            racine = new Noeud(terme);
+            termesDansArbre++;
+            return;
+        }
+        Noeud noeud = racine;
+        while (true) {
+            int d = Levenshtein.distance(terme, noeud.terme, Integer.MAX_VALUE);
+            if (d == 0) {
+                return;
+            }
+            Noeud enfant = noeud.enfants.get(d);
+            if (enfant == null) {
+                noeud.enfants.put(d, new Noeud(terme));
+                termesDansArbre++;
+                return;
+            }
+            noeud = enfant;
+        }
+    }
+
+    // Les termes sans clé restent dans l'arbre : on le reconstruit quand ils sont majoritaires
+    private void reconstruireSiNecessaire() {
+        if (termesDansArbre < 1024 || termesDansArbre < 2 * clesParTerme.size()) {
+            return;
+        }
+        racine = null;
+        termesDansArbre = 0;
+        clesParTerme.keySet().forEach(this::insererDansArbre);
+    }
+
+    private static final class Noeud {
+        private final String terme;
+        private final Map<Integer, Noeud> enfants = new HashMap<>(4);
+
+        private Noeud(String terme) {
+            this.terme = terme;
+        }
+    }
+
+    /**
+     * Résultats d'une recherche approchée
+     */
+    public static final class Resultats<K> {
+        private final List<Correspondance<K>> correspondances;
+        private final boolean tronquee;
+
+        private Resultats(List<Correspondance<K>> correspondances, boolean tronquee) {
+            this.correspondances = correspondances;
+            this.tronquee = tronquee;
+        }
+
+        public List<Correspondance<K>> getCorrespondances() {
+            return correspondances;
+        }
+
+        /**
+         * @return true si le budget de temps a interrompu la recherche d'au moins un mot :
+         *         des correspondances plus proches peuvent manquer
+         */
+        public boolean isTronquee() {
+            return tronquee;
+        }
+    }
+
+    /**
+     * Clé retrouvée par une recherche approchée
+     */
+    public static final class Correspondance<K> {
+        private final K cle;
+        private int motsTrouves;
+        private int distance;
+
+        private Correspondance(K cle) {
+            this.cle = cle;
+        }
+
+        private void ajouter(int d) {
+            motsTrouves++;
+            distance += d;
+        }
+
+        public K getCle() {
+            return cle;
+        }
+
+        public int getMotsTrouves() {
+            return motsTrouves;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.POO.utils;
+
+/**
+ * Dictionnaires partagés des champs texte répétitifs des événements
+ * Les setters des modèles ne font que reprendre l'instance canonique d'une valeur déjà connue ;
+ * une valeur n'est ajoutée (et codée) que lorsque le repository charge ou enregistre l'événement
+ * (Evenement.encoderDictionnaires). Les tables ne grandissent donc qu'avec les événements stockés,
+ * jamais avec les requêtes rejetées.
+ */
+public final class Dictionnaires {
+
+    public static final SymbolTable LIEUX = new SymbolTable("lieu");
+    public static final SymbolTable GENRES_MUSICAUX = new SymbolTable("genreMusical");
+    public static final SymbolTable THEMES = new SymbolTable("theme");
+    public static final SymbolTable ARTISTES = new SymbolTable("artiste");
+
+    private Dictionnaires() {
+    }
+}
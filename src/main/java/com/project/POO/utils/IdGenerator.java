@@ -0,0 +1,15 @@
+package com.project.POO.utils;
+
+
+/**
+ * Interface définissant la stratégie de génération des identifiants
+ * Les modèles et les repositories passent par {@link IdGenerators} pour obtenir un nouvel ID
+ */
+public interface IdGenerator {
+
+    /**
+     * Génère un nouvel identifiant unique
+     * @return L'identifiant sous forme de chaîne
+     */
+    String nextId();
+}
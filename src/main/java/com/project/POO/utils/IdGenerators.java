@@ -0,0 +1,36 @@
+package com.project.POO.utils;
+
+import java.util.Objects;
+
+/**
+ * Point d'accès global au générateur d'identifiants
+ * Les entités ne sont pas des beans Spring : le générateur est donc exposé statiquement
+ * et peut être remplacé au démarrage (voir IdGeneratorConfig)
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator generator = new UlidGenerator();
+
+    private IdGenerators() {
+    }
+
+    /**
+     * Génère un nouvel identifiant avec le générateur courant
+     * @return L'identifiant généré
+     */
+    public static String nextId() {
+        return generator.nextId();
+    }
+
+    /**
+     * Remplace le générateur utilisé par toute l'application
+     * @param idGenerator Le nouveau générateur
+     */
+    public static void setGenerator(IdGenerator idGenerator) {
+        generator = Objects.requireNonNull(idGenerator, "Le générateur d'identifiants ne peut pas être null");
+    }
+
+    public static IdGenerator getGenerator() {
+        return generator;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -28,6 +29,8 @@ public class JsonUtils {
         // Configuration pour supporter l'héritage
         BasicPolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
                 .allowIfSubType("com.project.POO.model")
+                // Les listes sont écrites avec leur type ("java.util.ArrayList") et doivent pouvoir être relues
+                .allowIfSubType("java.util.")
                 .build();
         objectMapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
 
@@ -100,6 +103,15 @@ public class JsonUtils {
         );
     }
 
+    /**
+     * Résout un chemin de données relatif par rapport au répertoire de travail (propriété user.dir)
+     * @param filePath Le chemin relatif, par exemple "data/evenements.json"
+     * @return Le chemin absolu
+     */
+    public static String resolvePath(String filePath) {
+        return Paths.get(System.getProperty("user.dir")).resolve(filePath).toString();
+    }
+
     /**
      * Vérifie si un fichier JSON existe
      * @param filePath Le chemin du fichier
@@ -0,0 +1,46 @@
+package com.project.POO.utils;
+
+/**
+ * Distance d'édition de Levenshtein avec borne
+ */
+public final class Levenshtein {
+
+    private Levenshtein() {
+    }
+
+    /**
+     * Calcule la distance entre deux chaînes, en s'arrêtant dès qu'elle dépasse la borne
+     * @param a La première chaîne
+     * @param b La seconde chaîne
+     * @param borne La distance au-delà de laquelle le calcul est abandonné
+     * @return La distance, ou une valeur strictement supérieure à la borne si elle est dépassée
+     */
+    public static int distance(String a, String b, int borne) {
+        if (Math.abs(a.length() - b.length()) > borne) {
+            return borne + 1;
+        }
+        int[] precedente = new int[b.length() + 1];
+        int[] courante = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            precedente[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            courante[0] = i;
+            int minimumLigne = courante[0];
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cout = c == b.charAt(j - 1) ? 0 : 1;
+                courante[j] = Math.min(Math.min(courante[j - 1] + 1, precedente[j] + 1), precedente[j - 1] + cout);
+                minimumLigne = Math.min(minimumLigne, courante[j]);
+            }
+            // Aucune cellule de la ligne sous la borne : la distance finale la dépassera aussi
+            if (minimumLigne > borne) {
+                return borne + 1;
+            }
+            int[] echange = precedente;
+            precedente = courante;
+            courante = echange;
+        }
+        return precedente[b.length()];
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.POO.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Table de symboles pour l'encodage par dictionnaire des chaînes répétitives
+ * Chaque valeur distincte reçoit un petit code entier stable (0, 1, 2, ...) et une instance
+ * canonique de String partagée par tous les objets qui la référencent.
+ *
+ * La table ne fait que grandir : elle est prévue pour des champs de faible cardinalité
+ * (lieux, genres, thèmes, artistes). Seul code() ajoute une valeur ; les chemins qui traitent
+ * des valeurs non encore enregistrées (requêtes, filtres) utilisent find() ou canonique().
+ */
+public final class SymbolTable {
+
+    public static final int NO_CODE = -1;
+
+    private final String nom;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[64];
+    private volatile int size;
+
+    public SymbolTable(String nom) {
+        this.nom = nom;
+    }
+
+    /**
+     * Retourne le code d'une valeur, en l'ajoutant à la table si nécessaire
+     * @param value La valeur à encoder
+     * @return Le code de la valeur, ou NO_CODE si la valeur est null
+     */
+    public int code(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int newCode = size;
+            if (newCode == symbols.length) {
+                symbols = Arrays.copyOf(symbols, newCode * 2);
+            }
+            symbols[newCode] = value;
+            // Taille publiée avant le code : un lecteur qui obtient le code via la map voit aussi le symbole
+            size = newCode + 1;
+            codes.put(value, newCode);
+            return newCode;
+        }
+    }
+
+    /**
+     * Retourne le code d'une valeur sans l'ajouter à la table
+     * @param value La valeur recherchée
+     * @return Le code, ou NO_CODE si la valeur n'a jamais été encodée
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NO_CODE;
+    }
+
+    /**
+     * Retourne l'instance canonique d'une valeur déjà présente, sans jamais l'ajouter
+     * @param value La valeur recherchée
+     * @return L'instance partagée si la valeur est connue, sinon la valeur elle-même
+     */
+    public String canonique(String value) {
+        int code = find(value);
+        return code == NO_CODE ? value : symbols[code];
+    }
+
+    /**
+     * Retourne l'instance canonique d'une valeur
+     * @param value La valeur à interner
+     * @return L'instance partagée, ou null si la valeur est null
+     */
+    public String intern(String value) {
+        return value == null ? null : symbol(code(value));
+    }
+
+    public String symbol(int code) {
+        if (code < 0 || code >= size) {
+            return null;
+        }
+        return symbols[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * Évalue un prédicat une seule fois par valeur distincte
+     * @param predicate Le prédicat appliqué aux symboles
+     * @return L'ensemble des codes dont le symbole satisfait le prédicat
+     */
+    public BitSet matchingCodes(Predicate<String> predicate) {
+        int count = size;
+        String[] snapshot = symbols;
+        BitSet result = new BitSet(count);
+        for (int code = 0; code < count; code++) {
+            if (predicate.test(snapshot[code])) {
+                result.set(code);
+            }
+        }
+        return result;
+    }
+}
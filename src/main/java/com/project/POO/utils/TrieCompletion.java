@@ -0,0 +1,299 @@
+package com.project.POO.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie d'autocomplétion pondéré
+ * - chaque libellé est inséré à partir de chacun de ses mots : "Festival Jazz" est proposé pour "fes" et pour "ja"
+ * - chaque nœud garde ses TOP_K meilleures complétions (poids décroissant) : une requête descend
+ *   le préfixe puis lit directement la liste du nœud atteint, sans parcourir le sous-arbre
+ *
+ * À chaque modification, seuls les nœuds sur les chemins du libellé concerné sont recalculés, de la
+ * feuille vers la racine, à partir des meilleures complétions de leurs enfants.
+ *
+ * @param <K> Le type de la clé des entrées (ID de l'événement, du participant...)
+ */
+public final class TrieCompletion<K> {
+
+    public static final int TOP_K = 10;
+
+    // Au-delà, les chemins sont tronqués : la fin du préfixe est vérifiée sur le libellé
+    private static final int PROFONDEUR_MAX = 32;
+
+    private final Comparator<Entree<K>> ordre = Comparator.<Entree<K>>comparingLong(e -> -e.poids)
+            .thenComparing(e -> e.texte)
+            .thenComparing(e -> String.valueOf(e.cle));
+
+    private final Map<K, Entree<K>> entrees = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Noeud<K> racine = new Noeud<>(null, '\0');
+
+    /**
+     * Indexe (ou réindexe) une entrée
+     * @param cle La clé de l'entrée
+     * @param libelle Le libellé proposé à l'utilisateur
+     * @param poids La popularité de l'entrée (nombre d'inscriptions)
+     */
+    public void indexer(K cle, String libelle, long poids) {
+        String texte = TrigramIndex.normaliser(libelle);
+        lock.writeLock().lock();
+        try {
+            Entree<K> ancienne = entrees.get(cle);
+            if (ancienne != null && ancienne.texte.equals(texte)) {
+                ancienne.libelle = libelle;
+                if (ancienne.poids != poids) {
+                    ancienne.poids = poids;
+                    recalculerChemins(ancienne);
+                }
+                return;
+            }
+            if (ancienne != null) {
+                retirerSansVerrou(ancienne);
+            }
+            if (texte == null || texte.isBlank()) {
+                return;
+            }
+            Entree<K> entree = new Entree<>(cle, libelle, texte, poids);
+            entrees.put(cle, entree);
+            for (String suffixe : suffixes(texte, PROFONDEUR_MAX)) {
+                Noeud<K> noeud = racine;
+                for (int i = 0; i < suffixe.length(); i++) {
+                    noeud = noeud.enfant(suffixe.charAt(i), true);
+                }
+                noeud.terminales.add(entree);
+                recalculerJusquALaRacine(noeud);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Change la popularité d'une entrée déjà indexée
+     * @return false si la clé n'est pas indexée
+     */
+    public boolean ajusterPoids(K cle, long poids) {
+        lock.writeLock().lock();
+        try {
+            Entree<K> entree = entrees.get(cle);
+            if (entree == null) {
+                return false;
+            }
+            if (entree.poids != poids) {
+                entree.poids = poids;
+                recalculerChemins(entree);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void retirer(K cle) {
+        lock.writeLock().lock();
+        try {
+            Entree<K> entree = entrees.get(cle);
+            if (entree != null) {
+                retirerSansVerrou(entree);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entrees.clear();
+            racine = new Noeud<>(null, '\0');
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne les complétions les plus populaires d'un préfixe
+     * @param prefixe Le début d'un des mots du libellé (casse et accents ignorés)
+     * @param limite Le nombre maximal de complétions (au plus TOP_K)
+     * @return Les complétions, de la plus populaire à la moins populaire
+     */
+    public List<Completion<K>> completer(String prefixe, int limite) {
+        String recherche = TrigramIndex.normaliser(prefixe == null ? "" : prefixe.stripLeading());
+        List<Completion<K>> resultat = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Noeud<K> noeud = racine;
+            for (int i = 0; i < Math.min(recherche.length(), PROFONDEUR_MAX) && noeud != null; i++) {
+                noeud = noeud.enfant(recherche.charAt(i), false);
+            }
+            if (noeud == null) {
+                return resultat;
+            }
+            for (Entree<K> entree : noeud.meilleures) {
+                if (resultat.size() >= limite) {
+                    break;
+                }
+                if (recherche.length() <= PROFONDEUR_MAX || commencePar(entree.texte, recherche)) {
+                    resultat.add(new Completion<>(entree.cle, entree.libelle, entree.poids));
+                }
+            }
+            return resultat;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entrees.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void retirerSansVerrou(Entree<K> entree) {
+        entrees.remove(entree.cle);
+        for (String suffixe : suffixes(entree.texte, PROFONDEUR_MAX)) {
+            Noeud<K> noeud = descendre(suffixe);
+            noeud.terminales.remove(entree);
+            // Les nœuds devenus vides sont détachés de leur parent
+            while (noeud.parent != null && noeud.terminales.isEmpty() && noeud.enfants.isEmpty()) {
+                noeud.parent.enfants.remove(noeud.caractere);
+                noeud = noeud.parent;
+            }
+            recalculerJusquALaRacine(noeud);
+        }
+    }
+
+    private void recalculerChemins(Entree<K> entree) {
+        for (String suffixe : suffixes(entree.texte, PROFONDEUR_MAX)) {
+            recalculerJusquALaRacine(descendre(suffixe));
+        }
+    }
+
+    private Noeud<K> descendre(String suffixe) {
+        Noeud<K> noeud = racine;
+        for (int i = 0; i < suffixe.length(); i++) {
+            noeud = noeud.enfant(suffixe.charAt(i), false);
+        }
+        return noeud;
+    }
+
+    private void recalculerJusquALaRacine(Noeud<K> noeud) {
+        for (; noeud != null; noeud = noeud.parent) {
+            recalculer(noeud);
+        }
+    }
+
+    // Les meilleures complétions d'un nœud : ses entrées terminales et celles de ses enfants
+    private void recalculer(Noeud<K> noeud) {
+        List<Entree<K>> candidates = new ArrayList<>(noeud.terminales);
+        for (Noeud<K> enfant : noeud.enfants.values()) {
+            candidates.addAll(enfant.meilleures);
+        }
+        candidates.sort(ordre);
+        // Une entrée peut remonter par plusieurs de ses mots : elle n'est gardée qu'une fois
+        Map<Entree<K>, Boolean> vues = new IdentityHashMap<>();
+        List<Entree<K>> meilleures = new ArrayList<>(Math.min(TOP_K, candidates.size()));
+        for (Entree<K> candidate : candidates) {
+            if (meilleures.size() == TOP_K) {
+                break;
+            }
+            if (vues.put(candidate, Boolean.TRUE) == null) {
+                meilleures.add(candidate);
+            }
+        }
+        noeud.meilleures = meilleures;
+    }
+
+    // Le texte à partir du début de chacun de ses mots, tronqué à la profondeur donnée
+    private static List<String> suffixes(String texte, int profondeur) {
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < texte.length(); i++) {
+            boolean debutDeMot = Character.isLetterOrDigit(texte.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(texte.charAt(i - 1)));
+            if (debutDeMot) {
+                String suffixe = texte.length() - i > profondeur ? texte.substring(i, i + profondeur) : texte.substring(i);
+                if (!suffixes.contains(suffixe)) {
+                    suffixes.add(suffixe);
+                }
+            }
+        }
+        return suffixes;
+    }
+
+    private static boolean commencePar(String texte, String prefixe) {
+        return suffixes(texte, Integer.MAX_VALUE).stream().anyMatch(suffixe -> suffixe.startsWith(prefixe));
+    }
+
+    private static final class Noeud<K> {
+        private final Noeud<K> parent;
+        private final char caractere;
+        private final Map<Character, Noeud<K>> enfants = new HashMap<>(4);
+        private final List<Entree<K>> terminales = new ArrayList<>(1);
+        private List<Entree<K>> meilleures = List.of();
+
+        private Noeud(Noeud<K> parent, char caractere) {
+            this.parent = parent;
+            this.caractere = caractere;
+        }
+
+        private Noeud<K> enfant(char c, boolean creer) {
+            Noeud<K> enfant = enfants.get(c);
+            if (enfant == null && creer) {
+                enfant = new Noeud<>(this, c);
+                enfants.put(c, enfant);
+            }
+            return enfant;
+        }
+    }
+
+    private static final class Entree<K> {
+        private final K cle;
+        private final String texte;
+        private String libelle;
+        private long poids;
+
+        private Entree(K cle, String libelle, String texte, long poids) {
+            this.cle = cle;
+            this.libelle = libelle;
+            this.texte = texte;
+            this.poids = poids;
+        }
+    }
+
+    /**
+     * Complétion proposée pour un préfixe
+     */
+    public static final class Completion<K> {
+        private final K cle;
+        private final String libelle;
+        private final long poids;
+
+        private Completion(K cle, String libelle, long poids) {
+            this.cle = cle;
+            this.libelle = libelle;
+            this.poids = poids;
+        }
+
+        public K getCle() {
+            return cle;
+        }
+
+        public String getLibelle() {
+            return libelle;
+        }
+
+        public long getPoids() {
+            return poids;
+        }
+    }
+}
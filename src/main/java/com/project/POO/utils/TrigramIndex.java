@@ -0,0 +1,277 @@
+package com.project.POO.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index de trigrammes pour les recherches "contient" sur un champ texte
+ * - chaque valeur est normalisée une seule fois (minuscules, sans accents) à l'indexation
+ * - chaque trigramme pointe vers la liste triée des documents qui le contiennent
+ * - une recherche intersecte les listes des trigrammes du motif puis vérifie les candidats
+ *
+ * Les numéros de document sont attribués dans l'ordre croissant : les listes restent triées
+ * par simple ajout. Une modification retire l'ancien document (pierre tombale) et en crée
+ * un nouveau ; les listes sont compactées quand les documents morts deviennent majoritaires.
+ *
+ * @param <K> Le type de la clé des documents (ID de l'événement ou du participant)
+ */
+public final class TrigramIndex<K> {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final Map<K, Integer> documents = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Object[] cles = new Object[1024];
+    private String[] textes = new String[1024];
+    private int prochainDocument;
+    private int documentsMorts;
+
+    /**
+     * Normalise une valeur pour la recherche : minuscules et accents retirés
+     * @param valeur La valeur brute
+     * @return La valeur normalisée, ou null si la valeur est null
+     */
+    public static String normaliser(String valeur) {
+        if (valeur == null) {
+            return null;
+        }
+        String decompose = Normalizer.normalize(valeur, Normalizer.Form.NFD);
+        return ACCENTS.matcher(decompose).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexe (ou réindexe) la valeur d'une clé
+     * @param cle La clé du document
+     * @param valeur La nouvelle valeur (null : la clé est retirée)
+     */
+    public void indexer(K cle, String valeur) {
+        String texte = normaliser(valeur);
+        lock.writeLock().lock();
+        try {
+            Integer ancien = documents.get(cle);
+            if (ancien != null) {
+                if (texte != null && texte.equals(textes[ancien])) {
+                    return;
+                }
+                enterrer(ancien);
+                documents.remove(cle);
+            }
+            if (texte != null) {
+                documents.put(cle, ajouterDocument(cle, texte));
+            }
+            compacterSiNecessaire();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void retirer(K cle) {
+        lock.writeLock().lock();
+        try {
+            Integer ancien = documents.remove(cle);
+            if (ancien != null) {
+                enterrer(ancien);
+                compacterSiNecessaire();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            cles = new Object[1024];
+            textes = new String[1024];
+            prochainDocument = 0;
+            documentsMorts = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les clés dont la valeur contient le motif (casse et accents ignorés)
+     * @param motif Le motif recherché
+     * @return Les clés correspondantes, dans l'ordre d'indexation
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> rechercher(String motif) {
+        String recherche = normaliser(motif);
+        List<K> resultat = new ArrayList<>();
+        if (recherche == null) {
+            return resultat;
+        }
+        lock.readLock().lock();
+        try {
+            if (recherche.length() < 3) {
+                // Motif trop court pour les trigrammes : vérification directe des valeurs déjà normalisées
+                for (int doc = 0; doc < prochainDocument; doc++) {
+                    if (textes[doc] != null && textes[doc].contains(recherche)) {
+                        resultat.add((K) cles[doc]);
+                    }
+                }
+                return resultat;
+            }
+
+            IntList[] listes = listesDuMotif(recherche);
+            if (listes == null) {
+                return resultat;
+            }
+            // Les candidats arrivent dans l'ordre croissant : chaque liste est parcourue par un curseur qui avance
+            IntList plusCourte = listes[0];
+            int[] curseurs = new int[listes.length];
+            for (int i = 0; i < plusCourte.size; i++) {
+                int doc = plusCourte.valeurs[i];
+                if (textes[doc] != null && presentPartout(listes, curseurs, doc) && textes[doc].contains(recherche)) {
+                    resultat.add((K) cles[doc]);
+                }
+            }
+            return resultat;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Majorant du nombre de clés qui contiennent le motif : la plus courte liste de ses trigrammes
+     * Un motif de moins de 3 caractères ne réduit pas les candidats : toutes les clés sont comptées.
+     */
+    public int estimer(String motif) {
+        String recherche = normaliser(motif);
+        lock.readLock().lock();
+        try {
+            if (recherche == null || recherche.length() < 3) {
+                return documents.size();
+            }
+            IntList[] listes = listesDuMotif(recherche);
+            return listes == null ? 0 : listes[0].size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Listes des trigrammes distincts du motif, la plus courte en premier ; null si un trigramme est absent
+    private IntList[] listesDuMotif(String recherche) {
+        Map<Long, IntList> distinctes = new HashMap<>();
+        for (int i = 0; i + 3 <= recherche.length(); i++) {
+            long trigramme = trigramme(recherche, i);
+            IntList liste = postings.get(trigramme);
+            if (liste == null) {
+                return null;
+            }
+            distinctes.put(trigramme, liste);
+        }
+        IntList[] listes = distinctes.values().toArray(new IntList[0]);
+        Arrays.sort(listes, (a, b) -> Integer.compare(a.size, b.size));
+        return listes;
+    }
+
+    private static boolean presentPartout(IntList[] listes, int[] curseurs, int doc) {
+        for (int i = 1; i < listes.length; i++) {
+            int position = avancer(listes[i], curseurs[i], doc);
+            curseurs[i] = position;
+            if (position == listes[i].size || listes[i].valeurs[position] != doc) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Recherche galopante de la première position >= doc à partir du curseur
+    private static int avancer(IntList liste, int debut, int doc) {
+        int pas = 1;
+        int fin = debut;
+        while (fin < liste.size && liste.valeurs[fin] < doc) {
+            debut = fin + 1;
+            fin += pas;
+            pas <<= 1;
+        }
+        int position = Arrays.binarySearch(liste.valeurs, debut, Math.min(fin + 1, liste.size), doc);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private int ajouterDocument(K cle, String texte) {
+        int doc = prochainDocument++;
+        if (doc == textes.length) {
+            cles = Arrays.copyOf(cles, doc * 2);
+            textes = Arrays.copyOf(textes, doc * 2);
+        }
+        cles[doc] = cle;
+        textes[doc] = texte;
+        for (int i = 0; i + 3 <= texte.length(); i++) {
+            IntList liste = postings.computeIfAbsent(trigramme(texte, i), t -> new IntList());
+            // Un trigramme répété dans la valeur n'est ajouté qu'une fois
+            if (liste.size == 0 || liste.valeurs[liste.size - 1] != doc) {
+                liste.ajouter(doc);
+            }
+        }
+        return doc;
+    }
+
+    private void enterrer(int doc) {
+        cles[doc] = null;
+        textes[doc] = null;
+        documentsMorts++;
+    }
+
+    // Reconstruit les listes sans les documents morts, en conservant l'ordre d'indexation
+    private void compacterSiNecessaire() {
+        if (documentsMorts < 1024 || documentsMorts < documents.size()) {
+            return;
+        }
+        Object[] anciennesCles = cles;
+        String[] anciensTextes = textes;
+        int anciensDocuments = prochainDocument;
+        documents.clear();
+        postings.clear();
+        cles = new Object[Math.max(1024, anciensDocuments - documentsMorts)];
+        textes = new String[cles.length];
+        prochainDocument = 0;
+        documentsMorts = 0;
+        for (int doc = 0; doc < anciensDocuments; doc++) {
+            if (anciensTextes[doc] != null) {
+                @SuppressWarnings("unchecked")
+                K cle = (K) anciennesCles[doc];
+                documents.put(cle, ajouterDocument(cle, anciensTextes[doc]));
+            }
+        }
+    }
+
+    private static long trigramme(String texte, int debut) {
+        return ((long) texte.charAt(debut) << 32) | ((long) texte.charAt(debut + 1) << 16) | texte.charAt(debut + 2);
+    }
+
+    private static final class IntList {
+        private int[] valeurs = new int[4];
+        private int size;
+
+        void ajouter(int valeur) {
+            if (size == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, size * 2);
+            }
+            valeurs[size++] = valeur;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.POO.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Générateur d'identifiants ULID (128 bits, triés par date de création)
+ * - 48 bits de timestamp en millisecondes suivis de 80 bits aléatoires
+ * - forme texte de 26 caractères (Crockford base32) au lieu des 36 d'un UUID
+ * - forme binaire de 16 octets (deux long)
+ *
+ * Chaque thread conserve son propre état : aucune synchronisation, pas de SecureRandom partagé,
+ * et les IDs générés par un même thread sont strictement croissants.
+ */
+public final class UlidGenerator implements IdGenerator {
+
+    public static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    /**
+     * État propre à chaque thread : dernier timestamp et partie aléatoire courante
+     */
+    private static final class State {
+        private long lastMillis = -1;
+        private long randomHigh; // 16 bits de poids fort de la partie aléatoire
+        private long randomLow;  // 64 bits de poids faible de la partie aléatoire
+    }
+
+    @Override
+    public String nextId() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+
+        if (now > state.lastMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            state.lastMillis = now;
+            state.randomHigh = random.nextInt() & 0xFFFFL;
+            state.randomLow = random.nextLong();
+        } else {
+            // Même milliseconde (ou horloge qui recule) : on incrémente pour rester monotone
+            state.randomLow++;
+            if (state.randomLow == 0) {
+                state.randomHigh = (state.randomHigh + 1) & 0xFFFFL;
+                if (state.randomHigh == 0) {
+                    state.lastMillis++;
+                }
+            }
+        }
+
+        long msb = (state.lastMillis << 16) | state.randomHigh;
+        return encode(msb, state.randomLow);
+    }
+
+    /**
+     * Encode une valeur 128 bits en chaîne ULID de 26 caractères
+     * @param msb Les 64 bits de poids fort
+     * @param lsb Les 64 bits de poids faible
+     * @return La chaîne ULID
+     */
+    public static String encode(long msb, long lsb) {
+        char[] chars = new char[LENGTH];
+        long high = msb;
+        long low = lsb;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Vérifie qu'une chaîne est un ULID valide
+     * @param id La chaîne à vérifier
+     * @return true si la chaîne peut être décodée sur 128 bits
+     */
+    public static boolean isUlid(String id) {
+        if (id == null || id.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = id.charAt(i);
+            if (c >= 128 || DECODE[c] < 0) {
+                return false;
+            }
+        }
+        // Le premier caractère ne porte que 3 bits utiles
+        return DECODE[id.charAt(0)] < 8;
+    }
+
+    public static long mostSignificantBits(String id) {
+        return decode(id, true);
+    }
+
+    public static long leastSignificantBits(String id) {
+        return decode(id, false);
+    }
+
+    /**
+     * Extrait le timestamp de création d'un ULID
+     * @param id L'identifiant ULID
+     * @return Le nombre de millisecondes depuis l'epoch
+     */
+    public static long timestamp(String id) {
+        return mostSignificantBits(id) >>> 16;
+    }
+
+    /**
+     * Convertit un ULID en sa forme binaire de 16 octets (big-endian)
+     * @param id L'identifiant ULID
+     * @return Les 16 octets de l'identifiant
+     */
+    public static byte[] toBytes(String id) {
+        return ByteBuffer.allocate(16)
+                .putLong(mostSignificantBits(id))
+                .putLong(leastSignificantBits(id))
+                .array();
+    }
+
+    /**
+     * Reconstruit un ULID à partir de sa forme binaire
+     * @param bytes Les 16 octets de l'identifiant
+     * @return La chaîne ULID
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16) {
+            throw new IllegalArgumentException("Un ULID binaire doit faire 16 octets");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return encode(buffer.getLong(), buffer.getLong());
+    }
+
+    private static long decode(String id, boolean mostSignificant) {
+        if (!isUlid(id)) {
+            throw new IllegalArgumentException("ULID invalide: " + id);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            high = (high << 5) | (low >>> 59);
+            low = (low << 5) | DECODE[id.charAt(i)];
+        }
+        return mostSignificant ? high : low;
+    }
+}
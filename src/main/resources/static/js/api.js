@@ -132,6 +132,26 @@ class ApiService {
         return await this.makeRequest('/evenements/disponibles');
     }
 
+    // Récupérer les prochains événements, déjà triés par date côté serveur
+    static async getUpcomingEvents(limit = 5) {
+        const params = new URLSearchParams({ limit });
+        return await this.makeRequest(`/evenements/a-venir?${params}`);
+    }
+
+    // Autocomplétion des noms d'événements et des lieux, les plus populaires en premier
+    static async autocompleteEvents(query, limit = 8) {
+        const params = new URLSearchParams({ q: query, limit });
+        return await this.makeRequest(`/evenements/autocompletion?${params}`);
+    }
+
+    // Recherche libre : nom ou lieu contenant le texte, en une seule requête
+    static async searchEvents(text, limit = 1000) {
+        return await this.makeRequest('/evenements/requete', {
+            method: 'POST',
+            body: JSON.stringify({ texte: text, limite: limit })
+        });
+    }
+
     // Inscrire un participant à un événement
     static async registerParticipant(eventId, participantId) {
         return await this.makeRequest(`/evenements/${eventId}/participants/${participantId}`, {
@@ -195,6 +215,20 @@ class ApiService {
         return await this.makeRequest(`/participants/recherche?${params}`);
     }
 
+    // Recherche libre : nom ou email contenant le texte, en une seule requête
+    static async searchParticipants(text, limit = 1000) {
+        return await this.makeRequest('/participants/requete', {
+            method: 'POST',
+            body: JSON.stringify({ texte: text, limite: limit })
+        });
+    }
+
+    // Autocomplétion des noms de participants, les plus inscrits en premier
+    static async autocompleteParticipants(query, limit = 8) {
+        const params = new URLSearchParams({ q: query, limit });
+        return await this.makeRequest(`/participants/autocompletion?${params}`);
+    }
+
     // === MÉTHODES UTILITAIRES ===
 
     // Vérifier l'état de santé de l'API
@@ -207,39 +241,9 @@ class ApiService {
         }
     }
 
-    // Obtenir les statistiques générales
+    // Obtenir les statistiques générales (compteurs tenus à jour par le serveur)
     static async getStats() {
-        try {
-            const [events, participants] = await Promise.all([
-                this.getAllEvents(),
-                this.getAllParticipants()
-            ]);
-
-            const availableEvents = events.filter(event =>
-                !event.annule && event.nombreParticipants < event.capaciteMax
-            );
-
-            const organizers = participants.filter(participant =>
-                participant.organisateur
-            );
-
-            const upcomingEvents = events.filter(event =>
-                new Date(event.date) > new Date() && !event.annule
-            );
-
-            return {
-                totalEvents: events.length,
-                totalParticipants: participants.length,
-                availableEvents: availableEvents.length,
-                totalOrganizers: organizers.length,
-                upcomingEvents: upcomingEvents.length,
-                cancelledEvents: events.filter(e => e.annule).length
-            };
-
-        } catch (error) {
-            console.error('Erreur lors du calcul des statistiques:', error);
-            throw error;
-        }
+        return await this.makeRequest('/stats');
     }
 
     // Méthode pour tester la connectivité
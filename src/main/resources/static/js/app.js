@@ -421,33 +421,74 @@ function toggleEventTypeFields() {
     }
 }
 
-// Recherche d'événements
-function handleEventSearch(e) {
-    const searchTerm = e.target.value.toLowerCase().trim();
+// Numéros des dernières recherches : une réponse plus ancienne arrivée en retard est ignorée
+let eventSearchSequence = 0;
+let participantSearchSequence = 0;
+
+// Remplit la liste de propositions affichée sous un champ de recherche
+function renderSuggestions(input, suggestions) {
+    const listId = `${input.id}-suggestions`;
+    let datalist = document.getElementById(listId);
+    if (!datalist) {
+        datalist = document.createElement('datalist');
+        datalist.id = listId;
+        input.after(datalist);
+        input.setAttribute('list', listId);
+    }
+    datalist.replaceChildren(...suggestions.map(suggestion => createElement('option', { value: suggestion.libelle })));
+}
+
+// Recherche d'événements : propositions du serveur sous le champ, résultats (nom ou lieu) en une requête
+async function handleEventSearch(e) {
+    const searchTerm = e.target.value.trim();
+    const sequence = ++eventSearchSequence;
 
     if (searchTerm === '') {
+        renderSuggestions(e.target, []);
         renderEvents(allEvents);
-    } else {
-        const filteredEvents = allEvents.filter(event =>
-            event.lieu.toLowerCase().includes(searchTerm) ||
-            event.nom.toLowerCase().includes(searchTerm)
-        );
-        renderEvents(filteredEvents);
+        return;
+    }
+
+    try {
+        const [suggestions, page] = await Promise.all([
+            ApiService.autocompleteEvents(searchTerm, 10),
+            ApiService.searchEvents(searchTerm)
+        ]);
+        if (sequence !== eventSearchSequence) {
+            return;
+        }
+
+        renderSuggestions(e.target, suggestions);
+        renderEvents(page.elements);
+    } catch (error) {
+        console.error('Erreur lors de la recherche d\'événements:', error);
     }
 }
 
-// Recherche de participants
-function handleParticipantSearch(e) {
-    const searchTerm = e.target.value.toLowerCase().trim();
+// Recherche de participants : propositions du serveur sous le champ, résultats (nom ou email) en une requête
+async function handleParticipantSearch(e) {
+    const searchTerm = e.target.value.trim();
+    const sequence = ++participantSearchSequence;
 
     if (searchTerm === '') {
+        renderSuggestions(e.target, []);
         renderParticipants(allParticipants);
-    } else {
-        const filteredParticipants = allParticipants.filter(participant =>
-            participant.nom.toLowerCase().includes(searchTerm) ||
-            participant.email.toLowerCase().includes(searchTerm)
-        );
-        renderParticipants(filteredParticipants);
+        return;
+    }
+
+    try {
+        const [suggestions, page] = await Promise.all([
+            ApiService.autocompleteParticipants(searchTerm, 10),
+            ApiService.searchParticipants(searchTerm)
+        ]);
+        if (sequence !== participantSearchSequence) {
+            return;
+        }
+
+        renderSuggestions(e.target, suggestions);
+        renderParticipants(page.elements);
+    } catch (error) {
+        console.error('Erreur lors de la recherche de participants:', error);
     }
 }
 
@@ -606,23 +647,22 @@ async function cancelEvent(eventId) {
     }
 }
 
-// Mise à jour des statistiques du tableau de bord
-function updateDashboardStats() {
-    const totalEvents = allEvents.length;
-    const totalParticipants = allParticipants.length;
-    const availableEvents = allEvents.filter(event =>
-        !event.annule && event.nombreParticipants < event.capaciteMax
-    ).length;
-    const totalOrganizers = allParticipants.filter(participant =>
-        participant.organisateur
-    ).length;
+// Mise à jour des statistiques du tableau de bord (calculées par le serveur)
+async function updateDashboardStats() {
+    let stats;
+    try {
+        stats = await ApiService.getStats();
+    } catch (error) {
+        console.error('Erreur lors du chargement des statistiques:', error);
+        return;
+    }
 
     // Mettre à jour les éléments du DOM
     const elements = {
-        'total-events': totalEvents,
-        'total-participants': totalParticipants,
-        'available-events': availableEvents,
-        'total-organizers': totalOrganizers
+        'total-events': stats.totalEvenements,
+        'total-participants': stats.totalParticipants,
+        'available-events': stats.evenementsDisponibles,
+        'total-organizers': stats.totalOrganisateurs
     };
 
     Object.entries(elements).forEach(([id, value]) => {
@@ -634,15 +674,18 @@ function updateDashboardStats() {
 }
 
 // Mise à jour des événements à venir
-function updateUpcomingEvents() {
+async function updateUpcomingEvents() {
     const upcomingEventsContainer = document.getElementById('upcoming-events');
     if (!upcomingEventsContainer) return;
 
-    const now = new Date();
-    const upcomingEvents = allEvents
-        .filter(event => new Date(event.date) > now && !event.annule)
-        .sort((a, b) => new Date(a.date) - new Date(b.date))
-        .slice(0, 5);
+    // Filtrage et tri faits par le serveur (index par date)
+    let upcomingEvents;
+    try {
+        upcomingEvents = await ApiService.getUpcomingEvents(5);
+    } catch (error) {
+        console.error('Erreur lors du chargement des événements à venir:', error);
+        upcomingEvents = [];
+    }
 
     if (upcomingEvents.length === 0) {
         upcomingEventsContainer.innerHTML = `
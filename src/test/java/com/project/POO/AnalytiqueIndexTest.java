@@ -0,0 +1,112 @@
+package com.project.POO;
+
+import com.project.POO.index.AnalytiqueIndex;
+import com.project.POO.index.AnalytiqueIndex.Groupe;
+import com.project.POO.index.FiltreAnalyse;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalytiqueIndexTest {
+
+    private AnalytiqueIndex index;
+    private Concert jazzJuin;
+    private Concert jazzJuillet;
+    private Concert rockJuin;
+    private Conference conference;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new AnalytiqueIndex();
+        jazzJuin = concert("c1", LocalDateTime.of(2030, 6, 10, 20, 0), "Palais des Sports", "Jazz", 3);
+        jazzJuillet = concert("c2", LocalDateTime.of(2030, 7, 2, 20, 0), "Stade", "Jazz", 1);
+        rockJuin = concert("c3", LocalDateTime.of(2030, 6, 20, 20, 0), "Stade", "Rock", 2);
+        conference = new Conference("Conf IA", LocalDateTime.of(2030, 6, 5, 9, 0), "Palais des Sports", 50, "IA");
+        conference.setId("conf-1");
+        conference.encoderDictionnaires();
+        index.onChargement(Arrays.asList(jazzJuin, jazzJuillet, rockJuin, conference));
+    }
+
+    private static Concert concert(String id, LocalDateTime date, String lieu, String genre, int inscrits) throws Exception {
+        Concert concert = new Concert("Concert " + id, date, lieu, 100, "artiste", genre);
+        concert.setId(id);
+        // Comme le fait le repository à l'enregistrement
+        concert.encoderDictionnaires();
+        for (int i = 0; i < inscrits; i++) {
+            Participant participant = new Participant("P" + i, id + i + "@example.com");
+            participant.setId(id + "-p" + i);
+            concert.ajouterParticipant(participant);
+        }
+        return concert;
+    }
+
+    private static Map<String, Long> sommes(List<Groupe> groupes) {
+        Map<String, Long> sommes = new LinkedHashMap<>();
+        groupes.forEach(g -> sommes.put(g.getGroupe(), g.getSomme()));
+        return sommes;
+    }
+
+    @Test
+    @DisplayName("Les inscriptions sont sommées par genre musical, les conférences étant ignorées")
+    void agreger_SumsRegistrationsByGenre() {
+        // Act
+        List<Groupe> groupes = index.agreger(AnalytiqueIndex.GENRE_MUSICAL, AnalytiqueIndex.INSCRITS, new FiltreAnalyse());
+
+        // Assert
+        assertEquals(Map.of("Jazz", 4L, "Rock", 2L), sommes(groupes));
+        Groupe jazz = groupes.get(0);
+        assertEquals(2, jazz.getNombre());
+        assertEquals(2.0, jazz.getMoyenne());
+    }
+
+    @Test
+    @DisplayName("Les mois sont regroupés dans l'ordre chronologique et les filtres se combinent")
+    void agreger_GroupsByMonthWithFilters() {
+        // Act
+        List<Groupe> parMois = index.agreger(AnalytiqueIndex.MOIS, AnalytiqueIndex.INSCRITS, new FiltreAnalyse());
+        List<Groupe> concertsAuStade = index.agreger(AnalytiqueIndex.MOIS, AnalytiqueIndex.CAPACITE,
+                new FiltreAnalyse().setType("concert").setLieu("stade"));
+
+        // Assert
+        assertEquals(List.of("2030-06", "2030-07"), parMois.stream().map(Groupe::getGroupe).toList());
+        assertEquals(5, parMois.get(0).getSomme());
+        assertEquals(Map.of("2030-06", 100L, "2030-07", 100L), sommes(concertsAuStade));
+    }
+
+    @Test
+    @DisplayName("Une inscription et une suppression sont reportées dans la projection")
+    void mutations_AreReflected() throws Exception {
+        // Arrange
+        Participant nouveau = new Participant("Nouveau", "nouveau@example.com");
+        nouveau.setId("nouveau");
+
+        // Act
+        rockJuin.ajouterParticipant(nouveau);
+        index.onInscription(rockJuin, nouveau);
+        index.onSuppression(jazzJuillet);
+
+        // Assert
+        List<Groupe> parLieu = index.agreger(AnalytiqueIndex.LIEU, AnalytiqueIndex.INSCRITS,
+                new FiltreAnalyse().setAnnule(false));
+        assertEquals(Map.of("Palais des Sports", 3L, "Stade", 3L), sommes(parLieu));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Une dimension inconnue est refusée")
+    void agreger_RejectsUnknownDimension() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.agreger("artiste", AnalytiqueIndex.INSCRITS, new FiltreAnalyse()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.POO;
+
+import com.project.POO.index.AutocompletionIndex;
+import com.project.POO.index.AutocompletionIndex.Suggestion;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Participant;
+import com.project.POO.utils.TrieCompletion;
+import com.project.POO.utils.TrieCompletion.Completion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutocompletionIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 5, 12, 20, 0);
+
+    private AutocompletionIndex index;
+    private Concert jazz;
+    private Conference java;
+    private Participant alice;
+    private Participant albert;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompletionIndex();
+
+        jazz = new Concert("Festival Jazz", DATE, "Palais des Sports", 500, "Manu", "Jazz");
+        jazz.setId("e1");
+        java = new Conference("Java avancé", DATE, "Palais des Congrès", 100, "Java");
+        java.setId("e2");
+
+        alice = new Participant("Alice Martin", "alice@example.com");
+        alice.setId("p1");
+        albert = new Participant("Albert Durand", "albert@example.com");
+        albert.setId("p2");
+        index.indexerParticipant(alice);
+        index.indexerParticipant(albert);
+    }
+
+    @Test
+    @DisplayName("Le trie propose les complétions d'un préfixe, les plus lourdes en premier")
+    void trie_ReturnsTopKByWeight() {
+        // Arrange
+        TrieCompletion<Integer> trie = new TrieCompletion<>();
+        for (int i = 0; i < 30; i++) {
+            trie.indexer(i, "Concert " + i, i);
+        }
+
+        // Act
+        List<Integer> meilleures = cles(trie.completer("con", 3));
+
+        // Assert
+        assertEquals(List.of(29, 28, 27), meilleures);
+        assertEquals(List.of(29), cles(trie.completer("29", 5)));
+
+        // Une baisse de poids fait remonter des entrées qui n'étaient pas dans le top
+        trie.ajusterPoids(29, 0);
+        trie.ajusterPoids(28, 0);
+        trie.retirer(27);
+        assertEquals(List.of(26, 25, 24), cles(trie.completer("CON", 3)));
+        assertTrue(trie.completer("xyz", 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les événements et lieux sont proposés par nombre d'inscrits, à partir de n'importe quel mot")
+    void completerEvenements_RanksByRegistrations() throws Exception {
+        // Arrange
+        index.onChargement(List.of(jazz, java));
+        jazz.ajouterParticipant(alice);
+        index.onInscription(jazz, alice);
+
+        // Act
+        List<Suggestion> suggestions = index.completerEvenements("pal", 10);
+
+        // Assert
+        assertEquals(List.of("Palais des Sports", "Palais des Congrès"),
+                suggestions.stream().map(Suggestion::getLibelle).collect(Collectors.toList()));
+        assertEquals(Suggestion.LIEU, suggestions.get(0).getType());
+        assertEquals(1, suggestions.get(0).getPoids());
+        assertEquals(List.of("e1"), index.completerEvenements("jaz", 10).stream()
+                .filter(s -> Suggestion.EVENEMENT.equals(s.getType()))
+                .map(Suggestion::getId)
+                .collect(Collectors.toList()));
+        assertEquals("e2", index.completerEvenements("avance", 10).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Un événement annulé ou supprimé n'est plus proposé, ni son lieu s'il était le seul")
+    void annulationEtSuppression_UpdateSuggestions() {
+        // Arrange
+        index.onChargement(List.of(jazz, java));
+
+        // Act
+        jazz.setAnnule(true);
+        index.onEnregistrement(jazz);
+        index.onSuppression(java);
+
+        // Assert
+        assertTrue(index.completerEvenements("fes", 10).isEmpty());
+        assertTrue(index.completerEvenements("palais", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les participants sont classés par nombre d'inscriptions")
+    void completerParticipants_RanksByRegistrations() throws Exception {
+        // Arrange
+        index.onChargement(List.of(jazz, java));
+
+        // Act
+        java.ajouterParticipant(albert);
+        index.onInscription(java, albert);
+
+        // Assert
+        assertEquals(List.of("p2", "p1"), index.completerParticipants("al", 10).stream()
+                .map(Suggestion::getId).collect(Collectors.toList()));
+
+        java.supprimerParticipant(albert);
+        index.onDesinscription(java, albert);
+        index.retirerParticipants(List.of("p1"));
+        assertEquals(List.of("p2"), index.completerParticipants("al", 10).stream()
+                .map(Suggestion::getId).collect(Collectors.toList()));
+        assertEquals(0, index.completerParticipants("durand", 10).get(0).getPoids());
+    }
+
+    private static <K> List<K> cles(List<Completion<K>> completions) {
+        return completions.stream().map(Completion::getCle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.POO;
+
+import com.project.POO.utils.CacheResultats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheResultatsTest {
+
+    private CacheResultats<String, List<String>> cache;
+    private AtomicInteger calculs;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheResultats<>(3, 10, List::size);
+        calculs = new AtomicInteger();
+    }
+
+    private List<String> obtenir(String cle, String prefixe, List<String> resultat) {
+        return cache.obtenir(cle, valeur -> valeur.startsWith(prefixe), () -> {
+            calculs.incrementAndGet();
+            return resultat;
+        }, ids -> ids);
+    }
+
+    @Test
+    @DisplayName("Une seconde lecture est servie par le cache et comptée comme un succès")
+    void obtenir_ServesSecondReadFromCache() {
+        // Act
+        obtenir("a", "a", List.of("a1", "a2"));
+        List<String> resultat = obtenir("a", "a", List.of("autre"));
+
+        // Assert
+        assertEquals(List.of("a1", "a2"), resultat);
+        assertEquals(1, calculs.get());
+        CacheResultats.Statistiques statistiques = cache.statistiques();
+        assertEquals(1, statistiques.getSucces());
+        assertEquals(1, statistiques.getEchecs());
+        assertEquals(0.5, statistiques.getTauxSucces());
+    }
+
+    @Test
+    @DisplayName("Une modification ne retire que les entrées qui contenaient l'entité ou qu'elle rejoint")
+    void invalider_RemovesOnlyMatchingEntries() {
+        // Arrange
+        obtenir("a", "a", List.of("a1"));
+        obtenir("b", "b", List.of("b1"));
+
+        // Act : b2 rejoint la portée de "b", a1 quitte "a" en changeant de valeur
+        cache.invalider("b2", "b2");
+        cache.invalider("a1", "z1");
+
+        // Assert
+        assertEquals(0, cache.size());
+        obtenir("c", "c", List.of("c1"));
+        cache.invalider("x", "x");
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.statistiques().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Les entrées les moins récemment lues sont évincées au-delà du nombre d'entrées")
+    void obtenir_EvictsLeastRecentlyUsedBeyondMaxEntries() {
+        // Arrange
+        obtenir("a", "a", List.of("a1"));
+        obtenir("b", "b", List.of("b1"));
+        obtenir("c", "c", List.of("c1"));
+        obtenir("a", "a", List.of());
+
+        // Act
+        obtenir("d", "d", List.of("d1"));
+
+        // Assert : "b" était la moins récemment lue
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.statistiques().getEvictionsTaille());
+        obtenir("a", "a", List.of());
+        assertEquals(4, calculs.get());
+        obtenir("b", "b", List.of("b1"));
+        assertEquals(5, calculs.get());
+    }
+
+    @Test
+    @DisplayName("Le poids total des entrées reste sous sa borne")
+    void obtenir_EvictsBeyondMaxWeight() {
+        // Arrange
+        List<String> grand = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            grand.add("g" + i);
+        }
+        obtenir("a", "a", List.of("a1", "a2", "a3"));
+
+        // Act
+        obtenir("g", "g", grand);
+
+        // Assert
+        CacheResultats.Statistiques statistiques = cache.statistiques();
+        assertEquals(1, statistiques.getEntrees());
+        assertEquals(8, statistiques.getPoids());
+        assertEquals(1, statistiques.getEvictionsPoids());
+    }
+
+    @Test
+    @DisplayName("Un résultat calculé pendant une modification n'est pas conservé")
+    void obtenir_DiscardsResultComputedDuringInvalidation() {
+        // Act
+        cache.obtenir("a", valeur -> true, () -> {
+            cache.invalider("x", "x");
+            return List.of("a1");
+        }, ids -> ids);
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.statistiques().getCalculsPerimes());
+    }
+}
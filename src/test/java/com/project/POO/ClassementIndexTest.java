@@ -0,0 +1,105 @@
+package com.project.POO;
+
+import com.project.POO.index.ClassementIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassementIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 5, 12, 20, 0);
+
+    private ClassementIndex index;
+    private Concert petit;
+    private Concert moyen;
+    private Concert grand;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ClassementIndex();
+        petit = concert("petit", 4, 3);
+        moyen = concert("moyen", 10, 5);
+        grand = concert("grand", 100, 8);
+        index.onChargement(Arrays.asList(petit, moyen, grand));
+    }
+
+    private static Concert concert(String id, int capacite, int inscrits) throws Exception {
+        Concert concert = new Concert("Concert " + id, DATE, "Stade", capacite, "artiste", "Jazz");
+        concert.setId(id);
+        for (int i = 0; i < inscrits; i++) {
+            Participant participant = new Participant("P" + i, id + i + "@example.com");
+            participant.setId(id + "-p" + i);
+            concert.ajouterParticipant(participant);
+        }
+        return concert;
+    }
+
+    private static List<String> ids(List<Evenement> evenements) {
+        return evenements.stream().map(Evenement::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Les événements populaires sont classés par nombre d'inscrits décroissant")
+    void populaires_SortedByRegistrations() {
+        // Act
+        List<Evenement> populaires = index.populaires(2);
+
+        // Assert
+        assertEquals(List.of("grand", "moyen"), ids(populaires));
+    }
+
+    @Test
+    @DisplayName("Une inscription déplace l'événement dans les deux classements")
+    void onInscription_MovesEventInBothRankings() throws Exception {
+        // Arrange
+        Participant participant = new Participant("Nouveau", "nouveau@example.com");
+        participant.setId("nouveau");
+
+        // Act : "moyen" passe à 6 inscrits et 60 % de remplissage
+        moyen.ajouterParticipant(participant);
+        index.onInscription(moyen, participant);
+
+        // Assert
+        assertEquals(List.of("grand", "moyen", "petit"), ids(index.populaires(10)));
+        assertEquals(List.of("petit", "moyen"), ids(index.presqueComplets(0.5, 10)));
+    }
+
+    @Test
+    @DisplayName("Un événement complet ou annulé n'est pas proposé comme presque complet")
+    void presqueComplets_ExcludesFullAndCancelledEvents() throws Exception {
+        // Arrange
+        Participant dernier = new Participant("Dernier", "dernier@example.com");
+        dernier.setId("dernier");
+        petit.ajouterParticipant(dernier);
+        index.onInscription(petit, dernier);
+        moyen.annuler();
+
+        // Act
+        index.onEnregistrement(moyen);
+
+        // Assert
+        assertEquals(List.of(), ids(index.presqueComplets(0.5, 10)));
+        assertEquals(List.of("grand", "petit"), ids(index.populaires(10)));
+    }
+
+    @Test
+    @DisplayName("Une suppression retire l'événement des classements")
+    void onSuppression_RemovesEvent() {
+        // Act
+        index.onSuppression(grand);
+
+        // Assert
+        assertEquals(List.of("moyen", "petit"), ids(index.populaires(10)));
+        assertEquals(2, index.size());
+    }
+}
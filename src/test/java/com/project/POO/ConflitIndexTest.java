@@ -0,0 +1,140 @@
+package com.project.POO;
+
+import com.project.POO.index.ConflitIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConflitIndexTest {
+
+    private static final LocalDateTime MATIN = LocalDateTime.of(2030, 5, 12, 9, 0);
+
+    private ConflitIndex index;
+    private Participant alice;
+    private Conference keynote;
+    private Conference atelier;
+    private Concert soiree;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ConflitIndex();
+        alice = new Participant("Alice", "alice@example.com");
+        alice.setId("p1");
+
+        keynote = new Conference("Keynote", MATIN, "Salle A", 100, "IA");
+        keynote.setId("keynote");
+        keynote.setDureeMinutes(120);
+        atelier = new Conference("Atelier", MATIN.plusHours(1), "Salle B", 30, "IA");
+        atelier.setId("atelier");
+        atelier.setDureeMinutes(60);
+        soiree = new Concert("Soirée", MATIN.plusHours(11), "Stade", 1000, "artiste", "Jazz");
+        soiree.setId("soiree");
+
+        keynote.ajouterParticipant(alice);
+        soiree.ajouterParticipant(alice);
+        index.onChargement(Arrays.asList(keynote, atelier, soiree));
+    }
+
+    private static List<String> ids(List<Evenement> evenements) {
+        return evenements.stream().map(Evenement::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Un créneau qui chevauche une inscription existante est détecté")
+    void chevauchements_DetectsOverlap() {
+        // Act & Assert
+        assertEquals(List.of("keynote"), ids(index.chevauchements("p1", atelier)));
+        assertEquals(List.of(), ids(index.chevauchements("p2", atelier)));
+    }
+
+    @Test
+    @DisplayName("Deux événements sans durée à la même date sont en conflit")
+    void chevauchements_SameStartWithoutDuration() {
+        // Arrange
+        Concert memeHeure = new Concert("Autre soirée", soiree.getDate(), "Salle C", 50, "artiste", "Rock");
+        memeHeure.setId("meme-heure");
+        Concert plusTard = new Concert("Plus tard", soiree.getDate().plusMinutes(1), "Salle C", 50, "artiste", "Rock");
+        plusTard.setId("plus-tard");
+
+        // Act & Assert
+        assertEquals(List.of("soiree"), ids(index.chevauchements("p1", memeHeure)));
+        assertEquals(List.of(), ids(index.chevauchements("p1", plusTard)));
+    }
+
+    @Test
+    @DisplayName("Un créneau sur plusieurs jours est trouvé depuis chacune de ses cases")
+    void chevauchements_SpansSeveralBuckets() throws Exception {
+        // Arrange : festival de trois jours commençant la veille
+        Concert festival = new Concert("Festival", MATIN.minusDays(1), "Plage", 5000, "artiste", "Jazz");
+        festival.setId("festival");
+        festival.setDureeMinutes(3 * 24 * 60);
+        festival.ajouterParticipant(alice);
+        index.onInscription(festival, alice);
+
+        // Act
+        List<String> conflits = ids(index.chevauchements("p1", atelier));
+
+        // Assert
+        assertEquals(List.of("festival", "keynote"), conflits);
+    }
+
+    @Test
+    @DisplayName("Un créneau long est gardé hors des cases et reste détecté jusqu'à la désinscription")
+    void chevauchements_LongSlotKeptOutsideBuckets() throws Exception {
+        // Arrange : résidence de dix jours, bien au-delà de CASES_MAX cases
+        Conference residence = new Conference("Résidence", MATIN.minusDays(5), "Campus", 20, "IA");
+        residence.setId("residence");
+        residence.setDureeMinutes(10 * 24 * 60);
+        residence.ajouterParticipant(alice);
+        index.onInscription(residence, alice);
+        Concert apres = new Concert("Après", MATIN.plusDays(6), "Stade", 100, "artiste", "Rock");
+        apres.setId("apres");
+
+        // Act
+        List<String> conflits = ids(index.chevauchements("p1", atelier));
+        List<List<Evenement>> groupes = index.conflits("p1");
+
+        // Assert
+        assertEquals(List.of("residence", "keynote"), conflits);
+        assertEquals(List.of(), ids(index.chevauchements("p1", apres)));
+        assertEquals(List.of("residence", "keynote", "soiree"), ids(groupes.get(0)));
+        residence.supprimerParticipant(alice);
+        index.onDesinscription(residence, alice);
+        assertEquals(List.of("keynote"), ids(index.chevauchements("p1", atelier)));
+    }
+
+    @Test
+    @DisplayName("Les conflits existants sont regroupés, puis suivent désinscriptions et changements de date")
+    void conflits_FollowMutations() throws Exception {
+        // Arrange
+        atelier.ajouterParticipant(alice);
+        index.onInscription(atelier, alice);
+
+        // Act
+        List<List<Evenement>> avant = index.conflits("p1");
+        atelier.setDate(MATIN.plusHours(4));
+        index.onEnregistrement(atelier);
+        List<List<Evenement>> apresDeplacement = index.conflits("p1");
+
+        // Assert
+        assertEquals(1, avant.size());
+        assertEquals(List.of("keynote", "atelier"), ids(avant.get(0)));
+        assertEquals(new ArrayList<>(), apresDeplacement);
+        soiree.annuler();
+        index.onEnregistrement(soiree);
+        index.onDesinscription(keynote, alice);
+        assertEquals(List.of(), ids(index.chevauchements("p1", keynote)));
+    }
+}
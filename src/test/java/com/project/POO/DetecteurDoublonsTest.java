@@ -0,0 +1,107 @@
+package com.project.POO;
+
+import com.project.POO.model.Participant;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import com.project.POO.service.DetecteurDoublons;
+import com.project.POO.service.DetecteurDoublons.Groupe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetecteurDoublonsTest {
+
+    private DetecteurDoublons detecteur;
+
+    @BeforeEach
+    void setUp() {
+        detecteur = new DetecteurDoublons(new ExecuteurParcours(2, 1));
+    }
+
+    private static Participant participant(String id, String nom, String email) {
+        Participant participant = new Participant(nom, email);
+        participant.setId(id);
+        return participant;
+    }
+
+    private List<List<String>> groupes(List<Participant> participants) {
+        return detecteur.detecter(participants, Comparator.comparing(Participant::getId)).stream()
+                .map(g -> g.getParticipants().stream().map(Participant::getId).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Les variantes d'un même email sont regroupées")
+    void detecter_GroupsEmailVariants() {
+        // Arrange
+        List<Participant> participants = List.of(
+                participant("a", "Jean Dupont", "jean.dupont@example.com"),
+                participant("b", "J. Dupont", " Jean.Dupont+concerts@Example.com"),
+                participant("c", "Marie Curie", "marie@example.com"));
+
+        // Act
+        List<Groupe> groupes = detecteur.detecter(participants, Comparator.comparing(Participant::getId));
+
+        // Assert
+        assertEquals(1, groupes.size());
+        assertEquals(List.of("a", "b"), groupes.get(0).getParticipants().stream().map(Participant::getId).toList());
+        assertEquals(List.of("email identique"), groupes.get(0).getRaisons());
+    }
+
+    @Test
+    @DisplayName("Une faute de frappe dans le nom et un autre domaine sont rapprochés, pas deux homonymes")
+    void detecter_GroupsNameTyposButNotHomonyms() {
+        // Arrange
+        List<Participant> participants = List.of(
+                participant("a", "Élodie Martin", "elodie.martin@example.com"),
+                participant("b", "Martin, Elodei", "elodie.martin@autre.fr"),
+                participant("c", "Elodie Martin", "e.m.1987@courriel.org"));
+
+        // Act & Assert
+        assertEquals(List.of(List.of("a", "b")), groupes(participants));
+    }
+
+    @Test
+    @DisplayName("Les doublons sont regroupés par transitivité, le participant préféré en premier")
+    void detecter_MergesTransitively() {
+        // Arrange
+        List<Participant> participants = List.of(
+                participant("c", "Paul Durand", "paul.durand@example.com"),
+                participant("a", "Paul Durant", "paul.durand@autre.fr"),
+                participant("b", "Paul Durand", "PAUL.DURAND@example.com"));
+
+        // Act
+        List<Groupe> groupes = detecteur.detecter(participants, Comparator.comparing(Participant::getId));
+
+        // Assert
+        assertEquals(1, groupes.size());
+        assertEquals(List.of("a", "b", "c"), groupes.get(0).getParticipants().stream().map(Participant::getId).toList());
+        assertEquals(List.of("email identique", "nom et email proches"), groupes.get(0).getRaisons());
+    }
+
+    @Test
+    @DisplayName("La détection découpée en lots parallèles trouve tous les doublons")
+    void detecter_FindsAllPairsInParallelBatches() {
+        // Arrange : 10 000 participants distincts dont 500 ont une variante de casse
+        List<Participant> participants = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            participants.add(participant("p" + i, "Personne " + i, "personne" + i + "@example.com"));
+        }
+        for (int i = 0; i < 500; i++) {
+            participants.add(participant("q" + i, "Personne " + i, "PERSONNE" + i + "@example.com"));
+        }
+
+        // Act
+        List<List<String>> groupes = groupes(participants);
+
+        // Assert
+        assertEquals(500, groupes.size());
+        assertTrue(groupes.stream().allMatch(g -> g.size() == 2));
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.POO;
+
+import com.project.POO.utils.DictionnaireApproche;
+import com.project.POO.utils.DictionnaireApproche.Correspondance;
+import com.project.POO.utils.DictionnaireApproche.Resultats;
+import com.project.POO.utils.Levenshtein;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionnaireApprocheTest {
+
+    private DictionnaireApproche<String> dictionnaire;
+
+    @BeforeEach
+    void setUp() {
+        dictionnaire = new DictionnaireApproche<>();
+        dictionnaire.indexer("p1", "Pio Djiele", "piodjiele@gmail.com");
+        dictionnaire.indexer("p2", "Marie Djiel", "marie@example.com");
+        dictionnaire.indexer("p3", "Jean Dupont", "jean.dupont@example.com");
+    }
+
+    @Test
+    @DisplayName("La distance de Levenshtein est bornée")
+    void levenshtein_IsBounded() {
+        assertEquals(1, Levenshtein.distance("djiel", "djiele", 3));
+        assertEquals(3, Levenshtein.distance("kitten", "sitting", 3));
+        assertTrue(Levenshtein.distance("abc", "xyzxyz", 2) > 2);
+    }
+
+    @Test
+    @DisplayName("Une faute de frappe retrouve le nom, le plus proche en premier")
+    void rechercher_ToleratesTypos() {
+        // Act
+        List<String> resultat = cles(dictionnaire.rechercher("Djiele", 1, 10));
+
+        // Assert
+        assertEquals(List.of("p1", "p2"), resultat);
+        assertEquals(List.of("p3"), cles(dictionnaire.rechercher("dupond", 1, 10)));
+        assertTrue(dictionnaire.rechercher("dupond", 0, 10).getCorrespondances().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un email mal saisi est retrouvé et plusieurs mots affinent le classement")
+    void rechercher_MatchesEmailsAndRanksByWords() {
+        assertEquals(List.of("p1"), cles(dictionnaire.rechercher("piodjiele@gmial.com", 2, 10)));
+
+        List<Correspondance<String>> resultat = dictionnaire.rechercher("marie djiele", 1, 10).getCorrespondances();
+        assertEquals("p2", resultat.get(0).getCle());
+        assertEquals(2, resultat.get(0).getMotsTrouves());
+    }
+
+    @Test
+    @DisplayName("Une réindexation ou une suppression met le dictionnaire à jour")
+    void indexerEtRetirer_UpdateDictionary() {
+        // Act
+        dictionnaire.indexer("p3", "Jean Martin", "jean.martin@example.com");
+        dictionnaire.retirer("p2");
+
+        // Assert
+        assertTrue(dictionnaire.rechercher("dupont", 1, 10).getCorrespondances().isEmpty());
+        assertEquals(List.of("p3"), cles(dictionnaire.rechercher("martine", 1, 10)));
+        assertEquals(List.of("p1"), cles(dictionnaire.rechercher("djiel", 1, 10)));
+    }
+
+    @Test
+    @DisplayName("Une recherche interrompue par le budget de temps est signalée")
+    void rechercher_ReportsTruncation() {
+        // Arrange
+        DictionnaireApproche<String> sansBudget = new DictionnaireApproche<>(0);
+        sansBudget.indexer("p1", "Pio Djiele");
+
+        // Act
+        Resultats<String> tronques = sansBudget.rechercher("pio djiele", 1, 10);
+        Resultats<String> complets = dictionnaire.rechercher("pio djiele", 1, 10);
+
+        // Assert
+        assertTrue(tronques.isTronquee());
+        assertFalse(complets.isTronquee());
+        assertEquals(List.of("p1", "p2"), cles(complets));
+    }
+
+    private static List<String> cles(Resultats<String> resultats) {
+        return resultats.getCorrespondances().stream().map(Correspondance::getCle).collect(Collectors.toList());
+    }
+}
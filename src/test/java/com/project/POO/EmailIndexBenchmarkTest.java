@@ -0,0 +1,68 @@
+package com.project.POO;
+
+import com.project.POO.model.Participant;
+import com.project.POO.repository.EmailIndex;
+import com.project.POO.repository.store.HeapParticipantStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la latence de recherche par email à 1 million de participants
+ * Lancement : mvn test -Dtest=EmailIndexBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class EmailIndexBenchmarkTest {
+
+    private static final int PARTICIPANTS = 1_000_000;
+    private static final int RECHERCHES_INDEX = 1_000_000;
+    private static final int RECHERCHES_PARCOURS = 20;
+
+    @Test
+    @DisplayName("Recherche par email : index contre parcours complet")
+    void lookupLatency_At1MParticipants() {
+        // Arrange
+        HeapParticipantStore store = new HeapParticipantStore();
+        EmailIndex index = new EmailIndex();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            Participant participant = new Participant("Participant " + i, "user" + i + "@example.com");
+            participant.setId("p" + i);
+            store.put(participant);
+            index.reserver(participant.getId(), participant.getEmail());
+        }
+
+        // Act : recherches via l'index (après une phase de chauffe)
+        for (int i = 0; i < 100_000; i++) {
+            index.get("user" + (i % PARTICIPANTS) + "@example.com");
+        }
+        long debut = System.nanoTime();
+        int trouves = 0;
+        for (int i = 0; i < RECHERCHES_INDEX; i++) {
+            String email = "User" + ThreadLocalRandom.current().nextInt(PARTICIPANTS) + "@example.com";
+            trouves += store.get(index.get(email)) != null ? 1 : 0;
+        }
+        double nsParIndex = (System.nanoTime() - debut) / (double) RECHERCHES_INDEX;
+
+        // Act : ancien parcours de tous les participants
+        debut = System.nanoTime();
+        for (int i = 0; i < RECHERCHES_PARCOURS; i++) {
+            String email = "user" + ThreadLocalRandom.current().nextInt(PARTICIPANTS) + "@example.com";
+            Optional<Participant> resultat = store.values().stream()
+                    .filter(p -> p.getEmail().equals(email))
+                    .findFirst();
+            assertTrue(resultat.isPresent());
+        }
+        double nsParParcours = (System.nanoTime() - debut) / (double) RECHERCHES_PARCOURS;
+
+        // Assert
+        System.out.printf("Recherche par email à %d participants : index %.0f ns, parcours %.0f ns (x%.0f)%n",
+                PARTICIPANTS, nsParIndex, nsParParcours, nsParParcours / nsParIndex);
+        assertEquals(RECHERCHES_INDEX, trouves);
+        assertTrue(nsParIndex < nsParParcours);
+    }
+}
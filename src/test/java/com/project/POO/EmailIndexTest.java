@@ -0,0 +1,100 @@
+package com.project.POO;
+
+import com.project.POO.repository.EmailIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailIndexTest {
+
+    private EmailIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmailIndex();
+    }
+
+    @Test
+    @DisplayName("La recherche ignore la casse et les espaces")
+    void get_NormalizesEmail() {
+        // Arrange
+        index.reserver("p1", "Alice@Example.com ");
+
+        // Act & Assert
+        assertEquals("p1", index.get("alice@example.com"));
+        assertTrue(index.contient("  ALICE@EXAMPLE.COM"));
+        assertNull(index.get("bob@example.com"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    @DisplayName("Un email déjà réservé par un autre participant est refusé")
+    void reserver_RejectsDuplicate() {
+        // Arrange
+        assertTrue(index.reserver("p1", "alice@example.com"));
+
+        // Act & Assert
+        assertFalse(index.reserver("p2", "ALICE@example.com"));
+        assertTrue(index.reserver("p1", "alice@example.com"));
+        assertEquals("p1", index.get("alice@example.com"));
+    }
+
+    @Test
+    @DisplayName("Changer d'email libère l'ancien, la suppression libère le courant")
+    void reserverEtLiberer_UpdateIndex() {
+        // Arrange
+        index.reserver("p1", "alice@example.com");
+
+        // Act
+        index.reserver("p1", "alice@new.com");
+
+        // Assert
+        assertNull(index.get("alice@example.com"));
+        assertTrue(index.reserver("p2", "alice@example.com"));
+
+        // Act
+        index.liberer("p1");
+
+        // Assert
+        assertNull(index.get("alice@new.com"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Des inscriptions simultanées avec le même email n'en réservent qu'une")
+    void reserver_IsAtomicAcrossThreads() throws Exception {
+        // Arrange
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            String id = "p" + t;
+            futures.add(executor.submit(() -> {
+                depart.await();
+                return index.reserver(id, "meme@example.com");
+            }));
+        }
+        depart.countDown();
+        int reussites = 0;
+        for (Future<Boolean> future : futures) {
+            reussites += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, reussites);
+        assertEquals(1, index.size());
+    }
+}
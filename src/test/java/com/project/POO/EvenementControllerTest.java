@@ -11,6 +11,7 @@ import com.project.POO.model.Concert;
 import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
 import com.project.POO.model.Participant;
+import com.project.POO.service.CacheRequetes;
 import com.project.POO.service.EvenementService;
 import com.project.POO.service.ParticipantService;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +51,9 @@ public class EvenementControllerTest {
     @Mock
     private ParticipantService participantService;
 
+    @Spy
+    private CacheRequetes cacheRequetes = new CacheRequetes();
+
     @InjectMocks
     private EvenementController evenementController;
 
@@ -213,6 +217,23 @@ public class EvenementControllerTest {
         verify(evenementService).updateEvenement(eq(conference.getId()), any(Evenement.class));
     }
 
+    @Test
+    @DisplayName("PUT /api/evenements/{id} - Une durée nulle ou supérieure à deux semaines est refusée")
+    void updateEvenement_RejectsInvalidDuration() throws Exception {
+        for (int duree : new int[]{0, -30, Evenement.DUREE_MAX_MINUTES + 1}) {
+            // Arrange
+            conferenceDto.setDureeMinutes(duree);
+
+            // Act & Assert
+            mockMvc.perform(put("/api/evenements/{id}", conference.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(conferenceDto)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(evenementService, never()).updateEvenement(anyString(), any(Evenement.class));
+    }
+
     @Test
     @DisplayName("GET /api/evenements/recherche - Rechercher des événements par lieu")
     void rechercherParLieu_ReturnsMatchingEvents() throws Exception {
@@ -1,14 +1,22 @@
 package com.project.POO;
 
+import com.project.POO.exception.ConflitHoraireException;
 import com.project.POO.exception.EvenementDejaExistantException;
 import com.project.POO.exception.EvenementNotFoundException;
+import com.project.POO.index.AnalytiqueIndex;
+import com.project.POO.index.AutocompletionIndex;
+import com.project.POO.index.ClassementIndex;
+import com.project.POO.index.ConflitIndex;
+import com.project.POO.index.IntervenantIndex;
+import com.project.POO.index.RechercheIndex;
+import com.project.POO.index.RecommandationIndex;
 import com.project.POO.model.Concert;
 import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
 import com.project.POO.model.Participant;
 import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.repository.store.OffHeapParticipantStore;
 import com.project.POO.service.EvenementService;
-import com.project.POO.service.GestionEvenements;
 import com.project.POO.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +34,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +47,25 @@ public class EvenementServiceTest {
     private NotificationService notificationService;
 
     @Mock
-    private GestionEvenements gestionEvenements;
+    private IntervenantIndex intervenantIndex;
+
+    @Mock
+    private RechercheIndex rechercheIndex;
+
+    @Mock
+    private AutocompletionIndex autocompletionIndex;
+
+    @Mock
+    private ClassementIndex classementIndex;
+
+    @Mock
+    private AnalytiqueIndex analytiqueIndex;
+
+    @Mock
+    private ConflitIndex conflitIndex;
+
+    @Mock
+    private RecommandationIndex recommandationIndex;
 
     @InjectMocks
     private EvenementService evenementService;
@@ -63,7 +90,7 @@ public class EvenementServiceTest {
     @DisplayName("Créer un événement avec succès")
     void creerEvenement_Success() throws EvenementDejaExistantException {
         // Arrange
-        when(evenementRepository.existsByNomAndDate(anyString(), any())).thenReturn(false);
+        when(evenementRepository.reserverNomEtDate(any(Evenement.class))).thenReturn(true);
         when(evenementRepository.save(any(Evenement.class))).thenReturn(conference);
 
         // Act
@@ -73,14 +100,13 @@ public class EvenementServiceTest {
         assertNotNull(result);
         assertEquals(conference.getId(), result.getId());
         verify(evenementRepository).save(conference);
-        verify(gestionEvenements).ajouterEvenement(conference);
     }
 
     @Test
     @DisplayName("Création d'un événement échoue si même nom et date")
     void creerEvenement_ThrowsException_WhenEventAlreadyExists() {
         // Arrange
-        when(evenementRepository.existsByNomAndDate(anyString(), any())).thenReturn(true);
+        when(evenementRepository.reserverNomEtDate(any(Evenement.class))).thenReturn(false);
 
         // Act & Assert
         assertThrows(EvenementDejaExistantException.class, () -> {
@@ -162,14 +188,12 @@ public class EvenementServiceTest {
         // Arrange
         when(evenementRepository.findById(conference.getId())).thenReturn(Optional.of(conference));
         doNothing().when(evenementRepository).delete(any(Evenement.class));
-        doNothing().when(gestionEvenements).supprimerEvenement(anyString());
 
         // Act
         evenementService.deleteEvenement(conference.getId());
 
         // Assert
         verify(evenementRepository).delete(conference);
-        verify(gestionEvenements).supprimerEvenement(conference.getId());
     }
 
     @Test
@@ -203,6 +227,42 @@ public class EvenementServiceTest {
         assertTrue(conference.getParticipants().contains(participant));
     }
 
+    @Test
+    @DisplayName("Avec le stockage hors tas, s'inscrire deux fois n'ajoute le participant qu'une fois")
+    void ajouterParticipant_Twice_WithOffHeapStore() throws Exception {
+        // Arrange : chaque inscription relit le participant dans le stockage, comme le contrôleur
+        OffHeapParticipantStore store = new OffHeapParticipantStore(4096);
+        store.put(participant);
+        Participant copie = new Participant(participant.getNom(), participant.getEmail());
+        copie.setId(participant.getId());
+        when(evenementRepository.findById(conference.getId())).thenReturn(Optional.of(conference));
+
+        // Act
+        evenementService.ajouterParticipant(conference.getId(), store.get(participant.getId()));
+        evenementService.ajouterParticipant(conference.getId(), store.get(participant.getId()));
+        evenementService.ajouterParticipant(conference.getId(), copie);
+
+        // Assert
+        assertEquals(1, conference.getParticipants().size());
+        verify(evenementRepository, times(1)).signalerInscription(eq(conference), any(Participant.class));
+        verify(evenementRepository, times(1)).save(conference);
+    }
+
+    @Test
+    @DisplayName("Une inscription sur un créneau déjà occupé est refusée si les conflits sont refusés")
+    void ajouterParticipant_ThrowsConflict_WhenOverlapRejected() {
+        // Arrange
+        when(evenementRepository.findById(conference.getId())).thenReturn(Optional.of(conference));
+        when(conflitIndex.chevauchements(participant.getId(), conference)).thenReturn(List.of(concert));
+        when(conflitIndex.isConflitsRefuses()).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflitHoraireException.class,
+                () -> evenementService.ajouterParticipant(conference.getId(), participant));
+        assertFalse(conference.getParticipants().contains(participant));
+        verify(evenementRepository, never()).save(any(Evenement.class));
+    }
+
     @Test
     @DisplayName("Suppression d'un participant d'un événement")
     void supprimerParticipant_RemovesParticipant() throws EvenementNotFoundException {
@@ -224,8 +284,7 @@ public class EvenementServiceTest {
     @DisplayName("Rechercher des événements par lieu")
     void rechercherParLieu_ReturnMatchingEvents() {
         // Arrange
-        List<Evenement> allEvents = Arrays.asList(conference, concert);
-        when(evenementRepository.findAll()).thenReturn(allEvents);
+        when(evenementRepository.findByLieuContainingIgnoreCase("salle")).thenReturn(Arrays.asList(conference));
 
         // Act
         List<Evenement> result = evenementService.rechercherParLieu("salle");
@@ -254,10 +313,7 @@ public class EvenementServiceTest {
     @DisplayName("Lister les événements disponibles")
     void evenementsDisponibles_ReturnAvailableEvents() {
         // Arrange
-        conference.setAnnule(false);
-        concert.setAnnule(true);
-        List<Evenement> allEvents = Arrays.asList(conference, concert);
-        when(evenementRepository.findAll()).thenReturn(allEvents);
+        when(evenementRepository.findDisponibles()).thenReturn(Arrays.asList(conference));
 
         // Act
         List<Evenement> result = evenementService.evenementsDisponibles();
@@ -290,4 +346,42 @@ public class EvenementServiceTest {
             evenementService.ajouterParticipant(smallConference.getId(), participant);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Ajouter un intervenant signale l'ajout à l'index")
+    void ajouterIntervenant_Success() throws EvenementNotFoundException {
+        // Arrange
+        when(evenementRepository.findById(conference.getId())).thenReturn(Optional.of(conference));
+
+        // Act
+        evenementService.ajouterIntervenant(conference.getId(), participant);
+
+        // Assert
+        assertTrue(((Conference) conference).getIntervenants().contains(participant));
+        verify(evenementRepository).signalerAjoutIntervenant((Conference) conference, participant);
+        verify(evenementRepository).save(conference);
+    }
+
+    @Test
+    @DisplayName("Un concert ne peut pas recevoir d'intervenant")
+    void ajouterIntervenant_ThrowsException_WhenNotConference() {
+        // Arrange
+        when(evenementRepository.findById(concert.getId())).thenReturn(Optional.of(concert));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> evenementService.ajouterIntervenant(concert.getId(), participant));
+        verify(evenementRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Les événements similaires d'un événement inconnu ne sont pas calculés")
+    void evenementsSimilaires_ThrowsException_WhenNotFound() {
+        // Arrange
+        when(evenementRepository.findById("inconnu")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EvenementNotFoundException.class, () -> evenementService.evenementsSimilaires("inconnu", 5));
+        verify(recommandationIndex, never()).similaires(any(), anyInt());
+    }
+}
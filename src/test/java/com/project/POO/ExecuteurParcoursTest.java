@@ -0,0 +1,108 @@
+package com.project.POO;
+
+import com.project.POO.repository.requete.ExecuteurParcours;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecuteurParcoursTest {
+
+    @Test
+    @DisplayName("Un petit volume est filtré séquentiellement sur le thread appelant")
+    void filtrer_StaysSequentialBelowThreshold() {
+        // Arrange
+        ExecuteurParcours executeur = new ExecuteurParcours(2, 1);
+        List<Integer> elements = IntStream.range(0, 1_000).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<Integer> pairs = executeur.filtrer(elements, i -> {
+            threads.add(Thread.currentThread().getName());
+            return i % 2 == 0;
+        });
+
+        // Assert
+        assertEquals(500, pairs.size());
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+        assertEquals(0, executeur.getParallelesExecutes());
+    }
+
+    @Test
+    @DisplayName("Un gros volume est découpé sur le pool dédié et l'ordre est conservé")
+    void filtrer_RunsInParallelOnDedicatedPool() {
+        // Arrange
+        ExecuteurParcours executeur = new ExecuteurParcours(2, 1);
+        List<Integer> elements = IntStream.range(0, Math.max(200_000, executeur.seuil() * 2)).boxed().collect(Collectors.toList());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<Integer> multiples = executeur.filtrer(elements, i -> {
+            threads.add(Thread.currentThread().getName());
+            return i % 7 == 0;
+        });
+
+        // Assert
+        assertEquals(elements.stream().filter(i -> i % 7 == 0).collect(Collectors.toList()), multiples);
+        assertEquals(1, executeur.getParallelesExecutes());
+        assertTrue(threads.stream().anyMatch(nom -> nom.startsWith("parcours-")));
+    }
+
+    @Test
+    @DisplayName("Au-delà du plafond de parcours parallèles, le parcours reste sur le thread appelant")
+    void filtrer_FallsBackWhenParallelScansAreCapped() throws Exception {
+        // Arrange : un premier parcours parallèle occupe l'unique place
+        ExecuteurParcours executeur = new ExecuteurParcours(2, 1);
+        List<Integer> elements = IntStream.range(0, Math.max(200_000, executeur.seuil() * 2)).boxed().collect(Collectors.toList());
+        CountDownLatch demarre = new CountDownLatch(1);
+        CountDownLatch libere = new CountDownLatch(1);
+        Thread occupant = new Thread(() -> executeur.filtrer(elements, i -> {
+            demarre.countDown();
+            try {
+                libere.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }));
+        occupant.start();
+        assertTrue(demarre.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> resultat = executeur.filtrer(elements, i -> {
+            threads.add(Thread.currentThread().getName());
+            return i < 3;
+        });
+        libere.countDown();
+        occupant.join();
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), resultat);
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    @DisplayName("Une fois fermé, le pool refuse les traitements par lots")
+    void fermer_ShutsDownPool() {
+        // Arrange
+        ExecuteurParcours executeur = new ExecuteurParcours(2, 1);
+        assertEquals(42, executeur.executer(ForkJoinTask.adapt(() -> 42)));
+
+        // Act
+        executeur.fermer();
+
+        // Assert
+        assertThrows(RejectedExecutionException.class, () -> executeur.executer(ForkJoinTask.adapt(() -> 42)));
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.POO;
+
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Participant;
+import com.project.POO.repository.FacetteIndex;
+import com.project.POO.utils.BitmapCompressee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FacetteIndexTest {
+
+    private FacetteIndex index;
+    private Conference keynote;
+    private Conference atelier;
+    private Concert concert;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetteIndex();
+
+        keynote = new Conference("Keynote", LocalDateTime.of(2030, 5, 12, 9, 0), "Palais des Congrès", 100, "IA");
+        keynote.setId("c1");
+        atelier = new Conference("Atelier", LocalDateTime.of(2030, 6, 2, 14, 0), "Salle B", 1, "IA");
+        atelier.setId("c2");
+        concert = new Concert("Live", LocalDateTime.of(2030, 5, 20, 20, 0), "Palais des Sports", 1000, "fally", "Mbole");
+        concert.setId("e3");
+
+        index.indexer(keynote);
+        index.indexer(atelier);
+        index.indexer(concert);
+    }
+
+    @Test
+    @DisplayName("Les facettes se combinent par ET entre critères et par OU entre valeurs")
+    void filtrer_CombinesCriteria() {
+        // Act
+        FacetteIndex.Resultat resultat = index.filtrer(Map.of(
+                FacetteIndex.MOIS, List.of("2030-05"),
+                FacetteIndex.TYPE, List.of("conference", "CONCERT")), 10);
+
+        // Assert
+        assertEquals(List.of("c1", "e3"), resultat.getIds());
+        assertEquals(2, resultat.getTotal());
+        assertEquals(Map.of("CONCERT", 1, "CONFERENCE", 1), resultat.getFacettes().get(FacetteIndex.TYPE));
+        assertEquals(List.of("e3"), index.ids(Map.of(FacetteIndex.LIEU, List.of("Palais des Sports"))));
+        assertEquals(List.of("c1"), index.ids(Map.of(FacetteIndex.LIEU, List.of("palais-des-congres"))));
+    }
+
+    @Test
+    @DisplayName("La limite réduit les IDs rendus mais pas le total ni les comptes")
+    void filtrer_LimitKeepsCounts() {
+        // Act
+        FacetteIndex.Resultat resultat = index.filtrer(Map.of(), 1);
+
+        // Assert
+        assertEquals(1, resultat.getIds().size());
+        assertEquals(3, resultat.getTotal());
+        assertEquals(Map.of("2030-05", 2, "2030-06", 1), resultat.getFacettes().get(FacetteIndex.MOIS));
+        assertThrows(IllegalArgumentException.class, () -> index.filtrer(Map.of("prix", List.of("10")), 10));
+    }
+
+    @Test
+    @DisplayName("Les inscriptions, annulations et suppressions mettent les facettes à jour")
+    void indexer_UpdatesFacetsIncrementally() throws Exception {
+        Map<String, List<String>> disponibles = Map.of(
+                FacetteIndex.ANNULE, List.of("false"),
+                FacetteIndex.COMPLET, List.of("false"));
+        assertEquals(List.of("c1", "c2", "e3"), index.ids(disponibles));
+
+        // Act
+        atelier.ajouterParticipant(new Participant("Alice", "alice@example.com"));
+        index.indexer(atelier);
+        concert.setAnnule(true);
+        index.indexer(concert);
+
+        // Assert
+        assertEquals(List.of("c1"), index.ids(disponibles));
+        assertEquals(List.of("c2"), index.ids(Map.of(FacetteIndex.COMPLET, List.of("true"))));
+
+        index.retirer("c1");
+        assertTrue(index.ids(disponibles).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Le bitmap compressé donne les mêmes résultats qu'un ensemble, en tableau comme en bits")
+    void bitmapCompressee_MatchesReferenceSet() {
+        // Arrange : des blocs creux (tableaux) et des blocs denses (bitmaps)
+        Random random = new Random(42);
+        BitmapCompressee a = new BitmapCompressee();
+        BitmapCompressee b = new BitmapCompressee();
+        Set<Integer> refA = new TreeSet<>();
+        Set<Integer> refB = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int va = random.nextInt(70_000);
+            int vb = random.nextInt(200_000);
+            a.ajouter(va);
+            refA.add(va);
+            b.ajouter(vb);
+            refB.add(vb);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int v = random.nextInt(70_000);
+            a.retirer(v);
+            refA.remove(v);
+        }
+
+        // Act & Assert
+        Set<Integer> et = new TreeSet<>(refA);
+        et.retainAll(refB);
+        Set<Integer> ou = new TreeSet<>(refA);
+        ou.addAll(refB);
+        Set<Integer> sauf = new TreeSet<>(refA);
+        sauf.removeAll(refB);
+
+        assertEquals(new ArrayList<>(refA), valeurs(a));
+        assertEquals(new ArrayList<>(et), valeurs(a.et(b)));
+        assertEquals(new ArrayList<>(ou), valeurs(a.ou(b)));
+        assertEquals(new ArrayList<>(sauf), valeurs(a.sauf(b)));
+        assertEquals(et.size(), a.cardinaliteEt(b));
+        assertEquals(refA.contains(123), a.contient(123));
+    }
+
+    private static List<Integer> valeurs(BitmapCompressee bitmap) {
+        List<Integer> valeurs = new ArrayList<>();
+        bitmap.pourChaque(valeurs::add);
+        Set<Integer> distinctes = new HashSet<>(valeurs);
+        assertEquals(distinctes.size(), bitmap.cardinalite());
+        return valeurs;
+    }
+}
@@ -3,15 +3,19 @@ package com.project.POO;
 import com.project.POO.model.Concert;
 import com.project.POO.model.Conference;
 import com.project.POO.model.Evenement;
+import com.project.POO.repository.EvenementCache;
 import com.project.POO.service.GestionEvenements;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class GestionEvenementsTest {
 
@@ -21,8 +25,8 @@ public class GestionEvenementsTest {
 
     @BeforeEach
     void setUp() {
-        // Créer une nouvelle instance pour chaque test
-        gestionEvenements = new GestionEvenements();
+        // Créer une nouvelle instance pour chaque test, sur un cache vide
+        gestionEvenements = new GestionEvenements(new EvenementCache());
 
         conference = new Conference("Conf IA", LocalDateTime.now().plusDays(10), "S1", 100, "Nouvelles technologies sur IA");
         conference.setId("conf-1");
@@ -31,49 +35,16 @@ public class GestionEvenementsTest {
         concert.setId("concert-1");
     }
 
-    @Test
-    @DisplayName("Ajouter un événement")
-    void ajouterEvenement_AddsEventToMap() {
-        // Act
-        gestionEvenements.ajouterEvenement(conference);
-
-        // Assert
-        assertTrue(gestionEvenements.getEvenements().containsKey(conference.getId()));
-        assertEquals(conference, gestionEvenements.getEvenements().get(conference.getId()));
-    }
-
-    @Test
-    @DisplayName("Supprimer un événement")
-    void supprimerEvenement_RemovesEventFromMap() {
-        // Arrange
-        gestionEvenements.ajouterEvenement(conference);
-
-        // Act
-        boolean result = gestionEvenements.supprimerEvenement(conference.getId());
-
-        // Assert
-        assertTrue(result);
-        assertFalse(gestionEvenements.getEvenements().containsKey(conference.getId()));
-    }
-
-    @Test
-    @DisplayName("Supprimer un événement inexistant retourne false")
-    void supprimerEvenement_ReturnsFalse_WhenEventDoesNotExist() {
-        // Act
-        boolean result = gestionEvenements.supprimerEvenement("nonexistent-id");
-
-        // Assert
-        assertFalse(result);
-    }
-
     @Test
     @DisplayName("Rechercher un événement existant")
     void rechercherEvenement_ReturnsEvent_WhenFound() {
         // Arrange
-        gestionEvenements.ajouterEvenement(conference);
+        EvenementCache cache = mock(EvenementCache.class);
+        when(cache.get(conference.getId())).thenReturn(conference);
+        GestionEvenements vue = new GestionEvenements(cache);
 
         // Act
-        Optional<Evenement> result = gestionEvenements.rechercherEvenement(conference.getId());
+        Optional<Evenement> result = vue.rechercherEvenement(conference.getId());
 
         // Assert
         assertTrue(result.isPresent());
@@ -91,15 +62,25 @@ public class GestionEvenementsTest {
     }
 
     @Test
-    @DisplayName("GetEvenements retourne une copie non modifiable de la map")
+    @DisplayName("GetEvenements retourne une vue non modifiable de la map")
     void getEvenements_ReturnsUnmodifiableMap() {
-        // Arrange
-        gestionEvenements.ajouterEvenement(conference);
-        gestionEvenements.ajouterEvenement(concert);
-
         // Act & Assert
         assertThrows(UnsupportedOperationException.class, () -> {
             gestionEvenements.getEvenements().put("new-id", conference);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GestionEvenements lit directement le cache partagé, sans copie")
+    void cachePartage_LuSansCopie() {
+        // Arrange
+        EvenementCache cache = mock(EvenementCache.class);
+        Map<String, Evenement> vueCache = Map.of(conference.getId(), conference, concert.getId(), concert);
+        when(cache.asMap()).thenReturn(vueCache);
+        GestionEvenements vue = new GestionEvenements(cache);
+
+        // Act & Assert
+        assertSame(vueCache, vue.getEvenements());
+        assertEquals(2, vue.getEvenements().size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.POO;
+
+import com.project.POO.index.InscriptionIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InscriptionIndexTest {
+
+    private InscriptionIndex index;
+    private Evenement conference;
+    private Evenement concert;
+    private Participant alice;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new InscriptionIndex();
+
+        conference = new Conference("Conf IA", LocalDateTime.now().plusDays(10), "S1", 100, "IA");
+        conference.setId("conf-1");
+        concert = new Concert("LiveMusic", LocalDateTime.now().plusDays(20), "Canal Olympia", 1000, "fally", "Mbole");
+        concert.setId("concert-1");
+
+        alice = new Participant("Alice", "alice@example.com");
+        alice.setId("p1");
+        conference.ajouterParticipant(alice);
+        concert.ajouterParticipant(alice);
+    }
+
+    @Test
+    @DisplayName("Le chargement reconstruit l'index à partir des participants des événements")
+    void onChargement_RebuildsIndex() {
+        // Act
+        index.onChargement(Arrays.asList(conference, concert));
+
+        // Assert
+        List<String> ids = index.getEvenementsIds("p1");
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(Arrays.asList("conf-1", "concert-1")));
+        assertTrue(index.getEvenementsIds("inconnu").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Inscriptions, désinscriptions et suppressions mettent l'index à jour")
+    void incrementalUpdates() {
+        // Arrange
+        index.onChargement(List.of(conference));
+        Participant bob = new Participant("Bob", "bob@example.com");
+        bob.setId("p2");
+
+        // Act & Assert
+        index.onInscription(concert, bob);
+        assertTrue(index.estInscrit("p2", "concert-1"));
+
+        index.onDesinscription(concert, bob);
+        assertEquals(0, index.nombreInscriptions("p2"));
+
+        index.onSuppression(conference);
+        assertFalse(index.estInscrit("p1", "conf-1"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.POO;
+
+import com.project.POO.index.IntervenantIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervenantIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 5, 12, 9, 0);
+
+    private IntervenantIndex index;
+    private Conference salleA;
+    private Conference salleB;
+    private Participant speaker;
+
+    @BeforeEach
+    void setUp() {
+        index = new IntervenantIndex();
+
+        salleA = new Conference("Keynote", DATE, "Salle A", 100, "IA");
+        salleA.setId("conf-a");
+        salleB = new Conference("Atelier", DATE, "Salle B", 30, "IA");
+        salleB.setId("conf-b");
+
+        speaker = new Participant("Alice", "alice@example.com");
+        speaker.setId("p1");
+        salleA.ajouterIntervenant(speaker);
+    }
+
+    @Test
+    @DisplayName("Le chargement reconstruit l'index à partir des intervenants des conférences")
+    void onChargement_RebuildsIndex() {
+        // Arrange
+        Concert concert = new Concert("Live", DATE, "Stade", 1000, "fally", "Mbole");
+        concert.setId("concert-1");
+
+        // Act
+        index.onChargement(Arrays.asList(salleA, salleB, concert));
+
+        // Assert
+        assertEquals(List.of("conf-a"), index.getConferencesIds("p1"));
+        assertTrue(index.getConferencesIds("inconnu").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les ajouts et retraits d'intervenants mettent l'index à jour")
+    void ajoutEtRetrait_UpdateIndex() {
+        // Arrange
+        index.onChargement(Arrays.asList(salleA, salleB));
+
+        // Act
+        salleB.ajouterIntervenant(speaker);
+        index.onAjoutIntervenant(salleB, speaker);
+
+        // Assert
+        assertEquals(2, index.getConferences("p1").size());
+
+        // Act
+        salleA.supprimerIntervenant(speaker);
+        index.onRetraitIntervenant(salleA, speaker);
+
+        // Assert
+        assertEquals(List.of("conf-b"), index.getConferencesIds("p1"));
+    }
+
+    @Test
+    @DisplayName("Deux conférences à la même date forment une double réservation")
+    void getDoublesReservations_DetectsSameDate() {
+        // Arrange
+        index.onChargement(Arrays.asList(salleA, salleB));
+        salleB.ajouterIntervenant(speaker);
+        index.onAjoutIntervenant(salleB, speaker);
+
+        // Act
+        Map<LocalDateTime, List<Conference>> conflits = index.getDoublesReservations("p1");
+
+        // Assert
+        assertEquals(1, conflits.size());
+        assertEquals(2, conflits.get(DATE).size());
+        assertTrue(index.estOccupe("p1", DATE, "conf-c"));
+    }
+
+    @Test
+    @DisplayName("Une conférence annulée n'entre pas en conflit")
+    void getDoublesReservations_IgnoresCancelled() {
+        // Arrange
+        salleB.ajouterIntervenant(speaker);
+        salleB.annuler();
+        index.onChargement(Arrays.asList(salleA, salleB));
+
+        // Act & Assert
+        assertTrue(index.getDoublesReservations("p1").isEmpty());
+        assertFalse(index.estOccupe("p1", DATE, "conf-a"));
+    }
+
+    @Test
+    @DisplayName("La suppression d'une conférence la retire de l'index")
+    void onSuppression_RemovesConference() {
+        // Arrange
+        index.onChargement(List.of(salleA));
+
+        // Act
+        index.onSuppression(salleA);
+
+        // Assert
+        assertTrue(index.getConferencesIds("p1").isEmpty());
+    }
+}
@@ -1,9 +1,15 @@
 package com.project.POO;
 
+import com.project.POO.exception.EvenementDejaExistantException;
 import com.project.POO.model.Conference;
 import com.project.POO.model.Concert;
 import com.project.POO.model.Evenement;
+import com.project.POO.repository.FacetteIndex;
 import com.project.POO.repository.JsonEvenementRepository;
+import com.project.POO.repository.requete.Plan;
+import com.project.POO.repository.requete.Planificateur;
+import com.project.POO.repository.requete.RequeteEvenements;
+import com.project.POO.repository.requete.Resultat;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -11,7 +17,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -149,6 +157,103 @@ public class JsonEvenementRepositoryTest {
         assertFalse(repository.existsByNomAndDate(conference.getNom(), LocalDateTime.now()));
     }
 
+    @Test
+    @DisplayName("L'index (nom, date) ignore la casse et rejette un doublon")
+    void save_RejectsDuplicateNomAndDate() {
+        // Arrange
+        repository.save(conference);
+        Conference doublon = new Conference("  techconf   2024 ", conference.getDate(), "Autre salle", 10, "IA");
+
+        // Act & Assert
+        assertTrue(repository.existsByNomAndDate("TECHCONF 2024", conference.getDate()));
+        assertFalse(repository.reserverNomEtDate(doublon));
+        assertThrows(EvenementDejaExistantException.class, () -> repository.save(doublon));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Un conflit sur le dernier événement d'un lot annule toutes les réservations du lot")
+    void saveAll_RollsBackReservations_WhenLastEventConflicts() {
+        // Arrange : la conférence est déjà enregistrée puis renommée en mémoire
+        repository.save(conference);
+        String ancienNom = conference.getNom();
+        conference.setNom("TechConf 2025");
+        Conference atelier = new Conference("Atelier IA", conference.getDate(), "Salle B", 20, "IA");
+        Conference doublon = new Conference("TECHCONF 2025", conference.getDate(), "Salle C", 10, "IA");
+
+        // Act
+        assertThrows(EvenementDejaExistantException.class,
+                () -> repository.saveAll(List.of(conference, concert, atelier, doublon)));
+
+        // Assert
+        assertTrue(repository.existsByNomAndDate(ancienNom, conference.getDate()));
+        assertFalse(repository.existsByNomAndDate("TechConf 2025", conference.getDate()));
+        assertFalse(repository.existsByNomAndDate(concert.getNom(), concert.getDate()));
+        assertFalse(repository.existsByNomAndDate("Atelier IA", conference.getDate()));
+        assertEquals(1, repository.count());
+        assertTrue(repository.reserverNomEtDate(atelier));
+    }
+
+    @Test
+    @DisplayName("Renommer ou supprimer un événement libère son ancienne clé (nom, date)")
+    void save_ReleasesPreviousKey() {
+        // Arrange
+        repository.save(conference);
+        String ancienNom = conference.getNom();
+
+        // Act
+        conference.setNom("TechConf 2025");
+        repository.save(conference);
+
+        // Assert
+        assertFalse(repository.existsByNomAndDate(ancienNom, conference.getDate()));
+        assertTrue(repository.existsByNomAndDate("TechConf 2025", conference.getDate()));
+
+        // Act
+        repository.delete(conference);
+
+        // Assert
+        assertFalse(repository.existsByNomAndDate("TechConf 2025", conference.getDate()));
+    }
+
+    @Test
+    @DisplayName("findByDateAfter rend les événements postérieurs triés par date")
+    void findByDateAfter_ReturnsSortedEvents() {
+        // Arrange
+        repository.save(conference);
+        repository.save(concert);
+
+        // Act
+        List<Evenement> result = repository.findByDateAfter(LocalDateTime.now());
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(concert.getId(), result.get(0).getId());
+        assertEquals(conference.getId(), result.get(1).getId());
+        assertTrue(repository.findByDateAfter(conference.getDate()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("La plage de dates suit les changements de date et ignore les annulés")
+    void findByDateBetweenAndAnnuleFalse_FollowsUpdates() {
+        // Arrange
+        repository.save(conference);
+        repository.save(concert);
+        LocalDateTime debut = LocalDateTime.now();
+
+        // Act
+        conference.setDate(debut.plusDays(1));
+        repository.save(conference);
+        concert.annuler();
+        repository.save(concert);
+
+        // Assert
+        List<Evenement> result = repository.findByDateBetweenAndAnnuleFalse(debut, debut.plusDays(20), 10);
+        assertEquals(1, result.size());
+        assertEquals(conference.getId(), result.get(0).getId());
+        assertTrue(repository.findByDateBetweenAndAnnuleFalse(debut.plusDays(2), null, 10).isEmpty());
+    }
+
     @Test
     @DisplayName("Rechercher par lieu fonctionne avec recherche partielle")
     void findByLieuContainingIgnoreCase_WorksWithPartialMatch() {
@@ -212,4 +317,108 @@ public class JsonEvenementRepositoryTest {
         assertEquals("Artiste Populaire", conc.getArtiste());
         assertEquals("Pop", conc.getGenreMusical());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Le planificateur choisit l'index le plus sélectif et vérifie tous les critères")
+    void executer_UsesMostSelectiveIndex() {
+        // Arrange
+        repository.save(conference);
+        repository.save(concert);
+        for (int i = 0; i < 20; i++) {
+            repository.save(new Concert("Concert " + i, LocalDateTime.now().plusDays(40 + i), "Palais des Sports", 500, "Groupe " + i, "Jazz"));
+        }
+
+        // Act
+        RequeteEvenements requete = new RequeteEvenements()
+                .setLieu("stadium")
+                .facette(FacetteIndex.TYPE, "CONCERT");
+        Resultat<Evenement> resultat = repository.executer(requete);
+
+        // Assert
+        assertEquals(List.of(concert.getId()), resultat.getElements().stream().map(Evenement::getId).collect(Collectors.toList()));
+        assertEquals("TRIGRAMMES_LIEU", resultat.getPlan().getAcces());
+        assertEquals(21L, resultat.getPlan().getAlternatives().get("FACETTES_BITMAP"));
+        assertEquals(22L, resultat.getPlan().getAlternatives().get(Planificateur.PARCOURS_COMPLET));
+        assertEquals(1, resultat.getPlan().getRendus());
+    }
+
+    @Test
+    @DisplayName("Sans index utilisable, la requête est un parcours complet paginé par curseur")
+    void executer_FallsBackToScanWithCursor() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Conference("Atelier " + i, LocalDateTime.now().plusDays(i + 1), "Salle " + i, 10, "IA"));
+        }
+        RequeteEvenements requete = new RequeteEvenements().setNom("atelier").setLimite(2);
+
+        // Act
+        Resultat<Evenement> page1 = repository.executer(requete);
+        Resultat<Evenement> page2 = repository.executer(requete.setCurseur(page1.getCurseurSuivant()));
+        Resultat<Evenement> page3 = repository.executer(requete.setCurseur(page2.getCurseurSuivant()));
+
+        // Assert
+        assertEquals(Planificateur.PARCOURS_COMPLET, page1.getPlan().getAcces());
+        assertEquals(List.of("Atelier 0", "Atelier 1"), page1.getElements().stream().map(Evenement::getNom).collect(Collectors.toList()));
+        assertEquals(List.of("Atelier 2", "Atelier 3"), page2.getElements().stream().map(Evenement::getNom).collect(Collectors.toList()));
+        assertEquals(List.of("Atelier 4"), page3.getElements().stream().map(Evenement::getNom).collect(Collectors.toList()));
+        assertNull(page3.getCurseurSuivant());
+        assertThrows(IllegalArgumentException.class, () -> repository.executer(requete.setCurseur("invalide!")));
+    }
+
+    @Test
+    @DisplayName("Le curseur reprend après le dernier élément rendu, même après une suppression")
+    void executer_CursorSurvivesDeletion() {
+        // Arrange
+        List<Evenement> ateliers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ateliers.add(repository.save(new Conference("Atelier " + i, LocalDateTime.now().plusDays(i + 1), "Salle " + i, 10, "IA")));
+        }
+        RequeteEvenements requete = new RequeteEvenements().setNom("atelier").setTri(RequeteEvenements.Tri.NOM)
+                .setDecroissant(true).setLimite(2);
+        Resultat<Evenement> page1 = repository.executer(requete);
+
+        // Act : un élément déjà rendu disparaît avant la page suivante
+        repository.delete(ateliers.get(4));
+        Resultat<Evenement> page2 = repository.executer(requete.setCurseur(page1.getCurseurSuivant()));
+
+        // Assert
+        assertEquals(List.of("Atelier 4", "Atelier 3"), page1.getElements().stream().map(Evenement::getNom).collect(Collectors.toList()));
+        assertEquals(List.of("Atelier 2", "Atelier 1"), page2.getElements().stream().map(Evenement::getNom).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("La recherche libre trouve le texte dans le nom ou dans le lieu")
+    void executer_TexteMatchesNomOrLieu() {
+        // Arrange
+        repository.save(conference);
+        repository.save(concert);
+        repository.save(new Concert("Nuit du Jazz", LocalDateTime.now().plusDays(5), "Palais", 500, "Groupe", "Jazz"));
+
+        // Act
+        Resultat<Evenement> resultat = repository.executer(new RequeteEvenements().setTexte("conf"));
+
+        // Assert : "TechConf 2024" par le nom, "Salle de Conférence" aussi, sans doublon
+        assertEquals(List.of(conference.getId()), resultat.getElements().stream().map(Evenement::getId).collect(Collectors.toList()));
+        assertEquals(1, repository.executer(new RequeteEvenements().setTexte("STADI")).getElements().size());
+        assertEquals(1, repository.executer(new RequeteEvenements().setTexte("jazz")).getElements().size());
+    }
+
+    @Test
+    @DisplayName("Explain décrit le plan par plage de dates sans exécuter la requête")
+    void expliquer_ReportsDatePlan() {
+        // Arrange
+        repository.save(conference);
+        repository.save(concert);
+
+        // Act
+        Plan plan = repository.expliquer(new RequeteEvenements()
+                .setDateMin(LocalDateTime.now().plusDays(20))
+                .setTri(RequeteEvenements.Tri.NOM));
+
+        // Assert
+        assertEquals("INDEX_DATE", plan.getAcces());
+        assertEquals(1L, plan.getEstimation());
+        assertEquals(-1, plan.getRendus());
+        assertEquals(1, plan.getFiltres().size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.POO;
+
+import com.project.POO.model.Organisateur;
+import com.project.POO.model.Participant;
+import com.project.POO.repository.store.OffHeapParticipantStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapParticipantStoreTest {
+
+    private OffHeapParticipantStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Petits slabs pour exercer le changement de slab et le compactage
+        store = new OffHeapParticipantStore(4096);
+    }
+
+    @Test
+    @DisplayName("Stocker puis relire un participant rend l'instance canonique")
+    void put_ThenGet_ReturnsCanonicalInstance() {
+        // Arrange
+        Participant participant = new Participant("Alice Été", "alice@example.com");
+        participant.getNotifications().add("Bienvenue");
+
+        // Act
+        store.put(participant);
+        Participant view = store.get(participant.getId());
+
+        // Assert
+        assertNotNull(view);
+        assertSame(participant, view);
+        assertSame(view, store.get(participant.getId()));
+        assertSame(view, store.values().iterator().next());
+        assertEquals(participant.getId(), view.getId());
+        assertEquals("Alice Été", view.getNom());
+        assertEquals("alice@example.com", view.getEmail());
+        assertEquals(1, view.getNotifications().size());
+    }
+
+    @Test
+    @DisplayName("Les organisateurs et les anciens IDs (UUID, libres) sont conservés")
+    void put_SupportsOrganisateurAndLegacyIds() {
+        // Arrange
+        Organisateur organisateur = new Organisateur("Bob", "bob@example.com");
+        organisateur.setId("org-001");
+        Participant legacy = new Participant("Carol", "carol@example.com");
+        legacy.setId("98b930ed-131e-4d49-9b6d-8b27ae4a18ff");
+
+        // Act
+        store.put(organisateur);
+        store.put(legacy);
+
+        // Assert
+        assertTrue(store.get("org-001") instanceof Organisateur);
+        assertEquals("Carol", store.get(legacy.getId()).getNom());
+        assertNull(store.get("org-002"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    @DisplayName("Mise à jour et suppression")
+    void updateAndRemove() {
+        // Arrange
+        Participant participant = new Participant("Alice", "alice@example.com");
+        store.put(participant);
+
+        // Act
+        participant.setNom("Alice Updated");
+        store.put(participant);
+
+        // Assert
+        assertEquals("Alice Updated", store.get(participant.getId()).getNom());
+        assertEquals(1, store.size());
+        assertTrue(store.remove(participant.getId()));
+        assertFalse(store.containsKey(participant.getId()));
+        assertFalse(store.remove(participant.getId()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Beaucoup de réécritures déclenchent le compactage sans perte")
+    void manyUpdates_CompactWithoutLoss() {
+        // Arrange
+        Participant[] participants = new Participant[500];
+        for (int i = 0; i < participants.length; i++) {
+            participants[i] = new Participant("P" + i, "p" + i + "@example.com");
+            store.put(participants[i]);
+        }
+
+        // Act
+        for (int round = 0; round < 20; round++) {
+            for (Participant participant : participants) {
+                participant.setNom(participant.getNom() + ".");
+                store.put(participant);
+            }
+        }
+        for (int i = 0; i < participants.length; i += 2) {
+            store.remove(participants[i].getId());
+        }
+
+        // Assert
+        Collection<Participant> values = store.values();
+        assertEquals(250, values.size());
+        assertEquals(250, store.size());
+        assertEquals("P1" + ".".repeat(20), store.get(participants[1].getId()).getNom());
+        assertTrue(store.getReservedBytes() < 20L * 500 * 64);
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.POO;
+
+import com.project.POO.index.OrganisateurIndex;
+import com.project.POO.index.StatistiquesOrganisateur;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Organisateur;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrganisateurIndexTest {
+
+    private static final LocalDateTime MAINTENANT = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private OrganisateurIndex index;
+    private Organisateur bob;
+    private Conference conference;
+    private Concert concert;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new OrganisateurIndex(Clock.fixed(Instant.parse("2030-01-01T12:00:00Z"), ZoneOffset.UTC));
+
+        bob = new Organisateur("Bob", "bob@example.com");
+        bob.setId("org-1");
+
+        conference = new Conference("Conf IA", MAINTENANT.plusDays(10), "S1", 100, "IA");
+        conference.setId("conf-1");
+        concert = new Concert("LiveMusic", MAINTENANT.minusDays(3), "Canal Olympia", 1000, "fally", "Mbole");
+        concert.setId("concert-1");
+        bob.organiserEvenement(conference);
+        bob.organiserEvenement(concert);
+
+        Participant alice = new Participant("Alice", "alice@example.com");
+        alice.setId("p1");
+        conference.ajouterParticipant(alice);
+    }
+
+    @Test
+    @DisplayName("Le chargement calcule les agrégats de chaque organisateur")
+    void onChargement_ComputesAggregates() {
+        // Act
+        index.onChargement(Arrays.asList(conference, concert));
+
+        // Assert
+        StatistiquesOrganisateur stats = index.getStatistiques("org-1");
+        assertEquals(2, stats.getNombreEvenements());
+        assertEquals(1100, stats.getPlacesTotales());
+        assertEquals(1, stats.getPlacesVendues());
+        assertEquals(0, stats.getAnnulations());
+        assertEquals(1, stats.getAVenir());
+        assertTrue(index.getEvenementsIds("org-1").containsAll(List.of("conf-1", "concert-1")));
+    }
+
+    @Test
+    @DisplayName("L'annulation par l'organisateur met à jour annulations et événements à venir")
+    void annulerEvenement_UpdatesAggregates() {
+        // Arrange
+        index.onChargement(Arrays.asList(conference, concert));
+
+        // Act
+        assertTrue(bob.annulerEvenement(conference));
+        index.onEnregistrement(conference);
+
+        // Assert
+        StatistiquesOrganisateur stats = index.getStatistiques("org-1");
+        assertEquals(2, stats.getNombreEvenements());
+        assertEquals(1, stats.getAnnulations());
+        assertEquals(0, stats.getAVenir());
+        assertFalse(bob.annulerEvenement(conference));
+    }
+
+    @Test
+    @DisplayName("Les enregistrements successifs n'appliquent que la différence")
+    void onEnregistrement_AppliesDelta() throws Exception {
+        // Arrange
+        index.onChargement(Arrays.asList(conference, concert));
+        Participant charlie = new Participant("Charlie", "charlie@example.com");
+        charlie.setId("p2");
+
+        // Act
+        conference.ajouterParticipant(charlie);
+        conference.setCapaciteMax(120);
+        index.onEnregistrement(conference);
+        index.onEnregistrement(conference);
+
+        // Assert
+        StatistiquesOrganisateur stats = index.getStatistiques("org-1");
+        assertEquals(1120, stats.getPlacesTotales());
+        assertEquals(2, stats.getPlacesVendues());
+    }
+
+    @Test
+    @DisplayName("La suppression d'un événement le retire des agrégats")
+    void onSuppression_RemovesContribution() {
+        // Arrange
+        index.onChargement(Arrays.asList(conference, concert));
+
+        // Act
+        index.onSuppression(conference);
+
+        // Assert
+        StatistiquesOrganisateur stats = index.getStatistiques("org-1");
+        assertEquals(1, stats.getNombreEvenements());
+        assertEquals(0, stats.getPlacesVendues());
+        assertEquals(0, stats.getAVenir());
+        assertEquals(List.of("concert-1"), index.getEvenementsIds("org-1"));
+        assertEquals(0, index.getStatistiques("inconnu").getNombreEvenements());
+    }
+}
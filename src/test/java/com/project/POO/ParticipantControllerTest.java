@@ -7,6 +7,7 @@ import com.project.POO.exception.GlobalExceptionHandler;
 import com.project.POO.exception.ParticipantNotFoundException;
 import com.project.POO.model.Organisateur;
 import com.project.POO.model.Participant;
+import com.project.POO.service.CacheRequetes;
 import com.project.POO.service.ParticipantService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -40,6 +42,9 @@ public class ParticipantControllerTest {
     @Mock
     private ParticipantService participantService;
 
+    @Spy
+    private CacheRequetes cacheRequetes = new CacheRequetes();
+
     @InjectMocks
     private ParticipantController participantController;
 
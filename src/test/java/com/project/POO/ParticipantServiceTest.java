@@ -1,22 +1,38 @@
 package com.project.POO;
 
+import com.project.POO.exception.ConflitHoraireException;
 import com.project.POO.exception.ParticipantNotFoundException;
+import com.project.POO.index.AutocompletionIndex;
+import com.project.POO.index.ConflitIndex;
+import com.project.POO.index.InscriptionIndex;
+import com.project.POO.index.IntervenantIndex;
+import com.project.POO.index.OrganisateurIndex;
+import com.project.POO.index.StatistiquesOrganisateur;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
 import com.project.POO.model.Organisateur;
 import com.project.POO.model.Participant;
+import com.project.POO.repository.JsonEvenementRepository;
 import com.project.POO.repository.JsonParticipantRepository;
+import com.project.POO.service.CacheRequetes;
+import com.project.POO.service.DetecteurDoublons;
 import com.project.POO.service.NotificationService;
 import com.project.POO.service.ParticipantService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +48,30 @@ public class ParticipantServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private JsonEvenementRepository evenementRepository;
+
+    @Mock
+    private InscriptionIndex inscriptionIndex;
+
+    @Mock
+    private IntervenantIndex intervenantIndex;
+
+    @Mock
+    private OrganisateurIndex organisateurIndex;
+
+    @Mock
+    private AutocompletionIndex autocompletionIndex;
+
+    @Mock
+    private CacheRequetes cacheRequetes;
+
+    @Mock
+    private ConflitIndex conflitIndex;
+
+    @Mock
+    private DetecteurDoublons detecteurDoublons;
+
     @InjectMocks
     private ParticipantService participantService;
 
@@ -267,4 +307,205 @@ public class ParticipantServiceTest {
         assertNotNull(result.getId());
         assertEquals("auto-generated-id", result.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Les événements d'un participant viennent de l'index inverse")
+    void getEvenementsInscrits_UsesReverseIndex() throws ParticipantNotFoundException {
+        // Arrange
+        Conference conference = new Conference("Conf IA", LocalDateTime.now().plusDays(10), "S1", 100, "IA");
+        conference.setId("conf-1");
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+        when(inscriptionIndex.getEvenementsIds(participant.getId())).thenReturn(Arrays.asList("conf-1", "supprime"));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(conference));
+        when(evenementRepository.findById("supprime")).thenReturn(Optional.empty());
+
+        // Act
+        List<Evenement> result = participantService.getEvenementsInscrits(participant.getId());
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("conf-1", result.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("La suppression détache le participant de ses événements et conférences en un seul enregistrement")
+    @SuppressWarnings("unchecked")
+    void deleteParticipant_CascadesThroughIndexes() throws Exception {
+        // Arrange
+        Conference inscrit = new Conference("Conf IA", LocalDateTime.now().plusDays(10), "S1", 100, "IA");
+        inscrit.setId("conf-1");
+        inscrit.ajouterParticipant(participant);
+        Conference intervention = new Conference("Conf Data", LocalDateTime.now().plusDays(12), "S2", 100, "Data");
+        intervention.setId("conf-2");
+        intervention.getIntervenants().add(participant);
+
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+        when(inscriptionIndex.getEvenementsIds(participant.getId())).thenReturn(List.of("conf-1"));
+        when(intervenantIndex.getConferencesIds(participant.getId())).thenReturn(List.of("conf-2"));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(inscrit));
+        when(evenementRepository.findById("conf-2")).thenReturn(Optional.of(intervention));
+
+        // Act
+        participantService.deleteParticipant(participant.getId());
+
+        // Assert
+        assertTrue(inscrit.getParticipants().isEmpty());
+        assertTrue(inscrit.getObservers().isEmpty());
+        assertTrue(intervention.getIntervenants().isEmpty());
+        verify(evenementRepository).signalerDesinscription(inscrit, participant);
+        verify(evenementRepository, times(1)).saveAll(argThat((Collection<Evenement> lot) -> lot.size() == 2));
+        verify(evenementRepository, never()).save(any(Evenement.class));
+        verify(participantRepository).delete(participant);
+    }
+
+    @Test
+    @DisplayName("La suppression groupée supprime tous les participants en une écriture")
+    void deleteParticipants_DeletesInBatch() {
+        // Arrange
+        when(participantRepository.deleteAllById(anyCollection())).thenReturn(2);
+
+        // Act
+        int result = participantService.deleteParticipants(List.of(participant.getId(), organisateur.getId()));
+
+        // Assert
+        assertEquals(2, result);
+        verify(participantRepository, times(1)).deleteAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("La fusion reporte inscriptions et interventions sur le participant conservé en une écriture")
+    void fusionnerParticipants_RewiresMemberships() throws Exception {
+        // Arrange
+        Participant doublon = new Participant("alice", "Alice@Example.com");
+        doublon.setId("part-789");
+        Conference conference = new Conference("Conf", LocalDateTime.now().plusDays(5), "S1", 1, "IA");
+        conference.setId("conf-1");
+        conference.ajouterParticipant(doublon);
+        conference.ajouterIntervenant(doublon);
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+        when(participantRepository.findById(doublon.getId())).thenReturn(Optional.of(doublon));
+        when(participantRepository.fusionner(participant, Set.of(doublon.getId()))).thenReturn(participant);
+        when(inscriptionIndex.getEvenementsIds(doublon.getId())).thenReturn(List.of("conf-1"));
+        when(intervenantIndex.getConferencesIds(doublon.getId())).thenReturn(List.of("conf-1"));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(conference));
+
+        // Act
+        Participant result = participantService.fusionnerParticipants(participant.getId(), List.of(doublon.getId()));
+
+        // Assert : les index ne sont notifiés qu'après l'enregistrement des événements
+        assertSame(participant, result);
+        assertEquals(List.of(participant), conference.getParticipants());
+        assertEquals(List.of(participant), conference.getIntervenants());
+        InOrder ordre = inOrder(evenementRepository, participantRepository);
+        ordre.verify(evenementRepository, times(1)).saveAll(anyCollection());
+        ordre.verify(evenementRepository).signalerDesinscription(conference, doublon);
+        ordre.verify(evenementRepository).signalerInscription(conference, participant);
+        ordre.verify(participantRepository).fusionner(participant, Set.of(doublon.getId()));
+        verify(participantRepository, never()).save(any());
+        verify(participantRepository, never()).deleteAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Si les conflits sont refusés, une inscription reprise qui chevauche l'agenda du conservé bloque la fusion")
+    void fusionnerParticipants_ThrowsException_WhenTakenOverSlotConflicts() throws Exception {
+        // Arrange
+        Participant doublon = new Participant("alice", "Alice@Example.com");
+        doublon.setId("part-789");
+        Conference conference = new Conference("Conf", LocalDateTime.now().plusDays(5), "S1", 10, "IA");
+        conference.setId("conf-1");
+        conference.ajouterParticipant(doublon);
+        Conference memeHeure = new Conference("Autre", conference.getDate(), "S2", 10, "IA");
+        memeHeure.setId("conf-2");
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+        when(participantRepository.findById(doublon.getId())).thenReturn(Optional.of(doublon));
+        when(inscriptionIndex.getEvenementsIds(doublon.getId())).thenReturn(List.of("conf-1"));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(conference));
+        when(conflitIndex.chevauchements(participant.getId(), conference)).thenReturn(List.of(memeHeure));
+        when(conflitIndex.isConflitsRefuses()).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflitHoraireException.class,
+                () -> participantService.fusionnerParticipants(participant.getId(), List.of(doublon.getId())));
+        assertEquals(List.of(doublon), conference.getParticipants());
+        verify(evenementRepository, never()).saveAll(anyCollection());
+        verify(evenementRepository, never()).signalerDesinscription(any(), any());
+        verify(participantRepository, never()).fusionner(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Un organisateur ne peut pas être fusionné dans un autre participant")
+    void fusionnerParticipants_ThrowsException_WhenDoublonIsOrganisateur() {
+        // Arrange
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+        when(participantRepository.findById(organisateur.getId())).thenReturn(Optional.of(organisateur));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.fusionnerParticipants(participant.getId(), List.of(organisateur.getId())));
+        verify(evenementRepository, never()).saveAll(anyCollection());
+        verify(participantRepository, never()).fusionner(any(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Annuler un événement organisé enregistre l'annulation")
+    void annulerEvenementOrganise_Success() {
+        // Arrange
+        Conference conference = new Conference("Conf", LocalDateTime.now().plusDays(5), "S1", 10, "IA");
+        conference.setId("conf-1");
+        when(participantRepository.findById(organisateur.getId())).thenReturn(Optional.of(organisateur));
+        when(organisateurIndex.getEvenementsIds(organisateur.getId())).thenReturn(List.of("conf-1"));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(conference));
+
+        // Act
+        participantService.annulerEvenementOrganise(organisateur.getId(), "conf-1");
+
+        // Assert
+        assertTrue(conference.isAnnule());
+        verify(evenementRepository).save(conference);
+    }
+
+    @Test
+    @DisplayName("Un organisateur ne peut pas annuler l'événement d'un autre")
+    void annulerEvenementOrganise_ThrowsException_WhenNotOwner() {
+        // Arrange
+        Conference conference = new Conference("Conf", LocalDateTime.now().plusDays(5), "S1", 10, "IA");
+        conference.setId("conf-1");
+        when(participantRepository.findById(organisateur.getId())).thenReturn(Optional.of(organisateur));
+        when(evenementRepository.findById("conf-1")).thenReturn(Optional.of(conference));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.annulerEvenementOrganise(organisateur.getId(), "conf-1"));
+        assertFalse(conference.isAnnule());
+        verify(evenementRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Les statistiques d'un organisateur ne rechargent pas ses événements")
+    void getStatistiquesOrganisateur_DoesNotRelinkEvents() {
+        // Arrange
+        StatistiquesOrganisateur statistiques = new StatistiquesOrganisateur(2, 150, 15, 1, 1);
+        when(participantRepository.findById(organisateur.getId())).thenReturn(Optional.of(organisateur));
+        when(organisateurIndex.getStatistiques(organisateur.getId())).thenReturn(statistiques);
+
+        // Act
+        StatistiquesOrganisateur resultat = participantService.getStatistiquesOrganisateur(organisateur.getId());
+
+        // Assert
+        assertSame(statistiques, resultat);
+        verify(organisateurIndex, never()).getEvenementsIds(anyString());
+        verifyNoInteractions(evenementRepository);
+    }
+
+    @Test
+    @DisplayName("Les statistiques d'un simple participant sont refusées")
+    void getStatistiquesOrganisateur_ThrowsException_WhenNotOrganisateur() {
+        // Arrange
+        when(participantRepository.findById(participant.getId())).thenReturn(Optional.of(participant));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> participantService.getStatistiquesOrganisateur(participant.getId()));
+        verify(organisateurIndex, never()).getStatistiques(anyString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.POO;
+
+import com.project.POO.index.RechercheIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RechercheIndexTest {
+
+    private RechercheIndex index;
+    private Concert jazzDouala;
+    private Concert jazzYaounde;
+    private Conference conference;
+
+    @BeforeEach
+    void setUp() {
+        index = new RechercheIndex();
+
+        jazzDouala = new Concert("Nuit du Jazz", LocalDateTime.now().plusDays(5), "Douala", 500, "Manu Dibango", "Jazz");
+        jazzDouala.setId("c1");
+        jazzYaounde = new Concert("Soirée Makossa", LocalDateTime.now().plusDays(6), "Yaoundé", 500, "Petit Pays", "Jazz");
+        jazzYaounde.setId("c2");
+        conference = new Conference("Forum Numérique", LocalDateTime.now().plusDays(7), "Douala", 200, "Intelligence artificielle");
+        conference.setId("f1");
+
+        index.onChargement(Arrays.asList(jazzDouala, jazzYaounde, conference));
+    }
+
+    @Test
+    @DisplayName("Un événement qui contient tous les mots est classé en premier")
+    void rechercher_RanksEventsMatchingAllTerms() {
+        // Act
+        List<String> resultat = index.rechercher("jazz Douala", 10);
+
+        // Assert
+        assertEquals(3, resultat.size());
+        assertEquals("c1", resultat.get(0));
+    }
+
+    @Test
+    @DisplayName("Les accents et la casse sont ignorés, la limite est respectée")
+    void rechercher_FoldsAccentsAndLimits() {
+        assertEquals(List.of("c2"), index.rechercher("YAOUNDE", 10));
+        assertEquals(List.of("f1"), index.rechercher("numerique", 10));
+        assertEquals(1, index.rechercher("jazz", 1).size());
+        assertTrue(index.rechercher("de la", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les modifications et suppressions mettent l'index à jour")
+    void onEnregistrementEtSuppression_UpdateIndex() {
+        // Act
+        jazzYaounde.setLieu("Kribi");
+        index.onEnregistrement(jazzYaounde);
+        index.onSuppression(conference);
+
+        // Assert
+        assertTrue(index.rechercher("yaounde", 10).isEmpty());
+        assertEquals(List.of("c2"), index.rechercher("kribi", 10));
+        assertEquals(List.of("c1"), index.rechercher("douala", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Le découpage retire les mots vides et normalise les termes")
+    void tokeniser_NormalizesTerms() {
+        assertEquals(List.of("salle", "conference", "2024"), RechercheIndex.tokeniser("Salle de Conférence (2024)"));
+    }
+
+    @Test
+    @DisplayName("L'instantané sauvegardé évite de réanalyser les événements au démarrage suivant")
+    void snapshot_AvoidsReindexingAtStartup(@TempDir Path tempDir) {
+        // Arrange
+        Path snapshot = tempDir.resolve("index-recherche.bin");
+        RechercheIndex premier = new RechercheIndex(snapshot);
+        premier.onChargement(Arrays.asList(jazzDouala, jazzYaounde, conference));
+        premier.sauvegarderSnapshot();
+
+        // Act
+        RechercheIndex recharge = new RechercheIndex(snapshot);
+        recharge.onChargement(Arrays.asList(jazzDouala, jazzYaounde, conference));
+
+        // Assert
+        assertTrue(Files.exists(snapshot));
+        assertEquals(3, premier.getDocumentsAnalyses());
+        assertEquals(0, recharge.getDocumentsAnalyses());
+        assertEquals(List.of("c1"), recharge.rechercher("dibango", 10));
+    }
+
+    @Test
+    @DisplayName("Seul un événement modifié depuis l'instantané est réanalysé")
+    void snapshot_ReanalyzesOnlyChangedEvents(@TempDir Path tempDir) {
+        // Arrange
+        Path snapshot = tempDir.resolve("index-recherche.bin");
+        RechercheIndex premier = new RechercheIndex(snapshot);
+        premier.onChargement(Arrays.asList(jazzDouala, jazzYaounde, conference));
+        premier.sauvegarderSnapshot();
+        jazzYaounde.setLieu("Kribi");
+
+        // Act
+        RechercheIndex recharge = new RechercheIndex(snapshot);
+        recharge.onChargement(Arrays.asList(jazzDouala, jazzYaounde, conference));
+
+        // Assert
+        assertEquals(1, recharge.getDocumentsAnalyses());
+        assertEquals(List.of("c2"), recharge.rechercher("kribi", 10));
+    }
+}
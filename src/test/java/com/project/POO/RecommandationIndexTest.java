@@ -0,0 +1,153 @@
+package com.project.POO;
+
+import com.project.POO.index.RecommandationIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import com.project.POO.repository.requete.ExecuteurParcours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecommandationIndexTest {
+
+    private RecommandationIndex index;
+    private Concert jazz;
+    private Concert blues;
+    private Concert rock;
+    private Participant alice;
+    private Participant bob;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new RecommandationIndex(2, new ExecuteurParcours(2, 1));
+        jazz = concert("jazz");
+        blues = concert("blues");
+        rock = concert("rock");
+        alice = participant("alice");
+        bob = participant("bob");
+
+        // alice : jazz, blues, rock ; bob : jazz, blues
+        jazz.ajouterParticipant(alice);
+        blues.ajouterParticipant(alice);
+        rock.ajouterParticipant(alice);
+        jazz.ajouterParticipant(bob);
+        blues.ajouterParticipant(bob);
+        index.onChargement(List.of(jazz, blues, rock));
+    }
+
+    private static Concert concert(String id) {
+        Concert concert = new Concert("Concert " + id, LocalDateTime.of(2030, 6, 1, 20, 0), "Stade", 10_000, "artiste", "Jazz");
+        concert.setId(id);
+        return concert;
+    }
+
+    private static Participant participant(String id) {
+        Participant participant = new Participant(id, id + "@example.com");
+        participant.setId(id);
+        return participant;
+    }
+
+    private static List<String> ids(List<Evenement> evenements) {
+        return evenements.stream().map(Evenement::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Les événements similaires sont classés par nombre d'inscrits communs")
+    void similaires_RankedBySharedParticipants() {
+        // Act & Assert
+        assertEquals(List.of("blues", "rock"), ids(index.similaires("jazz", 5)));
+        assertEquals(List.of("blues"), ids(index.similaires("jazz", 1)));
+        assertEquals(2, index.coInscrits("jazz", "blues"));
+        assertEquals(List.of(), ids(index.similaires("inconnu", 5)));
+    }
+
+    @Test
+    @DisplayName("Inscriptions et désinscriptions mettent à jour la table incrémentalement")
+    void inscriptions_UpdateIncrementally() throws Exception {
+        // Arrange : carol s'inscrit à rock et blues, alice quitte blues
+        Participant carol = participant("carol");
+        rock.ajouterParticipant(carol);
+        blues.ajouterParticipant(carol);
+
+        // Act
+        index.onInscription(rock, carol);
+        index.onInscription(blues, carol);
+        blues.supprimerParticipant(alice);
+        index.onDesinscription(blues, alice);
+
+        // Assert
+        assertEquals(1, index.coInscrits("blues", "jazz"));
+        assertEquals(1, index.coInscrits("blues", "rock"));
+        // À égalité, l'ordre suit l'ID
+        assertEquals(List.of("jazz", "rock"), ids(index.similaires("blues", 5)));
+        assertEquals(1, index.coInscrits("rock", "jazz"));
+    }
+
+    @Test
+    @DisplayName("La reconstruction en fork-join retrouve l'état incrémental")
+    void reconstruire_MatchesIncrementalState() throws Exception {
+        // Arrange : assez de participants pour que le comptage soit découpé en plusieurs lots
+        List<Evenement> evenements = new ArrayList<>(List.of(jazz, blues, rock));
+        for (int i = 0; i < 1_000; i++) {
+            Participant participant = participant("p" + i);
+            Evenement premier = evenements.get(i % 3);
+            Evenement second = evenements.get((i + 1) % 3);
+            premier.ajouterParticipant(participant);
+            index.onInscription(premier, participant);
+            if (i % 2 == 0) {
+                second.ajouterParticipant(participant);
+                index.onInscription(second, participant);
+            }
+        }
+        List<String> avant = ids(index.similaires("jazz", 5));
+        int jazzBlues = index.coInscrits("jazz", "blues");
+
+        // Act
+        index.reconstruire();
+
+        // Assert
+        assertEquals(avant, ids(index.similaires("jazz", 5)));
+        assertEquals(jazzBlues, index.coInscrits("jazz", "blues"));
+        assertEquals(jazzBlues, index.coInscrits("blues", "jazz"));
+    }
+
+    @Test
+    @DisplayName("Un événement supprimé ou annulé n'est plus recommandé")
+    void suppressionEtAnnulation_RemoveRecommendations() {
+        // Act
+        index.onSuppression(blues);
+        rock.annuler();
+        index.onEnregistrement(rock);
+
+        // Assert
+        assertEquals(List.of(), ids(index.similaires("jazz", 5)));
+        assertEquals(0, index.coInscrits("jazz", "blues"));
+    }
+
+    @Test
+    @DisplayName("Une annulation laisse sa place au suivant dans les lignes de ses voisins")
+    void annulation_KeepsTopNCandidates() throws Exception {
+        // Arrange : avec TOP_N = 2, la ligne de jazz est [blues, folk] et rock en est exclu
+        Concert folk = concert("folk");
+        folk.ajouterParticipant(alice);
+        index.onInscription(folk, alice);
+        assertEquals(List.of("blues", "folk"), ids(index.similaires("jazz", 2)));
+
+        // Act
+        blues.annuler();
+        index.onEnregistrement(blues);
+
+        // Assert
+        assertEquals(List.of("folk", "rock"), ids(index.similaires("jazz", 2)));
+        index.reconstruire();
+        assertEquals(List.of("folk", "rock"), ids(index.similaires("jazz", 2)));
+    }
+}
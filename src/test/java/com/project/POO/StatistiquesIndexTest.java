@@ -0,0 +1,138 @@
+package com.project.POO;
+
+import com.project.POO.index.StatistiquesEvenements;
+import com.project.POO.index.StatistiquesIndex;
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.model.Evenement;
+import com.project.POO.model.Participant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatistiquesIndexTest {
+
+    private static final LocalDateTime MAINTENANT = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final Instant INSTANT = Instant.parse("2030-01-01T12:00:00Z");
+
+    private StatistiquesIndex index;
+    private Conference atelier;
+    private Conference sommet;
+    private Concert jazz;
+    private Concert festival;
+    private Participant alice;
+    private Participant bob;
+    private Participant carole;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new StatistiquesIndex(Clock.fixed(INSTANT, ZoneOffset.UTC));
+        alice = participant("p1", "Alice");
+        bob = participant("p2", "Bob");
+        carole = participant("p3", "Carole");
+
+        // Atelier complet, sommet ouvert, concert passé, festival annulé
+        atelier = new Conference("Atelier Spring", MAINTENANT.plusDays(2), "Salle B", 2, "Java");
+        atelier.setId("atelier");
+        atelier.ajouterParticipant(alice);
+        atelier.ajouterParticipant(bob);
+        sommet = new Conference("Sommet Cloud", MAINTENANT.plusDays(30), "Palais des congrès", 300, "Cloud");
+        sommet.setId("sommet");
+        sommet.ajouterParticipant(carole);
+        jazz = new Concert("Nuit du Jazz", MAINTENANT.minusDays(1), "Esplanade", 50, "Manu", "Jazz");
+        jazz.setId("jazz");
+        jazz.ajouterParticipant(alice);
+        jazz.ajouterParticipant(bob);
+        jazz.ajouterParticipant(carole);
+        festival = new Concert("Festival d'été", MAINTENANT.plusDays(5), "Stade", 5000, "Groupe", "Rock");
+        festival.setId("festival");
+        festival.annuler();
+        index.onChargement(evenements());
+    }
+
+    @Test
+    @DisplayName("Le chargement calcule les compteurs globaux")
+    void onChargement_ComputesCounters() {
+        // Act
+        StatistiquesEvenements stats = index.instantane();
+
+        // Assert
+        assertEquals(4, stats.getEvenements());
+        assertEquals(1, stats.getAnnules());
+        assertEquals(2, stats.getDisponibles());
+        assertEquals(2, stats.getAVenir());
+        assertEquals(6, stats.getInscriptions());
+    }
+
+    @Test
+    @DisplayName("Une désinscription rend disponible un événement complet")
+    void onDesinscription_UpdatesAvailability() {
+        // Act
+        atelier.supprimerParticipant(bob);
+        index.onDesinscription(atelier, bob);
+
+        // Assert
+        StatistiquesEvenements stats = index.instantane();
+        assertEquals(3, stats.getDisponibles());
+        assertEquals(5, stats.getInscriptions());
+        assertEquals(4, stats.getEvenements());
+    }
+
+    @Test
+    @DisplayName("Une annulation puis une suppression appliquent seulement la différence")
+    void onEnregistrementEtSuppression_ApplyDifference() {
+        // Act
+        sommet.annuler();
+        index.onEnregistrement(sommet);
+        StatistiquesEvenements apresAnnulation = index.instantane();
+        index.onSuppression(jazz);
+
+        // Assert
+        assertEquals(2, apresAnnulation.getAnnules());
+        assertEquals(1, apresAnnulation.getAVenir());
+        assertEquals(1, apresAnnulation.getDisponibles());
+        StatistiquesEvenements stats = index.instantane();
+        assertEquals(3, stats.getEvenements());
+        assertEquals(0, stats.getDisponibles());
+        assertEquals(3, stats.getInscriptions());
+    }
+
+    @Test
+    @DisplayName("Une date passée n'est plus à venir, et sa suppression ne la décompte pas deux fois")
+    void instantane_PurgesPastDates() {
+        // Arrange : trois jours plus tard, l'atelier est passé
+        StatistiquesIndex plusTard = new StatistiquesIndex(
+                Clock.fixed(INSTANT.plusSeconds(3 * 24 * 3600), ZoneOffset.UTC));
+        plusTard.onChargement(evenements());
+
+        // Act
+        StatistiquesEvenements avantSuppression = plusTard.instantane();
+        plusTard.onSuppression(atelier);
+
+        // Assert
+        assertEquals(1, avantSuppression.getAVenir());
+        StatistiquesEvenements stats = plusTard.instantane();
+        assertEquals(1, stats.getAVenir());
+        assertEquals(3, stats.getEvenements());
+        assertEquals(4, stats.getInscriptions());
+    }
+
+    private List<Evenement> evenements() {
+        return Arrays.asList(atelier, sommet, jazz, festival);
+    }
+
+    private static Participant participant(String id, String nom) {
+        Participant participant = new Participant(nom, nom.toLowerCase() + "@example.com");
+        participant.setId(id);
+        return participant;
+    }
+}
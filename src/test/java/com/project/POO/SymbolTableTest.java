@@ -0,0 +1,139 @@
+package com.project.POO;
+
+import com.project.POO.model.Concert;
+import com.project.POO.model.Conference;
+import com.project.POO.utils.Dictionnaires;
+import com.project.POO.utils.SymbolTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolTableTest {
+
+    @Test
+    @DisplayName("Une même valeur reçoit toujours le même code et la même instance")
+    void code_IsStableAndInterned() {
+        // Arrange
+        SymbolTable table = new SymbolTable("test");
+        String first = new String("Douala");
+        String second = new String("Douala");
+
+        // Act
+        int code = table.code(first);
+
+        // Assert
+        assertEquals(code, table.code(second));
+        assertSame(first, table.intern(second));
+        assertEquals("Douala", table.symbol(code));
+        assertEquals(SymbolTable.NO_CODE, table.find("Yaoundé"));
+        assertEquals(SymbolTable.NO_CODE, table.code(null));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    @DisplayName("Le prédicat est évalué une fois par valeur distincte")
+    void matchingCodes_ReturnsMatchingSymbols() {
+        // Arrange
+        SymbolTable table = new SymbolTable("test");
+        int salleA = table.code("Salle A");
+        int stade = table.code("Stade");
+        int salleB = table.code("Salle B");
+
+        // Act
+        BitSet result = table.matchingCodes(s -> s.startsWith("Salle"));
+
+        // Assert
+        assertTrue(result.get(salleA));
+        assertTrue(result.get(salleB));
+        assertFalse(result.get(stade));
+    }
+
+    @Test
+    @DisplayName("L'encodage à l'enregistrement interne lieu, genre, thème et artiste")
+    void encoderDictionnaires_InternsRepeatedStrings() {
+        // Arrange
+        Concert concert1 = new Concert("A", LocalDateTime.now(), new String("Canal Olympia"), 10, new String("Fally"), new String("Rumba"));
+        Concert concert2 = new Concert("B", LocalDateTime.now(), new String("Canal Olympia"), 10, new String("Fally"), new String("Rumba"));
+        Conference conference = new Conference("C", LocalDateTime.now(), "Canal Olympia", 10, new String("IA"));
+
+        // Act
+        concert1.encoderDictionnaires();
+        concert2.encoderDictionnaires();
+        conference.encoderDictionnaires();
+
+        // Assert
+        assertSame(concert1.getLieu(), concert2.getLieu());
+        assertSame(concert1.getArtiste(), concert2.getArtiste());
+        assertSame(concert1.getGenreMusical(), concert2.getGenreMusical());
+        assertEquals(concert1.getLieuCode(), conference.getLieuCode());
+        assertEquals(Dictionnaires.THEMES.find("IA"), conference.getThemeCode());
+    }
+
+    @Test
+    @DisplayName("Les setters n'ajoutent pas aux dictionnaires une valeur jamais enregistrée")
+    void modelSetters_DoNotGrowDictionaries() {
+        // Arrange
+        int taille = Dictionnaires.LIEUX.size();
+
+        // Act
+        Concert concert = new Concert("D", LocalDateTime.now(), "Lieu jamais enregistré 7f3a", 10, "artiste", "genre");
+
+        // Assert
+        assertEquals("Lieu jamais enregistré 7f3a", concert.getLieu());
+        assertEquals(SymbolTable.NO_CODE, concert.getLieuCode());
+        assertEquals(SymbolTable.NO_CODE, Dictionnaires.LIEUX.find("Lieu jamais enregistré 7f3a"));
+        assertEquals(taille, Dictionnaires.LIEUX.size());
+    }
+
+    @Test
+    @DisplayName("Un code obtenu par un autre thread donne toujours son symbole")
+    void intern_Concurrent_NeverReturnsNull() throws Exception {
+        // Arrange : plusieurs threads internent les mêmes nouvelles valeurs en même temps
+        SymbolTable table = new SymbolTable("concurrent");
+        int threads = 4;
+        int valeurs = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Integer>> resultats = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            resultats.add(pool.submit(() -> {
+                depart.await();
+                int absents = 0;
+                for (int i = 0; i < valeurs; i++) {
+                    String valeur = "Lieu " + i;
+                    if (table.intern(valeur) == null) {
+                        absents++;
+                    }
+                    int code = table.find("Lieu " + (i + 1));
+                    if (code != SymbolTable.NO_CODE && table.symbol(code) == null) {
+                        absents++;
+                    }
+                }
+                return absents;
+            }));
+        }
+        depart.countDown();
+        int absents = 0;
+        for (Future<Integer> resultat : resultats) {
+            absents += resultat.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert
+        assertEquals(0, absents);
+        assertEquals(valeurs, table.size());
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.POO;
+
+import com.project.POO.utils.TrigramIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mesure de la recherche par sous-chaîne à 2 millions de noms
+ * Lancement : mvn test -Dtest=TrigramIndexBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TrigramIndexBenchmarkTest {
+
+    private static final int NOMS = 2_000_000;
+    private static final String[] PRENOMS = {"Alice", "Benoît", "Chloé", "David", "Émilie", "François", "Gaëlle", "Hugo"};
+    private static final String[] NOMS_FAMILLE = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand"};
+
+    @Test
+    @DisplayName("Recherche par sous-chaîne : index de trigrammes à 2 millions de noms")
+    void containsLatency_At2MNames() {
+        // Arrange
+        TrigramIndex<String> index = new TrigramIndex<>();
+        for (int i = 0; i < NOMS; i++) {
+            index.indexer("p" + i, PRENOMS[i % PRENOMS.length] + " " + NOMS_FAMILLE[(i / 8) % NOMS_FAMILLE.length] + " " + i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            index.rechercher("durand " + (i * 997));
+        }
+
+        // Act
+        String[] motifs = {"1234567", "martin 99", "ëlle thom", "emilie petit 1999"};
+        for (String motif : motifs) {
+            long debut = System.nanoTime();
+            List<String> resultat = index.rechercher(motif);
+            double ms = (System.nanoTime() - debut) / 1_000_000.0;
+
+            // Assert
+            System.out.printf("Recherche \"%s\" : %d résultats en %.2f ms%n", motif, resultat.size(), ms);
+            assertFalse(resultat.isEmpty());
+        }
+    }
+}
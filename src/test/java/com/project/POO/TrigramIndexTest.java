@@ -0,0 +1,77 @@
+package com.project.POO;
+
+import com.project.POO.utils.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    private TrigramIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex<>();
+        index.indexer("e1", "Salle de Conférence");
+        index.indexer("e2", "Stade Omnisport");
+        index.indexer("e3", "Petite salle B");
+    }
+
+    @Test
+    @DisplayName("La recherche ignore la casse et les accents")
+    void rechercher_IgnoresCaseAndAccents() {
+        assertEquals(List.of("e1", "e3"), index.rechercher("SALLE"));
+        assertEquals(List.of("e1"), index.rechercher("conference"));
+        assertEquals(List.of("e1"), index.rechercher("Conférence"));
+        assertTrue(index.rechercher("piscine").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les candidats des trigrammes sont vérifiés sur la valeur complète")
+    void rechercher_VerifiesCandidates() {
+        // Arrange : "abcxbcd" contient tous les trigrammes de "abcd" sauf l'ordre
+        index.indexer("e4", "abc bcd");
+
+        // Act & Assert
+        assertTrue(index.rechercher("abcd").isEmpty());
+        assertEquals(List.of("e4"), index.rechercher("c b"));
+    }
+
+    @Test
+    @DisplayName("Les motifs de moins de trois caractères sont aussi pris en charge")
+    void rechercher_HandlesShortPatterns() {
+        assertEquals(List.of("e2"), index.rechercher("om"));
+        assertEquals(List.of("e1", "e2", "e3"), index.rechercher("e"));
+    }
+
+    @Test
+    @DisplayName("Une modification réindexe la clé et une suppression la retire")
+    void indexerEtRetirer_UpdateIndex() {
+        // Act
+        index.indexer("e2", "Salle polyvalente");
+        index.retirer("e1");
+
+        // Assert
+        assertEquals(List.of("e3", "e2"), index.rechercher("salle"));
+        assertTrue(index.rechercher("stade").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("La compaction conserve les documents vivants")
+    void compaction_KeepsLiveDocuments() {
+        // Act : assez de modifications pour déclencher la compaction
+        for (int i = 0; i < 5000; i++) {
+            index.indexer("tmp", "Valeur " + i);
+        }
+
+        // Assert
+        assertEquals(List.of("tmp"), index.rechercher("valeur 4999"));
+        assertEquals(List.of("e1", "e3"), index.rechercher("salle"));
+        assertEquals(4, index.size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.POO;
+
+import com.project.POO.model.Conference;
+import com.project.POO.model.Participant;
+import com.project.POO.utils.UlidGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UlidGeneratorTest {
+
+    private final UlidGenerator generator = new UlidGenerator();
+
+    @Test
+    @DisplayName("Un ULID fait 26 caractères et se décode sur 128 bits")
+    void nextId_ProducesValidUlid() {
+        // Act
+        String id = generator.nextId();
+
+        // Assert
+        assertEquals(26, id.length());
+        assertTrue(UlidGenerator.isUlid(id));
+        long now = System.currentTimeMillis();
+        assertTrue(Math.abs(now - UlidGenerator.timestamp(id)) < 5_000);
+    }
+
+    @Test
+    @DisplayName("Les IDs d'un même thread sont strictement croissants")
+    void nextId_IsMonotonicWithinThread() {
+        // Arrange
+        String previous = generator.nextId();
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            String current = generator.nextId();
+            assertTrue(current.compareTo(previous) > 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Les formes texte et binaire sont équivalentes")
+    void toBytes_RoundTrips() {
+        // Arrange
+        String id = generator.nextId();
+
+        // Act
+        byte[] bytes = UlidGenerator.toBytes(id);
+
+        // Assert
+        assertEquals(16, bytes.length);
+        assertEquals(id, UlidGenerator.fromBytes(bytes));
+        assertEquals(id, UlidGenerator.encode(UlidGenerator.mostSignificantBits(id), UlidGenerator.leastSignificantBits(id)));
+    }
+
+    @Test
+    @DisplayName("Les anciens identifiants ne sont pas reconnus comme ULID")
+    void isUlid_RejectsLegacyIds() {
+        assertFalse(UlidGenerator.isUlid("98b930ed-131e-4d49-9b6d-8b27ae4a18ff"));
+        assertFalse(UlidGenerator.isUlid("org-001"));
+        assertFalse(UlidGenerator.isUlid(null));
+        assertThrows(IllegalArgumentException.class, () -> UlidGenerator.mostSignificantBits("org-001"));
+    }
+
+    @Test
+    @DisplayName("Aucune collision entre threads concurrents")
+    void nextId_IsUniqueAcrossThreads() throws Exception {
+        // Arrange
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(8 * 20_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Le constructeur sans argument (Jackson) ne génère pas d'ID")
+    void noArgConstructors_SkipIdGeneration() {
+        assertNull(new Conference().getId());
+        assertNull(new Participant().getId());
+        assertTrue(UlidGenerator.isUlid(new Conference("Conf", LocalDateTime.now(), "Salle", 10, "IA").getId()));
+        assertTrue(UlidGenerator.isUlid(new Participant("Alice", "alice@example.com").getId()));
+    }
+}